@@ -0,0 +1,411 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Five-letter words accepted as Word Guess and Jotto guesses but never
+ * drawn as answers.
+ * <pre>
+ * The answers stay a short list of common words; this list adds the
+ * plurals, verb forms and rarer words a player may reasonably try, so a
+ * guess such as HELLO or WORDS is not rejected. WordBank.guesses()
+ * combines the two.
+ * </pre>
+ * @version 1
+ */
+final class AllowedGuesses {
+    /** The extra guesses, ten to a line. */
+    private static final String[] WORDS = {
+        "ABACK ABASE ABATE ABBEY ABBOT ABETS ABHOR ABIDE ABLED ABODE",
+        "ABORT ABUSE ABYSS ACHED ACHES ACIDS ACING ACMES ACNED ACORN",
+        "ACRES ACRID ACTED ACTIN ADAGE ADAPT ADDED ADDER ADDLE ADEPT",
+        "ADIEU ADMAN ADMIN ADOBE ADORE ADORN ADZES AEGIS AEONS AFFIX",
+        "AFIRE AFOOT AFORE AFOUL AGAPE AGATE AGAVE AGILE AGING AGLET",
+        "AGLOW AGONY AGORA AGUES AIDED AIDER AIDES AILED AIMED AIMER",
+        "AIOLI AIRED AISLE ALACK ALATE ALDER ALEPH ALGAE ALIAS ALIBI",
+        "ALIEN ALIGN ALKYD ALKYL ALLAY ALLEY ALLOT ALLOY ALOES ALOFT",
+        "ALOHA ALOUD ALPHA ALTAR ALUMS AMASS AMAZE AMBER AMBIT AMBLE",
+        "AMEBA AMEER AMEND AMENS AMIDE AMIGO AMINO AMIRS AMISS AMITY",
+        "AMPLE AMPLY AMUCK AMUSE ANENT ANGEL ANGST ANIME ANION ANISE",
+        "ANKHS ANKLE ANNEX ANNOY ANNUL ANODE ANTES ANTIC ANTSY ANVIL",
+        "AORTA APACE APERS APHID APIAN APISH APNEA APPAL APRON APSES",
+        "APTLY ARBOR ARCED ARDOR AREAL AREAS ARETE ARGON ARGOT ARIAS",
+        "ARILS ARMED ARMOR AROID AROMA AROSE ARSON ARTSY ASANA ASCOT",
+        "ASHED ASHEN ASHES ASKED ASKER ASKEW ASPEN ASPIC ASSAY ASTER",
+        "ASTIR ASWIM ATILT ATLAS ATOLL ATOMS ATONE ATRIA ATTAR ATTIC",
+        "AUGER AUGHT AUGUR AUNTS AUNTY AURAL AURAS AUXIN AVAIL AVERT",
+        "AVIAN AVOWS AWAIT AWAKE AWASH AWFUL AWNED AWOKE AXELS AXIAL",
+        "AXING AXIOM AXION AXLES AZURE BAAED BABEL BABES BABKA BACKS",
+        "BACON BADGE BAGEL BAGGY BAILS BAKED BAKES BALDS BALER BALES",
+        "BALKS BALLS BALMS BALMY BALSA BANAL BANDS BANDY BANGS BANJO",
+        "BANKS BANNS BARBS BARDS BARED BARER BARES BARFS BARGE BARKS",
+        "BARMY BARNS BARON BARRE BASAL BASED BASER BASES BASIL BASIN",
+        "BASKS BASSO BASTE BATCH BATED BATHE BATHS BATIK BATON BATTY",
+        "BAULK BAWDY BAWLS BAYED BAYOU BEADS BEADY BEAKS BEAMS BEANO",
+        "BEANS BEARD BEARS BEAST BEATS BEAUS BEAUT BEECH BEEFS BEEFY",
+        "BEEPS BEERS BEETS BEFIT BEGET BEGOT BEIGE BELAY BELCH BELIE",
+        "BELLE BELLS BELLY BELTS BENDS BERET BERGS BERMS BERTH BESET",
+        "BESOM BESTS BETEL BETTA BEVEL BEZEL BIALY BIBLE BIDDY BIDED",
+        "BIDES BIDET BIERS BIGHT BIGOT BIJOU BIKER BIKES BILGE BILKS",
+        "BILLS BILLY BINDI BINDS BINGE BINGO BIOME BIOTA BIRCH BIRDS",
+        "BISON BITER BITES BITTY BLABS BLAHS BLAND BLARE BLASE BLATS",
+        "BLAZE BLEAK BLEAR BLEAT BLEBS BLEED BLEEP BLESS BLIMP BLINI",
+        "BLINK BLIPS BLISS BLITZ BLOAT BLOBS BLOCS BLOKE BLOND BLOTS",
+        "BLOWN BLOWS BLUED BLUER BLUES BLUFF BLUNT BLURB BLURS BLURT",
+        "BLUSH BOARS BOAST BOATS BOBBY BODED BODES BOGEY BOGGY BOGIE",
+        "BOGUS BOILS BOLAS BOLTS BOLUS BOMBE BOMBS BONDS BONED BONER",
+        "BONES BONGO BONGS BONKS BONNY BONUS BOOBY BOOED BOOKS BOOMS",
+        "BOONS BOORS BOOTS BOOTY BOOZE BOOZY BORAX BORED BORER BORES",
+        "BORNE BOSKY BOSOM BOSSY BOSUN BOTCH BOTHY BOUGH BOULE BOUTS",
+        "BOWED BOWEL BOWER BOWLS BOXED BOXER BOXES BRACE BRACT BRADS",
+        "BRAES BRAGS BRAID BRAKE BRANS BRASH BRASS BRATS BRAWL BRAWN",
+        "BRAYS BRAZE BREAM BREVE BREWS BRIAR BRIBE BRIDE BRIES BRIGS",
+        "BRILL BRIMS BRINE BRINK BRINY BRISK BROIL BRONC BROOD BROOK",
+        "BROOM BROTH BROWS BRUIN BRUNT BRUTE BUCKS BUDDY BUDGE BUFFS",
+        "BUGGY BUGLE BULBS BULGE BULGY BULKS BULKY BULLS BULLY BUMPS",
+        "BUMPY BUNGS BUNKS BUNNY BUNTS BUOYS BURBS BURGH BURKA BURLY",
+        "BURNS BURNT BURPS BURRO BURRS BURSA BUSBY BUSED BUSES BUSHY",
+        "BUSKS BUSTS BUSTY BUTCH BUTTE BUTTS BUTYL BUXOM BYLAW BYTES",
+        "CABAL CABBY CACAO CACHE CACTI CADDY CADET CADGE CADRE CAFES",
+        "CAGED CAGER CAGES CAGEY CAINS CAIRN CAKED CAKES CALIF CALKS",
+        "CALLA CALLS CALMS CALVE CALYX CAMEL CAMEO CAMOS CAMPS CAMPY",
+        "CANAL CANED CANES CANNY CANOE CANON CANTO CAPED CAPER CAPES",
+        "CAPON CARAT CARBS CARDS CARED CARES CARET CAROB CAROL CAROM",
+        "CARPI CARPS CARTS CARVE CASED CASES CASKS CASTE CASTS CATTY",
+        "CAULK CAVED CAVER CAVES CAVIL CEASE CEDAR CELLO CELLS CHAFE",
+        "CHAFF CHAMP CHANT CHAOS CHAPS CHARD CHARS CHASM CHATS CHEAT",
+        "CHEEP CHEER CHEFS CHERT CHEVY CHEWS CHEWY CHICK CHIDE CHILI",
+        "CHILL CHIME CHIMP CHINO CHINS CHIPS CHIRP CHITS CHIVE CHOCK",
+        "CHOIR CHOKE CHOMP CHOPS CHORD CHORE CHUCK CHUMP CHUMS CHUNK",
+        "CHURL CHURN CHUTE CIDER CIGAR CILIA CINCH CIRCA CISTS CITED",
+        "CITES CIVET CIVIC CIVVY CLACK CLADS CLAMP CLAMS CLANG CLANK",
+        "CLANS CLAPS CLARY CLASH CLASP CLAWS CLAYS CLEAT CLEEK CLEFT",
+        "CLEWS CLIME CLING CLINK CLIPS CLOAK CLODS CLOGS CLONE CLOTS",
+        "CLOUT CLOVE CLOWN CLOYS CLUBS CLUCK CLUED CLUES CLUMP CLUNG",
+        "CLUNK COALS COATS COBRA COCKS COCKY COCOA CODAS CODEC CODED",
+        "CODER CODES COEDS COHOS COIFS COILS COINS COKED COKES COLAS",
+        "COLDS COLIC COLON COLOR COLTS COLZA COMAE COMAS COMBE COMBO",
+        "COMBS COMER COMES COMET COMFY COMIC COMMA COMPS CONCH CONDO",
+        "CONED CONES CONIC CONKS CONNS COOED COOEE COOKS COOLS COOPS",
+        "COPED COPES COPRA COPSE CORAL CORDS CORED CORER CORES CORGI",
+        "CORKS CORKY CORMS CORNS CORNY CORPS COSTS COTTA COUCH COUGH",
+        "COUPE COUPS COUTH COVEN COVES COVET COWED COWER COWLS COWRY",
+        "COYER COYLY COYPU COZEN CRABS CRACK CRAGS CRAKE CRAMP CRAMS",
+        "CRANK CRAPE CRAPS CRASS CRATE CRAVE CRAWL CRAWS CRAZE CREAK",
+        "CREED CREEK CREEL CREEP CREME CREPE CREPT CRESS CREST CREWS",
+        "CRIBS CRICK CRIED CRIER CRIES CRIMP CRISP CRITS CROAK CROCI",
+        "CROCK CRONE CRONY CROOK CROON CROPS CRORE CROUP CROWS CRUEL",
+        "CRUMB CRUSH CRUST CRYPT CUBBY CUBED CUBER CUBES CUBIC CUBIT",
+        "CUDDY CUFFS CUKES CULLS CULMS CULTS CUMIN CUPEL CUPID CURBS",
+        "CURDS CURED CURER CURES CURIA CURIE CURIO CURLS CURLY CURRY",
+        "CURSE CURST CUSKS CUSPS CUTCH CUTER CUTES CUTIE CUTIS CYANS",
+        "CYCAD CYMES CYNIC CYSTS CZARS DACHA DADDY DADOS DAFFS DAFFY",
+        "DAGGA DAHLS DAIRY DAISY DALES DALLY DAMAR DAMES DAMNS DAMPS",
+        "DANDY DARED DARER DARES DARKS DARNS DARTS DATES DATUM DAUBE",
+        "DAUBS DAUNT DAVIT DAWNS DAZED DEALS DEANS DEARS DEARY DEBAG",
+        "DEBAR DEBIT DEBTS DEBUG DECAF DECAL DECAN DECAY DECKS DECOR",
+        "DECOY DECRY DEEDS DEEMS DEEPS DEETS DEFAT DEFER DEFOG DEICE",
+        "DEIFY DEIGN DEISM DEIST DEITY DEKES DELIS DELLS DELTA DELTS",
+        "DELVE DEMES DEMIT DEMOB DEMON DEMOS DEMUR DENAR DENES DENIM",
+        "DENSE DENTS DEPOT DERBY DERMA DESEX DESKS DETER DETOX DEUCE",
+        "DEVAS DEVIL DEWAR DHALS DHOTI DHOWS DIALS DIARY DICED DICES",
+        "DICEY DICTA DIETS DIFFS DIGHT DIGIT DIKES DILLS DILLY DIMER",
+        "DIMES DIMLY DINAR DINED DINER DINES DINGE DINGO DINGY DINKY",
+        "DIODE DIPPY DIPSO DIRER DIRGE DIRKS DIRTY DISCO DISCS DISHY",
+        "DISKS DITAS DITCH DITSY DITTO DITTY DITZY DIVAN DIVAS DIVED",
+        "DIVER DIVES DIVOT DIVVY DIZZY DOATS DOBRO DOCKS DODGE DODGY",
+        "DOERS DOEST DOFFS DOGES DOGGO DOGGY DOGMA DOITS DOJOS DOLCE",
+        "DOLED DOLES DOLLS DOLLY DOLOR DOMED DOMES DONAS DONEE DONGA",
+        "DONOR DONUT DOOBS DOOMS DOOMY DOORS DOOZY DOPAS DOPER DOPEY",
+        "DORKS DORKY DORMS DORSA DOSED DOSES DOTAL DOTED DOTES DOTTY",
+        "DOUGH DOUSE DOVES DOWDS DOWDY DOWEL DOWNS DOWNY DOWRY DOWSE",
+        "DOYEN DOZED DOZES DRABS DRAGS DRAIN DRAKE DRAMS DRAPE DRAWL",
+        "DRAWS DRAYS DREAD DREAR DREGS DREST DRIBS DRIER DRIES DRIFT",
+        "DRILY DRIPS DROID DROLE DROLL DRONE DROOL DROOP DROPS DROSS",
+        "DROWN DRUBS DRUGS DRUID DRUMS DRUNK DRUPE DRUSE DRYAD DRYER",
+        "DRYLY DUADS DUALS DUCAL DUCAT DUCES DUCHY DUCKS DUCTS DUDES",
+        "DUELS DUETS DUFFS DUKES DULLY DULSE DUMBO DUMMY DUMPS DUMPY",
+        "DUNCE DUNCH DUNES DUNGS DUNGY DUNKS DUNNO DUOMO DUPED DUPES",
+        "DURST DURUM DUSKS DUSKY DUSTS DUSTY DUVET DWARF DWEEB DWELL",
+        "DWELT DYADS DYERS DYKED EAGLE EARED EARLS EARNS EASED EASEL",
+        "EASES EATEN EATER EAVES EBBED EBONY ECLAT EDEMA EDGED EDGER",
+        "EDGES EDICT EDIFY EDITS EERIE EGADS EGGED EGRET EIDER EJECT",
+        "EKING ELATE ELBOW ELDER ELECT ELEGY ELFIN ELIDE ELOPE ELUDE",
+        "ELVER ELVES EMAIL EMBED EMBER EMCEE EMERY EMITS EMOTE ENACT",
+        "ENDED ENDOW ENDUE ENEMA ENNUI ENSUE ENVOY EPOCH EPOXY EQUIP",
+        "ERASE ERECT ERODE ERRED ERUPT ESSAY ESTER ETHER ETHIC ETHOS",
+        "ETUDE EVADE EVENS EVICT EVILS EVOKE EXALT EXAMS EXCEL EXECS",
+        "EXERT EXILE EXITS EXPAT EXPEL EXTOL EXUDE EXULT EYING FABLE",
+        "FACED FACER FACES FACET FACTS FADED FADES FAILS FAINT FAIRS",
+        "FAIRY FAKER FAKES FAKIR FALLS FALSY FAMED FAMES FANCY FANES",
+        "FANGO FANGS FANNY FARAD FARCE FARED FARES FARLS FARMS FASTS",
+        "FATAL FATED FATES FATTY FATWA FAUNA FAVOR FAWNS FAXED FAXES",
+        "FAZED FEARS FEATS FECAL FEEDS FEELS FEIGN FEINT FELLA FELON",
+        "FELTS FELTY FEMES FEMUR FENCE FENDS FEODS FERAL FERIA FERMI",
+        "FERNS FERNY FERRY FESSE FESTA FESTS FETAL FETAS FETCH FETED",
+        "FETID FETOR FETUS FEUDS FEUED FEVER FEWER FEZES FIARS FIATS",
+        "FIBRE FICHU FICUS FIEND FIERY FIFER FIFES FILCH FILED FILER",
+        "FILES FILET FILLS FILLY FILMS FILMY FILOS FILTH FINCA FINCH",
+        "FINDS FINED FINER FINES FINIS FINKS FINNY FIORD FIRED FIRES",
+        "FIRMS FIRNS FIRTH FISHY FISTS FITCH FITLY FITTE FIVER FIVES",
+        "FIXED FIXER FIXES FIZZY FJORD FLABS FLACK FLAGS FLAIL FLAIR",
+        "FLAKE FLAKY FLAMS FLANK FLANS FLAPS FLARE FLASK FLATS FLAWS",
+        "FLAWY FLAYS FLEAS FLECK FLEER FLEES FLESH FLEWS FLEYS FLICK",
+        "FLICS FLIED FLIER FLIES FLING FLINT FLIPS FLIRT FLITE FLITS",
+        "FLOAT FLOCK FLOES FLOGS FLONG FLOOD FLOPS FLORA FLOSS FLOUR",
+        "FLOUT FLOWN FLOWS FLUBS FLUED FLUES FLUFF FLUKE FLUKY FLUME",
+        "FLUMP FLUNG FLUNK FLUSH FLUTE FLYBY FLYER FOALS FOAMS FOAMY",
+        "FOCAL FOGEY FOGGY FOILS FOIST FOLDS FOLIA FOLIO FOLKS FOLKY",
+        "FOLLY FONTS FOODS FOODY FOOLS FOOTS FOOTY FORAM FORAY FORBS",
+        "FORDO FORES FOREX FORGE FORGO FORKS FORME FORMS FORTE FORTS",
+        "FOSSA FOSSE FOUNT FOVEA FOWLS FOXED FOXES FOYER FRAGS FRAIL",
+        "FRANC FRATS FRAYS FREAK FREED FREER FREES FRERE FRIAR FRIED",
+        "FRIER FRIES FRILL FRISE FRISK FRITH FRITS FRITZ FRIZZ FROCK",
+        "FROGS FROND FRORE FROTH FROWN FROWS FROZE FRYER FUBSY FUDGE",
+        "FUELS FUGAL FUGGY FUGLY FUGUE FULLS FUMED FUMES FUMET FUNDI",
+        "FUNDS FUNGI FUNGO FUNKS FUNKY FURLS FUROR FURRY FURZE FUSED",
+        "FUSEE FUSES FUSIL FUSSY FUSTY FUTON FUZED FUZES FUZZY GABBY",
+        "GABLE GAFFE GAILY GAINS GAITS GALAS GALES GALLS GAMED GAMER",
+        "GAMES GAMMA GAMUT GANGS GAPED GAPES GASES GASPS GASSY GATED",
+        "GATES GATOR GAUDY GAUGE GAUNT GAUZE GAUZY GAVEL GAWKY GAZED",
+        "GAZER GAZES GEARS GECKO GEEKS GEEKY GEESE GENES GENIE GENRE",
+        "GENTS GENUS GERMS GETUP GHOUL GIFTS GILDS GILLS GIMME GIRLS",
+        "GIRTH GISTS GIZMO GLADE GLADS GLAND GLARE GLAZE GLEAM GLEAN",
+        "GLIDE GLINT GLOAT GLOBS GLOOM GLOSS GLOWS GLUED GLUES GLUEY",
+        "GLYPH GNARL GNASH GNATS GNOME GOADS GOALS GOATS GODLY GOFER",
+        "GOING GOLDS GOLFS GOLLY GONAD GONER GONGS GOODS GOODY GOOEY",
+        "GOOFS GOOFY GOOSE GORED GORES GORGE GORSE GOUGE GOURD GOWNS",
+        "GRABS GRADS GRAFT GRAIL GRAMS GRAPH GRASP GRATE GRAVY GRAYS",
+        "GRAZE GREED GRIDS GRIEF GRIME GRIMY GRIND GRINS GRIPE GRIPS",
+        "GRIST GRITS GROAN GROIN GROOM GROPE GROUT GROVE GROWL GROWS",
+        "GRUBS GRUEL GRUFF GRUNT GUANO GUAVA GUILE GUILT GUISE GULCH",
+        "GULFS GULLS GULLY GULPS GUMBO GUMMY GUPPY GURUS GUSHY GUSTO",
+        "GUSTS GUSTY GUTSY GUYED HACKS HAIKU HAILS HAIRS HAIRY HALLS",
+        "HALOS HALTS HALVE HANDS HANDY HANGS HANKY HAPLY HARDY HAREM",
+        "HARMS HARPS HARPY HARRY HASTE HASTY HATCH HATED HATER HATES",
+        "HAULS HAUNT HAVEN HAVES HAVOC HAWED HAWKS HAZED HAZEL HEADS",
+        "HEADY HEALS HEAPS HEARD HEARS HEATH HEATS HEAVE HEDGE HEEDS",
+        "HEELS HEFTY HEIRS HEIST HELIX HELLO HELMS HELPS HENNA HERBS",
+        "HERDS HERON HERTZ HEWED HEWER HEXED HEXES HICKS HIDES HIGHS",
+        "HIKED HIKER HIKES HILLS HILLY HILTS HINDS HINGE HINTS HIPPO",
+        "HIPPY HIRED HIRES HITCH HIVES HOARD HOARS HOARY HOIST HOKEY",
+        "HOLDS HOLED HOLES HOLLY HOMED HOMER HOMES HOMEY HONED HONES",
+        "HONKS HOOCH HOODS HOOFS HOOKS HOOPS HOOTS HOPED HOPES HORDE",
+        "HORNS HORNY HOSED HOSES HOSTS HOTLY HOUND HOURS HOVEL HOVER",
+        "HOWDY HOWLS HUBBY HUFFS HUFFY HULKS HULKY HULLS HUMID HUMPS",
+        "HUMUS HUNCH HUNKS HUNKY HUNTS HURLS HURRY HURTS HUSKS HUSKY",
+        "HUTCH HYDRA HYENA HYMNS HYPED HYPER HYPES ICIER ICILY ICING",
+        "ICONS IDEAS IDIOM IDIOT IDLED IDLER IDLES IDOLS IDYLL IGLOO",
+        "ILIAC IMBED IMBUE IMPEL INANE INBOX INCUR INDIE INEPT INERT",
+        "INFER INGOT INKED INLAY INLET IONIC IRATE IRKED IRONS IRONY",
+        "ISLES ISLET ITCHY ITEMS IVORY JABOT JACKS JADED JAILS JAMBS",
+        "JAPED JAPES JAUNT JAWED JAZZY JEANS JEEPS JEERS JELLY JERKS",
+        "JERKY JESTS JETTY JEWEL JIBED JIBES JIFFY JILTS JIMMY JINGO",
+        "JINKS JIVED JIVES JOINS JOIST JOKED JOKER JOKES JOLLY JOLTS",
+        "JOUST JOWLS JUICY JUKED JUMBO JUMPS JUMPY JUNCO JUNKS JUNKY",
+        "JUNTA JUROR JUTES KAPUT KARAT KARMA KAYAK KEBAB KEELS KEEPS",
+        "KELPS KETCH KEYED KHAKI KICKS KIDDO KILLS KILNS KILOS KILTS",
+        "KINDS KINGS KINKS KINKY KIOSK KITES KITTY KNACK KNAVE KNEAD",
+        "KNEED KNEEL KNEES KNELT KNITS KNOBS KNOLL KNOTS KNOWS KOALA",
+        "KOOKY KRILL KUDOS LABOR LACED LACES LACKS LADEN LADLE LAGER",
+        "LAIRS LAITY LAKES LAMBS LAMED LAMER LAMPS LANCE LANDS LANES",
+        "LANKY LAPEL LAPSE LARCH LARDS LARKS LARVA LASED LASSO LASTS",
+        "LATCH LATTE LAUDS LAWNS LAXER LAYUP LAZED LEACH LEADS LEAFS",
+        "LEAFY LEAKS LEAKY LEANS LEANT LEAPS LEAPT LEASH LEDGE LEECH",
+        "LEEKS LEERS LEERY LEFTS LEFTY LEGIT LEMUR LENDS LEPER LETUP",
+        "LEVEE LEVER LIARS LIBEL LICKS LIEGE LIENS LIFTS LIKED LIKEN",
+        "LIKER LIKES LILAC LILTS LIMBO LIMBS LIMED LIMES LIMNS LIMOS",
+        "LIMPS LINED LINER LINES LINGO LINKS LIONS LIPID LISPS LISTS",
+        "LITER LITHE LIVED LIVEN LIVER LIVES LIVID LLAMA LOADS LOAFS",
+        "LOAMY LOANS LOATH LOBBY LOBED LOBES LOCKS LOCUS LODGE LOFTS",
+        "LOFTY LOGES LOGOS LOINS LOLLY LONER LONGS LOOKS LOOMS LOONY",
+        "LOOPS LOOPY LOOTS LOPED LOPES LORDS LORRY LOSER LOSES LOTTO",
+        "LOTUS LOUSE LOUSY LOUTS LOVED LOVES LOWED LOWLY LOYAL LUBED",
+        "LUCID LUCKS LUCRE LUMPS LUMPY LUNAR LUNGE LUNGS LUPUS LURCH",
+        "LURED LURES LURID LURKS LUSTS LUSTY LYMPH LYNCH LYRES LYRIC",
+        "MACAW MACED MACHO MACRO MADAM MADLY MAFIA MAIDS MAILS MAIMS",
+        "MAINS MAIZE MAKES MALES MALLS MAMBO MAMMA MANED MANES MANGA",
+        "MANGE MANGY MANIA MANIC MANLY MANNA MANOR MANSE MAPLE MARKS",
+        "MARRY MARSH MASKS MASON MASSE MASTS MATED MATES MATEY MATTE",
+        "MAULS MAUVE MAXIM MAZED MAZES MEALS MEALY MEANS MEATS MEATY",
+        "MECCA MEDIC MEETS MELDS MELEE MELTS MEMES MEMOS MENDS MENUS",
+        "MEOWS MERGE MERRY MESSY METED METER METRO MEWED MICRO MIDGE",
+        "MIDST MIENS MIFFS MILES MILKS MILLS MIMED MIMES MIMIC MINCE",
+        "MINDS MINED MINER MINES MINIM MINKE MINKS MINTS MINTY MIRED",
+        "MIRES MIRTH MISER MISSY MISTS MISTY MITER MITES MITTS MIXER",
+        "MIXES MOANS MOATS MOCHA MOCKS MODAL MODEM MODES MOIST MOLAR",
+        "MOLDS MOLDY MOLES MOLTS MOMMA MOMMY MONKS MOOCH MOODS MOODY",
+        "MOOED MOONS MOORS MOOSE MOPED MOPES MORAY MOREL MORPH MOSEY",
+        "MOSSY MOTEL MOTHS MOTIF MOTTO MOULD MOULT MOUND MOURN MOUSY",
+        "MOVED MOVER MOVES MOWED MOWER MUCKS MUCKY MUCUS MUDDY MUFFS",
+        "MULCH MULES MUMMY MUNCH MURAL MURKY MUSED MUSES MUSHY MUSKS",
+        "MUSKY MUSTS MUSTY MUTED MUTES MUTTS MYTHS NACHO NADIR NAILS",
+        "NAIVE NAKED NAMED NAMES NANNY NAPES NAPPY NARCS NASAL NASTY",
+        "NATAL NATTY NAVEL NEARS NECKS NEEDS NEEDY NEIGH NEONS NERDS",
+        "NERDY NESTS NEWER NEWTS NICER NICHE NICKS NIECE NIFTY NINES",
+        "NINJA NINNY NINTH NIPPY NITRO NOBLY NODAL NODES NOISY NOMAD",
+        "NOOKS NOOSE NORMS NOSED NOTCH NOTES NOUNS NOVAE NOVAS NUDGE",
+        "NUKED NUKES NULLS NUMBS NUTTY NYLON NYMPH OAKEN OARED OASIS",
+        "OATHS OBESE OBEYS OCCUR OCTAL OCTET ODDER ODDLY OFFAL OFFED",
+        "OGLED OGLES OGRES OILED OINKS OKAYS OLDEN OLDER OLDIE OMEGA",
+        "OMENS OMITS ONSET OOHED OOZED OOZES OPALS OPENS OPERA OPINE",
+        "OPIUM OPTED OPTIC ORALS ORBED ORBIT ORCAS ORGAN OTTER OUNCE",
+        "OUSTS OUTDO OUTED OUTGO OVALS OVARY OVENS OVERS OVERT OVOID",
+        "OWING OWLET OWNED OXIDE OZONE PACED PACES PACKS PACTS PADDY",
+        "PADRE PAEAN PAGAN PAGED PAGER PAGES PAILS PAINS PAIRS PALED",
+        "PALES PALMS PALMY PALSY PANED PANES PANSY PANTS PAPAL PAPAS",
+        "PAPAW PARCH PARED PARER PARES PARKA PARKS PARRY PARSE PARTS",
+        "PASHA PASTE PASTY PATHS PATIO PATSY PATTY PAUSE PAVED PAVES",
+        "PAWED PAWNS PAYED PAYEE PAYER PEAKS PEALS PECAN PECKS PEDAL",
+        "PEEKS PEELS PEEPS PEERS PEEVE PELTS PENAL PENCE PENDS PENNE",
+        "PEONY PERCH PERIL PERKS PERKY PERMS PESKY PESOS PESTS PETAL",
+        "PETER PETTY PHIAL PHONY PICKS PICKY PIERS PIETY PIGGY PIGMY",
+        "PIKED PIKES PILAF PILED PILES PILLS PINCH PINED PINES PINGS",
+        "PINKS PINKY PINTO PINTS PIOUS PIPED PIPER PIPES PIQUE PITHS",
+        "PITHY PIVOT PIXEL PIXIE PLAID PLAIT PLANK PLANS PLAYS PLEAD",
+        "PLEAS PLEAT PLIED PLIES PLODS PLOPS PLOTS PLOWS PLOYS PLUCK",
+        "PLUGS PLUMP PLUMS PLUMY PLUNK PLUSH POACH POCKS PODGY POEMS",
+        "POESY POETS POISE POKED POKER POKES POKEY POLED POLES POLIO",
+        "POLKA POLLS POLYP PONDS POOCH POOLS POOPS POPES POPPY PORCH",
+        "PORED PORES PORKS PORKY PORTS POSED POSER POSES POSIT POSSE",
+        "POSTS POTTY POUCH POURS POUTY PRANK PRAWN PRAYS PREEN PREYS",
+        "PRICK PRICY PRIED PRIES PRIGS PRIMP PRISM PRIVY PROBE PRODS",
+        "PROMO PROMS PRONE PRONG PROPS PROSE PROSY PROWL PROWS PROXY",
+        "PRUDE PRUNE PSALM PUBIC PUCKS PUDGY PUFFS PUFFY PUKED PUKES",
+        "PULLS PULPS PULPY PULSE PUMAS PUMPS PUNCH PUNKS PUNTS PUPPY",
+        "PUREE PURER PURGE PURLS PURSE PUSHY PUTTS PUTTY PYGMY PYLON",
+        "QUACK QUADS QUAFF QUAIL QUAKE QUALM QUARK QUART QUASH QUASI",
+        "QUAYS QUEER QUELL QUERY QUEST QUEUE QUILL QUILT QUIPS QUIRK",
+        "QUOTA QUOTH RABBI RABID RACED RACER RACES RACKS RADAR RADII",
+        "RADON RAFTS RAGED RAGES RAIDS RAILS RAINS RAINY RAKED RAKES",
+        "RALLY RAMEN RAMPS RANCH RANDY RANKS RANTS RASPY RATED RATES",
+        "RATTY RAVED RAVEL RAVEN RAVES RAWER RAYON RAZED RAZES RAZOR",
+        "READS REAPS REARM REARS REBAR REBEL REBUS REBUT RECAP RECUR",
+        "REDID REDOX REEDS REEDY REEFS REEKS REELS REEVE REFIT REGAL",
+        "REHAB REIGN REINS RELAY RELIC REMIT REMIX RENAL RENEW RENTS",
+        "REPAY REPEL RERUN RESET RESIN RESTS RETCH RETRO RETRY REUSE",
+        "REVEL REVUE RHINO RHYME RICER RIDES RIFLE RIFTS RILED RILES",
+        "RILLS RIMED RINDS RINGS RINKS RINSE RIOTS RIPEN RIPER RISEN",
+        "RISER RISES RISKS RITES RITZY RIVET ROACH ROADS ROAMS ROARS",
+        "ROAST ROBED ROBES ROBIN ROCKS RODEO ROGUE ROILS ROLES ROLLS",
+        "ROMPS ROODS ROOFS ROOKS ROOMS ROOMY ROOST ROOTS ROPED ROPER",
+        "ROPES ROSES ROSIN ROTOR ROUGE ROUSE ROUST ROUTS ROVED ROVER",
+        "ROVES ROWDY ROWED ROWER RUBLE RUDDY RUDER RUFFS RUGBY RUINS",
+        "RULED RULER RULES RUMBA RUMOR RUMPS RUNES RUNGS RUNNY RUNTS",
+        "RUPEE RUSES RUSTS RUSTY SABER SABLE SACKS SADLY SAFER SAFES",
+        "SAGAS SAGER SAGES SAGGY SAHIB SAILS SAINT SAKES SALES SALLY",
+        "SALON SALSA SALTS SALTY SALVE SALVO SAMBA SANDS SANDY SANER",
+        "SAPPY SASSY SATED SATIN SATYR SAUCY SAUNA SAUTE SAVED SAVER",
+        "SAVES SAVOR SAVVY SAWED SAXES SCABS SCADS SCALD SCALP SCALY",
+        "SCAMP SCAMS SCANS SCANT SCARF SCARS SCARY SCATS SCENT SCION",
+        "SCOFF SCOLD SCONE SCOOP SCOOT SCORN SCOUR SCOUT SCOWL SCRAM",
+        "SCRAP SCREE SCREW SCRUB SCUBA SCUFF SEALS SEAMS SEAMY SEARS",
+        "SEATS SECTS SEDAN SEEDS SEEDY SEEKS SEEMS SEEPS SEERS SEIZE",
+        "SELLS SEMEN SEMIS SENDS SEPIA SERFS SERIF SERUM SETUP SEVER",
+        "SEWED SEWER SHACK SHADY SHAFT SHAGS SHAKY SHALE SHALT SHAME",
+        "SHAMS SHANK SHARD SHARK SHAVE SHAWL SHEAF SHEAR SHEDS SHEEN",
+        "SHEER SHEIK SHIED SHIES SHIMS SHINS SHINY SHIPS SHIRE SHIRK",
+        "SHOAL SHOED SHOES SHONE SHOOK SHOOS SHOPS SHORE SHORN SHOTS",
+        "SHOVE SHOWN SHOWS SHOWY SHRED SHREW SHRUB SHRUG SHUCK SHUNS",
+        "SHUNT SHUSH SHYLY SIBYL SIDED SIDES SIDLE SIEGE SIEVE SIGHS",
+        "SIGMA SIGNS SILKS SILKY SILLS SILOS SILTS SINEW SINGE SINGS",
+        "SINKS SINUS SIRED SIREN SIRES SISSY SITAR SITED SITES SIXES",
+        "SIZES SKATE SKEIN SKEWS SKIDS SKIED SKIER SKIES SKIFF SKIMP",
+        "SKIMS SKINS SKIPS SKIRT SKITS SKULK SKULL SKUNK SLABS SLACK",
+        "SLAGS SLAIN SLAKE SLAMS SLANG SLANT SLAPS SLASH SLATS SLAVE",
+        "SLAYS SLEDS SLEEK SLEET SLEPT SLEWS SLICK SLILY SLIME SLIMY",
+        "SLING SLINK SLIPS SLITS SLOBS SLOOP SLOPE SLOPS SLOSH SLOTH",
+        "SLOTS SLOWS SLUGS SLUMP SLUMS SLUNG SLUNK SLURP SLURS SLUSH",
+        "SLYLY SMACK SMASH SMEAR SMELL SMELT SMIRK SMITE SMITH SMOCK",
+        "SMOTE SNACK SNAGS SNAIL SNAPS SNARE SNARL SNEAK SNEER SNIDE",
+        "SNIFF SNIPE SNIPS SNITS SNOBS SNOOP SNOOT SNORE SNORT SNOUT",
+        "SNOWS SNOWY SNUBS SNUCK SNUFF SOAKS SOAPS SOAPY SOARS SOBER",
+        "SOCKS SODAS SOFAS SOFTY SOGGY SOILS SOLAR SOLED SOLES SOLOS",
+        "SONAR SONGS SONIC SOOTH SOOTY SOPPY SORES SORTS SOULS SOUPS",
+        "SOUPY SOURS SOWED SOWER SPADE SPANK SPANS SPARS SPASM SPATE",
+        "SPAWN SPAYS SPEAR SPECK SPECS SPELL SPELT SPERM SPEWS SPICY",
+        "SPIED SPIEL SPIES SPIKE SPIKY SPILL SPILT SPINE SPINS SPINY",
+        "SPIRE SPITE SPITS SPLAT SPLAY SPOIL SPOOF SPOOK SPOOL SPOON",
+        "SPORE SPOTS SPOUT SPRAT SPRAY SPREE SPRIG SPUDS SPUME SPUNK",
+        "SPURN SPURS SPURT SQUAD SQUAT SQUIB SQUID STABS STACK STAIN",
+        "STAIR STALE STALK STALL STAMP STANK STAPH STARE STARK STARS",
+        "STASH STATS STAVE STAYS STEAD STEAK STEAL STEIN STEMS STENO",
+        "STEPS STERN STEWS STIES STIFF STILE STING STINK STINT STIRS",
+        "STOAT STOIC STOKE STOLE STOMP STONY STOOL STOOP STOPS STORK",
+        "STOUT STOWS STRAP STRAW STRAY STREW STRUM STRUT STUBS STUDS",
+        "STUMP STUNG STUNK STUNS STUNT SUAVE SUCKS SUDSY SUEDE SUING",
+        "SUITS SULKS SULKY SULLY SUMAC SUMPS SUNUP SURER SURFS SURGE",
+        "SURLY SUSHI SWABS SWAGS SWAIN SWAMI SWAMP SWANK SWANS SWAPS",
+        "SWARM SWATH SWAYS SWEAR SWEAT SWEEP SWELL SWEPT SWIGS SWILL",
+        "SWIMS SWINE SWIPE SWIRL SWISH SWOON SWOOP SWORN SWUNG SYLPH",
+        "SYNCH SYNOD SYRUP TABBY TABOO TACIT TACKS TACKY TACOS TAFFY",
+        "TAILS TAINT TAKER TAKES TALES TALKS TALLY TALON TAMED TAMER",
+        "TAMES TANGO TANGS TANGY TANKS TAPAS TAPED TAPER TAPES TAPIR",
+        "TARDY TARED TARNS TAROT TARPS TARRY TARTS TASKS TASTY TATTY",
+        "TAUNT TAUPE TAWNY TAXED TAXES TAXIS TEAMS TEARS TEARY TEASE",
+        "TEATS TECHY TEDDY TEEMS TEENS TEENY TELLS TEMPO TEMPS TEMPT",
+        "TENET TENOR TENSE TENTH TENTS TEPEE TEPID TERMS TERNS TERRA",
+        "TERSE TESTS TESTY TEXTS THAWS THIGH THINE THINS THONG THORN",
+        "THUDS THUGS THUMP TIARA TIBIA TICKS TIDAL TIDED TIDES TIERS",
+        "TIFFS TILDE TILED TILER TILES TILLS TILTS TIMED TIMES TIMID",
+        "TINES TINGE TINNY TINTS TIPSY TIRES TITAN TITHE TOADS TOADY",
+        "TODDY TOFFS TOFUS TOGAS TOILS TOKEN TOLLS TOMBS TOMES TONAL",
+        "TONED TONER TONES TONGS TONIC TOOLS TOOTS TOPAZ TOQUE TORCH",
+        "TORSO TORTS TOTED TOTEM TOTES TOURS TOUTS TOWED TOWNS TOXIN",
+        "TOYED TRACT TRAMP TRAMS TRAPS TRASH TRAWL TRAYS TREAD TREES",
+        "TREKS TRESS TRIAD TRICE TRIKE TRILL TRIMS TRIOS TRIPE TRIPS",
+        "TRITE TROLL TROMP TROOP TROPE TROTS TROUT TROVE TRUCE TRUMP",
+        "TRUNK TRUSS TRYST TUBAS TUBBY TUBED TUBER TUBES TUCKS TUFTS",
+        "TULIP TULLE TUMMY TUMOR TUNAS TUNED TUNER TUNES TUNIC TURBO",
+        "TURFS TURNS TUSKS TUTOR TUTUS TWANG TWEAK TWEED TWEET TWERP",
+        "TWIGS TWILL TWINE TWINS TWIRL TWITS TYING TYKES TYPED TYPES",
+        "TYPOS UDDER ULCER ULTRA UMBRA UNARM UNBAR UNBOX UNCAP UNCUT",
+        "UNDID UNDUE UNFED UNFIT UNIFY UNITE UNITS UNLIT UNMET UNPIN",
+        "UNSAY UNSET UNTIE UNWED UNZIP UPEND UPPED URGED URGES URINE",
+        "USERS USHER USURP UTILE UTTER UVULA VAGUE VALES VALET VALOR",
+        "VALVE VAMPS VANES VAPID VAPOR VASES VAULT VAUNT VEERS VEGAN",
+        "VEILS VEINS VELDS VENOM VENTS VENUE VERBS VERGE VERSE VERSO",
+        "VERVE VESTS VETCH VEXED VEXES VIALS VIBES VICAR VICES VIEWS",
+        "VIGIL VIGOR VILLA VINES VINYL VIOLA VIPER VIRAL VIREO VISAS",
+        "VISOR VISTA VITAE VIXEN VODKA VOGUE VOILE VOLTS VOMIT VOTED",
+        "VOTER VOTES VOUCH VOWED VOWEL VYING WACKY WADED WADER WADES",
+        "WAFER WAFTS WAGED WAGER WAGES WAGON WAIFS WAILS WAIST WAITS",
+        "WAIVE WAKED WAKEN WAKES WALKS WALLS WALTZ WANDS WANED WANES",
+        "WANTS WARDS WARES WARMS WARNS WARPS WARTS WARTY WASHY WASPS",
+        "WASPY WATTS WAVED WAVER WAVES WAXED WAXEN WAXES WEARY WEAVE",
+        "WEDGE WEEDS WEEDY WEEKS WEENY WEEPY WEIGH WEIRD WELDS WELLS",
+        "WELTS WENCH WHACK WHALE WHARF WHEAL WHELK WHELP WHETS WHIFF",
+        "WHIMS WHINE WHINY WHIPS WHIRL WHISK WHIST WHITS WHOOP WHORL",
+        "WICKS WIDEN WIDER WIDOW WIDTH WIELD WIGHT WILDS WILED WILES",
+        "WILLS WILLY WIMPY WINCE WINCH WINDS WINDY WINED WINES WINGS",
+        "WINKS WIPED WIPER WIPES WIRED WIRES WISED WISER WISPS WISPY",
+        "WITCH WITTY WIVES WIZEN WOKEN WOLFS WOMBS WOODS WOODY WOOED",
+        "WOOER WOOFS WOOLY WOOZY WORDS WORDY WORKS WORMS WORMY WOWED",
+        "WRACK WRAPS WRATH WREAK WRECK WRENS WREST WRING WRIST WRITS",
+        "WRYLY XENON YACHT YANKS YARDS YARNS YAWED YAWNS YEARN YEARS",
+        "YEAST YELLS YELPS YODEL YOKED YOKEL YOKES YOLKS YUCCA YUCKS",
+        "YUCKY YUMMY YUPPY ZAPPY ZEALS ZESTY ZILCH ZINCS ZINGS ZIPPY",
+        "ZONAL ZONED ZONES ZOOMS"
+    };
+
+    /**
+     * Prevent Instantiation.
+     */
+    private AllowedGuesses() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Returns the extra guesses.
+     * @return unmodifiable list of upper-case five-letter words, in
+     *         alphabetical order
+     */
+    static List<String> words() {
+        List<String> words = new ArrayList<>();
+        for (String line : WORDS) {
+            words.addAll(Arrays.asList(line.split(" ")));
+        }
+        return Collections.unmodifiableList(words);
+    }
+}
@@ -0,0 +1,40 @@
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks that the JMH benchmarks still reach the code they measure.
+ * The benchmarks take private game methods as MethodHandles in static
+ * initializers, so initializing each benchmark class resolves them all;
+ * a renamed or retyped method fails here instead of at benchmark time.
+ * @version 1
+ */
+public class BenchmarkAccessTest {
+
+    @Test
+    public void testBenchmarkHandlesResolve()
+        throws IOException, URISyntaxException, ClassNotFoundException {
+        URL root = Class.forName("bench.GameAccess", false,
+                                 ClassLoader.getSystemClassLoader())
+                        .getProtectionDomain().getCodeSource().getLocation();
+        List<String> benchmarks;
+        try (Stream<Path> files = Files.list(Paths.get(root.toURI()).resolve("bench"))) {
+            benchmarks = files.map(f -> f.getFileName().toString())
+                              .filter(n -> n.endsWith("Benchmark.class"))
+                              .map(n -> "bench." + n.substring(0, n.length() - 6))
+                              .collect(Collectors.toList());
+        }
+        assertFalse(benchmarks.isEmpty());
+        for (String name : benchmarks) {
+            Class.forName(name, true, ClassLoader.getSystemClassLoader());
+        }
+    }
+}
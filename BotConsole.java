@@ -0,0 +1,140 @@
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Console of one simulated game: input typed by a GameBot, output
+ * captured in memory.
+ * <pre>
+ * Each time the game's reader runs out of input, the output collected
+ * since the previous line is handed to the bot and its answer becomes
+ * the next line. After stepLimit lines the input reports end of stream,
+ * which makes Scanner.nextLine throw and so ends a game that would
+ * otherwise never finish.
+ * Create the game on console().
+ * </pre>
+ * @version 1
+ */
+final class BotConsole {
+    /** The player. */
+    private final GameBot bot;
+    /** Most lines the bot may enter. */
+    private final int stepLimit;
+    /** Output since the last line of input. */
+    private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    /** Game output. */
+    private final PrintStream out =
+        new PrintStream(captured, false, StandardCharsets.UTF_8);
+    /** Game input. */
+    private final InputStream in = new BotInput();
+    /** Lines entered so far. */
+    private int steps;
+
+    /**
+     * Creates a console.
+     * @param player the bot typing the input
+     * @param limit most lines the bot may enter
+     */
+    BotConsole(final GameBot player, final int limit) {
+        this.bot = player;
+        this.stepLimit = limit;
+    }
+
+    /**
+     * Returns the console to create the game on.
+     * @return a console of in() and out()
+     */
+    GameConsole console() {
+        return new GameConsole(in, out);
+    }
+
+    /**
+     * Returns the game input.
+     * @return the input stream
+     */
+    InputStream in() {
+        return in;
+    }
+
+    /**
+     * Returns the game output.
+     * @return the print stream
+     */
+    PrintStream out() {
+        return out;
+    }
+
+    /**
+     * Returns the number of lines the bot has entered.
+     * @return the step count
+     */
+    int steps() {
+        return steps;
+    }
+
+    /**
+     * Returns true if the bot ran out of steps.
+     * @return whether the step limit was reached
+     */
+    boolean exhausted() {
+        return steps >= stepLimit;
+    }
+
+    /**
+     * Input stream asking the bot for a line whenever it runs dry.
+     */
+    private final class BotInput extends InputStream {
+        /** The current line, with its terminator. */
+        private byte[] line = new byte[0];
+        /** Read position in line. */
+        private int pos;
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return line[pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, line.length - pos);
+            System.arraycopy(line, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return line.length - pos;
+        }
+
+        /**
+         * Makes sure there is input left, asking the bot if needed.
+         * @return false at the step limit
+         */
+        private boolean fill() {
+            if (pos < line.length) {
+                return true;
+            }
+            if (steps >= stepLimit) {
+                return false;
+            }
+            out.flush();
+            String output = captured.toString(StandardCharsets.UTF_8);
+            captured.reset();
+            line = (bot.respond(output) + "\n").getBytes(StandardCharsets.UTF_8);
+            pos = 0;
+            steps++;
+            return true;
+        }
+    }
+}
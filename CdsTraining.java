@@ -0,0 +1,73 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Scanner;
+import java.util.stream.Stream;
+
+/**
+ * Training run for the class-data-sharing archive built by "ant cds".
+ * <pre>
+ * The archive holds the classes loaded by this process, so the run
+ * touches what an interactive session loads: a player logs in, the
+ * launcher shows its menu, the history and the leaderboards, the
+ * history is saved and loaded again, and every game in the catalog is
+ * played a few times by the simulation bots. Output is discarded and
+ * nothing is written outside the temporary directory.
+ * </pre>
+ * @version 1
+ */
+final class CdsTraining {
+    /** Games of each kind played. */
+    private static final int GAMES = 3;
+
+    /**
+     * Prevent Instantiation.
+     */
+    private CdsTraining() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Runs the training workload.
+     * @param args not used
+     * @throws IOException if the temporary history file cannot be used
+     */
+    public static void main(final String[] args) throws IOException {
+        System.setProperty(MemoryMatchGame.HEADLESS_PROPERTY, "true");
+        PrintStream console = System.out;
+        Path players = Files.createTempDirectory("players");
+        File history = File.createTempFile("history", ".dat");
+        try {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            PlayerStore store = new PlayerStore(players.toFile(),
+                                                PlayerStore.DEFAULT_CACHE);
+            GameLauncher launcher = new GameLauncher(
+                new Scanner("trainer\nH\nL\n0\n"),
+                new GameHistoryTracker(),
+                history.getPath(),
+                GameRegistry.discover());
+            launcher.login(store);
+            launcher.run();
+            launcher.saveHistory();
+            GameHistoryTracker.loadHistory(store.fileFor("trainer"));
+
+            SimulationRunner runner = new SimulationRunner(
+                GameRegistry.discover(), SimulationRunner.DEFAULT_STEP_LIMIT,
+                1, new GameHistoryTracker());
+            runner.run(GAMES);
+        } finally {
+            System.setOut(console);
+            if (!history.delete()) {
+                history.deleteOnExit();
+            }
+            try (Stream<Path> paths = Files.walk(players)) {
+                paths.sorted(Comparator.reverseOrder())
+                     .forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
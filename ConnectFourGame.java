@@ -1,5 +1,6 @@
+import java.io.PrintStream;
 import java.util.Optional;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
 
 /**
@@ -28,9 +29,32 @@ class ConnectFourGame implements Game {
     /** The game board. */
     private char[][] board;
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
+    /** Time the computer takes to choose a move. */
+    private static final Metrics.Histogram THINK_TIME =
+        Metrics.histogram("connectfour.ai.think");
+    /** Positions examined by the current computer move. */
+    private int searchNodes;
     /** Random for AI. */
-    private final Random random = new Random();
+    private final RandomGenerator random = GameRandom.generator();
+
+    /**
+     * Creates a game played on the system console.
+     */
+    ConnectFourGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    ConnectFourGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     @Override
     public String getName() {
@@ -39,9 +63,9 @@ class ConnectFourGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println("Welcome to Connect Four!");
-        System.out.println("Drop discs into columns to connect 4 in a row.");
-        System.out.println("You are X, computer is O.");
+        out.println("Welcome to Connect Four!");
+        out.println("Drop discs into columns to connect 4 in a row.");
+        out.println("You are X, computer is O.");
 
         board = new char[ROWS][COLS];
         for (int r = 0; r < ROWS; r++) {
@@ -59,70 +83,83 @@ class ConnectFourGame implements Game {
             printBoard();
 
             if (checkWin(PLAYER)) {
-                System.out.println("Congratulations! You win!");
+                out.println("Congratulations! You win!");
                 return Optional.of(1);
             }
             if (isBoardFull()) {
-                System.out.println("It's a draw!");
+                out.println("It's a draw!");
                 return Optional.of(0);
             }
 
             // Computer turn
-            System.out.println("Computer is thinking...");
+            out.println("Computer is thinking...");
             int compCol = getComputerMove();
             dropDisc(compCol, COMPUTER);
             printBoard();
 
             if (checkWin(COMPUTER)) {
-                System.out.println("Computer wins! Better luck next time.");
+                out.println("Computer wins! Better luck next time.");
                 return Optional.of(0);
             }
             if (isBoardFull()) {
-                System.out.println("It's a draw!");
+                out.println("It's a draw!");
                 return Optional.of(0);
             }
         }
     }
 
     private void printBoard() {
-        System.out.println(" 1 2 3 4 5 6 7");
+        GameEvents.RenderFrame frame = GameEvents.beginRender();
+        out.println(" 1 2 3 4 5 6 7");
         for (int r = 0; r < ROWS; r++) {
-            System.out.print("|");
+            out.print("|");
             for (int c = 0; c < COLS; c++) {
-                System.out.print(board[r][c] + "|");
+                out.print(board[r][c] + "|");
             }
-            System.out.println();
+            out.println();
         }
-        System.out.println("---------------");
+        out.println("---------------");
+        GameEvents.endRender(frame, getName());
     }
 
     private int getPlayerMove() {
         while (true) {
-            System.out.print("Choose column (1-7): ");
+            out.print("Choose column (1-7): ");
             String input = scanner.nextLine().trim();
             try {
                 int col = Integer.parseInt(input) - 1;
                 if (col < 0 || col >= COLS) {
-                    System.out.println("Invalid column. Choose 1-7.");
+                    out.println("Invalid column. Choose 1-7.");
                     continue;
                 }
                 if (board[0][col] != EMPTY) {
-                    System.out.println("Column is full. Choose another.");
+                    out.println("Column is full. Choose another.");
                     continue;
                 }
                 return col;
             } catch (NumberFormatException e) {
-                System.out.println("Invalid input. Enter a number.");
+                out.println("Invalid input. Enter a number.");
             }
         }
     }
 
     private int getComputerMove() {
+        GameEvents.AiMove event = GameEvents.beginAiMove();
+        long start = Metrics.start();
+        searchNodes = 0;
+        int col = chooseComputerMove();
+        THINK_TIME.recordSince(start);
+        GameEvents.endAiMove(event, getName(), 1, searchNodes);
+        return col;
+    }
+
+    private int chooseComputerMove() {
         // Try to win
         for (int c = 0; c < COLS; c++) {
             if (board[0][c] == EMPTY) {
                 int r = getDropRow(c);
                 board[r][c] = COMPUTER;
+                searchNodes++;
                 if (checkWin(COMPUTER)) {
                     board[r][c] = EMPTY;
                     return c;
@@ -135,6 +172,7 @@ class ConnectFourGame implements Game {
             if (board[0][c] == EMPTY) {
                 int r = getDropRow(c);
                 board[r][c] = PLAYER;
+                searchNodes++;
                 if (checkWin(PLAYER)) {
                     board[r][c] = EMPTY;
                     return c;
@@ -0,0 +1,141 @@
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces console output without blocking the game thread.
+ * <pre>
+ * Games print through the printer and call pause() where the player
+ * should be given a moment, e.g. to memorise cards before they are
+ * hidden. Text printed after a pause is queued and written by a shared
+ * daemon timer thread once the delay has passed, while the game thread
+ * carries on and blocks only on player input. flush() writes everything
+ * still queued at once; games call it as soon as input arrives, so
+ * typing ahead skips the wait.
+ * With a delay of 0 nothing is queued and text is printed immediately,
+ * which is what headless and simulated runs want.
+ * </pre>
+ * @version 1
+ */
+final class DelayedPrinter {
+    /** Where the text goes. */
+    private final PrintStream out;
+    /** Delay before text following a pause is shown. */
+    private final long delayMillis;
+    /** Text waiting to be printed, one entry per pause. */
+    private final Deque<String> queue = new ArrayDeque<>();
+    /** Timer for the head of the queue, or null. */
+    private ScheduledFuture<?> timer;
+    /** Incremented on flush so that a cancelled timer firing late is ignored. */
+    private int generation;
+
+    /**
+     * Creates a printer.
+     * @param target where the text goes
+     * @param delay milliseconds to wait at each pause; 0 disables pausing
+     */
+    DelayedPrinter(final PrintStream target, final long delay) {
+        this.out = target;
+        this.delayMillis = Math.max(0, delay);
+    }
+
+    /**
+     * Returns the delay at each pause.
+     * @return the delay in milliseconds
+     */
+    long delayMillis() {
+        return delayMillis;
+    }
+
+    /**
+     * Prints text after anything already queued.
+     * @param text the text
+     */
+    synchronized void print(final String text) {
+        if (queue.isEmpty()) {
+            out.print(text);
+        } else {
+            queue.addLast(queue.pollLast() + text);
+        }
+    }
+
+    /**
+     * Prints a line after anything already queued.
+     * @param line the line
+     */
+    void println(final String line) {
+        print(line + System.lineSeparator());
+    }
+
+    /**
+     * Makes the text printed next wait for the delay. Consecutive pauses
+     * with nothing printed in between count as one.
+     */
+    synchronized void pause() {
+        if (delayMillis == 0 || "".equals(queue.peekLast())) {
+            return;
+        }
+        out.flush();
+        queue.addLast("");
+        if (timer == null) {
+            schedule();
+        }
+    }
+
+    /**
+     * Prints everything still queued, without waiting.
+     */
+    synchronized void flush() {
+        generation++;
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        while (!queue.isEmpty()) {
+            out.print(queue.pollFirst());
+        }
+        out.flush();
+    }
+
+    /**
+     * Schedules printing of the head of the queue.
+     */
+    private void schedule() {
+        int expected = generation;
+        timer = Timer.SCHEDULER.schedule(() -> release(expected),
+                                         delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Prints the head of the queue when its delay has passed.
+     * @param expected the generation the timer was scheduled in
+     */
+    private synchronized void release(final int expected) {
+        if (expected != generation) {
+            return;
+        }
+        timer = null;
+        out.print(queue.pollFirst());
+        out.flush();
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    /**
+     * Lazily starts the shared timer thread the first time it is needed.
+     */
+    private static final class Timer {
+        /** The shared timer. */
+        static final ScheduledExecutorService SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "delayed-printer");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+}
@@ -0,0 +1,103 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed Wordle feedback for every guess against every answer.
+ * <pre>
+ * Entry (g, a) holds WordleFeedback.score(guess g, answer a), stored as
+ * one unsigned byte in a flat guess-major array. Solvers and hint modes
+ * can then partition candidate answers with table lookups only.
+ * A 13k x 2.3k matrix takes about 30 MB.
+ * </pre>
+ * @version 1
+ */
+final class FeedbackMatrix {
+    /** Allowed guesses. */
+    private final List<String> guesses;
+    /** Possible answers. */
+    private final List<String> answers;
+    /** Feedback patterns, guess-major. */
+    private final byte[] patterns;
+
+    /**
+     * Computes the matrix for the given word lists.
+     * @param guessWords the allowed guesses (five upper-case letters)
+     * @param answerWords the possible answers (five upper-case letters)
+     */
+    FeedbackMatrix(final List<String> guessWords,
+                   final List<String> answerWords) {
+        this.guesses = Collections.unmodifiableList(new ArrayList<>(guessWords));
+        this.answers = Collections.unmodifiableList(new ArrayList<>(answerWords));
+        int answerCount = answers.size();
+        byte[][] guessLetters = encodeAll(guesses);
+        byte[][] answerLetters = encodeAll(answers);
+        this.patterns = new byte[guesses.size() * answerCount];
+        IntStream.range(0, guesses.size()).parallel().forEach(g -> {
+            int row = g * answerCount;
+            for (int a = 0; a < answerCount; a++) {
+                patterns[row + a] = (byte) WordleFeedback.score(
+                    guessLetters[g], answerLetters[a]);
+            }
+        });
+    }
+
+    /**
+     * Returns the matrix for the Word Guess guesses and answers of the
+     * active {@link WordBank}.
+     * It is built once, on first use, and shared by all callers.
+     * @return the shared matrix
+     */
+    static FeedbackMatrix defaultMatrix() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Looks up the feedback for a guess against an answer.
+     * @param guess index into the guess list
+     * @param answer index into the answer list
+     * @return the base-3 feedback pattern, 0 .. 242
+     */
+    int pattern(final int guess, final int answer) {
+        return patterns[guess * answers.size() + answer] & 0xFF;
+    }
+
+    /**
+     * Returns the allowed guesses.
+     * @return unmodifiable guess list
+     */
+    List<String> guesses() {
+        return guesses;
+    }
+
+    /**
+     * Returns the possible answers.
+     * @return unmodifiable answer list
+     */
+    List<String> answers() {
+        return answers;
+    }
+
+    /**
+     * Encodes every word of a list.
+     * @param words five-letter words
+     * @return letter indices per word
+     */
+    private static byte[][] encodeAll(final List<String> words) {
+        byte[][] letters = new byte[words.size()][];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = WordleFeedback.encode(words.get(i));
+        }
+        return letters;
+    }
+
+    /**
+     * Lazily builds the shared matrix the first time it is needed.
+     */
+    private static final class Holder {
+        /** The shared matrix. */
+        static final FeedbackMatrix DEFAULT = new FeedbackMatrix(
+            WordBank.guesses(), WordBank.answers());
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * Scripted player used to drive a game without a human at the console.
+ * <pre>
+ * Whenever the game reads a line of input the bot is shown what the game
+ * printed since the previous line, which ends with the prompt, and
+ * answers with the next line to type.
+ * </pre>
+ * @version 1
+ */
+@FunctionalInterface
+interface GameBot {
+    /**
+     * Chooses the next line of input.
+     * @param output what the game printed since the last input
+     * @return the line to enter, without a line terminator
+     */
+    String respond(String output);
+}
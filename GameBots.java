@@ -0,0 +1,395 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bots for the registered games, used by the simulation runner.
+ * <pre>
+ * Most bots play random legal-looking moves; Number Guess bisects,
+ * Hangman guesses letters in English frequency order and Memory Match
+ * flips random face-down cards read off the printed board. The puzzle
+ * bots solve the board they are shown, so their games always finish:
+ * Sudoku by backtracking, then entering the solution cell by cell, and
+ * Lights Out by trying the 32 ways to press the top row, chasing the
+ * lights down, and making the first press of the shortest solution.
+ * Every bot answers the shared prompts (game mode, board size) with the
+ * default.
+ * Bots are cheap to create and hold per-game state, so use one per game.
+ * </pre>
+ * @version 1
+ */
+final class GameBots {
+    /** Letters from most to least common in English text. */
+    private static final String LETTER_ORDER = "ETAOINSRHLDCUMFPGWYBVKXJQZ";
+    /** Snake directions. */
+    private static final String DIRECTIONS = "WASD";
+    /** Side of the Lights Out grid. */
+    private static final int LIGHTS_SIZE = 5;
+
+    /**
+     * Prevent Instantiation.
+     */
+    private GameBots() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Creates a bot for a game.
+     * @param gameName the name the game reports
+     * @return a new bot; games without a dedicated bot get one that
+     *         always enters an empty line
+     */
+    static GameBot forGame(final String gameName) {
+        GameBot bot;
+        switch (gameName) {
+            case "Tic-Tac-Toe":
+                bot = output -> cell(3, 3);
+                break;
+            case "Word Guess":
+                bot = output -> pick(WordBank.answers());
+                break;
+            case "Jotto":
+                bot = output -> pick(WordBank.wordsOfLength(5));
+                break;
+            case "Hangman":
+                bot = new HangmanBot();
+                break;
+            case "Snake":
+                bot = output -> String.valueOf(DIRECTIONS.charAt(random(4)));
+                break;
+            case "Connect Four":
+                bot = output -> Integer.toString(1 + random(7));
+                break;
+            case "MineSweeper":
+                bot = output -> "r " + cell(8, 8);
+                break;
+            case "Sudoku":
+                bot = new SudokuBot();
+                break;
+            case "Number Guess":
+                bot = new NumberGuessBot();
+                break;
+            case "Memory Match":
+                bot = GameBots::faceDownCard;
+                break;
+            case "Lights Out":
+                bot = GameBots::lightsOutPress;
+                break;
+            case "MasterMind":
+                bot = output -> {
+                    StringBuilder code = new StringBuilder();
+                    for (int i = 0; i < 4; i++) {
+                        code.append(1 + random(6));
+                    }
+                    return code.toString();
+                };
+                break;
+            default:
+                bot = output -> "";
+                break;
+        }
+        return withDefaults(bot);
+    }
+
+    /**
+     * Wraps a bot so that shared set-up prompts get their default answer.
+     * @param bot the game-specific bot
+     * @return the wrapped bot
+     */
+    private static GameBot withDefaults(final GameBot bot) {
+        return output -> {
+            if (output.endsWith("Choose a mode (default 1): ")) {
+                return "1";
+            }
+            if (output.contains("Board size as")) {
+                return "";
+            }
+            return bot.respond(output);
+        };
+    }
+
+    /**
+     * Chooses the next Lights Out press: the first of the fewest presses
+     * that turn off the last board printed.
+     * @param output the game output, containing a board
+     * @return the position, counting from 1
+     */
+    private static String lightsOutPress(final String output) {
+        int[] lit = new int[LIGHTS_SIZE];
+        for (String line : output.split("\\R")) {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens.length != LIGHTS_SIZE + 1 || !isNumber(tokens[0])
+                    || isNumber(tokens[1])) {
+                continue;
+            }
+            int row = 0;
+            for (int c = 0; c < LIGHTS_SIZE; c++) {
+                if (tokens[c + 1].equals("O")) {
+                    row |= 1 << c;
+                }
+            }
+            lit[Integer.parseInt(tokens[0]) - 1] = row;
+        }
+        int[] best = null;
+        int bestCount = Integer.MAX_VALUE;
+        for (int top = 0; top < 1 << LIGHTS_SIZE; top++) {
+            int[] grid = lit.clone();
+            int[] presses = new int[LIGHTS_SIZE];
+            presses[0] = top;
+            press(grid, 0, top);
+            for (int r = 1; r < LIGHTS_SIZE; r++) {
+                presses[r] = grid[r - 1];
+                press(grid, r, presses[r]);
+            }
+            int count = 0;
+            for (int p : presses) {
+                count += Integer.bitCount(p);
+            }
+            if (grid[LIGHTS_SIZE - 1] == 0 && count < bestCount) {
+                best = presses;
+                bestCount = count;
+            }
+        }
+        if (best == null || bestCount == 0) {
+            return cell(LIGHTS_SIZE, LIGHTS_SIZE);
+        }
+        int r = 0;
+        while (best[r] == 0) {
+            r++;
+        }
+        return (r + 1) + " " + (Integer.numberOfTrailingZeros(best[r]) + 1);
+    }
+
+    /**
+     * Presses Lights Out cells in one row of a grid.
+     * @param grid lit cells, bit c of row r for column c
+     * @param row the row
+     * @param columns the columns pressed, as bits
+     */
+    private static void press(final int[] grid, final int row,
+                              final int columns) {
+        int full = (1 << LIGHTS_SIZE) - 1;
+        grid[row] ^= (columns ^ columns << 1 ^ columns >>> 1) & full;
+        if (row > 0) {
+            grid[row - 1] ^= columns;
+        }
+        if (row < LIGHTS_SIZE - 1) {
+            grid[row + 1] ^= columns;
+        }
+    }
+
+    /**
+     * Picks a random face-down card ('*') on the last board printed.
+     * @param output the game output, containing a board
+     * @return the position, counting from 1
+     */
+    private static String faceDownCard(final String output) {
+        List<String> hidden = new ArrayList<>();
+        for (String line : output.split("\\R")) {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens.length < 2 || !isNumber(tokens[0])) {
+                continue;
+            }
+            if (isNumber(tokens[1])) {
+                hidden.clear();
+                continue;
+            }
+            for (int c = 1; c < tokens.length; c++) {
+                if (tokens[c].startsWith("*")) {
+                    hidden.add(tokens[0] + " " + c);
+                }
+            }
+        }
+        return hidden.isEmpty() ? cell(4, 4) : pick(hidden);
+    }
+
+    /**
+     * Checks whether a token is a whole number.
+     * @param token the token
+     * @return true if it is all digits
+     */
+    private static boolean isNumber(final String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return !token.isEmpty();
+    }
+
+    /**
+     * Returns a random "row col" within a grid.
+     * @param rows number of rows
+     * @param cols number of columns
+     * @return the position, counting from 1
+     */
+    private static String cell(final int rows, final int cols) {
+        return (1 + random(rows)) + " " + (1 + random(cols));
+    }
+
+    /**
+     * Returns a random element.
+     * @param items the list
+     * @return one of its elements
+     */
+    private static String pick(final List<String> items) {
+        return items.get(random(items.size()));
+    }
+
+    /**
+     * Returns a random number from the calling thread's game session, so
+     * that seeded simulations repeat exactly.
+     * @param bound the upper bound (exclusive)
+     * @return a number from 0 to bound - 1
+     */
+    private static int random(final int bound) {
+        return GameRandom.session().nextInt(bound);
+    }
+
+    /**
+     * Guesses the secret number by bisection.
+     */
+    private static final class NumberGuessBot implements GameBot {
+        /** Smallest number still possible. */
+        private int low = 1;
+        /** Largest number still possible. */
+        private int high = 100;
+        /** The previous guess. */
+        private int last;
+
+        @Override
+        public String respond(final String output) {
+            if (output.contains("Too low")) {
+                low = last + 1;
+            } else if (output.contains("Too high")) {
+                high = last - 1;
+            }
+            last = (low + high) >>> 1;
+            return Integer.toString(last);
+        }
+    }
+
+    /**
+     * Guesses Hangman letters in English frequency order.
+     */
+    private static final class HangmanBot implements GameBot {
+        /** Index of the next letter to guess. */
+        private int next;
+
+        @Override
+        public String respond(final String output) {
+            return String.valueOf(
+                LETTER_ORDER.charAt(next++ % LETTER_ORDER.length()));
+        }
+    }
+
+    /**
+     * Solves the Sudoku on the first board printed and enters the
+     * solution one cell at a time.
+     */
+    private static final class SudokuBot implements GameBot {
+        /** Side of the grid. */
+        private static final int SIZE = 9;
+        /** Side of a box. */
+        private static final int BOX = 3;
+        /** Moves still to enter, as "row col value". */
+        private final Deque<String> moves = new ArrayDeque<>();
+        /** Whether the puzzle has been read. */
+        private boolean started;
+
+        @Override
+        public String respond(final String output) {
+            if (!started) {
+                started = true;
+                int[] grid = readGrid(output);
+                int[] puzzle = grid.clone();
+                if (solve(grid, 0)) {
+                    for (int i = 0; i < grid.length; i++) {
+                        if (puzzle[i] == 0) {
+                            moves.add((i / SIZE + 1) + " " + (i % SIZE + 1)
+                                      + " " + grid[i]);
+                        }
+                    }
+                }
+            }
+            return moves.isEmpty() ? "q" : moves.poll();
+        }
+
+        /**
+         * Reads the printed board, rows like "1 | 5 3 . | . 7 . | ...".
+         * @param output the game output
+         * @return the cells row by row, 0 for empty
+         */
+        private static int[] readGrid(final String output) {
+            int[] grid = new int[SIZE * SIZE];
+            for (String line : output.split("\\R")) {
+                String[] tokens = line.trim().split("\\s+");
+                if (tokens.length < 2 || !isNumber(tokens[0])
+                        || !tokens[1].equals("|")) {
+                    continue;
+                }
+                int row = Integer.parseInt(tokens[0]) - 1;
+                int col = 0;
+                for (int t = 1; t < tokens.length && col < SIZE; t++) {
+                    if (tokens[t].equals("|")) {
+                        continue;
+                    }
+                    grid[row * SIZE + col++] =
+                        isNumber(tokens[t]) ? Integer.parseInt(tokens[t]) : 0;
+                }
+            }
+            return grid;
+        }
+
+        /**
+         * Fills the empty cells from a position on by backtracking.
+         * @param grid the cells, filled in place
+         * @param from the first cell to look at
+         * @return true if the grid could be completed
+         */
+        private static boolean solve(final int[] grid, final int from) {
+            int cell = from;
+            while (cell < grid.length && grid[cell] != 0) {
+                cell++;
+            }
+            if (cell == grid.length) {
+                return true;
+            }
+            for (int value = 1; value <= SIZE; value++) {
+                if (fits(grid, cell, value)) {
+                    grid[cell] = value;
+                    if (solve(grid, cell + 1)) {
+                        return true;
+                    }
+                }
+            }
+            grid[cell] = 0;
+            return false;
+        }
+
+        /**
+         * Checks that a value is not yet in a cell's row, column or box.
+         * @param grid the cells
+         * @param cell the cell
+         * @param value the value
+         * @return true if the value may go there
+         */
+        private static boolean fits(final int[] grid, final int cell,
+                                    final int value) {
+            int row = cell / SIZE;
+            int col = cell % SIZE;
+            int boxRow = row - row % BOX;
+            int boxCol = col - col % BOX;
+            for (int i = 0; i < SIZE; i++) {
+                if (grid[row * SIZE + i] == value
+                        || grid[i * SIZE + col] == value
+                        || grid[(boxRow + i / BOX) * SIZE + boxCol + i % BOX]
+                           == value) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
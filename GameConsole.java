@@ -0,0 +1,68 @@
+import java.io.InputStream;
+import java.io.PrintStream;
+
+/**
+ * The input and output a game plays on.
+ * <pre>
+ * Games take their console in the constructor and read and print only
+ * through it, never through System.in and System.out. The launcher
+ * gives them the system console; the simulation runner and the replay
+ * player give each game its own in-memory streams, so any number of
+ * games can run at once without touching the process-wide streams.
+ *   system()    the process console, as System.in and System.out are now
+ *   in(), out() the streams to use
+ *   isSystem()  whether this is the process console, e.g. before
+ *               switching the terminal to keystroke mode
+ * </pre>
+ * @version 1
+ */
+final class GameConsole {
+    /** Where the game reads input. */
+    private final InputStream in;
+    /** Where the game prints. */
+    private final PrintStream out;
+
+    /**
+     * Creates a console.
+     * @param input where the game reads input
+     * @param output where the game prints
+     */
+    GameConsole(final InputStream input, final PrintStream output) {
+        this.in = input;
+        this.out = output;
+    }
+
+    /**
+     * Returns the process console. Reads System.in and System.out when
+     * called, so a stream the launcher wraps is picked up.
+     * @return the console
+     */
+    static GameConsole system() {
+        return new GameConsole(System.in, System.out);
+    }
+
+    /**
+     * Returns the input.
+     * @return the input stream
+     */
+    InputStream in() {
+        return in;
+    }
+
+    /**
+     * Returns the output.
+     * @return the print stream
+     */
+    PrintStream out() {
+        return out;
+    }
+
+    /**
+     * Checks whether this is the process console.
+     * @return true if both streams are the current System.in and
+     *         System.out
+     */
+    boolean isSystem() {
+        return in == System.in && out == System.out;
+    }
+}
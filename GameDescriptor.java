@@ -0,0 +1,100 @@
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A game in the catalog: its name and how to create it.
+ * <pre>
+ * Descriptors are cheap; listing the catalog creates no games. A game
+ * is only constructed, with its Scanner and any heavier state, when
+ * create() is called, typically because a player selected it.
+ * Games built with withConsole() play on whatever console create() is
+ * given. Games from a plain Supplier, such as plugin games, always play
+ * on the system console.
+ * </pre>
+ * @version 1
+ */
+final class GameDescriptor {
+    /** Name shown in the menu, equal to the game's getName(). */
+    private final String name;
+    /** Creates instances of the game on a console. */
+    private final Function<GameConsole, ? extends Game> factory;
+    /** Whether the game plays on the console it is created on. */
+    private final boolean anyConsole;
+
+    /**
+     * Creates a descriptor of a game that plays on the system console.
+     * @param gameName the name the game reports
+     * @param gameFactory creates an instance of the game on each call
+     */
+    GameDescriptor(final String gameName,
+                   final Supplier<? extends Game> gameFactory) {
+        this.name = gameName;
+        this.factory = console -> gameFactory.get();
+        this.anyConsole = false;
+    }
+
+    /**
+     * Creates a descriptor.
+     * @param gameName the name the game reports
+     * @param gameFactory creates an instance of the game on the given
+     *        console on each call
+     */
+    private GameDescriptor(
+            final String gameName,
+            final Function<GameConsole, ? extends Game> gameFactory) {
+        this.name = gameName;
+        this.factory = gameFactory;
+        this.anyConsole = true;
+    }
+
+    /**
+     * Creates a descriptor of a game that plays on any console.
+     * @param gameName the name the game reports
+     * @param gameFactory creates an instance of the game on the given
+     *        console on each call
+     * @return the descriptor
+     */
+    static GameDescriptor withConsole(
+            final String gameName,
+            final Function<GameConsole, ? extends Game> gameFactory) {
+        return new GameDescriptor(gameName, gameFactory);
+    }
+
+    /**
+     * Returns the name of the game.
+     * @return game name
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Checks whether the game plays on the console it is created on.
+     * @return false if it always plays on the system console
+     */
+    boolean playsOnAnyConsole() {
+        return anyConsole;
+    }
+
+    /**
+     * Creates an instance of the game on the system console.
+     * @return the game
+     */
+    Game create() {
+        return create(GameConsole.system());
+    }
+
+    /**
+     * Creates an instance of the game on a console.
+     * @param console where the game reads input and prints
+     * @return the game
+     */
+    Game create(final GameConsole console) {
+        return factory.apply(console);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,224 @@
+import java.io.File;
+import java.util.Optional;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events of the launcher and games.
+ * <pre>
+ * Events are listed under "Console Game Hub" in JDK Mission Control,
+ * next to the JVM's own GC, lock and I/O events:
+ *   consolegamehub.GameSession   a game from selection to its result
+ *   consolegamehub.AiMove        one computer move: depth and positions
+ *   consolegamehub.HistoryIo     saving or loading the history file
+ *   consolegamehub.RenderFrame   printing one board
+ * Record with, for example,
+ *   java -XX:StartFlightRecording=filename=hub.jfr,settings=profile ...
+ * Use the begin and end helpers in pairs: begin starts the clock, end
+ * stops it and fills in the fields only if the event is going to be
+ * recorded, so with no recording running an event costs little more
+ * than a small allocation that escape analysis usually removes.
+ * </pre>
+ * @version 1
+ */
+final class GameEvents {
+    /** Category of all events. */
+    static final String CATEGORY = "Console Game Hub";
+
+    /**
+     * Prevent Instantiation.
+     */
+    private GameEvents() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Starts a game session event.
+     * @return the event
+     */
+    static GameSession beginSession() {
+        GameSession event = new GameSession();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and records a game session event.
+     * @param event the event from beginSession
+     * @param game name of the game
+     * @param seed GameRandom seed of the session
+     * @param score the result
+     */
+    static void endSession(final GameSession event, final String game,
+                           final long seed, final Optional<Integer> score) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.game = game;
+            event.seed = seed;
+            event.scored = score.isPresent();
+            event.score = score.orElse(0);
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts an AI move event.
+     * @return the event
+     */
+    static AiMove beginAiMove() {
+        AiMove event = new AiMove();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and records an AI move event.
+     * @param event the event from beginAiMove
+     * @param game name of the game
+     * @param depth plies searched
+     * @param nodes positions examined
+     */
+    static void endAiMove(final AiMove event, final String game,
+                          final int depth, final long nodes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.game = game;
+            event.depth = depth;
+            event.nodes = nodes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts a history I/O event.
+     * @return the event
+     */
+    static HistoryIo beginHistoryIo() {
+        HistoryIo event = new HistoryIo();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and records a history I/O event.
+     * @param event the event from beginHistoryIo
+     * @param operation "save" or "load"
+     * @param file the history file
+     * @param success whether the operation succeeded
+     */
+    static void endHistoryIo(final HistoryIo event, final String operation,
+                             final String file, final boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.file = file;
+            event.bytes = new File(file).length();
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts a render frame event.
+     * @return the event
+     */
+    static RenderFrame beginRender() {
+        RenderFrame event = new RenderFrame();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and records a render frame event.
+     * @param event the event from beginRender
+     * @param game name of the game
+     */
+    static void endRender(final RenderFrame event, final String game) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.game = game;
+            event.commit();
+        }
+    }
+
+    /**
+     * A game played from the launcher.
+     */
+    @Name("consolegamehub.GameSession")
+    @Label("Game Session")
+    @Category(CATEGORY)
+    @Description("A game from selection to its result")
+    static final class GameSession extends Event {
+        /** Name of the game. */
+        @Label("Game")
+        String game;
+        /** Session seed. */
+        @Label("Seed")
+        long seed;
+        /** Whether the game gave a score. */
+        @Label("Scored")
+        boolean scored;
+        /** The score, 0 if none. */
+        @Label("Score")
+        int score;
+    }
+
+    /**
+     * One move chosen by a computer player.
+     */
+    @Name("consolegamehub.AiMove")
+    @Label("AI Move")
+    @Category(CATEGORY)
+    @Description("Search for one computer move")
+    static final class AiMove extends Event {
+        /** Name of the game. */
+        @Label("Game")
+        String game;
+        /** Plies searched. */
+        @Label("Depth")
+        int depth;
+        /** Positions examined. */
+        @Label("Nodes")
+        long nodes;
+    }
+
+    /**
+     * Saving or loading the history file.
+     */
+    @Name("consolegamehub.HistoryIo")
+    @Label("History I/O")
+    @Category(CATEGORY)
+    @Description("Saving or loading the game history file")
+    static final class HistoryIo extends Event {
+        /** "save" or "load". */
+        @Label("Operation")
+        String operation;
+        /** The history file. */
+        @Label("File")
+        String file;
+        /** Size of the file afterwards. */
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+        /** Whether the operation succeeded. */
+        @Label("Success")
+        boolean success;
+    }
+
+    /**
+     * Printing one board.
+     */
+    @Name("consolegamehub.RenderFrame")
+    @Label("Render Frame")
+    @Category(CATEGORY)
+    @Description("Printing one board or picture of a game")
+    static final class RenderFrame extends Event {
+        /** Name of the game. */
+        @Label("Game")
+        String game;
+    }
+}
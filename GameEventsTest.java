@@ -0,0 +1,61 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests for GameEvents.
+ * @version 1
+ */
+public class GameEventsTest {
+
+    @Test
+    public void testEventsAreRecorded(@TempDir final Path dir) throws Exception {
+        Path history = dir.resolve("history.dat");
+        Path dump = dir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("consolegamehub.GameSession");
+            recording.enable("consolegamehub.AiMove");
+            recording.enable("consolegamehub.HistoryIo");
+            recording.enable("consolegamehub.RenderFrame");
+            recording.start();
+
+            GameEvents.endSession(GameEvents.beginSession(), "Snake", 42,
+                                  Optional.of(30));
+            GameEvents.endAiMove(GameEvents.beginAiMove(), "Connect Four", 1, 14);
+            GameEvents.endRender(GameEvents.beginRender(), "Sudoku");
+            new GameHistoryTracker().saveHistory(history.toString());
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        Map<String, RecordedEvent> byName = new HashMap<>();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        for (RecordedEvent event : events) {
+            byName.put(event.getEventType().getName(), event);
+        }
+        RecordedEvent session = byName.get("consolegamehub.GameSession");
+        assertEquals("Snake", session.getString("game"));
+        assertEquals(42, session.getLong("seed"));
+        assertTrue(session.getBoolean("scored"));
+        assertEquals(30, session.getInt("score"));
+        RecordedEvent move = byName.get("consolegamehub.AiMove");
+        assertEquals(14, move.getLong("nodes"));
+        assertEquals("Sudoku",
+                     byName.get("consolegamehub.RenderFrame").getString("game"));
+        RecordedEvent io = byName.get("consolegamehub.HistoryIo");
+        assertEquals("save", io.getString("operation"));
+        assertTrue(io.getBoolean("success"));
+        assertEquals(Files.size(history), io.getLong("bytes"));
+    }
+}
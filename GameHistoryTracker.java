@@ -1,21 +1,55 @@
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.io.IOException;
 import java.io.Serializable;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Track history and stats of games played.
+ * <pre>
+ * The tracker may be saved from another thread (see HistoryWriter)
+ * while plays are recorded: recording, clearing and taking the bytes to
+ * save are synchronized, while writing the file happens outside the
+ * lock. Saves replace the file atomically: the history is written to a
+ * temporary file beside it, forced to disk and moved over the old file,
+ * so a crash leaves either the old or the new history, never a torn one.
+ * The file format is described in HistoryFormat. The class stays
+ * Serializable only so that history files saved by earlier versions
+ * can still be read.
+ * </pre>
  * @author Jody Paul (assisted by chatGPT)
  * @author Cesar Soto, Mason Proctor, Luke Ross
- * @version 2
+ * @version 3
  */
 class GameHistoryTracker implements Serializable {
     private static final long serialVersionUID = 2L;
+    /** Time to save the history. */
+    private static final Metrics.Histogram SAVE_TIME =
+        Metrics.histogram("history.save");
+    /** Time to load the history, when it loads. */
+    private static final Metrics.Histogram LOAD_TIME =
+        Metrics.histogram("history.load");
+    /** Saves that failed. */
+    private static final Metrics.Counter SAVE_FAILURES =
+        Metrics.counter("history.save.failures");
+    /** Loads that found no usable history. */
+    private static final Metrics.Counter LOAD_FAILURES =
+        Metrics.counter("history.load.failures");
+    /** Loads of files in the old serialized format. */
+    private static final Metrics.Counter LOAD_MIGRATIONS =
+        Metrics.counter("history.load.migrations");
     /** Collection of play stats for each game. */
     private final HashMap<String, GameStats> statsMap = new HashMap<>();
 
@@ -24,35 +58,26 @@ class GameHistoryTracker implements Serializable {
      * @param gameName the name of the game played
      * @param score optional numeric score (nullable)
      */
-    public void recordPlay(final String gameName, final Integer score) {
-        GameStats stats = statsMap.getOrDefault(gameName, new GameStats());
-        stats.incrementTimesPlayed();
-        if (score != null) {
-            stats.totalScore += score;
-            stats.scores.add(score);
-        }
-        statsMap.put(gameName, stats);
+    public synchronized void recordPlay(final String gameName,
+                                        final Integer score) {
+        statsMap.computeIfAbsent(gameName, g -> new GameStats()).record(score);
+    }
+
+    /**
+     * Returns the stats of every game, in constant time per game.
+     * @return summaries by game name
+     */
+    synchronized List<HistoryQuery.Summary> summaries() {
+        Map<String, HistorySnapshot.Stats> stats = new HashMap<>();
+        statsMap.forEach((game, s) -> stats.put(game, s.toStats()));
+        return HistoryQuery.summarize(stats, HistoryQuery.BY_NAME);
     }
 
     /**
      * Displays a summary of play history and scores.
      */
     public void displayHistory() {
-        System.out.println("\n=== Game Play History ===");
-        if (statsMap.isEmpty()) {
-            System.out.println("No games played yet.");
-            return;
-        }
-        for (Map.Entry<String, GameStats> entry : statsMap.entrySet()) {
-            String game = entry.getKey();
-            GameStats stats = entry.getValue();
-            System.out.printf("%s - Played: %d", game, stats.timesPlayed);
-            if (!stats.scores.isEmpty()) {
-                double avg = stats.totalScore / (double) stats.scores.size();
-                System.out.printf(", Avg Score: %.2f", avg);
-            }
-            System.out.println();
-        }
+        System.out.print(HistoryQuery.render(summaries()));
     }
 
     /**
@@ -61,18 +86,92 @@ class GameHistoryTracker implements Serializable {
      * @throws IOException if an I/O error occurs
      */
     public void saveHistory(final String filename) throws IOException {
-        try (ObjectOutputStream out =
-                new ObjectOutputStream(new FileOutputStream(filename))) {
-            out.writeObject(this);
+        GameEvents.HistoryIo event = GameEvents.beginHistoryIo();
+        long start = Metrics.start();
+        boolean saved = false;
+        try {
+            writeAtomically(Paths.get(filename), toBytes());
+            saved = true;
+        } catch (IOException e) {
+            SAVE_FAILURES.increment();
+            throw e;
+        } finally {
+            SAVE_TIME.recordSince(start);
+            GameEvents.endHistoryIo(event, "save", filename, saved);
         }
     }
 
+    /**
+     * Encodes the history.
+     * @return the file contents
+     */
+    private synchronized byte[] toBytes() {
+        return HistoryFormat.encode(statsMap);
+    }
+
+    /**
+     * Copies the stats of every game.
+     * @return stats by game name; the stats themselves are shared
+     */
+    synchronized Map<String, GameStats> statsSnapshot() {
+        return new LinkedHashMap<>(statsMap);
+    }
+
+    /**
+     * Replaces a file with new contents atomically and durably.
+     * @param target the file
+     * @param contents the new contents
+     * @throws IOException if the file cannot be written
+     */
+    static void writeAtomically(final Path target, final byte[] contents)
+        throws IOException {
+        Path file = target.toAbsolutePath();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                 StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                 StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+                       StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        // Make the rename itself durable; not every platform allows this.
+        try (FileChannel dir = FileChannel.open(file.getParent(),
+                                                StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            return;
+        }
+    }
+
+    /**
+     * Forgets all plays.
+     */
+    synchronized void clear() {
+        statsMap.clear();
+    }
+
+    /**
+     * Releases what the history holds open. The history is saved first
+     * if it needs to be. This one holds nothing.
+     */
+    void close() {
+        // Nothing to release.
+    }
+
     /**
      * Clears the history file.
      * @param filename takes name of file to clear history from.
      */
     public void clearHistory(final String filename) {
-        statsMap.clear();
+        clear();
         try {
             saveHistory(filename);
         } catch (IOException e) {
@@ -86,20 +185,55 @@ class GameHistoryTracker implements Serializable {
      * @return useful game history tracker
      */
     public static GameHistoryTracker loadHistory(final String filename) {
-        try (ObjectInputStream in
-                = new ObjectInputStream(new FileInputStream(filename))) {
-            return (GameHistoryTracker) in.readObject();
-        } catch (IOException | ClassNotFoundException e) {
+        GameEvents.HistoryIo event = GameEvents.beginHistoryIo();
+        long start = Metrics.start();
+        try {
+            byte[] contents = Files.readAllBytes(Paths.get(filename));
+            GameHistoryTracker history = new GameHistoryTracker();
+            history.statsMap.putAll(HistoryFormat.decode(contents));
+            if (HistoryFormat.isSerialized(contents)) {
+                LOAD_MIGRATIONS.increment();
+            }
+            LOAD_TIME.recordSince(start);
+            GameEvents.endHistoryIo(event, "load", filename, true);
+            return history;
+        } catch (NoSuchFileException e) {
+            LOAD_FAILURES.increment();
+            GameEvents.endHistoryIo(event, "load", filename, false);
             System.err.println(
                 "No previous history found or failed to load. Starting fresh.");
             return new GameHistoryTracker();
+        } catch (IOException e) {
+            LOAD_FAILURES.increment();
+            GameEvents.endHistoryIo(event, "load", filename, false);
+            System.err.println("History " + filename + " could not be loaded ("
+                               + e.getMessage() + "). " + setAside(filename)
+                               + " Starting fresh.");
+            return new GameHistoryTracker();
+        }
+    }
+
+    /**
+     * Renames an unreadable file, such as a history, so that saving a
+     * fresh one does not overwrite it.
+     * @param filename the file
+     * @return a message saying where the file went
+     */
+    static String setAside(final String filename) {
+        Path file = Paths.get(filename);
+        Path aside = file.resolveSibling(file.getFileName() + ".bad");
+        try {
+            Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+            return "It was kept as " + aside + ".";
+        } catch (IOException e) {
+            return "It will be overwritten.";
         }
     }
 
     /**
      * Inner class to track stats for a single game.
      */
-    private static class GameStats implements Serializable {
+    static class GameStats implements Serializable {
         private static final long serialVersionUID = 2L;
         /** The number of times game has been played. */
         private int timesPlayed = 0;
@@ -107,6 +241,62 @@ class GameHistoryTracker implements Serializable {
         private int totalScore = 0;
         /** All recorded scores. */
         private ArrayList<Integer> scores = new ArrayList<>();
+        /** The lowest score. */
+        private int lowest = Integer.MAX_VALUE;
+        /** The highest score. */
+        private int highest = Integer.MIN_VALUE;
+
+        /**
+         * Creates stats of a game not played yet.
+         */
+        GameStats() {
+        }
+
+        /**
+         * Creates stats of a game from saved values.
+         * @param plays the number of times played
+         * @param allScores the recorded scores
+         */
+        GameStats(final int plays, final List<Integer> allScores) {
+            this.timesPlayed = plays;
+            this.scores = new ArrayList<>(allScores.size());
+            for (int score : allScores) {
+                addScore(score);
+            }
+        }
+
+        /**
+         * Records one play.
+         * @param score the score, or null
+         */
+        void record(final Integer score) {
+            incrementTimesPlayed();
+            if (score != null) {
+                addScore(score);
+            }
+        }
+
+        /**
+         * Adds a score to the totals.
+         * @param score the score
+         */
+        private void addScore(final int score) {
+            this.totalScore += score;
+            this.scores.add(score);
+            this.lowest = Math.min(this.lowest, score);
+            this.highest = Math.max(this.highest, score);
+        }
+
+        /**
+         * Returns the summary stats.
+         * @return the stats
+         */
+        HistorySnapshot.Stats toStats() {
+            return new HistorySnapshot.Stats(this.timesPlayed, this.scores.size(),
+                                             this.totalScore, this.lowest,
+                                             this.highest);
+        }
+
         /**
          * Access the number of times the game has been played.
          * @return times played
@@ -114,6 +304,13 @@ class GameHistoryTracker implements Serializable {
         int getTimesPlayed() {
             return this.timesPlayed;
         }
+        /**
+         * Access the recorded scores.
+         * @return the scores, read-only
+         */
+        List<Integer> getScores() {
+            return Collections.unmodifiableList(this.scores);
+        }
         /**
          * Increment the number of times the game has been played.
          */
@@ -1,8 +1,11 @@
 import java.util.Scanner;
 import java.io.IOException;
 import java.util.List;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Optional;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Console Game Hub.
@@ -16,6 +19,28 @@ import java.util.Optional;
 public class GameLauncher {
     /** Default history file name. */
     private static final String HISTORY_FILENAME = "history.dat";
+    /** Leaderboard file name, shared by all players. */
+    private static final String LEADERBOARD_FILENAME = "leaderboard.dat";
+    /** Play time series file name, shared by all players. */
+    private static final String PLAYS_FILENAME = "plays.dat";
+    /** Player name of guests. */
+    private static final String GUEST = "guest";
+    /** Days covered by the recent games view. */
+    private static final int RECENT_DAYS = 7;
+    /** Games shown in the recent games view. */
+    private static final int RECENT_GAMES = 5;
+    /** Entries shown per leaderboard. */
+    private static final int LEADERBOARD_ROWS = 5;
+
+    /** Time to print the menu. */
+    private static final Metrics.Histogram MENU_TIME =
+        Metrics.histogram("launcher.menu.render");
+    /** Time spent blocked reading the console. */
+    private static final Metrics.Histogram INPUT_WAIT =
+        Metrics.histogram("console.input.wait");
+    /** Games played from the launcher. */
+    private static final Metrics.Counter GAMES_PLAYED =
+        Metrics.counter("launcher.games.played");
 
     /** Name of the history file. */
     private String historyFileName;
@@ -23,21 +48,52 @@ public class GameLauncher {
     /** Console input. */
     private final Scanner scanner;
 
-    /** Collection of known games. */
-    private final List<Game> games;
+    /** Catalog of known games. */
+    private final List<GameDescriptor> games;
+
+    /** Games created so far, by catalog position; null until selected. */
+    private final Game[] instances;
+
+    /** Game history tracker of the player. */
+    private GameHistoryTracker historyTracker;
+
+    /** Who is playing. */
+    private String player = GUEST;
+
+    /** Histories of named players, or null when a guest is playing. */
+    private PlayerStore playerStore;
+
+    /** High scores of all players. */
+    private Leaderboard leaderboard = new Leaderboard();
+
+    /** Leaderboard file, or null to keep the leaderboards in memory. */
+    private String leaderboardFileName;
+
+    /** Every play with its time, or null when not kept. */
+    private PlaySeries playSeries;
+
+    /**
+     * Rollups of all players' plays of the last RECENT_DAYS days and
+     * after; null until read from the series.
+     */
+    private HistoryQuery allPlays = new HistoryQuery();
+
+    /** Session recorder, or null when not recording. */
+    private ReplayRecorder recorder;
 
-    /** Game history tracker. */
-    private final GameHistoryTracker historyTracker;
+    /** Background history saver, or null to save only on exit. */
+    private HistoryWriter historyWriter;
 
     /**
      * Default constructor, used in production.
-     * Loads default games, scanner, and history tracker.
+     * Loads the game catalog, scanner, and history tracker.
+     * Games are only created when first selected.
      */
     public GameLauncher() {
         this(new Scanner(System.in),
              GameHistoryTracker.loadHistory(HISTORY_FILENAME),
-             registerGames(),
-             HISTORY_FILENAME);
+             HISTORY_FILENAME,
+             GameRegistry.discover());
     }
 
     /**
@@ -52,41 +108,196 @@ public class GameLauncher {
                         final GameHistoryTracker tracker,
                         final List<Game> gameList,
                         final String fileName) {
+        this(inputScanner, tracker, fileName, describe(gameList));
+    }
+
+    /**
+     * Constructor taking a game catalog.
+     *
+     * @param inputScanner the console input
+     * @param tracker the tracker to record and save history
+     * @param fileName the name of the history tracker file
+     * @param catalog the games available to play
+     */
+    GameLauncher(final Scanner inputScanner,
+                 final GameHistoryTracker tracker,
+                 final String fileName,
+                 final List<GameDescriptor> catalog) {
         this.scanner = inputScanner;
         this.historyTracker = tracker;
-        this.games = gameList;
+        this.games = catalog;
+        this.instances = new Game[catalog.size()];
         this.historyFileName = fileName;
     }
 
+    /**
+     * Wraps already created games as a catalog.
+     * @param gameList the games
+     * @return descriptors handing out those same instances
+     */
+    private static List<GameDescriptor> describe(final List<Game> gameList) {
+        List<GameDescriptor> catalog = new ArrayList<>();
+        for (Game game : gameList) {
+            catalog.add(new GameDescriptor(game.getName(), () -> game));
+        }
+        return catalog;
+    }
+
     /**
      * Main entry point of the application.
+     * Sessions are recorded if the system property consolegamehub.replay
+     * names a replay file.
      * @param args command-line arguments (not used)
      */
     public static void main(final String[] args) {
-        GameLauncher launcher = new GameLauncher();
+        System.setIn(Metrics.timed(System.in, INPUT_WAIT));
+        ReplayRecorder replays = null;
+        String replayFile = System.getProperty(ReplayRecorder.FILE_PROPERTY);
+        if (replayFile != null) {
+            try {
+                replays = ReplayRecorder.open(replayFile);
+                System.setIn(replays.tee(System.in));
+            } catch (IOException e) {
+                System.out.println("replay recording disabled: " + e.getMessage());
+            }
+        }
+        GameLauncher launcher = new GameLauncher(new Scanner(System.in),
+                                                 new GameHistoryTracker(),
+                                                 HISTORY_FILENAME,
+                                                 GameRegistry.discover());
+        launcher.setRecorder(replays);
+        launcher.login(PlayerStore.fromProperties());
+        launcher.useLeaderboard(LEADERBOARD_FILENAME);
+        launcher.setPlaySeries(new PlaySeries(Paths.get(PLAYS_FILENAME)));
+        launcher.startHistoryWriter();
+        Metrics.gauge("launcher.games.loaded", launcher::loadedGames);
         launcher.run();
         launcher.saveHistory();
+        if (replays != null) {
+            replays.close();
+        }
+    }
+
+    /**
+     * Asks who is playing and loads that player's history.
+     * A blank name plays as guest with the shared history file; a player
+     * name loads only that player's file from the store.
+     * @param store the player histories
+     */
+    void login(final PlayerStore store) {
+        while (true) {
+            System.out.print("Player name (Enter for guest): ");
+            String name = this.scanner.nextLine().trim();
+            if (name.isEmpty()) {
+                this.historyTracker = guestHistory();
+                return;
+            }
+            if (PlayerStore.isValidName(name)) {
+                this.historyTracker = store.profile(name);
+                this.historyFileName = store.fileFor(name);
+                this.playerStore = store;
+                this.player = PlayerStore.canonicalName(name);
+                System.out.println("Welcome, " + name + "!");
+                return;
+            }
+            System.out.println(
+                "Names are up to 32 letters, digits, '-' or '_'.");
+        }
+    }
+
+    /**
+     * Opens the history of guests: the shared history if the system
+     * property consolegamehub.history.shared names its directory, else
+     * the history file.
+     * @return the history
+     */
+    private GameHistoryTracker guestHistory() {
+        String shared = System.getProperty(SharedHistory.DIR_PROPERTY);
+        if (shared != null) {
+            try {
+                return SharedHistory.open(Paths.get(shared));
+            } catch (IOException e) {
+                System.out.println("shared history unavailable: " + e.getMessage());
+            }
+        }
+        return GameHistoryTracker.loadHistory(this.historyFileName);
+    }
+
+    /**
+     * Loads the leaderboards from a file and saves them there on exit.
+     * @param fileName the leaderboard file
+     */
+    void useLeaderboard(final String fileName) {
+        this.leaderboard = Leaderboard.load(fileName);
+        this.leaderboardFileName = fileName;
+    }
+
+    /**
+     * Keeps every play from now on with its time and duration.
+     * @param series where plays go, or null to stop keeping them
+     */
+    void setPlaySeries(final PlaySeries series) {
+        this.playSeries = series;
+        // Built from the series when first needed.
+        this.allPlays = series == null ? new HistoryQuery() : null;
+    }
+
+    /**
+     * Returns the rollups of all players' recent plays, reading the last
+     * RECENT_DAYS days of the play series the first time.
+     * @return the rollups
+     */
+    private HistoryQuery allPlays() {
+        if (this.allPlays == null) {
+            try {
+                this.allPlays = HistoryQuery.recent(this.playSeries, RECENT_DAYS,
+                                                    System.currentTimeMillis(),
+                                                    ZoneId.systemDefault());
+            } catch (IOException e) {
+                System.out.println("play series unreadable: " + e.getMessage());
+                this.allPlays = new HistoryQuery();
+            }
+        }
+        return this.allPlays;
+    }
+
+    /**
+     * Shows the history of the player, then the games all players
+     * played most in the last days.
+     */
+    private void showHistory() {
+        this.historyTracker.displayHistory();
+        long now = System.currentTimeMillis();
+        List<HistoryQuery.Summary> recent = new ArrayList<>(allPlays().window(
+            now - TimeUnit.DAYS.toMillis(RECENT_DAYS - 1), now + 1));
+        if (recent.isEmpty()) {
+            return;
+        }
+        recent.sort(HistoryQuery.BY_PLAYS);
+        System.out.printf("%nMost played in the last %d days, all players:%n",
+                          RECENT_DAYS);
+        for (HistoryQuery.Summary s : recent.subList(0, Math.min(RECENT_GAMES,
+                                                                 recent.size()))) {
+            System.out.printf("  %-20s %d plays%n", s.name(), s.plays());
+        }
+    }
+
+    /**
+     * Saves the history in the background as games are played, instead
+     * of only on exit.
+     */
+    void startHistoryWriter() {
+        this.historyWriter = HistoryWriter.fromProperties(
+            this.historyTracker, this.historyFileName);
     }
 
     /**
-     * Registers all available games in the arcade.
-     * @return list of all available games
+     * Records the games played from now on.
+     * @param sessionRecorder the recorder, whose tee must be what the
+     *        games read, or null to stop recording
      */
-    private static List<Game> registerGames() {
-        List<Game> games = new ArrayList<>();
-        games.add(new TicTacToeGame());
-        games.add(new WordGuessGame());
-        games.add(new JottoGame());
-        games.add(new HangmanGame());
-        games.add(new SnakeGame());
-        games.add(new ConnectFourGame());
-        games.add(new MineSweeperGame());
-        games.add(new SudokuGame());
-        games.add(new NumberGuessGame());
-        games.add(new MemoryMatchGame());
-        games.add(new LightsOutGame());
-        games.add(new MasterMindGame());
-        return games;
+    void setRecorder(final ReplayRecorder sessionRecorder) {
+        this.recorder = sessionRecorder;
     }
 
     /**
@@ -96,6 +307,7 @@ public class GameLauncher {
     protected void run() {
         boolean running = true;
         while (running) {
+            long menuStart = Metrics.start();
             System.out.println(
 "=== Console Game Hub === \n"
 + "  __  __ ___ _  _ _   _ \n"
@@ -107,20 +319,30 @@ public class GameLauncher {
             for (int i = 0; i < this.games.size(); i++) {
                 System.out.printf("%d. %s\n",
                                   i + 1,
-                                  this.games.get(i).getName());
+                                  this.games.get(i).name());
             }
             System.out.println("0. Exit");
             System.out.println("H. View Game History");
             System.out.println("C. Clear Game History");
+            System.out.println("L. View Leaderboards");
+            System.out.println("M. View Metrics");
             System.out.print("Choose a game: ");
+            MENU_TIME.recordSince(menuStart);
 
             String input = this.scanner.nextLine().trim();
             if (input.equalsIgnoreCase("H")) {
-                this.historyTracker.displayHistory();
+                showHistory();
                 continue;
             } else if (input.equalsIgnoreCase("C")) {
                 confirmClearHistory();
                 continue;
+            } else if (input.equalsIgnoreCase("L")) {
+                System.out.print(this.leaderboard.render(
+                    LEADERBOARD_ROWS, System.currentTimeMillis()));
+                continue;
+            } else if (input.equalsIgnoreCase("M")) {
+                System.out.print(Metrics.dump());
+                continue;
             }
 
           try {
@@ -129,21 +351,106 @@ public class GameLauncher {
                     running = false;
                     System.out.println("Goodbye!");
                 } else if (choice > 0 && choice <= this.games.size()) {
-                    Game game = this.games.get(choice - 1);
+                    Game game = game(choice - 1);
+                    long seed = GameRandom.newSession();
+                    if (this.recorder != null) {
+                        this.recorder.begin(game.getName(), seed);
+                    }
+                    int keystrokeSessions = TerminalInput.sessions();
+                    GameEvents.GameSession session = GameEvents.beginSession();
+                    long playStart = Metrics.start();
+                    long startNanos = System.nanoTime();
                     Optional<Integer> score = game.play();
-                    this.historyTracker.recordPlay(game.getName(),
-                                                   score.orElse(null));
+                    long playMillis = TimeUnit.NANOSECONDS.toMillis(
+                        System.nanoTime() - startNanos);
+                    GameEvents.endSession(session, game.getName(), seed, score);
+                    Metrics.histogram("game.play." + game.getName())
+                        .recordSince(playStart);
+                    GAMES_PLAYED.increment();
+                    if (this.recorder != null) {
+                        if (TerminalInput.sessions() == keystrokeSessions) {
+                            this.recorder.end(score);
+                        } else {
+                            this.recorder.skip();
+                            System.out.println(
+                                "Real-time play is not recorded for replay.");
+                        }
+                    }
+                    if (this.playerStore != null) {
+                        this.playerStore.recordPlay(this.player, game.getName(),
+                                                    score.orElse(null));
+                    } else {
+                        this.historyTracker.recordPlay(game.getName(),
+                                                       score.orElse(null));
+                    }
+                    if (this.historyWriter != null) {
+                        this.historyWriter.changed();
+                    }
+                    long now = System.currentTimeMillis();
+                    if (score.isPresent()) {
+                        this.leaderboard.record(game.getName(), this.player,
+                                                score.get(), now);
+                    }
+                    recordSeries(new PlaySeries.Play(now, game.getName(),
+                                                     this.player,
+                                                     score.orElse(null),
+                                                     playMillis));
+                    if (this.allPlays != null) {
+                        this.allPlays.record(game.getName(), this.player,
+                                             score.orElse(null), now);
+                    }
                 } else {
                     System.out.println("Invalid choice.");
                 }
             } catch (NumberFormatException e) {
                 System.out.println(
-                    "Please enter a valid number or Letters H or C.");
+                    "Please enter a valid number or Letters H, C, L or M.");
             }
         }
     }
 
 
+    /**
+     * Adds a play to the time series, if one is kept.
+     * @param play the play
+     */
+    private void recordSeries(final PlaySeries.Play play) {
+        if (this.playSeries == null) {
+            return;
+        }
+        try {
+            this.playSeries.append(play);
+        } catch (IOException e) {
+            System.out.println("play series save failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the game at a catalog position, creating it on first use.
+     * @param index the position
+     * @return the game
+     */
+    private Game game(final int index) {
+        if (this.instances[index] == null) {
+            this.instances[index] = this.games.get(index).create();
+        }
+        return this.instances[index];
+    }
+
+    /**
+     * Returns how many games of the catalog have been created.
+     * @return the number of games selected at least once
+     */
+    long loadedGames() {
+        long n = 0;
+        for (Game game : this.instances) {
+            if (game != null) {
+                n++;
+            }
+        }
+        return n;
+    }
+
     /**
      * Clears the history after user confirmation.
      *
@@ -156,19 +463,47 @@ public class GameLauncher {
         String input = this.scanner.nextLine().trim();
         if (input.equalsIgnoreCase("clear")) {
              System.out.println("Clearing History.\n");
-             historyTracker.clearHistory("history.dat");
+             if (this.historyWriter != null) {
+                 historyTracker.clear();
+                 this.historyWriter.changed();
+             } else {
+                 historyTracker.clearHistory(this.historyFileName);
+             }
          }
 
     }
 
     /**
-     * Saves the history of games played.
+     * Saves the history of games played, the leaderboards and every
+     * player profile with unsaved plays. The play series needs no
+     * saving; each play is on disk once recorded.
      */
     protected void saveHistory() {
-        try {
-            this.historyTracker.saveHistory(this.historyFileName);
-        } catch (IOException e) {
-            System.out.println("game history save failed: " + e.getMessage());
+        if (this.leaderboardFileName != null) {
+            try {
+                this.leaderboard.save(this.leaderboardFileName);
+            } catch (IOException e) {
+                System.out.println("leaderboard save failed: " + e.getMessage());
+            }
+        }
+        if (this.historyWriter != null) {
+            this.historyWriter.close();
+            this.historyWriter = null;
+        } else {
+            try {
+                this.historyTracker.saveHistory(this.historyFileName);
+            } catch (IOException e) {
+                System.out.println("game history save failed: " + e.getMessage());
+            }
+        }
+        if (this.playerStore != null) {
+            try {
+                this.playerStore.flush();
+            } catch (IOException e) {
+                System.out.println("player profile save failed: "
+                                   + e.getMessage());
+            }
         }
+        this.historyTracker.close();
     }
 }
@@ -254,8 +254,8 @@ public class GameLauncherTest {
 
         assertTrue(Files.exists(tempHistoryFile),
                    "File should exists." + Files.size(tempHistoryFile));
-        assertTrue(Files.size(tempHistoryFile) == 150,
-                   "File should be 150. File size is: " + Files.size(tempHistoryFile));
+        assertTrue(Files.size(tempHistoryFile) == 7,
+                   "File should be 7. File size is: " + Files.size(tempHistoryFile));
     }
 
 
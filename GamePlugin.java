@@ -0,0 +1,20 @@
+import java.util.List;
+
+/**
+ * Service through which additional games join the catalog.
+ * <pre>
+ * A plugin is a public class with a public no-argument constructor,
+ * listed in META-INF/services/GamePlugin of a jar on the class path.
+ * GameRegistry.discover() finds it with ServiceLoader; its games are
+ * only created when selected, so a plugin should do no real work until
+ * a descriptor's factory is called.
+ * </pre>
+ * @version 1
+ */
+interface GamePlugin {
+    /**
+     * Returns the games this plugin provides.
+     * @return descriptors of the games
+     */
+    List<GameDescriptor> games();
+}
@@ -0,0 +1,135 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Random numbers for game sessions.
+ * <pre>
+ * Each thread plays at most one session at a time and owns that
+ * session's generator: a SplittableRandom seeded from the session seed.
+ * Nothing is shared between threads except the root generator, which is
+ * only touched, under a lock, to draw seeds for sessions started
+ * without one. A game replayed with the same seed and the same input
+ * therefore makes the same random choices.
+ *   newSession()      start a session with a fresh seed, return the seed
+ *   newSession(seed)  start a session with the given seed
+ *   generator()       a RandomGenerator that always draws from the
+ *                     calling thread's current session
+ * Games keep generator() in a field; since it looks up the session on
+ * every call, the field stays valid across sessions and threads.
+ * The root seed can be fixed with the system property consolegamehub.seed.
+ * A thread that uses generator() before starting a session gets one
+ * automatically.
+ * </pre>
+ * @version 1
+ */
+final class GameRandom {
+    /** Property fixing the root seed. */
+    static final String SEED_PROPERTY = "consolegamehub.seed";
+    /** Source of seeds for sessions started without one. */
+    private static final SplittableRandom ROOT = new SplittableRandom(
+        Long.getLong(SEED_PROPERTY, System.nanoTime()));
+    /** Current session generator of each thread. */
+    private static final ThreadLocal<SplittableRandom> SESSION =
+        new ThreadLocal<>();
+    /** Seed of each thread's current session. */
+    private static final ThreadLocal<Long> SEED = new ThreadLocal<>();
+    /** Generator delegating to the calling thread's session. */
+    private static final RandomGenerator GENERATOR = new SessionGenerator();
+
+    /**
+     * Prevent Instantiation.
+     */
+    private GameRandom() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Starts a session on the calling thread with a fresh seed.
+     * @return the seed, which replays the session
+     */
+    static long newSession() {
+        long seed;
+        synchronized (ROOT) {
+            seed = ROOT.nextLong();
+        }
+        newSession(seed);
+        return seed;
+    }
+
+    /**
+     * Starts a session on the calling thread with the given seed.
+     * @param seed the session seed
+     */
+    static void newSession(final long seed) {
+        SESSION.set(new SplittableRandom(seed));
+        SEED.set(seed);
+    }
+
+    /**
+     * Returns the seed of the calling thread's session, starting one if
+     * there is none.
+     * @return the session seed
+     */
+    static long seed() {
+        session();
+        return SEED.get();
+    }
+
+    /**
+     * Returns the calling thread's session generator, starting a session
+     * if there is none. It must not be handed to other threads.
+     * @return the generator
+     */
+    static SplittableRandom session() {
+        SplittableRandom random = SESSION.get();
+        if (random == null) {
+            newSession();
+            random = SESSION.get();
+        }
+        return random;
+    }
+
+    /**
+     * Returns a generator that draws from whichever session is current on
+     * the calling thread.
+     * @return the shared, thread-safe generator
+     */
+    static RandomGenerator generator() {
+        return GENERATOR;
+    }
+
+    /**
+     * Forwards every call to the calling thread's session generator.
+     */
+    private static final class SessionGenerator implements RandomGenerator {
+        @Override
+        public long nextLong() {
+            return session().nextLong();
+        }
+
+        @Override
+        public int nextInt() {
+            return session().nextInt();
+        }
+
+        @Override
+        public int nextInt(final int bound) {
+            return session().nextInt(bound);
+        }
+
+        @Override
+        public int nextInt(final int origin, final int bound) {
+            return session().nextInt(origin, bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return session().nextDouble();
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return session().nextBoolean();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import java.util.random.RandomGenerator;
+
+/**
+ * Tests for GameRandom.
+ * @version 1
+ */
+public class GameRandomTest {
+
+    @Test
+    public void testSameSeedRepeatsSequence() {
+        RandomGenerator random = GameRandom.generator();
+        GameRandom.newSession(42);
+        int[] first = random.ints(20, 0, 100).toArray();
+        GameRandom.newSession(42);
+        int[] second = random.ints(20, 0, 100).toArray();
+        assertArrayEquals(first, second);
+        assertEquals(42, GameRandom.seed());
+    }
+
+    @Test
+    public void testFreshSessionReturnsItsSeed() {
+        long seed = GameRandom.newSession();
+        int expected = GameRandom.generator().nextInt(1000);
+        GameRandom.newSession(seed);
+        assertEquals(expected, GameRandom.generator().nextInt(1000));
+    }
+
+    @Test
+    public void testThreadsHaveSeparateSessions() throws Exception {
+        GameRandom.newSession(7);
+        long expected = GameRandom.session().nextLong();
+        GameRandom.newSession(7);
+        Thread other = new Thread(() -> {
+            GameRandom.newSession(8);
+            GameRandom.generator().nextLong();
+        });
+        other.start();
+        other.join();
+        assertEquals(7, GameRandom.seed());
+        assertEquals(expected, GameRandom.generator().nextLong());
+    }
+}
@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * The catalog of games.
+ * <pre>
+ * The built-in games come first, in menu order, followed by the games
+ * of any GamePlugin found with ServiceLoader. Only descriptors are
+ * created here; no game is instantiated until it is selected.
+ * A plugin that fails to load, or a game whose name is already taken,
+ * is skipped with a message.
+ * </pre>
+ * @version 1
+ */
+final class GameRegistry {
+    /**
+     * Prevent Instantiation.
+     */
+    private GameRegistry() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Returns the built-in games.
+     * @return descriptors in menu order
+     */
+    static List<GameDescriptor> builtIn() {
+        List<GameDescriptor> games = new ArrayList<>();
+        games.add(GameDescriptor.withConsole(
+            "Tic-Tac-Toe", TicTacToeGame::new));
+        games.add(GameDescriptor.withConsole(
+            "Word Guess", WordGuessGame::new));
+        games.add(GameDescriptor.withConsole(
+            "Jotto", JottoGame::new));
+        games.add(GameDescriptor.withConsole(
+            "Hangman", HangmanGame::new));
+        games.add(GameDescriptor.withConsole(
+            "Snake", SnakeGame::new));
+        games.add(GameDescriptor.withConsole(
+            "Connect Four", ConnectFourGame::new));
+        games.add(GameDescriptor.withConsole(
+            "MineSweeper", MineSweeperGame::new));
+        games.add(GameDescriptor.withConsole(
+            "Sudoku", SudokuGame::new));
+        games.add(GameDescriptor.withConsole(
+            "Number Guess", NumberGuessGame::new));
+        games.add(GameDescriptor.withConsole(
+            "Memory Match", MemoryMatchGame::new));
+        games.add(GameDescriptor.withConsole(
+            "Lights Out", LightsOutGame::new));
+        games.add(GameDescriptor.withConsole(
+            "MasterMind", MasterMindGame::new));
+        return games;
+    }
+
+    /**
+     * Returns the built-in games and those of the plugins visible to the
+     * application class loader.
+     * @return descriptors in menu order
+     */
+    static List<GameDescriptor> discover() {
+        return discover(GameRegistry.class.getClassLoader());
+    }
+
+    /**
+     * Returns the built-in games and those of the plugins visible to a
+     * class loader.
+     * @param loader where to look for plugins
+     * @return descriptors in menu order
+     */
+    static List<GameDescriptor> discover(final ClassLoader loader) {
+        List<GameDescriptor> games = builtIn();
+        Set<String> names = new HashSet<>();
+        for (GameDescriptor game : games) {
+            names.add(game.name());
+        }
+        Iterator<GamePlugin> plugins =
+            ServiceLoader.load(GamePlugin.class, loader).iterator();
+        while (true) {
+            GamePlugin plugin;
+            try {
+                if (!plugins.hasNext()) {
+                    break;
+                }
+                plugin = plugins.next();
+            } catch (ServiceConfigurationError e) {
+                System.out.println("Skipping game plugin: " + e.getMessage());
+                continue;
+            }
+            for (GameDescriptor game : plugin.games()) {
+                if (names.add(game.name())) {
+                    games.add(game);
+                } else {
+                    System.out.println("Skipping duplicate game: " + game.name());
+                }
+            }
+        }
+        return games;
+    }
+}
@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Scanner;
+
+/**
+ * Tests for GameRegistry and GameDescriptor.
+ * @version 1
+ */
+public class GameRegistryTest {
+    /** Games created by TestPlugin. */
+    private static int created;
+
+    @Test
+    public void testBuiltInNamesMatchGames() {
+        for (GameDescriptor descriptor : GameRegistry.builtIn()) {
+            assertEquals(descriptor.name(), descriptor.create().getName());
+        }
+        assertEquals(12, GameRegistry.builtIn().size());
+    }
+
+    @Test
+    public void testPluginGamesAreDiscoveredButNotCreated(@TempDir final Path dir)
+        throws IOException {
+        Path services = dir.resolve("META-INF/services");
+        Files.createDirectories(services);
+        Files.writeString(services.resolve("GamePlugin"),
+                          TestPlugin.class.getName() + "\n");
+        created = 0;
+        try (URLClassLoader loader = new URLClassLoader(
+                 new URL[] {dir.toUri().toURL()},
+                 GameRegistryTest.class.getClassLoader())) {
+            List<GameDescriptor> games = GameRegistry.discover(loader);
+            assertEquals(13, games.size());
+            GameDescriptor plugin = games.get(12);
+            assertEquals("Plugin Game", plugin.name());
+            assertEquals(0, created);
+            assertEquals(Optional.of(7), plugin.create().play());
+            assertEquals(1, created);
+        }
+    }
+
+    @Test
+    public void testLauncherCreatesGameOnlyWhenSelected() {
+        created = 0;
+        List<GameDescriptor> catalog = new TestPlugin().games();
+        GameHistoryTracker history = new GameHistoryTracker();
+        GameLauncher launcher = new GameLauncher(
+            new Scanner("1\n1\n0\n"), history, "unused.dat", catalog);
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            launcher.run();
+        } finally {
+            System.setOut(out);
+        }
+        assertEquals(1, created);
+    }
+
+    /**
+     * Plugin providing one game and a duplicate of a built-in one.
+     */
+    public static class TestPlugin implements GamePlugin {
+        @Override
+        public List<GameDescriptor> games() {
+            return Arrays.asList(
+                new GameDescriptor("Plugin Game", () -> {
+                    created++;
+                    return new FixedGame();
+                }),
+                new GameDescriptor("Snake", FixedGame::new));
+        }
+    }
+
+    /**
+     * Game that ends at once with score 7.
+     */
+    private static class FixedGame implements Game {
+        @Override
+        public String getName() {
+            return "Plugin Game";
+        }
+
+        @Override
+        public Optional<Integer> play() {
+            return Optional.of(7);
+        }
+    }
+}
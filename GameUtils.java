@@ -1,15 +1,11 @@
-import java.util.Random;
+import java.io.PrintStream;
 import java.util.List;
+import java.util.Scanner;
 /**
  * This utility class provides methods for use in multiple games.
  * For example, it contains a method for handling random word selection.
  */
 public final class GameUtils {
-    /**
-     * Static instance used to generate random strings.
-     */
-    private static final Random RANDOM = new Random();
-
     /**
      * Prevent Instantiation.
      */
@@ -27,6 +23,36 @@ public final class GameUtils {
         if (words == null || words.isEmpty()) {
             return null;
             }
-        return words.get(RANDOM.nextInt(words.size()));
+        return words.get(GameRandom.generator().nextInt(words.size()));
      }
+
+    /**
+     * Asks the player to choose one of several numbered game modes.
+     * Pressing Enter chooses mode 1.
+     *
+     * @param scanner the console input
+     * @param out the console output
+     * @param modeCount the number of modes, numbered from 1
+     * @return the chosen mode
+     */
+    public static int chooseMode(final Scanner scanner, final PrintStream out,
+                                 final int modeCount) {
+        while (true) {
+            out.print("Choose a mode (default 1): ");
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return 1;
+            }
+            try {
+                int mode = Integer.parseInt(input);
+                if (mode >= 1 && mode <= modeCount) {
+                    return mode;
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the message below
+            }
+            out.println("Please enter a number from 1 to "
+                + modeCount + ".");
+        }
+    }
 }
@@ -1,6 +1,11 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
 import java.util.Set;
 
@@ -12,21 +17,55 @@ import java.util.Set;
  * <pre>
  * Implements visual feedback (e.g., ASCII scaffold).
  * Handles duplicate guesses and win/loss conditions.
+ *
+ * In reverse mode the player thinks of a word and the computer guesses
+ * its letters (see HangmanGuesser); the player scores one point for
+ * each wrong guess the computer makes.
+ * In evil mode the computer never settles on a word; it keeps whichever
+ * family of words best dodges each guess (see HangmanHost).
  * </pre>
- * @version 1
+ * @version 2
  */
 class HangmanGame implements Game {
     /** Maximum wrong guesses allowed. */
     private static final int MAX_WRONG = 6;
+    /** Mode in which the computer guesses. */
+    private static final int REVERSE_MODE = 2;
+    /** Mode in which the computer avoids committing to a word. */
+    private static final int EVIL_MODE = 3;
+    /** Shortest word length used in evil mode. */
+    private static final int MIN_EVIL_LENGTH = 4;
+    /** Fewest dictionary words a length needs for evil mode. */
+    private static final int MIN_EVIL_WORDS = 10;
+    /** Character shown for an unrevealed letter. */
+    private static final char HIDDEN = '_';
     /** Word list to choose from. */
     private static final String[] WORDS = {
         "JAVA", "PYTHON", "COMPUTER", "HANGMAN", "PROGRAMMING",
         "KEYBOARD", "MONITOR", "SOFTWARE", "DEVELOPER", "ALGORITHM"
     };
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
     /** Random for word selection. */
-    private final Random random = new Random();
+    private final RandomGenerator random = GameRandom.generator();
+
+    /**
+     * Creates a game played on the system console.
+     */
+    HangmanGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    HangmanGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     @Override
     public String getName() {
@@ -35,70 +74,238 @@ class HangmanGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println("Welcome to Hangman!");
-        System.out.println("Guess the hidden word one letter at a time.");
-        System.out.println("Each wrong guess reduces your number of tries.");
-
+        out.println("Welcome to Hangman!");
+        out.println("1. You guess my word");
+        out.println("2. I guess your word");
+        out.println("3. You guess my word, and I play dirty");
+        int mode = GameUtils.chooseMode(scanner, out, EVIL_MODE);
+        if (mode == REVERSE_MODE) {
+            return playReverse();
+        }
+        if (mode == EVIL_MODE) {
+            return playAgainst(newEvilHost());
+        }
         String word = WORDS[random.nextInt(WORDS.length)];
+        return playAgainst(new HangmanHost(
+            new HangmanIndex(Collections.singletonList(word)), word.length()));
+    }
+
+    /**
+     * Plays the game in which the player guesses the host's word.
+     * @param host the host answering the guesses
+     * @return wrong guesses to spare if the word was found, otherwise 0
+     */
+    private Optional<Integer> playAgainst(final HangmanHost host) {
+        out.println("Guess the hidden word one letter at a time.");
+        out.println("Each wrong guess reduces your number of tries.");
+
         Set<Character> guessedLetters = new HashSet<>();
+        char[] masked = newMask(host.length());
+        int hidden = host.length();
         int wrongGuesses = 0;
 
         while (wrongGuesses < MAX_WRONG) {
             printHangman(wrongGuesses);
-            String masked = getMaskedWord(word, guessedLetters);
-            System.out.println("Word: " + masked);
-            System.out.println("Guessed: " + guessedLetters);
-            System.out.println("Wrong guesses: " + wrongGuesses + "/" + MAX_WRONG);
-
-            if (!masked.contains("_")) {
-                System.out.println("Congratulations! You guessed the word: "
-                    + word);
+            out.println("Word: " + new String(masked));
+            out.println("Guessed: " + guessedLetters);
+            out.println("Wrong guesses: " + wrongGuesses + "/" + MAX_WRONG);
+
+            if (hidden == 0) {
+                out.println("Congratulations! You guessed the word: "
+                    + new String(masked).replace(" ", ""));
                 return Optional.of(MAX_WRONG - wrongGuesses);
             }
 
-            System.out.print("Enter a letter: ");
+            out.print("Enter a letter: ");
             String input = scanner.nextLine().trim().toUpperCase();
 
-            if (input.length() != 1 || !Character.isLetter(input.charAt(0))) {
-                System.out.println("Please enter a single letter.");
+            if (input.length() != 1 || input.charAt(0) < 'A'
+                    || input.charAt(0) > 'Z') {
+                out.println("Please enter a single letter.");
                 continue;
             }
 
             char letter = input.charAt(0);
             if (guessedLetters.contains(letter)) {
-                System.out.println("You already guessed that letter.");
+                out.println("You already guessed that letter.");
                 continue;
             }
 
             guessedLetters.add(letter);
 
-            if (word.indexOf(letter) >= 0) {
-                System.out.println("Correct!");
+            int positions = host.guess(letter);
+            if (positions != 0) {
+                out.println("Correct!");
+                hidden -= revealPositions(masked, letter, positions);
             } else {
-                System.out.println("Wrong!");
+                out.println("Wrong!");
                 wrongGuesses++;
             }
         }
 
         printHangman(wrongGuesses);
-        System.out.println("Game over! The word was: " + word);
+        out.println("Game over! The word was: " + host.word(random));
         return Optional.of(0);
     }
 
-    private String getMaskedWord(String word, Set<Character> guessed) {
-        StringBuilder sb = new StringBuilder();
-        for (char c : word.toCharArray()) {
-            if (guessed.contains(c)) {
-                sb.append(c);
+    /**
+     * Creates an adversarial host for a random word length that has
+     * enough dictionary words to make dodging worthwhile.
+     * @return the evil host
+     */
+    private HangmanHost newEvilHost() {
+        HangmanIndex index = HangmanIndex.defaultIndex();
+        List<Integer> lengths = new ArrayList<>();
+        for (int n = MIN_EVIL_LENGTH; n <= HangmanIndex.MAX_LENGTH; n++) {
+            if (index.wordCount(n) >= MIN_EVIL_WORDS) {
+                lengths.add(n);
+            }
+        }
+        if (lengths.isEmpty()) {
+            lengths.add(WORDS[0].length());
+            index = new HangmanIndex(Arrays.asList(WORDS));
+        }
+        return new HangmanHost(index,
+                               lengths.get(random.nextInt(lengths.size())));
+    }
+
+    /**
+     * Plays the reverse game, in which the computer guesses the letters
+     * of a word the player has in mind.
+     * @return the number of wrong guesses the computer made
+     */
+    private Optional<Integer> playReverse() {
+        HangmanIndex index = HangmanIndex.defaultIndex();
+        out.println("Think of a word. I will guess its letters.");
+        int length = askWordLength(index);
+        HangmanGuesser guesser = new HangmanGuesser(index, length);
+        char[] masked = newMask(length);
+        int hidden = length;
+        int wrongGuesses = 0;
+
+        while (wrongGuesses < MAX_WRONG && hidden > 0) {
+            printHangman(wrongGuesses);
+            out.println("Word: " + new String(masked));
+            out.println("Wrong guesses: " + wrongGuesses + "/" + MAX_WRONG
+                + " (" + guesser.candidateCount() + " words fit)");
+            char letter = guesser.nextLetter();
+            if (letter == 0) {
+                out.println("I don't know any word like that. You win!");
+                return Optional.of(MAX_WRONG);
+            }
+            int positions = askPositions(letter, masked);
+            guesser.applyAnswer(letter, positions);
+            if (positions == 0) {
+                wrongGuesses++;
             } else {
-                sb.append('_');
+                hidden -= revealPositions(masked, letter, positions);
+            }
+        }
+
+        printHangman(wrongGuesses);
+        if (hidden == 0) {
+            out.println("I got it: " + new String(masked).replace(" ", ""));
+        } else {
+            out.println("You win!");
+            String only = guesser.onlyCandidate();
+            if (only != null) {
+                out.println("Was your word " + only + "?");
+            }
+        }
+        return Optional.of(wrongGuesses);
+    }
+
+    /**
+     * Asks the player for the length of their word.
+     * @param index the dictionary index
+     * @return a length for which the dictionary has words
+     */
+    private int askWordLength(final HangmanIndex index) {
+        while (true) {
+            out.print("How many letters does your word have? ");
+            String input = scanner.nextLine().trim();
+            try {
+                int length = Integer.parseInt(input);
+                if (index.wordCount(length) > 0) {
+                    return length;
+                }
+                out.println("I don't know any words of that length.");
+            } catch (NumberFormatException e) {
+                out.println("Please enter a number.");
+            }
+        }
+    }
+
+    /**
+     * Asks the player where a letter occurs in their word.
+     * @param letter the letter guessed
+     * @param masked the letters revealed so far
+     * @return bit p set for each position p (from 0) holding the letter
+     */
+    private int askPositions(final char letter, final char[] masked) {
+        int length = (masked.length + 1) / 2;
+        while (true) {
+            out.print("Is there a " + letter + "? Enter its positions"
+                + " (e.g. 1 3) or press Enter if not: ");
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return 0;
+            }
+            int mask = 0;
+            boolean valid = true;
+            for (String part : input.split("[\\s,]+")) {
+                try {
+                    int p = Integer.parseInt(part) - 1;
+                    if (p < 0 || p >= length || masked[2 * p] != HIDDEN) {
+                        valid = false;
+                    } else {
+                        mask |= 1 << p;
+                    }
+                } catch (NumberFormatException e) {
+                    valid = false;
+                }
+            }
+            if (valid) {
+                return mask;
+            }
+            out.println("Positions must be unrevealed letters from 1 to "
+                + length + ".");
+        }
+    }
+
+    /**
+     * Creates the display buffer for a hidden word: one character per
+     * letter, separated by spaces, updated in place as letters are found.
+     * @param length the number of letters
+     * @return the buffer with every letter hidden
+     */
+    private static char[] newMask(final int length) {
+        char[] masked = new char[Math.max(0, 2 * length - 1)];
+        for (int i = 0; i < masked.length; i++) {
+            masked[i] = (i % 2 == 0) ? HIDDEN : ' ';
+        }
+        return masked;
+    }
+
+    /**
+     * Shows a letter at the given positions of the display buffer.
+     * @param masked the display buffer
+     * @param letter the letter
+     * @param positions bit p set for each position p holding the letter
+     * @return the number of letters revealed
+     */
+    private static int revealPositions(final char[] masked, final char letter,
+                                       final int positions) {
+        for (int p = 0; 2 * p < masked.length; p++) {
+            if ((positions & (1 << p)) != 0) {
+                masked[2 * p] = letter;
             }
-            sb.append(' ');
         }
-        return sb.toString().trim();
+        return Integer.bitCount(positions);
     }
 
     private void printHangman(int wrong) {
+        GameEvents.RenderFrame frame = GameEvents.beginRender();
         String[] stages = {
             "  +---+\n  |   |\n      |\n      |\n      |\n      |\n=========",
             "  +---+\n  |   |\n  O   |\n      |\n      |\n      |\n=========",
@@ -108,6 +315,7 @@ class HangmanGame implements Game {
             "  +---+\n  |   |\n  O   |\n /|\\  |\n /    |\n      |\n=========",
             "  +---+\n  |   |\n  O   |\n /|\\  |\n / \\  |\n      |\n========="
         };
-        System.out.println(stages[wrong]);
+        out.println(stages[wrong]);
+        GameEvents.endRender(frame, getName());
     }
 }
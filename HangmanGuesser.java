@@ -0,0 +1,140 @@
+import java.util.Arrays;
+
+/**
+ * Computer player that guesses the letters of the player's word.
+ * <pre>
+ * The guesser keeps the indices of the dictionary words of the right
+ * length that still fit every answer. Each answer to a letter splits
+ * the candidates into buckets by the positions the letter occupies
+ * (none being one bucket). The guesser picks the unguessed letter whose
+ * largest bucket is smallest, so the worst answer leaves the fewest
+ * words. Ties go to the letter contained in the most candidates, which
+ * makes a wrong guess less likely, then to the more common English
+ * letter.
+ * Letters are counted by walking the set bits of each word's letter
+ * mask. Buckets are found by sorting the letter's position masks in a
+ * scratch array; a letter is skipped without sorting when the words
+ * lacking it already form a bucket larger than the best so far.
+ * Narrowing uses HangmanIndex.filter, so a turn over a large dictionary
+ * is a few passes over int arrays.
+ * </pre>
+ * @version 1
+ */
+final class HangmanGuesser {
+    /** Letters from most to least common in English text. */
+    private static final String FREQUENCY_ORDER = "ETAOINSRHLDCUMFPGWYBVKXJQZ";
+
+    /** The dictionary index. */
+    private final HangmanIndex index;
+    /** Length of the player's word. */
+    private final int length;
+    /** Candidate word indices; the first candidateCount are live. */
+    private final int[] candidates;
+    /** Number of live candidates. */
+    private int candidateCount;
+    /** Letters guessed so far, bit 0 for A. */
+    private int guessed;
+    /** Letter counts scratch array. */
+    private final int[] counts = new int[HangmanIndex.LETTERS];
+    /** Position masks scratch array, one per candidate. */
+    private final int[] masks;
+
+    /**
+     * Starts guessing a word of the given length.
+     * @param dictionary the dictionary index
+     * @param wordLength the number of letters in the player's word
+     */
+    HangmanGuesser(final HangmanIndex dictionary, final int wordLength) {
+        this.index = dictionary;
+        this.length = wordLength;
+        this.candidateCount = dictionary.wordCount(wordLength);
+        this.candidates = new int[candidateCount];
+        this.masks = new int[candidateCount];
+        for (int i = 0; i < candidateCount; i++) {
+            candidates[i] = i;
+        }
+    }
+
+    /**
+     * Returns the number of dictionary words that still fit.
+     * @return candidate count
+     */
+    int candidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * Returns the only word that still fits, if there is exactly one.
+     * @return the word, or null
+     */
+    String onlyCandidate() {
+        return candidateCount == 1 ? index.word(length, candidates[0]) : null;
+    }
+
+    /**
+     * Chooses the next letter to guess.
+     * @return the letter, or 0 if no candidate word is left
+     */
+    char nextLetter() {
+        if (candidateCount == 0) {
+            return 0;
+        }
+        for (int i = 0; i < candidateCount; i++) {
+            int mask = index.letterMask(length, candidates[i]) & ~guessed;
+            while (mask != 0) {
+                counts[Integer.numberOfTrailingZeros(mask)]++;
+                mask &= mask - 1;
+            }
+        }
+        int best = -1;
+        int bestLargest = Integer.MAX_VALUE;
+        for (int i = 0; i < FREQUENCY_ORDER.length(); i++) {
+            int l = FREQUENCY_ORDER.charAt(i) - 'A';
+            if ((guessed & (1 << l)) != 0
+                    || candidateCount - counts[l] > bestLargest) {
+                continue;
+            }
+            int largest = largestBucket(l);
+            if (largest < bestLargest || largest == bestLargest
+                    && (best < 0 || counts[l] > counts[best])) {
+                best = l;
+                bestLargest = largest;
+            }
+        }
+        Arrays.fill(counts, 0);
+        return best < 0 ? 0 : (char) ('A' + best);
+    }
+
+    /**
+     * Finds the largest group of candidates that would get the same
+     * answer to a letter.
+     * @param letter the letter index, 0 for A
+     * @return the size of the largest bucket
+     */
+    private int largestBucket(final int letter) {
+        for (int i = 0; i < candidateCount; i++) {
+            masks[i] = index.positionMask(length, candidates[i], letter);
+        }
+        Arrays.sort(masks, 0, candidateCount);
+        int largest = 0;
+        int run = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            run = i > 0 && masks[i] == masks[i - 1] ? run + 1 : 1;
+            largest = Math.max(largest, run);
+        }
+        return largest;
+    }
+
+    /**
+     * Records where the player says a letter appears.
+     * @param letter the guessed letter
+     * @param positionMask bit p set for each position p holding the
+     *        letter; 0 if the word does not contain it
+     */
+    void applyAnswer(final char letter, final int positionMask) {
+        int l = letter - 'A';
+        guessed |= 1 << l;
+        candidateCount = index.filter(length, candidates, candidateCount,
+                                      l, positionMask);
+    }
+}
@@ -0,0 +1,107 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests for HangmanIndex, HangmanGuesser and HangmanHost.
+ * @version 1
+ */
+public class HangmanGuesserTest {
+
+    @Test
+    public void testPositionMasks() {
+        HangmanIndex index = new HangmanIndex(Arrays.asList("APPLE"));
+        assertEquals(1, index.wordCount(5));
+        assertEquals(0b00110, index.positionMask(5, 0, 'P' - 'A'));
+        assertEquals(0, index.positionMask(5, 0, 'Z' - 'A'));
+    }
+
+    @Test
+    public void testFilterKeepsExactPositionMatches() {
+        HangmanIndex index = new HangmanIndex(
+            Arrays.asList("APPLE", "AMPLE", "MAPLE"));
+        int[] candidates = {0, 1, 2};
+        // P at positions 2 and 3 only: APPLE.
+        int kept = index.filter(5, candidates, 3, 'P' - 'A', 0b00110);
+        assertEquals(1, kept);
+        assertEquals("APPLE", index.word(5, candidates[0]));
+    }
+
+    @Test
+    public void testGuesserPicksMostCommonLetterFirst() {
+        HangmanIndex index = new HangmanIndex(
+            Arrays.asList("JAZZ", "JAVA", "JABS"));
+        HangmanGuesser guesser = new HangmanGuesser(index, 4);
+        // A splits off JAVA, as do Z, V, B and S, but A is in every word.
+        assertEquals('A', guesser.nextLetter());
+    }
+
+    @Test
+    public void testGuesserPicksBestSplitOverMostCommonLetter() {
+        HangmanIndex index = new HangmanIndex(
+            Arrays.asList("ANT", "TAN", "NAB", "BAN"));
+        HangmanGuesser guesser = new HangmanGuesser(index, 3);
+        // A and N are in every word and A is more common, but A is second
+        // in three words. N is in a different place in ANT and NAB, so
+        // no answer leaves more than two words.
+        assertEquals('N', guesser.nextLetter());
+        guesser.applyAnswer('N', 0b100);
+        assertEquals(2, guesser.candidateCount());
+    }
+
+    @Test
+    public void testGuesserFindsEveryDictionaryWord() {
+        HangmanIndex index = HangmanIndex.defaultIndex();
+        for (String word : WordBank.words()) {
+            HangmanGuesser guesser = new HangmanGuesser(index, word.length());
+            int hidden = word.length();
+            while (hidden > 0) {
+                char letter = guesser.nextLetter();
+                assertTrue(letter != 0, "ran out of candidates for " + word);
+                int mask = 0;
+                for (int p = 0; p < word.length(); p++) {
+                    if (word.charAt(p) == letter) {
+                        mask |= 1 << p;
+                    }
+                }
+                guesser.applyAnswer(letter, mask);
+                hidden -= Integer.bitCount(mask);
+            }
+            assertTrue(guesser.candidateCount() >= 1);
+        }
+    }
+
+    @Test
+    public void testUnknownLengthHasNoCandidates() {
+        HangmanGuesser guesser = new HangmanGuesser(
+            new HangmanIndex(Arrays.asList("CAT")), 7);
+        assertEquals(0, guesser.candidateCount());
+        assertEquals(0, guesser.nextLetter());
+        assertNull(guesser.onlyCandidate());
+    }
+
+    @Test
+    public void testEvilHostKeepsLargestFamily() {
+        HangmanIndex index = new HangmanIndex(
+            Arrays.asList("BEAR", "DEER", "GOAT", "LION", "WOLF"));
+        HangmanHost host = new HangmanHost(index, 4);
+        // Three words have no E; BEAR and DEER each form a smaller family.
+        assertEquals(0, host.guess('E'));
+        assertEquals(3, host.candidateCount());
+        // GOAT and WOLF have O second; LION has it third.
+        assertEquals(0b0010, host.guess('O'));
+        assertEquals(2, host.candidateCount());
+    }
+
+    @Test
+    public void testSingleWordHostIsHonest() {
+        HangmanHost host = new HangmanHost(
+            new HangmanIndex(Arrays.asList("JAVA")), 4);
+        assertEquals(0b1010, host.guess('A'));
+        assertEquals(0, host.guess('E'));
+        assertEquals("JAVA", host.word(new Random(1)));
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Answers the player's letter guesses in Hangman.
+ * <pre>
+ * The host holds a set of candidate words of one length. With a single
+ * candidate it is an ordinary honest host. With many it plays "evil
+ * Hangman": it never commits to a word, and after each guess keeps the
+ * largest family of candidates that agree on where the letter appears.
+ *
+ * Families are counted in an open-addressing table of longs, each
+ * packing (position mask + 1) in the high half and the family size in
+ * the low half, so a guess is one pass over primitive word indices plus
+ * one compaction pass, with no allocation.
+ * Ties prefer the family that reveals nothing, then the one that
+ * reveals fewest letters.
+ * </pre>
+ * @version 1
+ */
+final class HangmanHost {
+    /** Bits of a table entry holding the family size. */
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+    /** Multiplier used to spread position masks over the table. */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    /** The dictionary index. */
+    private final HangmanIndex index;
+    /** Word length. */
+    private final int length;
+    /** Candidate word indices; the first candidateCount are live. */
+    private final int[] candidates;
+    /** Number of live candidates. */
+    private int candidateCount;
+    /** Family table: ((mask + 1) &lt;&lt; 32) | size, 0 when empty. */
+    private final long[] families;
+    /** Slots of the family table used by the current guess. */
+    private final int[] usedSlots;
+
+    /**
+     * Creates a host whose candidates are every indexed word of a length.
+     * @param dictionary the dictionary index
+     * @param wordLength the word length
+     */
+    HangmanHost(final HangmanIndex dictionary, final int wordLength) {
+        this.index = dictionary;
+        this.length = wordLength;
+        this.candidateCount = dictionary.wordCount(wordLength);
+        this.candidates = new int[candidateCount];
+        for (int i = 0; i < candidateCount; i++) {
+            candidates[i] = i;
+        }
+        int tableSize = Integer.highestOneBit(Math.max(1, candidateCount)) * 4;
+        this.families = new long[tableSize];
+        this.usedSlots = new int[Math.max(1, candidateCount)];
+    }
+
+    /**
+     * Returns the number of words the host could still claim.
+     * @return candidate count
+     */
+    int candidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * Returns the word length.
+     * @return number of letters
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Answers a guess, keeping the largest family of candidates.
+     * @param letter the guessed letter, A-Z
+     * @return bit p set for each position p holding the letter; 0 if the
+     *         letter is (now) not in the word
+     */
+    int guess(final char letter) {
+        int l = letter - 'A';
+        int slotMask = families.length - 1;
+        int shift = Integer.numberOfLeadingZeros(slotMask);
+        int used = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int mask = index.positionMask(length, candidates[i], l);
+            int slot = (mask * HASH_MULTIPLIER) >>> shift;
+            long key = ((long) mask + 1) << Integer.SIZE;
+            while (families[slot] != 0 && (families[slot] & ~COUNT_MASK) != key) {
+                slot = (slot + 1) & slotMask;
+            }
+            if (families[slot] == 0) {
+                families[slot] = key;
+                usedSlots[used++] = slot;
+            }
+            families[slot]++;
+        }
+
+        long best = 0;
+        for (int u = 0; u < used; u++) {
+            long entry = families[usedSlots[u]];
+            families[usedSlots[u]] = 0;
+            if (best == 0 || better(entry, best)) {
+                best = entry;
+            }
+        }
+        if (best == 0) {
+            return 0;
+        }
+        int mask = familyMask(best);
+        candidateCount = index.filter(length, candidates, candidateCount, l, mask);
+        return mask;
+    }
+
+    /**
+     * Picks the word the host finally admits to.
+     * @param random source of randomness
+     * @return one of the remaining candidates
+     */
+    String word(final RandomGenerator random) {
+        return index.word(length, candidates[random.nextInt(candidateCount)]);
+    }
+
+    /**
+     * Compares two family table entries.
+     * @param entry the challenger
+     * @param best the current best
+     * @return true if the challenger is preferred
+     */
+    private static boolean better(final long entry, final long best) {
+        long size = entry & COUNT_MASK;
+        long bestSize = best & COUNT_MASK;
+        if (size != bestSize) {
+            return size > bestSize;
+        }
+        return Integer.bitCount(familyMask(entry))
+            < Integer.bitCount(familyMask(best));
+    }
+
+    /**
+     * Extracts the position mask of a family table entry.
+     * @param entry the table entry
+     * @return the position mask
+     */
+    private static int familyMask(final long entry) {
+        return (int) ((entry >>> Integer.SIZE) - 1);
+    }
+}
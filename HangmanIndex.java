@@ -0,0 +1,147 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dictionary index for the Hangman computer players.
+ * <pre>
+ * Words are bucketed by length. For every word the index stores
+ *   letters[w]             bit l set if letter l occurs in the word
+ *   positions[w * 26 + l]  bit p set if letter l is at position p
+ * Revealing a letter in Hangman reveals exactly its position mask, so
+ * "does word w fit the answer to letter l?" is one int comparison and
+ * narrowing a candidate list is a single pass over primitive arrays.
+ * Words longer than MAX_LENGTH letters are not indexed.
+ * The index is immutable and can be shared between threads.
+ * </pre>
+ * @version 1
+ */
+final class HangmanIndex {
+    /** Number of letters in the alphabet. */
+    static final int LETTERS = 26;
+    /** Longest indexed word (positions must fit in an int). */
+    static final int MAX_LENGTH = Integer.SIZE - 1;
+
+    /** Words of each length. */
+    private final String[][] words = new String[MAX_LENGTH + 1][];
+    /** Letter masks of each length bucket. */
+    private final int[][] letters = new int[MAX_LENGTH + 1][];
+    /** Position masks of each length bucket, 26 per word. */
+    private final int[][] positions = new int[MAX_LENGTH + 1][];
+
+    /**
+     * Builds an index over the given words.
+     * @param dictionary upper-case words; duplicates are ignored
+     */
+    HangmanIndex(final Collection<String> dictionary) {
+        List<List<String>> byLength = new ArrayList<>();
+        for (int n = 0; n <= MAX_LENGTH; n++) {
+            byLength.add(new ArrayList<>());
+        }
+        Set<String> distinct = new LinkedHashSet<>(dictionary);
+        for (String word : distinct) {
+            if (word.length() <= MAX_LENGTH && WordBank.isUpperAlpha(word)) {
+                byLength.get(word.length()).add(word);
+            }
+        }
+        for (int n = 0; n <= MAX_LENGTH; n++) {
+            List<String> bucket = byLength.get(n);
+            words[n] = bucket.toArray(new String[0]);
+            letters[n] = new int[bucket.size()];
+            positions[n] = new int[bucket.size() * LETTERS];
+            for (int w = 0; w < bucket.size(); w++) {
+                String word = bucket.get(w);
+                for (int p = 0; p < n; p++) {
+                    int l = word.charAt(p) - 'A';
+                    letters[n][w] |= 1 << l;
+                    positions[n][w * LETTERS + l] |= 1 << p;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index over the active {@link WordBank}.
+     * It is built once, on first use, and shared by all callers.
+     * @return the shared index
+     */
+    static HangmanIndex defaultIndex() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Returns the number of indexed words of a length.
+     * @param length the word length
+     * @return the word count, 0 if the length is out of range
+     */
+    int wordCount(final int length) {
+        if (length < 1 || length > MAX_LENGTH) {
+            return 0;
+        }
+        return words[length].length;
+    }
+
+    /**
+     * Returns an indexed word.
+     * @param length the word length
+     * @param word the index within the length bucket
+     * @return the word
+     */
+    String word(final int length, final int word) {
+        return words[length][word];
+    }
+
+    /**
+     * Returns the letters of a word as a mask.
+     * @param length the word length
+     * @param word the index within the length bucket
+     * @return bit l set if letter l occurs
+     */
+    int letterMask(final int length, final int word) {
+        return letters[length][word];
+    }
+
+    /**
+     * Returns the positions of a letter in a word as a mask.
+     * @param length the word length
+     * @param word the index within the length bucket
+     * @param letter the letter index, 0 for A
+     * @return bit p set if the letter is at position p
+     */
+    int positionMask(final int length, final int word, final int letter) {
+        return positions[length][word * LETTERS + letter];
+    }
+
+    /**
+     * Keeps only the candidates in which a letter occupies exactly the
+     * given positions. Candidates are compacted in place.
+     * @param length the word length
+     * @param candidates word indices; the first count entries are live
+     * @param count number of live candidates
+     * @param letter the letter index, 0 for A
+     * @param mask the revealed positions; 0 if the letter is absent
+     * @return the number of candidates kept
+     */
+    int filter(final int length, final int[] candidates, final int count,
+               final int letter, final int mask) {
+        int[] bucket = positions[length];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int w = candidates[i];
+            if (bucket[w * LETTERS + letter] == mask) {
+                candidates[kept++] = w;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Lazily builds the shared index the first time it is needed.
+     */
+    private static final class Holder {
+        /** The shared index. */
+        static final HangmanIndex DEFAULT = new HangmanIndex(WordBank.words());
+    }
+}
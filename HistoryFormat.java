@@ -0,0 +1,202 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The history file format.
+ * <pre>
+ * A history file is
+ *   header    'C' 'G' 'H' 'H' VERSION
+ *   strings   varint count, then per string varint length and UTF-8
+ *   games     varint count, then per game:
+ *               varint name (index into strings)
+ *               varint times played
+ *               varint scores, then zigzag varint per score
+ * Varints are little-endian base 128 as in Varint, so play counts and
+ * typical scores take one byte each; an empty history is seven bytes.
+ * The total score is not stored, it is the sum of the scores.
+ * Files written before this format are Java serialization streams of
+ * GameHistoryTracker; decode recognizes them by their stream magic and
+ * reads them the old way, and the next save writes this format, so old
+ * history files migrate on first use. Such a stream may only hold the
+ * classes an old history is made of; any other class is rejected
+ * before it is loaded, so a crafted file cannot run code through its
+ * deserialization. A file of a newer version is
+ * refused rather than misread; GameHistoryTracker.loadHistory then
+ * renames it to NAME.bad instead of overwriting it.
+ * </pre>
+ * @version 1
+ */
+final class HistoryFormat {
+    /** File signature. */
+    static final byte[] MAGIC = {'C', 'G', 'H', 'H'};
+    /** Current format version. */
+    static final int VERSION = 1;
+    /** First two bytes of a Java serialization stream. */
+    private static final int SERIALIZED_MAGIC = 0xACED;
+    /**
+     * Classes an old history stream may hold. Number comes in as the
+     * superclass of Integer, and HashMap and ArrayList check the arrays
+     * they allocate, of Map.Entry and Object, against the filter too.
+     */
+    private static final ObjectInputFilter SERIALIZED_CLASSES =
+        ObjectInputFilter.Config.createFilter(
+            "GameHistoryTracker;GameHistoryTracker$GameStats;"
+            + "java.util.HashMap;java.util.ArrayList;java.lang.Integer;"
+            + "java.lang.Number;java.util.Map$Entry;java.lang.Object;!*");
+
+    /**
+     * Prevent Instantiation.
+     */
+    private HistoryFormat() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Encodes game stats.
+     * @param stats stats by game name
+     * @return the file contents
+     */
+    static byte[] encode(final Map<String, GameHistoryTracker.GameStats> stats) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + 16 * stats.size());
+        out.write(MAGIC, 0, MAGIC.length);
+        out.write(VERSION);
+        Varint.write(out, stats.size());
+        for (String game : stats.keySet()) {
+            byte[] name = game.getBytes(StandardCharsets.UTF_8);
+            Varint.write(out, name.length);
+            out.write(name, 0, name.length);
+        }
+        Varint.write(out, stats.size());
+        int index = 0;
+        for (GameHistoryTracker.GameStats s : stats.values()) {
+            Varint.write(out, index++);
+            Varint.write(out, s.getTimesPlayed());
+            List<Integer> scores = s.getScores();
+            Varint.write(out, scores.size());
+            for (int score : scores) {
+                Varint.write(out, Varint.zigzag(score));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a history file of this format or of the old serialized one.
+     * @param contents the file contents
+     * @return stats by game name, in file order
+     * @throws IOException if the contents are not a history this code
+     *         can read
+     */
+    static Map<String, GameHistoryTracker.GameStats> decode(final byte[] contents)
+        throws IOException {
+        if (isSerialized(contents)) {
+            return decodeSerialized(contents);
+        }
+        ByteBuffer in = ByteBuffer.wrap(contents);
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("not a history file");
+            }
+            int version = in.get() & 0xFF;
+            if (version != VERSION) {
+                throw new IOException("unsupported history version " + version);
+            }
+            String[] strings = new String[length(in)];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[length(in)];
+                in.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int games = length(in);
+            Map<String, GameHistoryTracker.GameStats> stats =
+                new LinkedHashMap<>(games * 2);
+            for (int g = 0; g < games; g++) {
+                String name = strings[count(in)];
+                int timesPlayed = count(in);
+                int n = length(in);
+                List<Integer> scores = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    scores.add((int) Varint.unzigzag(Varint.get(in)));
+                }
+                stats.put(name, new GameHistoryTracker.GameStats(timesPlayed, scores));
+            }
+            return stats;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException
+                 | IllegalArgumentException e) {
+            throw new IOException("truncated or damaged history file", e);
+        }
+    }
+
+    /**
+     * Checks whether contents are in the old serialized format.
+     * @param contents the file contents
+     * @return true if they start with the Java serialization magic
+     */
+    static boolean isSerialized(final byte[] contents) {
+        return contents.length >= 2
+            && ((contents[0] & 0xFF) << 8 | contents[1] & 0xFF) == SERIALIZED_MAGIC;
+    }
+
+    /**
+     * Reads a history saved with Java serialization.
+     * @param contents the file contents
+     * @return stats by game name
+     * @throws IOException if the stream cannot be read
+     */
+    private static Map<String, GameHistoryTracker.GameStats> decodeSerialized(
+        final byte[] contents) throws IOException {
+        try (ObjectInputStream in =
+                 new ObjectInputStream(new ByteArrayInputStream(contents))) {
+            in.setObjectInputFilter(SERIALIZED_CLASSES);
+            // Rebuild the stats so that fields added since are filled in.
+            Map<String, GameHistoryTracker.GameStats> stats = new LinkedHashMap<>();
+            ((GameHistoryTracker) in.readObject()).statsSnapshot().forEach(
+                (game, s) -> stats.put(game, new GameHistoryTracker.GameStats(
+                    s.getTimesPlayed(), s.getScores())));
+            return stats;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("not a game history", e);
+        }
+    }
+
+    /**
+     * Reads a varint that counts or indexes something.
+     * @param in the buffer
+     * @return the value
+     * @throws IOException if it is negative or does not fit an int
+     */
+    private static int count(final ByteBuffer in) throws IOException {
+        long v = Varint.get(in);
+        if (v < 0 || v > Integer.MAX_VALUE) {
+            throw new IOException("bad count in history file: " + v);
+        }
+        return (int) v;
+    }
+
+    /**
+     * Reads a varint that counts items of at least one byte each.
+     * @param in the buffer
+     * @return the value
+     * @throws IOException if more items than bytes remain
+     */
+    private static int length(final ByteBuffer in) throws IOException {
+        int n = count(in);
+        if (n > in.remaining()) {
+            throw new IOException("truncated or damaged history file");
+        }
+        return n;
+    }
+}
@@ -0,0 +1,141 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tests for HistoryFormat and loading old history files.
+ * @version 1
+ */
+public class HistoryFormatTest {
+    /** A history file written with Java serialization. */
+    private static final Path BASELINE_HISTORY =
+        Paths.get("testdata", "history-baseline.dat");
+
+    /**
+     * Describes a history for comparison.
+     * @param history the history
+     * @return its stats, sorted by game
+     */
+    private static String describe(final GameHistoryTracker history) {
+        Map<String, String> games = new TreeMap<>();
+        for (Map.Entry<String, GameHistoryTracker.GameStats> e
+                 : history.statsSnapshot().entrySet()) {
+            games.put(e.getKey(), e.getValue().getTimesPlayed() + " "
+                      + e.getValue().getScores());
+        }
+        return games.toString();
+    }
+
+    /**
+     * Makes a history with scored and unscored plays.
+     * @return the history
+     */
+    private static GameHistoryTracker sample() {
+        GameHistoryTracker history = new GameHistoryTracker();
+        history.recordPlay("Snake", 12);
+        history.recordPlay("Snake", 300);
+        history.recordPlay("Snake", null);
+        history.recordPlay("Jotto", -4);
+        history.recordPlay("Mémoire", Integer.MIN_VALUE);
+        history.recordPlay("Sudoku", null);
+        return history;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        GameHistoryTracker history = sample();
+        byte[] bytes = HistoryFormat.encode(history.statsSnapshot());
+        GameHistoryTracker copy = new GameHistoryTracker();
+        for (Map.Entry<String, GameHistoryTracker.GameStats> e
+                 : HistoryFormat.decode(bytes).entrySet()) {
+            for (int i = 0; i < e.getValue().getTimesPlayed(); i++) {
+                copy.recordPlay(e.getKey(),
+                    i < e.getValue().getScores().size()
+                        ? e.getValue().getScores().get(i) : null);
+            }
+        }
+        assertEquals(describe(history), describe(copy));
+        assertArrayEquals(HistoryFormat.MAGIC, Arrays.copyOf(bytes, 4));
+    }
+
+    @Test
+    public void testSaveAndLoad(@TempDir final Path dir) throws IOException {
+        Path file = dir.resolve("history.dat");
+        GameHistoryTracker history = sample();
+        history.saveHistory(file.toString());
+        assertEquals(describe(history),
+                     describe(GameHistoryTracker.loadHistory(file.toString())));
+
+        new GameHistoryTracker().saveHistory(file.toString());
+        assertEquals(7, Files.size(file));
+    }
+
+    @Test
+    public void testMigratesSerializedHistory(@TempDir final Path dir)
+        throws IOException {
+        // Saved by GameHistoryTracker before HistoryFormat, with the
+        // plays of sample().
+        Path file = dir.resolve("history.dat");
+        Files.copy(BASELINE_HISTORY, file);
+        GameHistoryTracker history = sample();
+        long oldSize = Files.size(file);
+
+        GameHistoryTracker loaded = GameHistoryTracker.loadHistory(file.toString());
+        assertEquals(describe(history), describe(loaded));
+        loaded.saveHistory(file.toString());
+        byte[] bytes = Files.readAllBytes(file);
+        assertArrayEquals(HistoryFormat.MAGIC, Arrays.copyOf(bytes, 4));
+        assertTrue(bytes.length < oldSize / 4,
+                   bytes.length + " bytes, was " + oldSize);
+        assertEquals(describe(history),
+                     describe(GameHistoryTracker.loadHistory(file.toString())));
+    }
+
+    @Test
+    public void testSerializedStreamMayHoldOnlyHistoryClasses()
+        throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+            objects.writeObject(new HashMap<>(Map.of("Snake", new Date(0))));
+        }
+        InvalidClassException e = assertThrows(InvalidClassException.class,
+            () -> HistoryFormat.decode(bytes.toByteArray()));
+        assertTrue(e.getMessage().contains("REJECTED"), e.getMessage());
+    }
+
+    @Test
+    public void testRejectsDamagedOrNewerFiles(@TempDir final Path dir)
+        throws IOException {
+        byte[] bytes = HistoryFormat.encode(sample().statsSnapshot());
+        assertThrows(IOException.class, () -> HistoryFormat.decode(
+            Arrays.copyOf(bytes, bytes.length - 3)));
+        assertThrows(IOException.class, () -> HistoryFormat.decode(new byte[0]));
+
+        byte[] newer = bytes.clone();
+        newer[4] = (byte) (HistoryFormat.VERSION + 1);
+        assertThrows(IOException.class, () -> HistoryFormat.decode(newer));
+
+        Path file = dir.resolve("history.dat");
+        Files.write(file, newer);
+        assertEquals("{}", describe(
+            GameHistoryTracker.loadHistory(file.toString())));
+        assertFalse(Files.exists(file));
+        assertArrayEquals(newer, Files.readAllBytes(dir.resolve("history.dat.bad")));
+    }
+}
@@ -0,0 +1,326 @@
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Questions about the plays of all players, answered from rollups.
+ * <pre>
+ * Each play updates, in constant time, running stats
+ *   per game, per player, and per game of each day
+ * and a count per score of each game. Queries then combine rollups,
+ * never plays:
+ *   games(), game(name)            O(games)
+ *   players(), player(name)        O(players)
+ *   window(from, to)               O(days in range x games)
+ *   topGames(n)                    O(games log games)
+ *   distribution(game)             O(distinct scores of the game)
+ * Results are immutable: Summary objects and unmodifiable collections
+ * that later plays do not change. render turns summaries into the text
+ * of the console history view, which GameHistoryTracker uses too.
+ * Days start at midnight in the given time zone, so windows cover
+ * whole days. from(series) rolls up every play ever recorded; views
+ * that need only the last days build their rollups with recent(), which
+ * reads just those days of the series.
+ * </pre>
+ * @version 1
+ */
+final class HistoryQuery {
+    /** Orders summaries by name. */
+    static final Comparator<Summary> BY_NAME = Comparator.comparing(Summary::name);
+    /** Orders summaries by plays, most first, then by name. */
+    static final Comparator<Summary> BY_PLAYS =
+        Comparator.comparingInt(Summary::plays).reversed().thenComparing(BY_NAME);
+
+    /** Time zone in which days start. */
+    private final ZoneId zone;
+    /** Stats by game. */
+    private final Map<String, HistorySnapshot.Stats> byGame = new HashMap<>();
+    /** Stats by player. */
+    private final Map<String, HistorySnapshot.Stats> byPlayer = new HashMap<>();
+    /** Stats by game, by epoch day. */
+    private final TreeMap<Long, Map<String, HistorySnapshot.Stats>> byDay =
+        new TreeMap<>();
+    /** Plays per score, by game. */
+    private final Map<String, TreeMap<Integer, Integer>> scores = new HashMap<>();
+
+    /**
+     * Creates empty rollups with days in the local time zone.
+     */
+    HistoryQuery() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates empty rollups.
+     * @param timeZone time zone in which days start
+     */
+    HistoryQuery(final ZoneId timeZone) {
+        this.zone = timeZone;
+    }
+
+    /**
+     * Builds rollups of every play in a time series.
+     * @param series the plays
+     * @return the rollups, days in the local time zone
+     * @throws IOException if the series cannot be read
+     */
+    static HistoryQuery from(final PlaySeries series) throws IOException {
+        HistoryQuery query = new HistoryQuery();
+        query.recordAll(series.query(Long.MIN_VALUE, Long.MAX_VALUE));
+        return query;
+    }
+
+    /**
+     * Builds rollups of the plays of the last days only. The series
+     * skips the chunks of older plays without decoding them, so this
+     * costs the plays of those days, not every play ever recorded.
+     * @param series the plays
+     * @param days number of whole days, today included
+     * @param now the current time, epoch milliseconds
+     * @param timeZone time zone in which days start
+     * @return the rollups
+     * @throws IOException if the series cannot be read
+     */
+    static HistoryQuery recent(final PlaySeries series, final int days,
+                               final long now, final ZoneId timeZone)
+        throws IOException {
+        HistoryQuery query = new HistoryQuery(timeZone);
+        long from = LocalDate.ofInstant(Instant.ofEpochMilli(now), timeZone)
+            .minusDays(days - 1L).atStartOfDay(timeZone).toInstant().toEpochMilli();
+        query.recordAll(series.query(from, Long.MAX_VALUE));
+        return query;
+    }
+
+    /**
+     * Adds plays to the rollups.
+     * @param plays the plays
+     */
+    private void recordAll(final List<PlaySeries.Play> plays) {
+        for (PlaySeries.Play p : plays) {
+            record(p.game(), p.player(), p.score(), p.time());
+        }
+    }
+
+    /**
+     * Adds a play to the rollups.
+     * @param game name of the game
+     * @param player who played
+     * @param score the score, or null
+     * @param time when, in epoch milliseconds
+     */
+    synchronized void record(final String game, final String player,
+                             final Integer score, final long time) {
+        HistorySnapshot.Stats one = HistorySnapshot.Stats.NONE.plus(score);
+        byGame.merge(game, one, HistorySnapshot.Stats::plus);
+        byPlayer.merge(player, one, HistorySnapshot.Stats::plus);
+        long day = LocalDate.ofInstant(Instant.ofEpochMilli(time), zone).toEpochDay();
+        byDay.computeIfAbsent(day, d -> new HashMap<>())
+             .merge(game, one, HistorySnapshot.Stats::plus);
+        if (score != null) {
+            scores.computeIfAbsent(game, g -> new TreeMap<>())
+                  .merge(score, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Returns the stats of every game.
+     * @return summaries by game name
+     */
+    synchronized List<Summary> games() {
+        return summarize(byGame, BY_NAME);
+    }
+
+    /**
+     * Returns the stats of one game.
+     * @param game name of the game
+     * @return its summary, with no plays if never played
+     */
+    synchronized Summary game(final String game) {
+        return new Summary(game, byGame.getOrDefault(game, HistorySnapshot.Stats.NONE));
+    }
+
+    /**
+     * Returns the stats of every player, all games together.
+     * @return summaries by player name
+     */
+    synchronized List<Summary> players() {
+        return summarize(byPlayer, BY_NAME);
+    }
+
+    /**
+     * Returns the stats of one player, all games together.
+     * @param player the player
+     * @return the summary, with no plays if the player never played
+     */
+    synchronized Summary player(final String player) {
+        return new Summary(player,
+                           byPlayer.getOrDefault(player, HistorySnapshot.Stats.NONE));
+    }
+
+    /**
+     * Returns the stats of every game played in a range of days.
+     * @param from a time in the first day, epoch milliseconds
+     * @param to a time after the last day, epoch milliseconds, exclusive
+     * @return summaries by game name
+     */
+    synchronized List<Summary> window(final long from, final long to) {
+        long first = LocalDate.ofInstant(Instant.ofEpochMilli(from), zone).toEpochDay();
+        long last = LocalDate.ofInstant(Instant.ofEpochMilli(to - 1), zone).toEpochDay();
+        Map<String, HistorySnapshot.Stats> sum = new HashMap<>();
+        if (first <= last) {
+            for (Map<String, HistorySnapshot.Stats> day
+                     : byDay.subMap(first, true, last, true).values()) {
+                day.forEach((game, s) -> sum.merge(game, s, HistorySnapshot.Stats::plus));
+            }
+        }
+        return summarize(sum, BY_NAME);
+    }
+
+    /**
+     * Returns the most played games.
+     * @param n most games returned
+     * @return summaries, most played first
+     */
+    synchronized List<Summary> topGames(final int n) {
+        List<Summary> all = summarize(byGame, BY_PLAYS);
+        return all.subList(0, Math.min(n, all.size()));
+    }
+
+    /**
+     * Returns how often each score was reached in a game.
+     * @param game name of the game
+     * @return plays by score, lowest score first
+     */
+    synchronized SortedMap<Integer, Integer> distribution(final String game) {
+        TreeMap<Integer, Integer> counts = scores.get(game);
+        return Collections.unmodifiableSortedMap(
+            counts == null ? new TreeMap<>() : new TreeMap<>(counts));
+    }
+
+    /**
+     * Renders the console history view.
+     * @param summaries the games, in the order shown
+     * @return the text
+     */
+    static String render(final List<Summary> summaries) {
+        StringBuilder sb = new StringBuilder("\n=== Game Play History ===\n");
+        if (summaries.isEmpty()) {
+            return sb.append("No games played yet.\n").toString();
+        }
+        for (Summary s : summaries) {
+            sb.append(s.name()).append(" - Played: ").append(s.plays());
+            OptionalDouble avg = s.average();
+            if (avg.isPresent()) {
+                sb.append(String.format(", Avg Score: %.2f", avg.getAsDouble()));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Turns rollups into sorted summaries.
+     * @param stats stats by name
+     * @param order the order of the result
+     * @return an unmodifiable list
+     */
+    static List<Summary> summarize(final Map<String, HistorySnapshot.Stats> stats,
+                                   final Comparator<Summary> order) {
+        List<Summary> list = new ArrayList<>(stats.size());
+        stats.forEach((name, s) -> list.add(new Summary(name, s)));
+        list.sort(order);
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Stats of one game, player or other group of plays.
+     */
+    static final class Summary {
+        /** What the stats are of. */
+        private final String name;
+        /** The stats. */
+        private final HistorySnapshot.Stats stats;
+
+        /**
+         * Creates a summary.
+         * @param label what the stats are of
+         * @param values the stats
+         */
+        Summary(final String label, final HistorySnapshot.Stats values) {
+            this.name = label;
+            this.stats = values;
+        }
+
+        /**
+         * Returns what the stats are of.
+         * @return the game or player name
+         */
+        String name() {
+            return name;
+        }
+
+        /**
+         * Returns the number of plays.
+         * @return the count
+         */
+        int plays() {
+            return stats.plays();
+        }
+
+        /**
+         * Returns the number of plays with a score.
+         * @return the count
+         */
+        int scored() {
+            return stats.scored();
+        }
+
+        /**
+         * Returns the sum of the scores.
+         * @return the total
+         */
+        long totalScore() {
+            return stats.totalScore();
+        }
+
+        /**
+         * Returns the mean score.
+         * @return the mean, empty if no play had a score
+         */
+        OptionalDouble average() {
+            return stats.scored() == 0 ? OptionalDouble.empty()
+                : OptionalDouble.of(stats.totalScore() / (double) stats.scored());
+        }
+
+        /**
+         * Returns the lowest score.
+         * @return the score, Integer.MAX_VALUE if none
+         */
+        int lowest() {
+            return stats.lowest();
+        }
+
+        /**
+         * Returns the highest score.
+         * @return the score, Integer.MIN_VALUE if none
+         */
+        int highest() {
+            return stats.highest();
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + stats;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for HistoryQuery.
+ * @version 1
+ */
+public class HistoryQueryTest {
+    /** Milliseconds per day. */
+    private static final long DAY = 86_400_000L;
+    /** Midnight UTC of a fixed day. */
+    private static final long DAY0 = 20_000 * DAY;
+
+    /**
+     * Makes rollups of a few plays over three days.
+     * @return the rollups
+     */
+    private static HistoryQuery sample() {
+        HistoryQuery query = new HistoryQuery(ZoneOffset.UTC);
+        query.record("Snake", "alice", 10, DAY0);
+        query.record("Snake", "bob", 30, DAY0 + DAY - 1);
+        query.record("Jotto", "alice", 4, DAY0 + DAY);
+        query.record("Snake", "alice", 10, DAY0 + 2 * DAY);
+        query.record("Sudoku", "bob", null, DAY0 + 2 * DAY);
+        return query;
+    }
+
+    @Test
+    public void testPerGameAndPlayer() {
+        HistoryQuery query = sample();
+        assertEquals("[Jotto: plays 1, scored 1, total 4, range 4..4, "
+                     + "Snake: plays 3, scored 3, total 50, range 10..30, "
+                     + "Sudoku: plays 1, scored 0, total 0]",
+                     query.games().toString());
+        assertEquals(50.0 / 3, query.game("Snake").average().getAsDouble(), 1e-9);
+        assertFalse(query.game("Sudoku").average().isPresent());
+        assertEquals(0, query.game("Wordle").plays());
+        assertEquals(3, query.player("alice").plays());
+        assertEquals(24, query.player("alice").totalScore());
+        assertEquals("[alice, bob]",
+                     query.players().stream().map(HistoryQuery.Summary::name)
+                          .collect(Collectors.toList()).toString());
+    }
+
+    @Test
+    public void testWindowsCoverWholeDays() {
+        HistoryQuery query = sample();
+        assertEquals("[Snake: plays 2, scored 2, total 40, range 10..30]",
+                     query.window(DAY0, DAY0 + DAY).toString());
+        List<HistoryQuery.Summary> lastTwo = query.window(DAY0 + DAY + 5, DAY0 + 3 * DAY);
+        assertEquals(3, lastTwo.size());
+        assertEquals(1, lastTwo.get(1).plays());
+        assertTrue(query.window(DAY0 - DAY, DAY0).isEmpty());
+    }
+
+    @Test
+    public void testTopGamesAndDistribution() {
+        HistoryQuery query = sample();
+        List<HistoryQuery.Summary> top = query.topGames(2);
+        assertEquals(2, top.size());
+        assertEquals("Snake", top.get(0).name());
+        assertEquals("Jotto", top.get(1).name());
+
+        SortedMap<Integer, Integer> snake = query.distribution("Snake");
+        assertEquals("{10=2, 30=1}", snake.toString());
+        assertTrue(query.distribution("Sudoku").isEmpty());
+    }
+
+    @Test
+    public void testResultsAreImmutableSnapshots() {
+        HistoryQuery query = sample();
+        List<HistoryQuery.Summary> games = query.games();
+        SortedMap<Integer, Integer> snake = query.distribution("Snake");
+        query.record("Snake", "carol", 10, DAY0);
+        assertEquals(3, games.get(1).plays());
+        assertEquals(2, (int) snake.get(10));
+        assertThrows(UnsupportedOperationException.class, () -> games.clear());
+        assertThrows(UnsupportedOperationException.class, () -> snake.put(1, 1));
+    }
+
+    @Test
+    public void testBuiltFromPlaySeries(@TempDir final Path dir) throws IOException {
+        PlaySeries series = new PlaySeries(dir.resolve("plays.dat"));
+        series.append(new PlaySeries.Play(DAY0, "Snake", "alice", 7, 1000));
+        series.append(new PlaySeries.Play(DAY0, "Snake", "bob", null, 1000));
+        HistoryQuery query = HistoryQuery.from(series);
+        assertEquals(2, query.game("Snake").plays());
+        assertEquals(1, query.player("bob").plays());
+    }
+
+    @Test
+    public void testRecentReadsOnlyTheLastDays(@TempDir final Path dir)
+        throws IOException {
+        PlaySeries series = new PlaySeries(dir.resolve("plays.dat"), 2);
+        for (int day = 0; day < 30; day++) {
+            series.append(new PlaySeries.Play(DAY0 + day * DAY + 1, "Snake",
+                                              "alice", day, 1000));
+            series.append(new PlaySeries.Play(DAY0 + day * DAY + 2, "Jotto",
+                                              "bob", null, 1000));
+        }
+        long now = DAY0 + 29 * DAY + DAY / 2;
+        HistoryQuery query = HistoryQuery.recent(series, 7, now, ZoneOffset.UTC);
+        assertEquals(7, query.game("Snake").plays());
+        assertEquals(23, query.game("Snake").lowest());
+        assertEquals(7, query.player("bob").plays());
+        assertEquals(query.games().toString(),
+                     query.window(DAY0 + 23 * DAY, now).toString());
+    }
+
+    @Test
+    public void testTrackerViewUsesSummaries() {
+        GameHistoryTracker history = new GameHistoryTracker();
+        history.recordPlay("Snake", 3);
+        history.recordPlay("Snake", 4);
+        history.recordPlay("Jotto", null);
+        PrintStream console = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(out));
+            history.displayHistory();
+        } finally {
+            System.setOut(console);
+        }
+        assertEquals(HistoryQuery.render(history.summaries()), out.toString());
+        assertEquals("\n=== Game Play History ===\n"
+                     + "Jotto - Played: 1\n"
+                     + "Snake - Played: 2, Avg Score: 3.50\n", out.toString());
+        assertEquals(3, history.summaries().get(1).lowest());
+    }
+}
@@ -0,0 +1,389 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only game stats laid out to be memory-mapped.
+ * <pre>
+ * Opening a snapshot maps the file and reads nothing else; stats are
+ * read from the mapping when asked for, so many launchers on one host
+ * start without decoding the history and share its pages through the
+ * OS page cache. The file is
+ *   header   'C' 'G' 'H' 'S', then int VERSION, games, slots,
+ *            index offset, records offset, names offset, 0
+ *   index    slots (a power of two) pairs of int name hash, int record;
+ *            record -1 marks an empty slot
+ *   records  per game: long total score, int plays, int scored plays,
+ *            int lowest score, int highest score, int name offset,
+ *            int name length
+ *   names    the game names, UTF-8
+ * All numbers are big-endian. A lookup hashes the name, probes the
+ * index linearly from the slot of the hash and compares names only
+ * when the hash matches. The index is at most half full.
+ * A snapshot never changes once written; write replaces the file
+ * atomically, and launchers that mapped the old file keep reading it.
+ * </pre>
+ * @version 1
+ */
+final class HistorySnapshot {
+    /** File signature. */
+    static final byte[] MAGIC = {'C', 'G', 'H', 'S'};
+    /** Format version. */
+    static final int VERSION = 1;
+    /** Header size in bytes. */
+    private static final int HEADER = 32;
+    /** Index slot size in bytes. */
+    private static final int SLOT = 8;
+    /** Record size in bytes. */
+    private static final int RECORD = 32;
+
+    /** The mapped file; position and limit are never changed. */
+    private final ByteBuffer map;
+    /** Number of games. */
+    private final int games;
+    /** Number of index slots. */
+    private final int slots;
+    /** Where the index starts. */
+    private final int indexOffset;
+    /** Where the records start. */
+    private final int recordsOffset;
+    /** Where the names start. */
+    private final int namesOffset;
+
+    /**
+     * Reads the header of a mapped snapshot.
+     * @param buffer the snapshot
+     * @throws IOException if it is not a valid snapshot
+     */
+    private HistorySnapshot(final ByteBuffer buffer) throws IOException {
+        this.map = buffer;
+        if (buffer.capacity() < HEADER) {
+            throw new IOException("snapshot too short");
+        }
+        byte[] magic = new byte[MAGIC.length];
+        buffer.duplicate().get(magic);
+        if (!Arrays.equals(magic, MAGIC) || buffer.getInt(4) != VERSION) {
+            throw new IOException("not a history snapshot");
+        }
+        this.games = buffer.getInt(8);
+        this.slots = buffer.getInt(12);
+        this.indexOffset = buffer.getInt(16);
+        this.recordsOffset = buffer.getInt(20);
+        this.namesOffset = buffer.getInt(24);
+        if (games < 0 || Integer.bitCount(slots) != 1 || games >= slots
+            || indexOffset != HEADER
+            || recordsOffset != indexOffset + slots * SLOT
+            || namesOffset != recordsOffset + games * RECORD
+            || namesOffset > buffer.capacity()) {
+            throw new IOException("damaged history snapshot");
+        }
+    }
+
+    /**
+     * Maps a snapshot file.
+     * @param file the file
+     * @return the snapshot, empty if the file does not exist
+     * @throws IOException if the file cannot be mapped or is not valid
+     */
+    static HistorySnapshot open(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer =
+                channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new HistorySnapshot(buffer);
+        } catch (NoSuchFileException e) {
+            return new HistorySnapshot(ByteBuffer.wrap(encode(new LinkedHashMap<>())));
+        }
+    }
+
+    /**
+     * Returns the number of games.
+     * @return the count
+     */
+    int size() {
+        return games;
+    }
+
+    /**
+     * Looks up the stats of a game.
+     * @param game name of the game
+     * @return the stats, or null if the game is not in the snapshot
+     */
+    Stats stats(final String game) {
+        byte[] name = game.getBytes(StandardCharsets.UTF_8);
+        int hash = game.hashCode();
+        int mask = slots - 1;
+        int i = mix(hash) & mask;
+        for (int probes = 0; probes < slots; probes++) {
+            int slot = indexOffset + i * SLOT;
+            int record = map.getInt(slot + 4);
+            if (record < 0) {
+                return null;
+            }
+            if (map.getInt(slot) == hash && nameEquals(record, name)) {
+                return read(record);
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the names of all games, in record order.
+     * @return the names
+     */
+    List<String> gameNames() {
+        List<String> names = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            names.add(name(i));
+        }
+        return names;
+    }
+
+    /**
+     * Reads every game.
+     * @return stats by game name, in record order
+     */
+    Map<String, Stats> all() {
+        Map<String, Stats> all = new LinkedHashMap<>(games * 2);
+        for (int i = 0; i < games; i++) {
+            all.put(name(i), read(i));
+        }
+        return all;
+    }
+
+    /**
+     * Writes a snapshot, replacing the file atomically.
+     * @param file the file
+     * @param stats stats by game name
+     * @throws IOException if the file cannot be written
+     */
+    static void write(final Path file, final Map<String, Stats> stats)
+        throws IOException {
+        GameHistoryTracker.writeAtomically(file, encode(stats));
+    }
+
+    /**
+     * Lays out a snapshot.
+     * @param stats stats by game name
+     * @return the file contents
+     */
+    static byte[] encode(final Map<String, Stats> stats) {
+        int games = stats.size();
+        int slots = Integer.highestOneBit(Math.max(1, games) * 2) << 1;
+        List<byte[]> names = new ArrayList<>(games);
+        int namesLength = 0;
+        for (String game : stats.keySet()) {
+            byte[] name = game.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            namesLength += name.length;
+        }
+        int indexOffset = HEADER;
+        int recordsOffset = indexOffset + slots * SLOT;
+        int namesOffset = recordsOffset + games * RECORD;
+        ByteBuffer out = ByteBuffer.allocate(namesOffset + namesLength);
+        out.put(MAGIC).putInt(VERSION).putInt(games).putInt(slots)
+           .putInt(indexOffset).putInt(recordsOffset).putInt(namesOffset)
+           .putInt(0);
+        for (int i = 0; i < slots; i++) {
+            out.putInt(indexOffset + i * SLOT + 4, -1);
+        }
+        int record = 0;
+        int nameOffset = namesOffset;
+        for (Map.Entry<String, Stats> e : stats.entrySet()) {
+            int hash = e.getKey().hashCode();
+            int i = mix(hash) & (slots - 1);
+            while (out.getInt(indexOffset + i * SLOT + 4) >= 0) {
+                i = (i + 1) & (slots - 1);
+            }
+            out.putInt(indexOffset + i * SLOT, hash);
+            out.putInt(indexOffset + i * SLOT + 4, record);
+
+            Stats s = e.getValue();
+            byte[] name = names.get(record);
+            out.position(recordsOffset + record * RECORD);
+            out.putLong(s.totalScore()).putInt(s.plays()).putInt(s.scored())
+               .putInt(s.lowest()).putInt(s.highest())
+               .putInt(nameOffset).putInt(name.length);
+            out.position(nameOffset);
+            out.put(name);
+            nameOffset += name.length;
+            record++;
+        }
+        return out.array();
+    }
+
+    /**
+     * Spreads the bits of a hash so that similar names use far slots.
+     * @param hash the hash
+     * @return the mixed hash
+     */
+    private static int mix(final int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Reads a record.
+     * @param record the record number
+     * @return its stats
+     */
+    private Stats read(final int record) {
+        int at = recordsOffset + record * RECORD;
+        return new Stats(map.getInt(at + 8), map.getInt(at + 12),
+                         map.getLong(at), map.getInt(at + 16),
+                         map.getInt(at + 20));
+    }
+
+    /**
+     * Reads the name of a record.
+     * @param record the record number
+     * @return the name
+     */
+    private String name(final int record) {
+        int at = recordsOffset + record * RECORD;
+        byte[] name = new byte[map.getInt(at + 28)];
+        ByteBuffer source = map.duplicate();
+        source.position(map.getInt(at + 24));
+        source.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares the name of a record without decoding it.
+     * @param record the record number
+     * @param name the name, UTF-8
+     * @return true if they are equal
+     */
+    private boolean nameEquals(final int record, final byte[] name) {
+        int at = recordsOffset + record * RECORD;
+        if (map.getInt(at + 28) != name.length) {
+            return false;
+        }
+        int offset = map.getInt(at + 24);
+        for (int i = 0; i < name.length; i++) {
+            if (map.get(offset + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Summary stats of one game.
+     */
+    static final class Stats {
+        /** Stats of a game never played. */
+        static final Stats NONE =
+            new Stats(0, 0, 0, Integer.MAX_VALUE, Integer.MIN_VALUE);
+
+        /** Times played. */
+        private final int plays;
+        /** Plays with a score. */
+        private final int scored;
+        /** Sum of the scores. */
+        private final long totalScore;
+        /** Lowest score, Integer.MAX_VALUE if none. */
+        private final int lowest;
+        /** Highest score, Integer.MIN_VALUE if none. */
+        private final int highest;
+
+        /**
+         * Creates stats.
+         * @param timesPlayed times played
+         * @param scoredPlays plays with a score
+         * @param total sum of the scores
+         * @param low lowest score
+         * @param high highest score
+         */
+        Stats(final int timesPlayed, final int scoredPlays, final long total,
+              final int low, final int high) {
+            this.plays = timesPlayed;
+            this.scored = scoredPlays;
+            this.totalScore = total;
+            this.lowest = low;
+            this.highest = high;
+        }
+
+        /**
+         * Returns these stats with one more play.
+         * @param score the score, or null
+         * @return the new stats
+         */
+        Stats plus(final Integer score) {
+            if (score == null) {
+                return new Stats(plays + 1, scored, totalScore, lowest, highest);
+            }
+            return new Stats(plays + 1, scored + 1, totalScore + score,
+                             Math.min(lowest, score), Math.max(highest, score));
+        }
+
+        /**
+         * Returns these stats combined with others.
+         * @param other the other stats
+         * @return the sum
+         */
+        Stats plus(final Stats other) {
+            return new Stats(plays + other.plays, scored + other.scored,
+                             totalScore + other.totalScore,
+                             Math.min(lowest, other.lowest),
+                             Math.max(highest, other.highest));
+        }
+
+        /**
+         * Returns the times played.
+         * @return the count
+         */
+        int plays() {
+            return plays;
+        }
+
+        /**
+         * Returns the plays with a score.
+         * @return the count
+         */
+        int scored() {
+            return scored;
+        }
+
+        /**
+         * Returns the sum of the scores.
+         * @return the total
+         */
+        long totalScore() {
+            return totalScore;
+        }
+
+        /**
+         * Returns the lowest score.
+         * @return the score, Integer.MAX_VALUE if none
+         */
+        int lowest() {
+            return lowest;
+        }
+
+        /**
+         * Returns the highest score.
+         * @return the score, Integer.MIN_VALUE if none
+         */
+        int highest() {
+            return highest;
+        }
+
+        @Override
+        public String toString() {
+            return "plays " + plays + ", scored " + scored + ", total "
+                + totalScore + (scored == 0 ? ""
+                                : ", range " + lowest + ".." + highest);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves the history in the background while games are played.
+ * <pre>
+ * The launcher calls changed() after each recorded play; that only
+ * bumps a counter and, at most once per interval, schedules a save, so
+ * the menu loop never waits for the disk. A single daemon thread,
+ * "history-writer", does the saving. It writes once per batch of
+ * changes: when playsPerFlush or more plays are pending, or intervalMillis
+ * after the first pending play, whichever comes first. Saves go through
+ * GameHistoryTracker.saveHistory, which replaces the file atomically.
+ * close() saves whatever is still pending and stops the thread.
+ * Defaults can be changed with the system properties
+ *   consolegamehub.history.interval   milliseconds (default 1000)
+ *   consolegamehub.history.plays      plays (default 5)
+ * </pre>
+ * @version 1
+ */
+final class HistoryWriter {
+    /** Property setting the longest delay before a save. */
+    static final String INTERVAL_PROPERTY = "consolegamehub.history.interval";
+    /** Property setting the plays that trigger an immediate save. */
+    static final String PLAYS_PROPERTY = "consolegamehub.history.plays";
+    /** Default longest delay before a save, in milliseconds. */
+    static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    /** Default plays that trigger an immediate save. */
+    static final int DEFAULT_PLAYS = 5;
+
+    /** The history. */
+    private final GameHistoryTracker tracker;
+    /** The history file. */
+    private final String fileName;
+    /** Longest delay before a save. */
+    private final long intervalMillis;
+    /** Plays that trigger an immediate save. */
+    private final int playsPerFlush;
+    /** The writer thread. */
+    private final ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "history-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    /** Changes not yet saved. */
+    private final AtomicInteger pending = new AtomicInteger();
+    /** Whether a timed save is waiting to run. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    /** Whether an immediate save is waiting to run. */
+    private final AtomicBoolean queued = new AtomicBoolean();
+    /** Number of times the file has been written. */
+    private final AtomicInteger writes = new AtomicInteger();
+
+    /**
+     * Creates a writer.
+     * @param history the history to save
+     * @param file the history file
+     * @param interval longest delay before a save, in milliseconds
+     * @param plays plays that trigger an immediate save
+     */
+    HistoryWriter(final GameHistoryTracker history, final String file,
+                  final long interval, final int plays) {
+        this.tracker = history;
+        this.fileName = file;
+        this.intervalMillis = interval;
+        this.playsPerFlush = plays;
+    }
+
+    /**
+     * Creates a writer configured by the system properties.
+     * @param history the history to save
+     * @param file the history file
+     * @return the writer
+     */
+    static HistoryWriter fromProperties(final GameHistoryTracker history,
+                                        final String file) {
+        return new HistoryWriter(history, file,
+            Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_MILLIS),
+            Integer.getInteger(PLAYS_PROPERTY, DEFAULT_PLAYS));
+    }
+
+    /**
+     * Notes that the history changed. Never blocks.
+     */
+    void changed() {
+        int n = pending.incrementAndGet();
+        if (n >= playsPerFlush) {
+            // A failed save puts its changes back, so the count can pass
+            // the threshold without ever equalling it.
+            if (queued.compareAndSet(false, true)) {
+                executor.execute(this::write);
+            }
+        } else if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::write, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Saves pending changes now and waits until they are on disk.
+     */
+    void flush() {
+        try {
+            executor.submit(this::write).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("history writer failed", e.getCause());
+        }
+    }
+
+    /**
+     * Saves pending changes and stops the writer thread.
+     */
+    void close() {
+        flush();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns how many times the file has been written.
+     * @return the number of saves
+     */
+    int writes() {
+        return writes.get();
+    }
+
+    /**
+     * Saves the history if anything changed. Runs on the writer thread.
+     */
+    private void write() {
+        scheduled.set(false);
+        queued.set(false);
+        int changes = pending.getAndSet(0);
+        if (changes == 0) {
+            return;
+        }
+        try {
+            tracker.saveHistory(fileName);
+            writes.incrementAndGet();
+        } catch (IOException e) {
+            // Keep the changes pending so that the next save retries.
+            pending.addAndGet(changes);
+            System.out.println("game history save failed: " + e.getMessage());
+        }
+    }
+}
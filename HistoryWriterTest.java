@@ -0,0 +1,95 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Tests for HistoryWriter and atomic history saves.
+ * @version 1
+ */
+public class HistoryWriterTest {
+
+    @Test
+    public void testSavesAfterEnoughPlays(@TempDir final Path dir)
+        throws Exception {
+        Path file = dir.resolve("history.dat");
+        GameHistoryTracker history = new GameHistoryTracker();
+        HistoryWriter writer = new HistoryWriter(history, file.toString(),
+                                                 60_000, 3);
+        for (int i = 0; i < 3; i++) {
+            history.recordPlay("Snake", i);
+            writer.changed();
+        }
+        for (int i = 0; i < 200 && writer.writes() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, writer.writes());
+        assertTrue(Files.exists(file));
+        assertFalse(Files.exists(dir.resolve("history.dat.tmp")));
+        writer.close();
+        assertEquals(1, writer.writes());
+    }
+
+    @Test
+    public void testSavesAfterEnoughPlaysOnceASaveFailed(
+        @TempDir final Path dir) throws Exception {
+        Path folder = dir.resolve("later");
+        GameHistoryTracker history = new GameHistoryTracker();
+        HistoryWriter writer = new HistoryWriter(
+            history, folder.resolve("history.dat").toString(), 60_000, 2);
+        for (int i = 0; i < 2; i++) {
+            history.recordPlay("Snake", i);
+            writer.changed();
+        }
+        // The folder is missing, so the save fails and its plays stay
+        // pending: three now, past the threshold of two.
+        writer.flush();
+        assertEquals(0, writer.writes());
+        Files.createDirectory(folder);
+        history.recordPlay("Snake", 2);
+        writer.changed();
+        for (int i = 0; i < 200 && writer.writes() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, writer.writes());
+        writer.close();
+    }
+
+    @Test
+    public void testCoalescesChangesWithinInterval(@TempDir final Path dir)
+        throws IOException {
+        Path file = dir.resolve("history.dat");
+        GameHistoryTracker history = new GameHistoryTracker();
+        HistoryWriter writer = new HistoryWriter(history, file.toString(),
+                                                 60_000, 1000);
+        for (int i = 0; i < 100; i++) {
+            history.recordPlay("Jotto", i);
+            writer.changed();
+        }
+        assertEquals(0, writer.writes());
+        writer.close();
+        assertEquals(1, writer.writes());
+
+        Path expected = dir.resolve("expected.dat");
+        history.saveHistory(expected.toString());
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(file));
+    }
+
+    @Test
+    public void testAtomicWriteReplacesFile(@TempDir final Path dir)
+        throws IOException {
+        Path file = dir.resolve("data.bin");
+        Files.write(file, new byte[] {1, 2, 3, 4});
+        GameHistoryTracker.writeAtomically(file, new byte[] {9});
+        assertArrayEquals(new byte[] {9}, Files.readAllBytes(file));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
@@ -1,6 +1,5 @@
+import java.io.PrintStream;
 import java.util.Scanner;
-import java.util.Set;
-import java.util.HashSet;
 import java.util.Optional;
 
 /**
@@ -32,8 +31,18 @@ import java.util.Optional;
  * - Use consistent casing (e.g., convert all to uppercase).
  * - Use Optional<Integer> for scoring to integrate with the game
  *     history tracker.
+ *
+ * Modes:
+ * - Classic: the player deduces the computer's secret word.
+ * - Solver: the player thinks of a word and the computer deduces it
+ *     from the match counts the player reports (see JottoSolver).
+ * - Versus: both sides keep a secret and take turns guessing; the
+ *     computer works out its next guess in the background while the
+ *     player types (see JottoOpponent).
+ * Letters are compared as 26-bit masks, so a match count is a single
+ *   Integer.bitCount of two ANDed masks.
  * </pre>
- * @version 1
+ * @version 2
  */
 public class JottoGame implements Game {
     /** Hard-coded secret word. Replace with randomized word from list. */
@@ -42,8 +51,34 @@ public class JottoGame implements Game {
     private static final int WORD_LENGTH = 5;
     /** Maximum number of guesses allowed. */
     private static final int MAX_GUESSES = 10;
+    /** Dictionary of acceptable guesses. */
+    private static final Lexicon DICTIONARY = Lexicon.guessLexicon();
+    /** Mode in which the computer guesses. */
+    private static final int SOLVER_MODE = 2;
+    /** Mode in which both sides guess. */
+    private static final int VERSUS_MODE = 3;
+    /** Reply confirming the computer guessed the player's word. */
+    private static final String YES = "Y";
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
+
+    /**
+     * Creates a game played on the system console.
+     */
+    public JottoGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    JottoGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     @Override
     public String getName() {
@@ -52,42 +87,202 @@ public class JottoGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println("[Jotto] Guess a secret word of "
-                           + WORD_LENGTH + " letters. "
-                           + System.lineSeparator()
-                           + "You will be shown how many letters matched."
-                           + System.lineSeparator()
-                           + "Ex: \"BRICK\" matches \"BUILD\" by two "
-                           + "letters: \"B\" and \"I\". ");
+        out.println("[Jotto] Deduce a secret word of "
+                    + WORD_LENGTH + " letters from how many "
+                    + "letters each guess has in common with it.");
+        out.println("1. You guess my word");
+        out.println("2. I guess your word");
+        out.println("3. We both guess");
+        int mode = GameUtils.chooseMode(scanner, out, VERSUS_MODE);
+        if (mode == SOLVER_MODE) {
+            return playSolver();
+        }
+        if (mode == VERSUS_MODE) {
+            return playVersus();
+        }
+        return playClassic();
+    }
+
+    /**
+     * Plays the classic mode, in which the player guesses.
+     * @return attempts remaining when the word was found, or 0
+     */
+    private Optional<Integer> playClassic() {
+        out.println("Guess a secret word of "
+                    + WORD_LENGTH + " letters. "
+                    + System.lineSeparator()
+                    + "You will be shown how many letters matched."
+                    + System.lineSeparator()
+                    + "Ex: \"BRICK\" matches \"BUILD\" by two "
+                    + "letters: \"B\" and \"I\". ");
         int attemptsLeft = MAX_GUESSES;
 
         while (attemptsLeft > 0) {
-            System.out.print("Enter guess: ");
-            String guess = scanner.nextLine().trim().toUpperCase();
-
-            if (guess.length() != WORD_LENGTH || !guess.matches("[A-Z]+")) {
-                System.out.println("Invalid input. "
-                                   + "Please enter a "
-                                   + WORD_LENGTH + "-letter word "
-                                   + "with alphabetic characters only.");
-                continue;
-            }
+            String guess = readGuess("Enter guess: ");
 
             if (guess.equals(SECRET_WORD)) {
-                System.out.println("Congratulations! You guessed the word.");
+                out.println("Congratulations! You guessed the word.");
                 return Optional.of(attemptsLeft);
             } else {
                 int matches = countMatchingLetters(SECRET_WORD, guess);
-                System.out.println("Letters in common: " + matches);
+                out.println("Letters in common: " + matches);
                 attemptsLeft--;
             }
         }
 
-        System.out.println("You ran out of guesses. "
-                           + "The word was: " + SECRET_WORD);
+        out.println("You ran out of guesses. "
+                    + "The word was: " + SECRET_WORD);
         return Optional.of(0);
     }
 
+    /**
+     * Plays the versus mode. The computer keeps its own secret word while
+     * deducing the player's; each round the player guesses first.
+     * @return rounds remaining if the player finds the word first,
+     *         otherwise 0
+     */
+    private Optional<Integer> playVersus() {
+        String secret = GameUtils.getRandomWord(
+            WordBank.wordsOfLength(WORD_LENGTH));
+        out.println("I have picked a secret word. Think of yours."
+                    + System.lineSeparator()
+                    + "Each round you guess my word, then I guess "
+                    + "yours. First to find the other's word wins.");
+        try (JottoOpponent opponent =
+                 new JottoOpponent(WordBank.wordsOfLength(WORD_LENGTH))) {
+            for (int round = 1; round <= MAX_GUESSES; round++) {
+                out.println("Round " + round + " of " + MAX_GUESSES);
+                String guess = readGuess("Your guess: ");
+                if (guess.equals(secret)) {
+                    out.println("Congratulations! You found my word "
+                                + "first.");
+                    return Optional.of(MAX_GUESSES - round + 1);
+                }
+                out.println("Letters in common: "
+                            + countMatchingLetters(secret, guess));
+
+                String computerGuess = opponent.nextGuess();
+                if (computerGuess == null) {
+                    out.println("No word in my dictionary fits your "
+                                + "answers. You win! My word was "
+                                + secret + ".");
+                    return Optional.of(MAX_GUESSES - round + 1);
+                }
+                int reply = askMatchCount("My guess: " + computerGuess);
+                if (reply < 0) {
+                    out.println("I found your word first! My word was "
+                                + secret + ".");
+                    return Optional.of(0);
+                }
+                opponent.reply(reply);
+            }
+        }
+        out.println("Nobody found the other's word. My word was "
+                    + secret + ".");
+        return Optional.of(0);
+    }
+
+    /**
+     * Reads guesses until the player enters a valid dictionary word.
+     * @param prompt the prompt to show
+     * @return the upper-case guess
+     */
+    private String readGuess(final String prompt) {
+        while (true) {
+            out.print(prompt);
+            String guess = scanner.nextLine().trim().toUpperCase();
+
+            if (guess.length() != WORD_LENGTH
+                    || !WordBank.isUpperAlpha(guess)) {
+                out.println("Invalid input. "
+                            + "Please enter a "
+                            + WORD_LENGTH + "-letter word "
+                            + "with alphabetic characters only.");
+            } else if (!DICTIONARY.contains(guess)) {
+                out.println("Not in the word list. "
+                            + "Try another word.");
+            } else {
+                return guess;
+            }
+        }
+    }
+
+    /**
+     * Plays the solver mode, in which the computer guesses the player's
+     * word from the reported match counts.
+     * @return Optional.empty(), since the player is not scored
+     */
+    private Optional<Integer> playSolver() {
+        out.println("Think of a " + WORD_LENGTH + "-letter word. "
+                    + "After each of my guesses, tell me how many "
+                    + "different letters it shares with your word,"
+                    + System.lineSeparator()
+                    + "or " + YES + " if I guessed your word.");
+        JottoSolver solver =
+            new JottoSolver(WordBank.wordsOfLength(WORD_LENGTH));
+        for (int turn = 1; turn <= MAX_GUESSES; turn++) {
+            int guess = solver.bestGuess();
+            if (guess < 0) {
+                out.println("No word in my dictionary fits "
+                            + "your answers.");
+                return Optional.empty();
+            }
+            String word = solver.word(guess);
+            int reply = askMatchCount("Guess " + turn + ": " + word);
+            if (reply < 0) {
+                out.println("I found your word in " + turn
+                            + " guesses!");
+                return Optional.empty();
+            }
+            solver.applyReply(guess, reply);
+        }
+        out.println("I ran out of guesses. You win!");
+        return Optional.empty();
+    }
+
+    /**
+     * Asks the player how many letters a guess shares with their word.
+     * @param prompt the guess being shown
+     * @return the number of letters in common, or -1 for a correct guess
+     */
+    private int askMatchCount(final String prompt) {
+        while (true) {
+            out.print(prompt + " - letters in common (0-"
+                      + WORD_LENGTH + " or " + YES + "): ");
+            String input = scanner.nextLine().trim().toUpperCase();
+            if (input.equals(YES)) {
+                return -1;
+            }
+            try {
+                int count = Integer.parseInt(input);
+                if (count >= 0 && count <= WORD_LENGTH) {
+                    return count;
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the message below
+            }
+            out.println("Please enter a number from 0 to "
+                        + WORD_LENGTH + ", or " + YES + ".");
+        }
+    }
+
+    /**
+     * Computes the set of letters in a word as a bitmask.
+     * Bit 0 stands for A, bit 25 for Z; other characters are ignored.
+     * @param word the word
+     * @return the letter mask
+     */
+    static int letterMask(final CharSequence word) {
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = word.charAt(i) - 'A';
+            if (letter >= 0 && letter < 26) {
+                mask |= 1 << letter;
+            }
+        }
+        return mask;
+    }
+
     /**
      * Counts how many unique letters in the guess are also in the secret word.
      * Each letter is only counted once, even if repeated.
@@ -97,17 +292,6 @@ public class JottoGame implements Game {
      * @return number of matching letters
      */
     private int countMatchingLetters(final String secret, final String guess) {
-        Set<Character> secretLetters = new HashSet<>();
-        for (char c : secret.toCharArray()) {
-            secretLetters.add(c);
-        }
-
-        Set<Character> guessLetters = new HashSet<>();
-        for (char c : guess.toCharArray()) {
-            guessLetters.add(c);
-        }
-
-        guessLetters.retainAll(secretLetters);
-        return guessLetters.size();
+        return Integer.bitCount(letterMask(secret) & letterMask(guess));
     }
 }
@@ -1,12 +1,27 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Tests for JottoGame.
  * @version 1
  */
 public class JottoGameTest {
+    /** Seed of the versus games, fixing the computer's word. */
+    private static final long SEED = 42L;
+    /** Rounds in a versus game. */
+    private static final int MAX_ROUNDS = 10;
+
+    /** What a versus game printed. */
+    private String output;
 
     @Test
     public void testCountMatchingLetters_withNoMatches() {
@@ -51,4 +66,155 @@ public class JottoGameTest {
             return -1;
         }
     }
+
+    /**
+     * Plays a versus game with scripted input.
+     * @param input the player's lines, after the mode
+     * @return the score
+     */
+    private Optional<Integer> playVersus(final String input) {
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setIn(new ByteArrayInputStream(
+            ("3\n" + input).getBytes(StandardCharsets.UTF_8)));
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            GameRandom.newSession(SEED);
+            return new JottoGame().play();
+        } finally {
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+            output = captured.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Returns the word the computer picks in a versus game.
+     * @return the computer's word
+     */
+    private static String versusSecret() {
+        GameRandom.newSession(SEED);
+        return GameUtils.getRandomWord(WordBank.wordsOfLength(5));
+    }
+
+    /**
+     * Returns a dictionary word other than the computer's.
+     * @param secret the computer's word
+     * @return a wrong guess
+     */
+    private static String wrongGuess(final String secret) {
+        for (String word : WordBank.wordsOfLength(5)) {
+            if (!word.equals(secret)
+                    && Lexicon.guessLexicon().contains(word)) {
+                return word;
+            }
+        }
+        throw new IllegalStateException("no other word");
+    }
+
+    /**
+     * Counts the occurrences of some text in the output.
+     * @param text the text
+     * @return occurrences
+     */
+    private int count(final String text) {
+        int n = 0;
+        for (int i = output.indexOf(text); i >= 0;
+                i = output.indexOf(text, i + 1)) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Checks that each round shows the player's guess and its result
+     * before the computer's guess.
+     * @param rounds rounds the computer guessed in
+     */
+    private void assertPlayerGoesFirst(final int rounds) {
+        int at = 0;
+        for (int round = 1; round <= rounds; round++) {
+            int start = output.indexOf("Round " + round + " of ", at);
+            int yours = output.indexOf("Your guess: ", start);
+            int common = output.indexOf("Letters in common: ", yours);
+            int mine = output.indexOf("My guess: ", common);
+            assertTrue(start >= 0 && yours > start && common > yours
+                       && mine > common, "round " + round + ":\n" + output);
+            at = mine;
+        }
+    }
+
+    @Test
+    public void testVersusPlayerFindsTheWordFirst() {
+        String secret = versusSecret();
+        Optional<Integer> score =
+            playVersus(wrongGuess(secret) + "\n2\n" + secret + "\n");
+        assertEquals(Optional.of(MAX_ROUNDS - 1), score);
+        assertPlayerGoesFirst(1);
+        assertEquals(2, count("Your guess: "));
+        assertEquals(1, count("My guess: "));
+        assertTrue(output.contains("You found my word first."));
+    }
+
+    @Test
+    public void testVersusComputerFindsTheWordFirst() {
+        String secret = versusSecret();
+        String wrong = wrongGuess(secret);
+        List<String> dictionary = WordBank.wordsOfLength(5);
+        String playerWord = dictionary.get(dictionary.size() / 2);
+
+        // Replay the computer's deduction to script the player's replies.
+        StringBuilder input = new StringBuilder();
+        int rounds = 0;
+        try (JottoOpponent opponent = new JottoOpponent(dictionary)) {
+            while (rounds < MAX_ROUNDS) {
+                rounds++;
+                String guess = opponent.nextGuess();
+                input.append(wrong).append('\n');
+                if (guess.equals(playerWord)) {
+                    input.append("Y\n");
+                    break;
+                }
+                int matches =
+                    Integer.bitCount(JottoGame.letterMask(guess)
+                                     & JottoGame.letterMask(playerWord));
+                input.append(matches).append('\n');
+                opponent.reply(matches);
+            }
+        }
+
+        assertEquals(Optional.of(0), playVersus(input.toString()));
+        assertPlayerGoesFirst(rounds);
+        assertEquals(rounds, count("My guess: "));
+        assertTrue(output.contains("I found your word first! My word was "
+                                   + secret + "."), output);
+    }
+
+    @Test
+    public void testVersusEndsWhenNoWordFitsTheReplies() {
+        String secret = versusSecret();
+        String wrong = wrongGuess(secret);
+
+        // Find a reply to the computer's opening guess that no word fits.
+        JottoSolver solver = new JottoSolver(WordBank.wordsOfLength(5));
+        int opening = solver.bestGuess();
+        int impossible = -1;
+        for (int reply = 0; reply <= 5 && impossible < 0; reply++) {
+            solver.applyReply(opening, reply);
+            if (solver.candidateCount() == 0) {
+                impossible = reply;
+            }
+            solver.reset();
+        }
+        assertTrue(impossible >= 0);
+
+        Optional<Integer> score = playVersus(wrong + "\n" + impossible + "\n"
+                                             + wrong + "\n");
+        assertPlayerGoesFirst(1);
+        assertTrue(output.contains("No word in my dictionary fits your "
+                                   + "answers. You win! My word was "
+                                   + secret + "."), output);
+        assertEquals(Optional.of(MAX_ROUNDS - 1), score);
+    }
 }
@@ -0,0 +1,125 @@
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares Jotto match-counting throughput of the former HashSet
+ * implementation with the letter-mask implementation, and times the
+ * solver's first guess.
+ * <pre>
+ * Run with
+ *   java -cp build/classes JottoMatchBenchmark
+ * Each round counts matches for every pair of five-letter words.
+ * </pre>
+ * @version 1
+ */
+final class JottoMatchBenchmark {
+    /** Rounds run before timing. */
+    private static final int WARMUP_ROUNDS = 3;
+    /** Timed rounds. */
+    private static final int MEASURED_ROUNDS = 5;
+    /** Nanoseconds per second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+    /** Nanoseconds per millisecond. */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Prevent Instantiation.
+     */
+    private JottoMatchBenchmark() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args command-line arguments (not used)
+     */
+    public static void main(final String[] args) {
+        List<String> words = WordBank.wordsOfLength(5);
+        String[] list = words.toArray(new String[0]);
+        long pairs = (long) list.length * list.length;
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += hashSetRound(list) + maskRound(list);
+        }
+        long hashSetNanos = 0;
+        long maskNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += hashSetRound(list);
+            hashSetNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            sink += maskRound(list);
+            maskNanos += System.nanoTime() - start;
+        }
+        double hashSetRate = pairs * MEASURED_ROUNDS * NANOS_PER_SECOND
+            / hashSetNanos;
+        double maskRate = pairs * MEASURED_ROUNDS * NANOS_PER_SECOND
+            / maskNanos;
+        System.out.printf("%d words, %d pairs per round%n",
+                          list.length, pairs);
+        System.out.printf("HashSet<Character>: %,.0f matches/s%n", hashSetRate);
+        System.out.printf("Letter masks:       %,.0f matches/s%n", maskRate);
+        System.out.printf("Speed-up:           %.1fx%n", maskRate / hashSetRate);
+
+        JottoSolver solver = new JottoSolver(words);
+        long start = System.nanoTime();
+        int guess = solver.bestGuess();
+        System.out.printf("Solver first guess: %s in %.1f ms%n",
+                          solver.word(guess),
+                          (System.nanoTime() - start) / NANOS_PER_MILLI);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Counts all pairs with the former HashSet implementation.
+     * @param words the words
+     * @return sum of match counts
+     */
+    private static long hashSetRound(final String[] words) {
+        long total = 0;
+        for (String secret : words) {
+            for (String guess : words) {
+                total += hashSetMatches(secret, guess);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Counts all pairs with letter masks, computing both masks per pair
+     * as the game does.
+     * @param words the words
+     * @return sum of match counts
+     */
+    private static long maskRound(final String[] words) {
+        long total = 0;
+        for (String secret : words) {
+            for (String guess : words) {
+                total += Integer.bitCount(JottoGame.letterMask(secret)
+                                          & JottoGame.letterMask(guess));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * The match counting JottoGame used before letter masks.
+     * @param secret the secret word
+     * @param guess the guess
+     * @return number of distinct letters in common
+     */
+    private static int hashSetMatches(final String secret, final String guess) {
+        Set<Character> secretLetters = new HashSet<>();
+        for (char c : secret.toCharArray()) {
+            secretLetters.add(c);
+        }
+        Set<Character> guessLetters = new HashSet<>();
+        for (char c : guess.toCharArray()) {
+            guessLetters.add(c);
+        }
+        guessLetters.retainAll(secretLetters);
+        return guessLetters.size();
+    }
+}
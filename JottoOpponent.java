@@ -0,0 +1,117 @@
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computer side of a two-player Jotto game.
+ * <pre>
+ * The opponent deduces the player's word with a JottoSolver confined to
+ * a single background thread. Each reply is filtered and the next guess
+ * ranked on that thread as soon as the reply arrives, while the player
+ * is still typing their own guess, so the computer's turn is ready by
+ * the time it is needed.
+ *   reply(n)     queue the filter and the next ranking, return at once
+ *   nextGuess()  collect the ranked guess (normally already computed)
+ * close() cancels a computation still pending and stops the background
+ * thread.
+ * </pre>
+ * @version 1
+ */
+final class JottoOpponent implements AutoCloseable {
+    /** Solver, only touched by the background thread. */
+    private final JottoSolver solver;
+    /** Single background thread running the solver. */
+    private final ExecutorService worker;
+    /** Pending or finished computation of the next guess. */
+    private Future<Integer> pending;
+    /** The last guess handed out, or -1. */
+    private int lastGuess = -1;
+
+    /**
+     * Creates an opponent and starts ranking its opening guess.
+     * @param dictionary the words the player may have chosen
+     */
+    JottoOpponent(final List<String> dictionary) {
+        this.solver = new JottoSolver(dictionary);
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jotto-opponent");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pending = worker.submit(solver::bestGuess);
+    }
+
+    /**
+     * Returns the computer's next guess, waiting only if the background
+     * computation has not finished yet.
+     * @return the guessed word, or null if no word fits the replies or
+     *         the opponent has been closed
+     */
+    String nextGuess() {
+        if (worker.isShutdown()) {
+            return null;
+        }
+        int guess = await(pending);
+        lastGuess = guess;
+        return guess < 0 ? null : solver.word(guess);
+    }
+
+    /**
+     * Records the player's reply to the last guess and starts working
+     * out the next guess in the background.
+     * @param matches letters in common between the last guess and the
+     *        player's word
+     */
+    void reply(final int matches) {
+        final int guess = lastGuess;
+        pending = worker.submit(() -> {
+            solver.applyReply(guess, matches);
+            return solver.bestGuess();
+        });
+    }
+
+    /**
+     * Cancels the pending computation and stops the background thread.
+     */
+    @Override
+    public void close() {
+        pending.cancel(true);
+        worker.shutdownNow();
+    }
+
+    /**
+     * Waits for the background thread to stop after close().
+     * @param timeout longest wait
+     * @param unit unit of the timeout
+     * @return true if the thread stopped, false if the wait timed out
+     * @throws InterruptedException if the wait is interrupted
+     */
+    boolean awaitTermination(final long timeout, final TimeUnit unit)
+        throws InterruptedException {
+        return worker.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Waits for a background result.
+     * @param future the computation
+     * @return its value, or -1 if the wait was interrupted or the
+     *         computation cancelled
+     */
+    private static int await(final Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (CancellationException e) {
+            return -1;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Jotto opponent failed",
+                                            e.getCause());
+        }
+    }
+}
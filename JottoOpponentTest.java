@@ -0,0 +1,90 @@
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for JottoOpponent.
+ * @version 1
+ */
+public class JottoOpponentTest {
+    /** Guesses the opponent gets in a game. */
+    private static final int MAX_GUESSES = 10;
+
+    /**
+     * Counts the letters two words have in common, as the player would.
+     * @param guess the computer's guess
+     * @param word the player's word
+     * @return letters in common
+     */
+    private static int matches(final String guess, final String word) {
+        return Integer.bitCount(JottoGame.letterMask(guess)
+                                & JottoGame.letterMask(word));
+    }
+
+    /**
+     * Answers the opponent's guesses until it names the player's word.
+     * @param opponent the opponent
+     * @param word the player's word
+     * @return guesses it took
+     */
+    private static int guessesToFind(final JottoOpponent opponent,
+                                     final String word) {
+        Set<String> asked = new HashSet<>();
+        for (int turn = 1; turn <= MAX_GUESSES; turn++) {
+            String guess = opponent.nextGuess();
+            assertNotNull(guess, "no word left for " + word);
+            if (guess.equals(word)) {
+                return turn;
+            }
+            assertTrue(asked.add(guess), guess + " asked twice");
+            opponent.reply(matches(guess, word));
+        }
+        return MAX_GUESSES + 1;
+    }
+
+    @Test
+    public void testRepliesNarrowToThePlayersWord() {
+        List<String> dictionary = WordBank.wordsOfLength(5);
+        int last = dictionary.size() - 1;
+        for (String word : Arrays.asList(dictionary.get(0),
+                                         dictionary.get(last / 2),
+                                         dictionary.get(last))) {
+            try (JottoOpponent opponent = new JottoOpponent(dictionary)) {
+                assertTrue(guessesToFind(opponent, word) <= MAX_GUESSES,
+                           "did not find " + word);
+            }
+        }
+    }
+
+    @Test
+    public void testInconsistentRepliesLeaveNoGuess() {
+        // BRICK and CRANE share two letters, and each shares five with
+        // itself, so a reply of one fits neither.
+        try (JottoOpponent opponent =
+                 new JottoOpponent(Arrays.asList("BRICK", "CRANE"))) {
+            String first = opponent.nextGuess();
+            opponent.reply(1);
+            assertNull(opponent.nextGuess(), "after " + first);
+        }
+    }
+
+    @Test
+    public void testCloseCancelsTheDeduction() throws InterruptedException {
+        JottoOpponent opponent = new JottoOpponent(WordBank.wordsOfLength(5));
+        opponent.nextGuess();
+        opponent.reply(0);
+        opponent.close();
+        assertTrue(opponent.awaitTermination(5, TimeUnit.SECONDS));
+        assertNull(opponent.nextGuess());
+        assertThrows(RejectedExecutionException.class,
+                     () -> opponent.reply(0));
+    }
+}
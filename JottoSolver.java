@@ -0,0 +1,157 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Candidate-elimination solver for Jotto.
+ * <pre>
+ * Every dictionary word is reduced to a 26-bit mask of the letters it
+ * contains, so the Jotto reply for a guess against a word is simply
+ *   Integer.bitCount(mask[guess] &amp; mask[word])
+ * The words still consistent with the replies are kept as a BitSet over
+ * the dictionary. The next guess is the word whose replies would split
+ * the survivors most evenly (smallest sum of squared partition sizes,
+ * i.e. smallest expected number of survivors), preferring survivors
+ * on ties so the guess can also win outright.
+ * A solver is meant for one game at a time and is not thread-safe.
+ * </pre>
+ * @version 1
+ */
+final class JottoSolver {
+    /** Number of possible replies: 0 .. 26 shared letters. */
+    private static final int REPLIES = 27;
+    /** Returned when there is no word to suggest. */
+    private static final int NONE = -1;
+
+    /** The dictionary words. */
+    private final List<String> words;
+    /** Letter mask of each word. */
+    private final int[] masks;
+    /** Index of each word. */
+    private final Map<String, Integer> indexOf = new HashMap<>();
+    /** Words still consistent with every reply. */
+    private final BitSet candidates;
+    /** Scratch partition counts for ranking. */
+    private final int[] partition = new int[REPLIES];
+
+    /**
+     * Creates a solver over the given words.
+     * @param dictionary upper-case words, usually all of one length
+     */
+    JottoSolver(final List<String> dictionary) {
+        this.words = Collections.unmodifiableList(new ArrayList<>(dictionary));
+        this.masks = new int[words.size()];
+        for (int i = 0; i < masks.length; i++) {
+            masks[i] = JottoGame.letterMask(words.get(i));
+            indexOf.putIfAbsent(words.get(i), i);
+        }
+        this.candidates = new BitSet(masks.length);
+        reset();
+    }
+
+    /**
+     * Starts a new game with every word possible.
+     */
+    void reset() {
+        candidates.clear();
+        candidates.set(0, masks.length);
+    }
+
+    /**
+     * Returns the number of words still possible.
+     * @return candidate count
+     */
+    int candidateCount() {
+        return candidates.cardinality();
+    }
+
+    /**
+     * Returns a dictionary word.
+     * @param index the word index
+     * @return the word
+     */
+    String word(final int index) {
+        return words.get(index);
+    }
+
+    /**
+     * Looks up the index of a word.
+     * @param word the upper-case word
+     * @return the index, or -1 if the word is not in the dictionary
+     */
+    int indexOfWord(final String word) {
+        return indexOf.getOrDefault(word, NONE);
+    }
+
+    /**
+     * Removes every candidate inconsistent with a reply.
+     * The guessed word itself is removed too, since it was not the secret.
+     * @param guess the index of the word guessed
+     * @param matches the number of letters in common reported
+     */
+    void applyReply(final int guess, final int matches) {
+        int guessMask = masks[guess];
+        for (int w = candidates.nextSetBit(0); w >= 0;
+                w = candidates.nextSetBit(w + 1)) {
+            if (Integer.bitCount(guessMask & masks[w]) != matches) {
+                candidates.clear(w);
+            }
+        }
+        candidates.clear(guess);
+    }
+
+    /**
+     * Removes a word from the candidates without any other information.
+     * @param index the word index
+     */
+    void eliminate(final int index) {
+        candidates.clear(index);
+    }
+
+    /**
+     * Suggests the next guess.
+     * @return the index of the guess, or -1 if no word is consistent
+     */
+    int bestGuess() {
+        int first = candidates.nextSetBit(0);
+        if (first < 0 || candidates.nextSetBit(first + 1) < 0) {
+            return first;
+        }
+        int best = NONE;
+        long bestScore = Long.MAX_VALUE;
+        boolean bestIsCandidate = false;
+        for (int g = 0; g < masks.length; g++) {
+            long score = splitScore(masks[g]);
+            boolean isCandidate = candidates.get(g);
+            if (score < bestScore
+                    || score == bestScore && isCandidate && !bestIsCandidate) {
+                best = g;
+                bestScore = score;
+                bestIsCandidate = isCandidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Scores how well a guess splits the candidates.
+     * @param guessMask the letter mask of the guess
+     * @return sum of squared partition sizes; lower is better
+     */
+    private long splitScore(final int guessMask) {
+        for (int w = candidates.nextSetBit(0); w >= 0;
+                w = candidates.nextSetBit(w + 1)) {
+            partition[Integer.bitCount(guessMask & masks[w])]++;
+        }
+        long score = 0;
+        for (int r = 0; r < REPLIES; r++) {
+            long size = partition[r];
+            score += size * size;
+            partition[r] = 0;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,49 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for JottoSolver.
+ * @version 1
+ */
+public class JottoSolverTest {
+
+    @Test
+    public void testLetterMaskIgnoresRepeats() {
+        assertEquals(JottoGame.letterMask("APLE"), JottoGame.letterMask("APPLE"));
+        assertEquals(4, Integer.bitCount(JottoGame.letterMask("APPLE")));
+    }
+
+    @Test
+    public void testReplyEliminatesInconsistentWords() {
+        List<String> words = Arrays.asList("BRICK", "CRANE", "MOUTH", "BUILD");
+        JottoSolver solver = new JottoSolver(words);
+        // Secret BRICK shares B and I with BUILD.
+        solver.applyReply(solver.indexOfWord("BUILD"), 2);
+        assertEquals(1, solver.candidateCount());
+        assertEquals("BRICK", solver.word(solver.bestGuess()));
+    }
+
+    @Test
+    public void testSolverFindsEveryWordOfTheDictionary() {
+        List<String> words = WordBank.wordsOfLength(5);
+        JottoSolver solver = new JottoSolver(words);
+        for (String secret : words) {
+            solver.reset();
+            int secretMask = JottoGame.letterMask(secret);
+            boolean found = false;
+            for (int turn = 0; turn < words.size() && !found; turn++) {
+                int guess = solver.bestGuess();
+                if (solver.word(guess).equals(secret)) {
+                    found = true;
+                } else {
+                    solver.applyReply(guess, Integer.bitCount(
+                        secretMask & JottoGame.letterMask(solver.word(guess))));
+                }
+            }
+            assertTrue(found, "solver should find " + secret);
+        }
+    }
+}
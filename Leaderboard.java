@@ -0,0 +1,503 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * High-score tables of every game across all players.
+ * <pre>
+ * Each game keeps its best scores all-time and per calendar day:
+ *   all-time   one bounded min-heap of the best capacity scores
+ *   days       a bounded min-heap per day, for the last WEEK_DAYS days
+ * A play is offered to the all-time heap and to its day's heap; a heap
+ * that is full compares the play with its worst entry at the root and
+ * only replaces it if the play is better, so recording costs O(log K).
+ * The daily board is the day's heap; the weekly board merges the last
+ * seven day heaps, at most 7 K entries, instead of rescanning plays.
+ * Higher scores rank first; of equal scores, the earlier one ranks
+ * first. Days older than a week are dropped as new days start.
+ * The tables are saved next to the history so that a restart does not
+ * lose them. Many launchers may share the file, so save re-reads it
+ * under a lock on NAME.lock and adds only the plays recorded since the
+ * last save; each launcher's scores are kept whatever order they exit
+ * in. An unreadable file is set aside as NAME.bad rather than
+ * overwritten:
+ *   header   'C' 'G' 'H' 'L' VERSION
+ *   body     int games, then per game: UTF name, board all-time,
+ *            int days, then per day: long epoch day, board
+ *   board    int entries, then per entry: UTF player, int score,
+ *            long time (epoch milliseconds)
+ * </pre>
+ * @version 1
+ */
+final class Leaderboard {
+    /** Default number of entries per board. */
+    static final int DEFAULT_CAPACITY = 100;
+    /** Days covered by the weekly board. */
+    static final int WEEK_DAYS = 7;
+    /** File signature. */
+    private static final byte[] MAGIC = {'C', 'G', 'H', 'L'};
+    /** Format version. */
+    private static final int VERSION = 1;
+    /** Orders entries worst first: lower score, then later time. */
+    private static final Comparator<Entry> WORST_FIRST =
+        Comparator.comparingInt(Entry::score)
+                  .thenComparing(Comparator.comparingLong(Entry::time).reversed());
+
+    /**
+     * The period a board covers.
+     */
+    enum Window {
+        /** The current day. */
+        DAY("Today"),
+        /** The current day and the six before it. */
+        WEEK("This week"),
+        /** Every play. */
+        ALL_TIME("All time");
+
+        /** Title shown above the board. */
+        private final String title;
+
+        /**
+         * Creates a window.
+         * @param label title shown above the board
+         */
+        Window(final String label) {
+            this.title = label;
+        }
+
+        /**
+         * Returns the title shown above the board.
+         * @return the title
+         */
+        String title() {
+            return title;
+        }
+    }
+
+    /** Entries per board. */
+    private final int capacity;
+    /** Time zone in which days start. */
+    private final ZoneId zone;
+    /** Boards by game name. */
+    private final Map<String, GameBoards> boards = new HashMap<>();
+    /** Plays recorded since the last load or save, oldest first. */
+    private final List<Play> unsaved = new ArrayList<>();
+
+    /**
+     * Creates empty leaderboards with days in the local time zone.
+     */
+    Leaderboard() {
+        this(DEFAULT_CAPACITY, ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates empty leaderboards.
+     * @param size entries per board, at least 1
+     * @param timeZone time zone in which days start
+     */
+    Leaderboard(final int size, final ZoneId timeZone) {
+        this.capacity = Math.max(1, size);
+        this.zone = timeZone;
+    }
+
+    /**
+     * Records a scored play.
+     * @param game name of the game
+     * @param player name of the player
+     * @param score the score
+     * @param time when it was played, in epoch milliseconds
+     */
+    synchronized void record(final String game, final String player,
+                             final int score, final long time) {
+        Entry entry = new Entry(player, score, time);
+        offer(game, entry);
+        unsaved.add(new Play(game, entry));
+    }
+
+    /**
+     * Adds an entry to the boards of a game.
+     * @param game name of the game
+     * @param entry the entry
+     */
+    private void offer(final String game, final Entry entry) {
+        GameBoards b = boards.computeIfAbsent(game, g -> new GameBoards());
+        b.allTime.offer(entry);
+        long day = day(entry.time());
+        b.days.computeIfAbsent(day, d -> new Board(capacity)).offer(entry);
+        b.days.headMap(b.days.lastKey() - WEEK_DAYS, true).clear();
+    }
+
+    /**
+     * Returns the best scores of a game.
+     * @param game name of the game
+     * @param window the period covered
+     * @param now the current time, in epoch milliseconds
+     * @return at most capacity entries, best first
+     */
+    synchronized List<Entry> top(final String game, final Window window,
+                                 final long now) {
+        GameBoards b = boards.get(game);
+        if (b == null) {
+            return Collections.emptyList();
+        }
+        long today = day(now);
+        switch (window) {
+            case ALL_TIME:
+                return b.allTime.best();
+            case DAY:
+                Board day = b.days.get(today);
+                return day == null ? Collections.emptyList() : day.best();
+            default:
+                Board week = new Board(capacity);
+                for (Board d : b.days.subMap(today - WEEK_DAYS, false,
+                                             today, true).values()) {
+                    d.addTo(week);
+                }
+                return week.best();
+        }
+    }
+
+    /**
+     * Renders the boards of every game as text, games in name order.
+     * @param rows entries shown per board
+     * @param now the current time, in epoch milliseconds
+     * @return the text
+     */
+    synchronized String render(final int rows, final long now) {
+        StringBuilder sb = new StringBuilder("\n=== Leaderboards ===\n");
+        if (boards.isEmpty()) {
+            return sb.append("No scores yet.\n").toString();
+        }
+        for (String game : new TreeMap<>(boards).keySet()) {
+            sb.append(game).append('\n');
+            for (Window window : Window.values()) {
+                List<Entry> entries = top(game, window, now);
+                sb.append("  ").append(window.title()).append(':');
+                if (entries.isEmpty()) {
+                    sb.append(" -");
+                }
+                sb.append('\n');
+                for (int i = 0; i < Math.min(rows, entries.size()); i++) {
+                    Entry e = entries.get(i);
+                    sb.append(String.format("    %3d. %-32s %d%n",
+                                            i + 1, e.player(), e.score()));
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Saves the leaderboards, replacing the file atomically. The plays
+     * recorded since the last save are added to what the file holds
+     * now, which may include plays saved by other launchers, and these
+     * boards become the result.
+     * @param fileName the file
+     * @throws IOException if the file cannot be written
+     */
+    void save(final String fileName) throws IOException {
+        Path file = Paths.get(fileName).toAbsolutePath();
+        try (FileChannel lock = FileChannel.open(
+                 file.resolveSibling(file.getFileName() + ".lock"),
+                 StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            lock.lock();
+            Leaderboard merged = new Leaderboard(capacity, zone);
+            List<Play> saving;
+            synchronized (this) {
+                saving = new ArrayList<>(unsaved);
+            }
+            try {
+                merged.read(Files.readAllBytes(file));
+                for (Play p : saving) {
+                    merged.offer(p.game, p.entry);
+                }
+            } catch (NoSuchFileException e) {
+                merged = this;
+            } catch (IOException e) {
+                System.err.println("Leaderboards " + fileName
+                                   + " could not be read (" + e.getMessage()
+                                   + "). "
+                                   + GameHistoryTracker.setAside(fileName));
+                merged = this;
+            }
+            GameHistoryTracker.writeAtomically(file, merged.toBytes());
+            synchronized (this) {
+                unsaved.subList(0, saving.size()).clear();
+                if (merged != this) {
+                    boards.clear();
+                    boards.putAll(merged.boards);
+                    for (Play p : unsaved) {
+                        offer(p.game, p.entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads leaderboards saved by save. A missing file gives empty
+     * leaderboards; an unreadable one does too, with a message, and is
+     * set aside as NAME.bad.
+     * @param fileName the file
+     * @return the leaderboards, days in the local time zone
+     */
+    static Leaderboard load(final String fileName) {
+        Leaderboard leaderboard = new Leaderboard();
+        Path file = Paths.get(fileName);
+        try {
+            leaderboard.read(Files.readAllBytes(file));
+        } catch (NoSuchFileException e) {
+            return leaderboard;
+        } catch (IOException e) {
+            System.err.println("Leaderboards " + fileName
+                               + " could not be loaded (" + e.getMessage()
+                               + "). " + GameHistoryTracker.setAside(fileName)
+                               + " Starting fresh.");
+            return new Leaderboard();
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Serializes the leaderboards.
+     * @return the file contents
+     * @throws IOException never, the stream is in memory
+     */
+    private synchronized byte[] toBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(boards.size());
+            for (Map.Entry<String, GameBoards> e : boards.entrySet()) {
+                out.writeUTF(e.getKey());
+                e.getValue().allTime.write(out);
+                out.writeInt(e.getValue().days.size());
+                for (Map.Entry<Long, Board> d : e.getValue().days.entrySet()) {
+                    out.writeLong(d.getKey());
+                    d.getValue().write(out);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads serialized leaderboards into this one, which must be empty.
+     * @param contents the file contents
+     * @throws IOException if the contents are not valid
+     */
+    private synchronized void read(final byte[] contents) throws IOException {
+        DataInputStream in =
+            new DataInputStream(new ByteArrayInputStream(contents));
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        int version = in.readUnsignedByte();
+        if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+            throw new IOException("not a leaderboard file");
+        }
+        int games = in.readInt();
+        for (int g = 0; g < games; g++) {
+            GameBoards b = new GameBoards();
+            boards.put(in.readUTF(), b);
+            b.allTime.read(in);
+            int days = in.readInt();
+            for (int d = 0; d < days; d++) {
+                long day = in.readLong();
+                Board board = new Board(capacity);
+                board.read(in);
+                b.days.put(day, board);
+            }
+        }
+    }
+
+    /**
+     * Returns the day of a time.
+     * @param time epoch milliseconds
+     * @return days since 1970-01-01 in the time zone
+     */
+    private long day(final long time) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(time), zone).toEpochDay();
+    }
+
+    /**
+     * A score on a board.
+     */
+    static final class Entry {
+        /** Who scored it. */
+        private final String player;
+        /** The score. */
+        private final int score;
+        /** When, in epoch milliseconds. */
+        private final long time;
+
+        /**
+         * Creates an entry.
+         * @param name who scored it
+         * @param points the score
+         * @param millis when, in epoch milliseconds
+         */
+        Entry(final String name, final int points, final long millis) {
+            this.player = name;
+            this.score = points;
+            this.time = millis;
+        }
+
+        /**
+         * Returns who scored it.
+         * @return the player name
+         */
+        String player() {
+            return player;
+        }
+
+        /**
+         * Returns the score.
+         * @return the score
+         */
+        int score() {
+            return score;
+        }
+
+        /**
+         * Returns when it was scored.
+         * @return epoch milliseconds
+         */
+        long time() {
+            return time;
+        }
+
+        @Override
+        public String toString() {
+            return player + " " + score;
+        }
+    }
+
+    /**
+     * A recorded entry and its game.
+     */
+    private static final class Play {
+        /** Name of the game. */
+        private final String game;
+        /** The entry. */
+        private final Entry entry;
+
+        /**
+         * Creates a play.
+         * @param gameName name of the game
+         * @param scored the entry
+         */
+        Play(final String gameName, final Entry scored) {
+            this.game = gameName;
+            this.entry = scored;
+        }
+    }
+
+    /**
+     * The best entries of one game and period, worst at the root.
+     */
+    private static final class Board {
+        /** Most entries kept. */
+        private final int capacity;
+        /** The entries. */
+        private final PriorityQueue<Entry> heap;
+
+        /**
+         * Creates an empty board.
+         * @param size most entries kept
+         */
+        Board(final int size) {
+            this.capacity = size;
+            this.heap = new PriorityQueue<>(size, WORST_FIRST);
+        }
+
+        /**
+         * Adds an entry if it is among the best.
+         * @param entry the entry
+         */
+        void offer(final Entry entry) {
+            if (heap.size() < capacity) {
+                heap.add(entry);
+            } else if (WORST_FIRST.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        /**
+         * Offers every entry to another board.
+         * @param other the board
+         */
+        void addTo(final Board other) {
+            for (Entry e : heap) {
+                other.offer(e);
+            }
+        }
+
+        /**
+         * Returns the entries, best first.
+         * @return a new list
+         */
+        List<Entry> best() {
+            List<Entry> entries = new ArrayList<>(heap);
+            entries.sort(WORST_FIRST.reversed());
+            return entries;
+        }
+
+        /**
+         * Writes the entries.
+         * @param out the stream
+         * @throws IOException if writing fails
+         */
+        void write(final DataOutputStream out) throws IOException {
+            out.writeInt(heap.size());
+            for (Entry e : heap) {
+                out.writeUTF(e.player());
+                out.writeInt(e.score());
+                out.writeLong(e.time());
+            }
+        }
+
+        /**
+         * Reads entries written by write.
+         * @param in the stream
+         * @throws IOException if reading fails
+         */
+        void read(final DataInputStream in) throws IOException {
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                offer(new Entry(in.readUTF(), in.readInt(), in.readLong()));
+            }
+        }
+    }
+
+    /**
+     * The boards of one game.
+     */
+    private final class GameBoards {
+        /** Best scores ever. */
+        private final Board allTime = new Board(capacity);
+        /** Best scores of each recent day, by epoch day. */
+        private final TreeMap<Long, Board> days = new TreeMap<>();
+    }
+}
@@ -0,0 +1,125 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Tests for Leaderboard.
+ * @version 1
+ */
+public class LeaderboardTest {
+    /** Milliseconds per day. */
+    private static final long DAY = 86_400_000L;
+    /** A fixed day, noon UTC. */
+    private static final long NOON = 20_000 * DAY + DAY / 2;
+
+    @Test
+    public void testKeepsBestScoresBestFirst() {
+        Leaderboard board = new Leaderboard(3, ZoneOffset.UTC);
+        int[] scores = {5, 1, 9, 7, 3, 9};
+        for (int i = 0; i < scores.length; i++) {
+            board.record("Snake", "p" + i, scores[i], NOON + i);
+        }
+        List<Leaderboard.Entry> top =
+            board.top("Snake", Leaderboard.Window.ALL_TIME, NOON);
+        assertEquals(3, top.size());
+        assertEquals("p2 9", top.get(0).toString());
+        assertEquals("p5 9", top.get(1).toString());
+        assertEquals("p3 7", top.get(2).toString());
+        assertTrue(board.top("Jotto", Leaderboard.Window.ALL_TIME, NOON)
+                       .isEmpty());
+    }
+
+    @Test
+    public void testDailyAndWeeklyWindows() {
+        Leaderboard board = new Leaderboard(10, ZoneOffset.UTC);
+        board.record("Wordle", "old", 100, NOON - 8 * DAY);
+        board.record("Wordle", "week", 50, NOON - 6 * DAY);
+        board.record("Wordle", "yesterday", 40, NOON - DAY);
+        board.record("Wordle", "today", 10, NOON);
+
+        assertEquals("[today 10]", board.top("Wordle",
+            Leaderboard.Window.DAY, NOON).toString());
+        assertEquals("[week 50, yesterday 40, today 10]", board.top("Wordle",
+            Leaderboard.Window.WEEK, NOON).toString());
+        assertEquals("[old 100, week 50, yesterday 40, today 10]",
+            board.top("Wordle", Leaderboard.Window.ALL_TIME, NOON).toString());
+        assertTrue(board.top("Wordle", Leaderboard.Window.DAY, NOON + DAY)
+                       .isEmpty());
+    }
+
+    @Test
+    public void testSaveAndLoad(@TempDir final Path dir) throws IOException {
+        Leaderboard board = new Leaderboard();
+        long now = System.currentTimeMillis();
+        board.record("Snake", "alice", 12, now);
+        board.record("Snake", "bob", 30, now);
+        board.record("Jotto", "alice", 4, now);
+        Path file = dir.resolve("leaderboard.dat");
+        board.save(file.toString());
+
+        Leaderboard loaded = Leaderboard.load(file.toString());
+        for (Leaderboard.Window window : Leaderboard.Window.values()) {
+            assertEquals("[bob 30, alice 12]",
+                         loaded.top("Snake", window, now).toString());
+        }
+        assertEquals(board.render(5, now), loaded.render(5, now));
+    }
+
+    @Test
+    public void testMissingOrBrokenFileStartsEmpty(@TempDir final Path dir)
+        throws IOException {
+        Path file = dir.resolve("leaderboard.dat");
+        assertTrue(Leaderboard.load(file.toString())
+                       .render(5, NOON).contains("No scores yet."));
+        Files.write(file, new byte[] {'C', 'G'});
+        PrintStream console = System.err;
+        try {
+            System.setErr(new PrintStream(new ByteArrayOutputStream()));
+            assertTrue(Leaderboard.load(file.toString())
+                           .render(5, NOON).contains("No scores yet."));
+        } finally {
+            System.setErr(console);
+        }
+        assertFalse(Files.exists(file));
+        Path aside = dir.resolve("leaderboard.dat.bad");
+        assertArrayEquals(new byte[] {'C', 'G'}, Files.readAllBytes(aside));
+    }
+
+    @Test
+    public void testLaunchersSavingInTurnKeepEachOthersScores(
+        @TempDir final Path dir) throws IOException {
+        String file = dir.resolve("leaderboard.dat").toString();
+        long now = System.currentTimeMillis();
+        Leaderboard first = Leaderboard.load(file);
+        first.record("Snake", "alice", 12, now);
+        first.save(file);
+
+        Leaderboard second = Leaderboard.load(file);
+        Leaderboard third = Leaderboard.load(file);
+        second.record("Snake", "bob", 30, now);
+        third.record("Snake", "carol", 20, now);
+        third.record("Jotto", "carol", 4, now);
+        second.save(file);
+        third.save(file);
+        // Saving again adds nothing twice.
+        third.save(file);
+
+        Leaderboard loaded = Leaderboard.load(file);
+        assertEquals("[bob 30, carol 20, alice 12]",
+                     loaded.top("Snake", Leaderboard.Window.ALL_TIME, now)
+                           .toString());
+        assertEquals("[carol 4]", loaded.top("Jotto", Leaderboard.Window.DAY,
+                                             now).toString());
+        assertEquals(loaded.render(5, now), third.render(5, now));
+    }
+}
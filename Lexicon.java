@@ -0,0 +1,327 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable set of words stored as a minimal acyclic automaton (DAWG).
+ * <pre>
+ * Common prefixes and common suffixes share nodes, so a large lexicon
+ * needs only a few bytes per word. After construction the automaton is
+ * flattened into primitive arrays:
+ *   nodeStart[n] .. nodeStart[n + 1] - 1  edges leaving node n
+ *   edges[e] = (target node &lt;&lt; 5) | letter (0-25), sorted by letter
+ *   terminal bit n set when node n ends a word
+ * Lookups walk these arrays directly and never allocate, so one instance
+ * can be shared read-only by every game session and thread.
+ * Only the letters A-Z are stored; lookups are case-insensitive.
+ * </pre>
+ * @version 1
+ */
+final class Lexicon {
+    /** Number of bits used for the letter of an edge. */
+    private static final int LETTER_BITS = 5;
+    /** Mask extracting the letter of an edge. */
+    private static final int LETTER_MASK = (1 << LETTER_BITS) - 1;
+    /** Root node index. */
+    private static final int ROOT = 0;
+
+    /** First edge index of each node, plus one sentinel entry. */
+    private final int[] nodeStart;
+    /** Packed edges: target node and letter. */
+    private final int[] edges;
+    /** Terminal flags, one bit per node. */
+    private final long[] terminal;
+    /** Number of distinct words. */
+    private final int wordCount;
+
+    /**
+     * Builds a lexicon from the given words.
+     * Words containing characters other than letters are ignored.
+     * @param words the words to store, in any order and case
+     */
+    Lexicon(final Collection<String> words) {
+        List<String> sorted = new ArrayList<>(words.size());
+        for (String word : words) {
+            String upper = word.toUpperCase(Locale.ROOT);
+            if (WordBank.isUpperAlpha(upper)) {
+                sorted.add(upper);
+            }
+        }
+        sorted.sort(null);
+
+        Builder builder = new Builder();
+        String previous = null;
+        int count = 0;
+        for (String word : sorted) {
+            if (!word.equals(previous)) {
+                builder.insert(word);
+                previous = word;
+                count++;
+            }
+        }
+        builder.minimize(0);
+
+        // Number the distinct nodes breadth-first and flatten them.
+        Map<Node, Integer> ids = new IdentityHashMap<>();
+        List<Node> order = new ArrayList<>();
+        ids.put(builder.root, ROOT);
+        order.add(builder.root);
+        int edgeTotal = 0;
+        for (int i = 0; i < order.size(); i++) {
+            Node node = order.get(i);
+            edgeTotal += node.size;
+            for (int e = 0; e < node.size; e++) {
+                Node child = node.children[e];
+                if (!ids.containsKey(child)) {
+                    ids.put(child, order.size());
+                    order.add(child);
+                }
+            }
+        }
+        this.nodeStart = new int[order.size() + 1];
+        this.edges = new int[edgeTotal];
+        this.terminal = new long[(order.size() + Long.SIZE - 1) / Long.SIZE];
+        int next = 0;
+        for (int n = 0; n < order.size(); n++) {
+            Node node = order.get(n);
+            nodeStart[n] = next;
+            if (node.terminal) {
+                terminal[n >>> 6] |= 1L << n;
+            }
+            for (int e = 0; e < node.size; e++) {
+                edges[next++] = (ids.get(node.children[e]) << LETTER_BITS)
+                    | (node.labels[e] - 'A');
+            }
+        }
+        nodeStart[order.size()] = next;
+        this.wordCount = count;
+    }
+
+    /**
+     * Returns the lexicon of allowed five-letter guesses, built from
+     * {@link WordBank#guesses()}. It is built once, on first use, and
+     * shared by all callers.
+     * @return the shared guess lexicon
+     */
+    static Lexicon guessLexicon() {
+        return Holder.GUESSES;
+    }
+
+    /**
+     * Checks whether a word is in the lexicon.
+     * @param word the word to look up, in upper or lower case
+     * @return true if the whole sequence is a stored word
+     */
+    boolean contains(final CharSequence word) {
+        int length = word.length();
+        if (length == 0) {
+            return false;
+        }
+        int node = ROOT;
+        for (int i = 0; i < length; i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (letter < 0) {
+                return false;
+            }
+            node = child(node, letter);
+            if (node < 0) {
+                return false;
+            }
+        }
+        return (terminal[node >>> 6] & (1L << node)) != 0;
+    }
+
+    /**
+     * Returns the number of distinct words stored.
+     * @return word count
+     */
+    int size() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the number of automaton nodes.
+     * @return node count
+     */
+    int nodeCount() {
+        return nodeStart.length - 1;
+    }
+
+    /**
+     * Returns the number of automaton edges.
+     * @return edge count
+     */
+    int edgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Approximates the heap used by the flattened arrays.
+     * @return size in bytes
+     */
+    long memoryBytes() {
+        return 4L * nodeStart.length + 4L * edges.length + 8L * terminal.length;
+    }
+
+    /**
+     * Follows the edge for a letter.
+     * @param node the source node
+     * @param letter the letter index 0-25
+     * @return the target node, or -1 if there is no such edge
+     */
+    private int child(final int node, final int letter) {
+        int end = nodeStart[node + 1];
+        for (int e = nodeStart[node]; e < end; e++) {
+            int label = edges[e] & LETTER_MASK;
+            if (label == letter) {
+                return edges[e] >>> LETTER_BITS;
+            }
+            if (label > letter) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Maps a character to a letter index.
+     * @param c the character
+     * @return 0-25 for A-Z or a-z, otherwise -1
+     */
+    private static int letterIndex(final char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return -1;
+    }
+
+    /**
+     * Mutable automaton node used only while building.
+     * Equality is structural so equivalent suffixes can be merged.
+     */
+    private static final class Node {
+        /** Whether a word ends here. */
+        private boolean terminal;
+        /** Edge letters in increasing order. */
+        private char[] labels = new char[2];
+        /** Edge targets. */
+        private Node[] children = new Node[2];
+        /** Number of edges. */
+        private int size;
+
+        /**
+         * Appends an edge; letters arrive in sorted order.
+         * @param label the edge letter
+         * @param child the target node
+         */
+        void add(final char label, final Node child) {
+            if (size == labels.length) {
+                labels = Arrays.copyOf(labels, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+            labels[size] = label;
+            children[size] = child;
+            size++;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Node)) {
+                return false;
+            }
+            Node that = (Node) other;
+            if (terminal != that.terminal || size != that.size) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (labels[i] != that.labels[i]
+                        || children[i] != that.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = terminal ? 1 : 0;
+            for (int i = 0; i < size; i++) {
+                hash = 31 * hash + labels[i];
+                hash = 31 * hash + System.identityHashCode(children[i]);
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Incremental construction of a minimal automaton from sorted words
+     * (Daciuk et al.). Suffixes are merged as soon as no later word can
+     * extend them.
+     */
+    private static final class Builder {
+        /** The root node. */
+        private final Node root = new Node();
+        /** Canonical instance of every finished node. */
+        private final Map<Node, Node> register = new HashMap<>();
+        /** Nodes on the path of the previous word, not yet merged. */
+        private final List<Node> path = new ArrayList<>();
+        /** The previously inserted word. */
+        private String previous = "";
+
+        /**
+         * Inserts a word that sorts after every earlier word.
+         * @param word the upper-case word
+         */
+        void insert(final String word) {
+            int common = 0;
+            int limit = Math.min(word.length(), previous.length());
+            while (common < limit && word.charAt(common) == previous.charAt(common)) {
+                common++;
+            }
+            minimize(common);
+            Node node = path.isEmpty() ? root : path.get(path.size() - 1);
+            for (int i = common; i < word.length(); i++) {
+                Node next = new Node();
+                node.add(word.charAt(i), next);
+                path.add(next);
+                node = next;
+            }
+            node.terminal = true;
+            previous = word;
+        }
+
+        /**
+         * Merges the unfinished path below the given depth.
+         * @param depth number of path nodes to keep unfinished
+         */
+        void minimize(final int depth) {
+            for (int i = path.size() - 1; i >= depth; i--) {
+                Node child = path.get(i);
+                Node parent = i == 0 ? root : path.get(i - 1);
+                Node canonical = register.get(child);
+                if (canonical == null) {
+                    register.put(child, child);
+                } else {
+                    parent.children[parent.size - 1] = canonical;
+                }
+                path.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Lazily builds the guess lexicon the first time it is needed.
+     */
+    private static final class Holder {
+        /** The allowed guesses. */
+        static final Lexicon GUESSES = new Lexicon(WordBank.guesses());
+    }
+}
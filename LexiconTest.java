@@ -0,0 +1,79 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Tests for Lexicon.
+ * @version 1
+ */
+public class LexiconTest {
+
+    @Test
+    public void testContainsStoredWords() {
+        Lexicon lexicon = new Lexicon(Arrays.asList("CRANE", "BRICK", "APPLE"));
+        assertTrue(lexicon.contains("CRANE"));
+        assertTrue(lexicon.contains("BRICK"));
+        assertTrue(lexicon.contains("APPLE"));
+        assertEquals(3, lexicon.size());
+    }
+
+    @Test
+    public void testLookupIsCaseInsensitive() {
+        Lexicon lexicon = new Lexicon(Arrays.asList("crane"));
+        assertTrue(lexicon.contains("CRANE"));
+        assertTrue(lexicon.contains("crane"));
+        assertTrue(lexicon.contains(new StringBuilder("CrAnE")));
+    }
+
+    @Test
+    public void testRejectsPrefixesExtensionsAndNonLetters() {
+        Lexicon lexicon = new Lexicon(Arrays.asList("CRANE", "CRANES"));
+        assertFalse(lexicon.contains("CRAN"));
+        assertFalse(lexicon.contains("CRANESS"));
+        assertFalse(lexicon.contains("CR4NE"));
+        assertFalse(lexicon.contains(""));
+        assertTrue(lexicon.contains("CRANES"));
+    }
+
+    @Test
+    public void testIgnoresDuplicatesAndInvalidEntries() {
+        Lexicon lexicon = new Lexicon(
+            Arrays.asList("WORD", "word", "WO RD", "W0RD", ""));
+        assertEquals(1, lexicon.size());
+        assertFalse(lexicon.contains("WO RD"));
+    }
+
+    @Test
+    public void testEmptyLexicon() {
+        Lexicon lexicon = new Lexicon(Collections.emptyList());
+        assertEquals(0, lexicon.size());
+        assertFalse(lexicon.contains("A"));
+    }
+
+    @Test
+    public void testSharedSuffixesAreMerged() {
+        // A plain trie needs 1 + 4 * 5 = 21 nodes; the DAWG shares "ING".
+        Lexicon lexicon = new Lexicon(
+            Arrays.asList("KING", "RING", "SING", "WING"));
+        assertTrue(lexicon.nodeCount() < 21);
+        assertEquals(5, lexicon.nodeCount());
+    }
+
+    @Test
+    public void testGuessLexiconAcceptsWordsThatAreNotAnswers() {
+        Lexicon lexicon = Lexicon.guessLexicon();
+        for (String word : new String[] {"HELLO", "WORDS"}) {
+            assertTrue(lexicon.contains(word), word);
+            assertFalse(WordBank.answers().contains(word), word);
+        }
+        for (String answer : WordBank.answers()) {
+            assertTrue(lexicon.contains(answer), answer);
+        }
+        assertTrue(lexicon.contains("APPLE"));
+        assertTrue(lexicon.contains("BRICK"));
+        assertFalse(lexicon.contains("XQZVW"));
+    }
+}
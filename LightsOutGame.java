@@ -1,5 +1,6 @@
+import java.io.PrintStream;
 import java.util.Optional;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
 
 /**
@@ -18,9 +19,27 @@ class LightsOutGame implements Game {
     /** The grid (true = on, false = off). */
     private boolean[][] grid;
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
     /** Random for initial state. */
-    private final Random random = new Random();
+    private final RandomGenerator random = GameRandom.generator();
+
+    /**
+     * Creates a game played on the system console.
+     */
+    LightsOutGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    LightsOutGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     @Override
     public String getName() {
@@ -29,32 +48,32 @@ class LightsOutGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println("Welcome to Lights Out!");
-        System.out.println("The tiles have an 'on' or 'off' function.");
-        System.out.println("Selecting a tile will change its state.");
-        System.out.println("Tiles also change the state of neighboring tiles.");
-        System.out.println("Turn all lights OFF to win!");
-        System.out.println("Enter 'row col' to toggle (e.g., '2 3')");
-        System.out.println("Good luck!");
+        out.println("Welcome to Lights Out!");
+        out.println("The tiles have an 'on' or 'off' function.");
+        out.println("Selecting a tile will change its state.");
+        out.println("Tiles also change the state of neighboring tiles.");
+        out.println("Turn all lights OFF to win!");
+        out.println("Enter 'row col' to toggle (e.g., '2 3')");
+        out.println("Good luck!");
 
         initGame();
         int moves = 0;
 
         while (!isAllOff()) {
             printBoard();
-            System.out.println("Moves: " + moves);
-            System.out.print("Toggle position (row col): ");
+            out.println("Moves: " + moves);
+            out.print("Toggle position (row col): ");
 
             String input = scanner.nextLine().trim();
 
             if (input.equalsIgnoreCase("q")) {
-                System.out.println("Thanks for playing!");
+                out.println("Thanks for playing!");
                 return Optional.of(0);
             }
 
             String[] parts = input.split("\\s+");
             if (parts.length != 2) {
-                System.out.println("Enter as 'row col' (e.g., '2 3')");
+                out.println("Enter as 'row col' (e.g., '2 3')");
                 continue;
             }
 
@@ -63,7 +82,7 @@ class LightsOutGame implements Game {
                 int col = Integer.parseInt(parts[1]) - 1;
 
                 if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
-                    System.out.println("Position out of range (1-" + SIZE + ")");
+                    out.println("Position out of range (1-" + SIZE + ")");
                     continue;
                 }
 
@@ -71,13 +90,13 @@ class LightsOutGame implements Game {
                 moves++;
 
             } catch (NumberFormatException e) {
-                System.out.println("Invalid input. Enter numbers.");
+                out.println("Invalid input. Enter numbers.");
             }
         }
 
         printBoard();
-        System.out.println("Congratulations! All lights are off!");
-        System.out.println("You solved it in " + moves + " moves!");
+        out.println("Congratulations! All lights are off!");
+        out.println("You solved it in " + moves + " moves!");
         // Higher score for fewer moves
         int score = Math.max(0, 100 - moves * 5);
         return Optional.of(score);
@@ -131,18 +150,20 @@ class LightsOutGame implements Game {
     }
 
     private void printBoard() {
-        System.out.print("  ");
+        GameEvents.RenderFrame frame = GameEvents.beginRender();
+        out.print("  ");
         for (int c = 1; c <= SIZE; c++) {
-            System.out.print(c + " ");
+            out.print(c + " ");
         }
-        System.out.println();
+        out.println();
 
         for (int r = 0; r < SIZE; r++) {
-            System.out.print((r + 1) + " ");
+            out.print((r + 1) + " ");
             for (int c = 0; c < SIZE; c++) {
-                System.out.print(grid[r][c] ? "O " : ". ");
+                out.print(grid[r][c] ? "O " : ". ");
             }
-            System.out.println();
+            out.println();
         }
+        GameEvents.endRender(frame, getName());
     }
 }
@@ -1,5 +1,6 @@
+import java.io.PrintStream;
 import java.util.Optional;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
 
 /**
@@ -20,9 +21,27 @@ class MasterMindGame implements Game {
     /** Maximum attempts. */
     private static final int MAX_ATTEMPTS = 10;
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
     /** Random for code generation. */
-    private final Random random = new Random();
+    private final RandomGenerator random = GameRandom.generator();
+
+    /**
+     * Creates a game played on the system console.
+     */
+    MasterMindGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    MasterMindGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     @Override
     public String getName() {
@@ -31,27 +50,27 @@ class MasterMindGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println("Welcome to MasterMind!");
-        System.out.println("I've chosen a secret code of " + CODE_LENGTH
+        out.println("Welcome to MasterMind!");
+        out.println("I've chosen a secret code of " + CODE_LENGTH
             + " digits.");
-        System.out.println("Each digit is between 1 and " + NUM_COLORS + ".");
-        System.out.println("Guess the code within " + MAX_ATTEMPTS
+        out.println("Each digit is between 1 and " + NUM_COLORS + ".");
+        out.println("Guess the code within " + MAX_ATTEMPTS
             + " attempts.");
-        System.out.println("Feedback: X = correct position, "
+        out.println("Feedback: X = correct position, "
             + "O = wrong position");
 
         int[] secretCode = generateCode();
         int attemptsLeft = MAX_ATTEMPTS;
 
         while (attemptsLeft > 0) {
-            System.out.println("\nAttempts remaining: " + attemptsLeft);
-            System.out.print("Enter your guess (" + CODE_LENGTH
+            out.println("\nAttempts remaining: " + attemptsLeft);
+            out.print("Enter your guess (" + CODE_LENGTH
                 + " digits, e.g., 1234): ");
 
             String input = scanner.nextLine().trim();
 
             if (input.length() != CODE_LENGTH) {
-                System.out.println("Please enter exactly " + CODE_LENGTH
+                out.println("Please enter exactly " + CODE_LENGTH
                     + " digits.");
                 continue;
             }
@@ -61,7 +80,7 @@ class MasterMindGame implements Game {
             for (int i = 0; i < CODE_LENGTH; i++) {
                 char c = input.charAt(i);
                 if (c < '1' || c > '0' + NUM_COLORS) {
-                    System.out.println("Digits must be between 1 and "
+                    out.println("Digits must be between 1 and "
                         + NUM_COLORS);
                     valid = false;
                     break;
@@ -88,10 +107,10 @@ class MasterMindGame implements Game {
                 feedback.append("-");
             }
 
-            System.out.println("Feedback: " + feedback);
+            out.println("Feedback: " + feedback);
 
             if (correctPosition == CODE_LENGTH) {
-                System.out.println("Congratulations! You cracked the code!");
+                out.println("Congratulations! You cracked the code!");
                 return Optional.of(attemptsLeft);
             }
 
@@ -102,7 +121,7 @@ class MasterMindGame implements Game {
         for (int d : secretCode) {
             code.append(d);
         }
-        System.out.println("Out of attempts! The code was: " + code);
+        out.println("Out of attempts! The code was: " + code);
         return Optional.of(0);
     }
 
@@ -0,0 +1,88 @@
+import java.util.Random;
+
+/**
+ * Measures simulated Memory Match games per second between computer
+ * players with different memory models.
+ * <pre>
+ * Run with
+ *   java -cp build/classes MemoryMatchBenchmark [games]
+ * Games are played on the 4x4 board with no output and no hide delay.
+ * </pre>
+ * @version 1
+ */
+final class MemoryMatchBenchmark {
+    /** Games per matchup when no count is given. */
+    private static final int DEFAULT_GAMES = 200_000;
+    /** Cells on the board. */
+    private static final int CELLS = 16;
+    /** Cards the forgetful player can remember. */
+    private static final int FORGETFUL_CAPACITY = 6;
+    /** Chance the forgetful player forgets a card each turn. */
+    private static final double FORGET_CHANCE = 0.2;
+    /** Nanoseconds per second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * Prevent Instantiation.
+     */
+    private MemoryMatchBenchmark() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args optional number of games per matchup
+     */
+    public static void main(final String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        run("perfect vs perfect", games, false);
+        run("perfect vs forgetful", games, true);
+    }
+
+    /**
+     * Plays and times one matchup, warming up on the first tenth.
+     * @param label the matchup name
+     * @param games number of games
+     * @param forgetful whether the second player forgets
+     */
+    private static void run(final String label, final int games,
+                            final boolean forgetful) {
+        Random random = new Random(games);
+        int[] deck = new int[CELLS];
+        play(games / 10, deck, forgetful, random);
+        long start = System.nanoTime();
+        int[] wins = play(games, deck, forgetful, random);
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%-22s %,12.0f games/s  first %d  second %d  ties %d%n",
+                          label, games * NANOS_PER_SECOND / nanos,
+                          wins[0], wins[1], wins[2]);
+    }
+
+    /**
+     * Plays a number of games.
+     * @param games number of games
+     * @param deck scratch deck, reshuffled for every game
+     * @param forgetful whether the second player forgets
+     * @param random source of randomness
+     * @return wins of the first and second player, then ties
+     */
+    private static int[] play(final int games, final int[] deck,
+                              final boolean forgetful, final Random random) {
+        int[] wins = new int[3];
+        for (int g = 0; g < games; g++) {
+            for (int i = 0; i < CELLS; i++) {
+                deck[i] = i / 2;
+            }
+            MemoryMatchGame.shuffle(deck, random);
+            MemoryMatchOpponent first =
+                MemoryMatchOpponent.perfect(CELLS, CELLS / 2, random);
+            MemoryMatchOpponent second = forgetful
+                ? MemoryMatchOpponent.limited(FORGETFUL_CAPACITY,
+                                              FORGET_CHANCE, random)
+                : MemoryMatchOpponent.perfect(CELLS, CELLS / 2, random);
+            int[] pairs = MemoryMatchOpponent.playOut(deck, first, second);
+            wins[pairs[0] > pairs[1] ? 0 : pairs[0] < pairs[1] ? 1 : 2]++;
+        }
+        return wins;
+    }
+}
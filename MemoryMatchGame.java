@@ -1,7 +1,7 @@
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.io.PrintStream;
+import java.util.BitSet;
 import java.util.Optional;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
 
 /**
@@ -13,24 +13,129 @@ import java.util.Scanner;
  * The score can be the number of turns that player took.
  * <pre>
  * Manages board state and the display of revealed vs. hidden tiles.
+ *
+ * The board is any size up to MAX_SIDE x MAX_SIDE with an even number
+ * of cells. Cards are addressed by cell index (row * cols + col):
+ *   deck      int[] holding each cell's symbol, shuffled in place
+ *   revealed  BitSet of face-up cells
+ * Symbols are shown as fixed-width letter codes (A..Z, then AA..ZZ,
+ * ...). Boards larger than VIEW_ROWS x VIEW_COLS are shown through a
+ * viewport that follows the last card flipped and can be moved with
+ * 'v row col', so printing a turn costs the same on any board.
+ *
+ * In the versus modes the player and the computer take turns, a match
+ * earning another turn; the score is the number of pairs the player
+ * found. The computer either remembers every card it has seen or only
+ * the last few, forgetting some as it goes (see MemoryMatchOpponent).
+ * After a miss the cards are hidden at once, but the next board is
+ * only printed once the hide delay has passed (see DelayedPrinter), so
+ * the game thread never sleeps. The delay is 0 when the system property
+ * consolegamehub.headless is true.
  * </pre>
- * @version 2.1
+ * @version 4
  */
 class MemoryMatchGame implements Game {
-    /** Grid rows. */
+    /** Property that disables the hide delay when set to true. */
+    static final String HEADLESS_PROPERTY = "consolegamehub.headless";
+    /** Default time a missed pair stays on screen. */
+    static final long DEFAULT_HIDE_DELAY_MILLIS = 1500;
+    /** Largest number of rows or columns. */
+    static final int MAX_SIDE = 1000;
+    /** Default grid rows. */
     private static final int ROWS = 4;
-    /** Grid columns. */
+    /** Default grid columns. */
     private static final int COLS = 4;
-    /** Card symbols (need ROWS*COLS/2 unique). */
-    private static final char[] SYMBOLS = {
-        'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H'
-    };
-    /** The card grid. */
-    private char[][] cards;
-    /** Revealed state. */
-    private boolean[][] revealed;
+    /** Rows shown at once on large boards. */
+    private static final int VIEW_ROWS = 12;
+    /** Columns shown at once on large boards. */
+    private static final int VIEW_COLS = 12;
+    /** Letters used in card codes. */
+    private static final int LETTERS = 26;
+    /** Mode against a computer that never forgets. */
+    private static final int PERFECT_MODE = 2;
+    /** Mode against a computer that forgets. */
+    private static final int FORGETFUL_MODE = 3;
+    /** Cards the forgetful computer can remember. */
+    private static final int FORGETFUL_CAPACITY = 6;
+    /** Chance the forgetful computer forgets a card each turn. */
+    private static final double FORGET_CHANCE = 0.2;
+    /** Board size offered by default. */
+    private final int defaultRows;
+    /** Board size offered by default. */
+    private final int defaultCols;
+    /** Grid rows of the current game. */
+    private int rows;
+    /** Grid columns of the current game. */
+    private int cols;
+    /** Symbol of each cell. */
+    private int[] deck;
+    /** Face-up cells. */
+    private BitSet revealed;
+    /** Letters per card code. */
+    private int codeWidth;
+    /** Cell the viewport is centred on. */
+    private int focus;
+    /** Board rendering buffer, reused between turns. */
+    private final StringBuilder board = new StringBuilder();
+    /** Computer player in the versus modes, otherwise null. */
+    private MemoryMatchOpponent opponent;
+    /** Console output, paced by the hide delay. */
+    private final DelayedPrinter out;
+    /** Console output for the set-up, before anything is paced. */
+    private final PrintStream screen;
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Random for dealing and for the computer player. */
+    private final RandomGenerator random = GameRandom.generator();
+
+    /**
+     * Creates a game played on the system console.
+     */
+    MemoryMatchGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game with the default hide delay, or none when running
+     * headless.
+     * @param console where the game reads input and prints
+     */
+    MemoryMatchGame(final GameConsole console) {
+        this(console, Boolean.getBoolean(HEADLESS_PROPERTY) ? 0
+                      : DEFAULT_HIDE_DELAY_MILLIS);
+    }
+
+    /**
+     * Creates a game with the given hide delay.
+     * @param console where the game reads input and prints
+     * @param hideDelayMillis time a missed pair stays on screen; 0 hides
+     *        it immediately
+     */
+    MemoryMatchGame(final GameConsole console, final long hideDelayMillis) {
+        this(console, ROWS, COLS, hideDelayMillis);
+    }
+
+    /**
+     * Creates a game with the given default board size and hide delay.
+     * @param console where the game reads input and prints
+     * @param boardRows rows offered by default
+     * @param boardCols columns offered by default
+     * @param hideDelayMillis time a missed pair stays on screen; 0 hides
+     *        it immediately
+     * @throws IllegalArgumentException if the board size is not valid
+     */
+    MemoryMatchGame(final GameConsole console, final int boardRows,
+                    final int boardCols, final long hideDelayMillis) {
+        if (!isValidSize(boardRows, boardCols)) {
+            throw new IllegalArgumentException("Invalid board size: "
+                + boardRows + "x" + boardCols);
+        }
+        this.defaultRows = boardRows;
+        this.defaultCols = boardCols;
+        this.scanner = new Scanner(console.in());
+        this.screen = console.out();
+        this.out = new DelayedPrinter(screen, hideDelayMillis);
+    }
 
     @Override
     public String getName() {
@@ -39,129 +144,432 @@ class MemoryMatchGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println("Welcome, you are now playing Memory Match");
-        System.out.println("Flip items to match pairs");
-        System.out.println("If items don't match flip over, go again");
-        System.out.println("When all items are matched you win");
-        System.out.println("Enter positions as 'row col' (e.g., '1 2')");
-        System.out.println("Have fun!!!");
+        screen.println("Welcome, you are now playing Memory Match");
+        screen.println("Flip items to match pairs");
+        screen.println("If items don't match flip over, go again");
+        screen.println("When all items are matched you win");
+        screen.println("Enter positions as 'row col' (e.g., '1 2')");
+        screen.println("Have fun!!!");
+        screen.println("1. Solo");
+        screen.println("2. Versus the computer (perfect memory)");
+        screen.println("3. Versus the computer (forgetful)");
+        int mode = GameUtils.chooseMode(scanner, screen, FORGETFUL_MODE);
+        askBoardSize();
 
         initGame();
+        int cells = deck.length;
+        if (mode == PERFECT_MODE) {
+            opponent = MemoryMatchOpponent.perfect(cells, cells / 2, random);
+        } else if (mode == FORGETFUL_MODE) {
+            opponent = MemoryMatchOpponent.limited(FORGETFUL_CAPACITY,
+                                                   FORGET_CHANCE, random);
+        } else {
+            opponent = null;
+        }
+        try {
+            return opponent == null ? playSolo() : playVersus();
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * Plays the single-player game.
+     * @return the score; fewer turns score higher
+     */
+    private Optional<Integer> playSolo() {
         int turns = 0;
         int pairsFound = 0;
-        int totalPairs = (ROWS * COLS) / 2;
+        int totalPairs = deck.length / 2;
 
         while (pairsFound < totalPairs) {
             printBoard();
-            System.out.println("Pairs found: " + pairsFound + "/" + totalPairs);
-
-            int[] first = getCardChoice("Select first card: ");
-            if (first == null) {
-                continue;
-            }
-            revealed[first[0]][first[1]] = true;
-            printBoard();
+            out.println("Pairs found: " + pairsFound + "/" + totalPairs);
 
-            int[] second = getCardChoice("Select second card: ");
-            if (second == null) {
-                revealed[first[0]][first[1]] = false;
+            int[] pair = playerTurn();
+            if (pair == null) {
                 continue;
             }
-            revealed[second[0]][second[1]] = true;
-            printBoard();
-
             turns++;
 
-            if (cards[first[0]][first[1]] == cards[second[0]][second[1]]) {
-                System.out.println("Match found!");
+            if (isMatch(pair)) {
+                out.println("Match found!");
                 pairsFound++;
             } else {
-                System.out.println("No match. Try to remember!");
-                try {
-                    Thread.sleep(1500);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                revealed[first[0]][first[1]] = false;
-                revealed[second[0]][second[1]] = false;
+                out.println("No match. Try to remember!");
+                hide(pair);
             }
         }
 
         printBoard();
-        System.out.println("Congratulations! You found all pairs in "
+        out.println("Congratulations! You found all pairs in "
             + turns + " turns!");
         // Score: fewer turns = higher score
         int score = Math.max(0, 100 - (turns - totalPairs) * 5);
         return Optional.of(score);
     }
 
-    private void initGame() {
-        cards = new char[ROWS][COLS];
-        revealed = new boolean[ROWS][COLS];
+    /**
+     * Plays the player against the computer.
+     * @return the number of pairs the player found
+     */
+    private Optional<Integer> playVersus() {
+        int[] pairs = new int[2];
+        int totalPairs = deck.length / 2;
+        boolean playersTurn = true;
 
-        List<Character> deck = new ArrayList<>();
-        for (int i = 0; i < (ROWS * COLS) / 2; i++) {
-            deck.add(SYMBOLS[i]);
-            deck.add(SYMBOLS[i]);
+        while (pairs[0] + pairs[1] < totalPairs) {
+            int[] pair;
+            if (playersTurn) {
+                printBoard();
+                out.println("Pairs - you: " + pairs[0]
+                    + ", computer: " + pairs[1]);
+                pair = playerTurn();
+                if (pair == null) {
+                    continue;
+                }
+            } else {
+                pair = computerTurn();
+            }
+
+            if (isMatch(pair)) {
+                out.println(playersTurn ? "Match found!"
+                            : "The computer found a match.");
+                opponent.matched(pair[0], pair[1]);
+                pairs[playersTurn ? 0 : 1]++;
+            } else {
+                out.println("No match.");
+                hide(pair);
+                playersTurn = !playersTurn;
+            }
+        }
+
+        printBoard();
+        if (pairs[0] > pairs[1]) {
+            out.println("You win " + pairs[0] + " to " + pairs[1] + "!");
+        } else if (pairs[0] < pairs[1]) {
+            out.println("The computer wins " + pairs[1] + " to "
+                + pairs[0] + ".");
+        } else {
+            out.println("It's a tie!");
+        }
+        return Optional.of(pairs[0]);
+    }
+
+    /**
+     * Lets the player flip two cards.
+     * @return the two cells flipped, or null if the player's input was
+     *         invalid and the turn should be retried
+     */
+    private int[] playerTurn() {
+        int first = getCardChoice("Select first card: ");
+        if (first < 0) {
+            return null;
         }
-        Collections.shuffle(deck);
+        reveal(first);
+        printBoard();
+
+        int second = getCardChoice("Select second card: ");
+        if (second < 0) {
+            revealed.clear(first);
+            return null;
+        }
+        reveal(second);
+        printBoard();
+        return new int[]{first, second};
+    }
+
+    /**
+     * Lets the computer flip two cards, pausing before each so the
+     * player can follow.
+     * @return the two cells flipped
+     */
+    private int[] computerTurn() {
+        int first = opponent.chooseFirst(deck.length, this::isHidden);
+        reveal(first);
+        out.pause();
+        out.println("The computer flips " + describe(first) + ".");
+        printBoard();
+
+        int second = opponent.chooseSecond(deck.length, this::isHidden, first,
+                                           deck[first]);
+        reveal(second);
+        out.pause();
+        out.println("The computer flips " + describe(second) + ".");
+        printBoard();
+        return new int[]{first, second};
+    }
 
-        int idx = 0;
-        for (int r = 0; r < ROWS; r++) {
-            for (int c = 0; c < COLS; c++) {
-                cards[r][c] = deck.get(idx++);
-                revealed[r][c] = false;
+    /**
+     * Turns a card face up, moves the viewport to it and lets the
+     * computer see it.
+     * @param cell the cell index
+     */
+    private void reveal(final int cell) {
+        revealed.set(cell);
+        focus = cell;
+        if (opponent != null) {
+            opponent.observe(cell, deck[cell]);
+        }
+    }
+
+    /**
+     * Turns a missed pair face down. The board showing them hidden is
+     * printed only after the hide delay.
+     * @param pair the two cells
+     */
+    private void hide(final int[] pair) {
+        revealed.clear(pair[0]);
+        revealed.clear(pair[1]);
+        out.pause();
+    }
+
+    /**
+     * Checks whether two flipped cells hold the same card.
+     * @param pair the two cells
+     * @return true on a match
+     */
+    private boolean isMatch(final int[] pair) {
+        return deck[pair[0]] == deck[pair[1]];
+    }
+
+    /**
+     * Checks whether a cell is face down.
+     * @param cell the cell index
+     * @return true if face down
+     */
+    private boolean isHidden(final int cell) {
+        return !revealed.get(cell);
+    }
+
+    /**
+     * Describes a cell the way the player enters it.
+     * @param cell the cell index
+     * @return "row col", counting from 1
+     */
+    private String describe(final int cell) {
+        return (cell / cols + 1) + " " + (cell % cols + 1);
+    }
+
+    /**
+     * Checks whether a board size can be played.
+     * @param boardRows number of rows
+     * @param boardCols number of columns
+     * @return true if both sides are in range and the cell count is even
+     */
+    static boolean isValidSize(final int boardRows, final int boardCols) {
+        return boardRows >= 1 && boardRows <= MAX_SIDE
+            && boardCols >= 1 && boardCols <= MAX_SIDE
+            && (boardRows * boardCols) % 2 == 0;
+    }
+
+    /**
+     * Asks the player for the board size.
+     */
+    private void askBoardSize() {
+        while (true) {
+            screen.print("Board size as 'rows cols' (default "
+                + defaultRows + " " + defaultCols + "): ");
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                rows = defaultRows;
+                cols = defaultCols;
+                return;
+            }
+            String[] parts = input.split("[\\sxX]+");
+            try {
+                if (parts.length == 2) {
+                    int r = Integer.parseInt(parts[0]);
+                    int c = Integer.parseInt(parts[1]);
+                    if (isValidSize(r, c)) {
+                        rows = r;
+                        cols = c;
+                        return;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the message below
             }
+            screen.println("Enter two sizes from 1 to " + MAX_SIDE
+                + " with an even product (e.g., '6 6').");
+        }
+    }
+
+    /**
+     * Deals a new board: two cards of each symbol, shuffled in place.
+     */
+    private void initGame() {
+        int cells = rows * cols;
+        deck = new int[cells];
+        revealed = new BitSet(cells);
+        for (int i = 0; i < cells; i++) {
+            deck[i] = i / 2;
+        }
+        shuffle(deck, random);
+
+        codeWidth = 1;
+        for (long codes = LETTERS; codes < cells / 2; codes *= LETTERS) {
+            codeWidth++;
+        }
+        focus = 0;
+    }
+
+    /**
+     * Shuffles an array in place (Fisher-Yates).
+     * @param values the array
+     * @param random source of randomness
+     */
+    static void shuffle(final int[] values, final RandomGenerator random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+    }
+
+    /**
+     * Appends the code shown for a symbol.
+     * @param text the buffer
+     * @param symbol the symbol number
+     * @param width letters per code
+     * @return the buffer, e.g. with "A" appended for 0 at width 1 and
+     *         "AB" for 1 at width 2
+     */
+    static StringBuilder appendCode(final StringBuilder text, final int symbol,
+                                    final int width) {
+        long divisor = 1;
+        for (int i = 1; i < width; i++) {
+            divisor *= LETTERS;
+        }
+        for (; divisor > 0; divisor /= LETTERS) {
+            text.append((char) ('A' + symbol / divisor % LETTERS));
         }
+        return text;
     }
 
+    /**
+     * Prints the board, or the part of it inside the viewport.
+     */
     private void printBoard() {
-        System.out.print("  ");
-        for (int c = 1; c <= COLS; c++) {
-            System.out.print(c + " ");
+        GameEvents.RenderFrame frame = GameEvents.beginRender();
+        int viewRows = Math.min(rows, VIEW_ROWS);
+        int viewCols = Math.min(cols, VIEW_COLS);
+        int top = clamp(focus / cols - viewRows / 2, rows - viewRows);
+        int left = clamp(focus % cols - viewCols / 2, cols - viewCols);
+        int labelWidth = digits(top + viewRows);
+        int cellWidth = Math.max(codeWidth, digits(left + viewCols));
+        String newline = System.lineSeparator();
+
+        board.setLength(0);
+        if (viewRows < rows || viewCols < cols) {
+            board.append("Rows ").append(top + 1).append('-')
+                .append(top + viewRows).append(", columns ").append(left + 1)
+                .append('-').append(left + viewCols).append(" of ")
+                .append(rows).append('x').append(cols)
+                .append(" (enter 'v row col' to look elsewhere)")
+                .append(newline);
+        }
+        pad(labelWidth + 1);
+        for (int c = left; c < left + viewCols; c++) {
+            String label = Integer.toString(c + 1);
+            pad(cellWidth - label.length());
+            board.append(label).append(' ');
         }
-        System.out.println();
+        board.append(newline);
 
-        for (int r = 0; r < ROWS; r++) {
-            System.out.print((r + 1) + " ");
-            for (int c = 0; c < COLS; c++) {
-                if (revealed[r][c]) {
-                    System.out.print(cards[r][c] + " ");
+        for (int r = top; r < top + viewRows; r++) {
+            String label = Integer.toString(r + 1);
+            pad(labelWidth - label.length());
+            board.append(label).append(' ');
+            for (int c = left; c < left + viewCols; c++) {
+                int cell = r * cols + c;
+                pad(cellWidth - codeWidth);
+                if (revealed.get(cell)) {
+                    appendCode(board, deck[cell], codeWidth);
                 } else {
-                    System.out.print("* ");
+                    for (int i = 0; i < codeWidth; i++) {
+                        board.append('*');
+                    }
                 }
+                board.append(' ');
             }
-            System.out.println();
+            board.append(newline);
+        }
+        out.print(board.toString());
+        GameEvents.endRender(frame, getName());
+    }
+
+    /**
+     * Appends spaces to the board buffer.
+     * @param count number of spaces
+     */
+    private void pad(final int count) {
+        for (int i = 0; i < count; i++) {
+            board.append(' ');
         }
     }
 
-    private int[] getCardChoice(String prompt) {
+    /**
+     * Clamps a viewport offset to the board.
+     * @param value the wanted offset
+     * @param max the largest offset
+     * @return the offset within 0..max
+     */
+    private static int clamp(final int value, final int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    /**
+     * Returns the number of decimal digits of a positive number.
+     * @param value the number
+     * @return its digit count
+     */
+    private static int digits(final int value) {
+        return Integer.toString(value).length();
+    }
+
+    /**
+     * Asks the player for a face-down card. 'v row col' moves the
+     * viewport and asks again.
+     * @param prompt the prompt
+     * @return the cell index, or -1 if the input was invalid
+     */
+    private int getCardChoice(final String prompt) {
         while (true) {
-            System.out.print(prompt);
+            out.print(prompt);
             String input = scanner.nextLine().trim();
+            out.flush();
             String[] parts = input.split("\\s+");
+            boolean view = parts.length == 3 && "v".equalsIgnoreCase(parts[0]);
 
-            if (parts.length != 2) {
-                System.out.println("Enter as 'row col' (e.g., '1 2')");
-                return null;
+            if (parts.length != 2 && !view) {
+                out.println("Enter as 'row col' (e.g., '1 2')");
+                return -1;
             }
 
             try {
-                int row = Integer.parseInt(parts[0]) - 1;
-                int col = Integer.parseInt(parts[1]) - 1;
+                int row = Integer.parseInt(parts[parts.length - 2]) - 1;
+                int col = Integer.parseInt(parts[parts.length - 1]) - 1;
 
-                if (row < 0 || row >= ROWS || col < 0 || col >= COLS) {
-                    System.out.println("Invalid position.");
-                    return null;
+                if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                    out.println("Invalid position.");
+                    return -1;
+                }
+                int cell = row * cols + col;
+                if (view) {
+                    focus = cell;
+                    printBoard();
+                    continue;
                 }
-                if (revealed[row][col]) {
-                    System.out.println("Card already revealed.");
-                    return null;
+                if (revealed.get(cell)) {
+                    out.println("Card already revealed.");
+                    return -1;
                 }
-                return new int[]{row, col};
+                return cell;
             } catch (NumberFormatException e) {
-                System.out.println("Invalid input.");
-                return null;
+                out.println("Invalid input.");
+                return -1;
             }
         }
     }
@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Tests for MemoryMatchGame.
+ * @version 1
+ */
+public class MemoryMatchGameTest {
+
+    @Test
+    public void testCardCodesWidenWithTheBoard() {
+        assertEquals("A", MemoryMatchGame.appendCode(new StringBuilder(), 0, 1)
+                     .toString());
+        assertEquals("Z", MemoryMatchGame.appendCode(new StringBuilder(), 25, 1)
+                     .toString());
+        assertEquals("BA", MemoryMatchGame.appendCode(new StringBuilder(), 26, 2)
+                     .toString());
+        assertEquals("AAB", MemoryMatchGame.appendCode(new StringBuilder(), 1, 3)
+                     .toString());
+    }
+
+    @Test
+    public void testBoardSizeMustHaveEvenCells() {
+        assertTrue(MemoryMatchGame.isValidSize(100, 100));
+        assertFalse(MemoryMatchGame.isValidSize(3, 3));
+        assertFalse(MemoryMatchGame.isValidSize(0, 4));
+        assertFalse(MemoryMatchGame.isValidSize(MemoryMatchGame.MAX_SIDE + 1, 2));
+    }
+
+    @Test
+    public void testShuffleKeepsEveryPair() {
+        int[] deck = new int[10_000];
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = i / 2;
+        }
+        MemoryMatchGame.shuffle(deck, new Random(3));
+        int[] counts = new int[deck.length / 2];
+        for (int symbol : deck) {
+            counts[symbol]++;
+        }
+        for (int count : counts) {
+            assertEquals(2, count);
+        }
+    }
+
+    @Test
+    public void testSinglePairBoard() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        GameConsole console = new GameConsole(
+            new ByteArrayInputStream("1\n1 2\n1 1\n1 2\n".getBytes()),
+            new PrintStream(buffer, true));
+        Optional<Integer> score = new MemoryMatchGame(console, 0).play();
+        assertEquals(Optional.of(100), score);
+        assertTrue(buffer.toString().contains("1 A A"));
+    }
+}
@@ -0,0 +1,402 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+import java.util.function.IntPredicate;
+
+/**
+ * Computer player for Memory Match.
+ * <pre>
+ * Cards are addressed by cell index (row * cols + col) and identified by
+ * an int symbol; every symbol occurs on exactly two cells.
+ * The opponent watches every card turned face up, by either player, and
+ * remembers it according to its memory model:
+ *   perfect  - never forgets a card
+ *   limited  - remembers only the most recently seen cards (LRU), and
+ *              at the start of each of its turns forgets each remembered
+ *              card with a fixed probability
+ * On its turn it flips a remembered pair if it knows one; otherwise it
+ * flips an unknown card and, if it remembers that card's partner, the
+ * partner, or else another unknown card.
+ * </pre>
+ * @version 1
+ */
+final class MemoryMatchOpponent {
+    /** Marks an unknown cell or symbol. */
+    private static final int UNKNOWN = -1;
+
+    /** What the opponent remembers. */
+    private final Memory memory;
+    /** Source of randomness for picks and forgetting. */
+    private final RandomGenerator random;
+
+    /**
+     * Creates an opponent.
+     * @param model the memory model
+     * @param rng source of randomness
+     */
+    private MemoryMatchOpponent(final Memory model, final RandomGenerator rng) {
+        this.memory = model;
+        this.random = rng;
+    }
+
+    /**
+     * Creates an opponent that never forgets.
+     * @param cells number of cells on the board
+     * @param symbols number of distinct symbols
+     * @param rng source of randomness
+     * @return the opponent
+     */
+    static MemoryMatchOpponent perfect(final int cells, final int symbols,
+                                       final RandomGenerator rng) {
+        return new MemoryMatchOpponent(new PerfectMemory(cells, symbols), rng);
+    }
+
+    /**
+     * Creates an opponent with a bounded, forgetful memory.
+     * @param capacity most cards remembered at once
+     * @param forgetChance probability of forgetting each remembered card
+     *        at the start of a turn
+     * @param rng source of randomness
+     * @return the opponent
+     */
+    static MemoryMatchOpponent limited(final int capacity,
+                                       final double forgetChance,
+                                       final RandomGenerator rng) {
+        return new MemoryMatchOpponent(
+            new LimitedMemory(capacity, forgetChance), rng);
+    }
+
+    /**
+     * Notes a card turned face up by either player.
+     * @param cell the cell index
+     * @param symbol the card's symbol
+     */
+    void observe(final int cell, final int symbol) {
+        memory.observe(cell, symbol);
+    }
+
+    /**
+     * Notes that a pair has been matched and left the game.
+     * @param first one cell of the pair
+     * @param second the other cell
+     */
+    void matched(final int first, final int second) {
+        memory.forget(first);
+        memory.forget(second);
+    }
+
+    /**
+     * Chooses the first card of a turn.
+     * @param cells number of cells on the board
+     * @param inPlay tells whether a cell still holds an unmatched card
+     * @return the cell to flip
+     */
+    int chooseFirst(final int cells, final IntPredicate inPlay) {
+        memory.beginTurn(random);
+        int known = memory.knownPair(inPlay);
+        if (known != UNKNOWN) {
+            return known;
+        }
+        return randomUnknown(cells, inPlay, UNKNOWN);
+    }
+
+    /**
+     * Chooses the second card of a turn.
+     * @param cells number of cells on the board
+     * @param inPlay tells whether a cell still holds an unmatched card
+     * @param first the cell flipped first
+     * @param symbol the symbol revealed by the first card
+     * @return the cell to flip
+     */
+    int chooseSecond(final int cells, final IntPredicate inPlay,
+                     final int first, final int symbol) {
+        int partner = memory.recall(symbol, first);
+        if (partner != UNKNOWN && inPlay.test(partner)) {
+            return partner;
+        }
+        return randomUnknown(cells, inPlay, first);
+    }
+
+    /**
+     * Plays a whole game between two computer players, without output.
+     * Players alternate turns; a match earns another turn.
+     * @param deck the symbol of each cell
+     * @param first the player moving first
+     * @param second the other player
+     * @return pairs found by the first and the second player
+     */
+    static int[] playOut(final int[] deck, final MemoryMatchOpponent first,
+                         final MemoryMatchOpponent second) {
+        boolean[] matched = new boolean[deck.length];
+        IntPredicate inPlay = cell -> !matched[cell];
+        MemoryMatchOpponent[] players = {first, second};
+        int[] pairs = new int[2];
+        int remaining = deck.length / 2;
+        int turn = 0;
+        while (remaining > 0) {
+            MemoryMatchOpponent player = players[turn];
+            int a = player.chooseFirst(deck.length, inPlay);
+            first.observe(a, deck[a]);
+            second.observe(a, deck[a]);
+            int b = player.chooseSecond(deck.length, inPlay, a, deck[a]);
+            first.observe(b, deck[b]);
+            second.observe(b, deck[b]);
+            if (deck[a] == deck[b]) {
+                matched[a] = true;
+                matched[b] = true;
+                first.matched(a, b);
+                second.matched(a, b);
+                pairs[turn]++;
+                remaining--;
+            } else {
+                turn = 1 - turn;
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Picks a random unmatched cell, preferring ones not remembered.
+     * @param cells number of cells on the board
+     * @param inPlay tells whether a cell still holds an unmatched card
+     * @param exclude a cell that must not be picked, or -1
+     * @return the chosen cell
+     */
+    private int randomUnknown(final int cells, final IntPredicate inPlay,
+                              final int exclude) {
+        int fallback = UNKNOWN;
+        int start = random.nextInt(cells);
+        for (int i = 0; i < cells; i++) {
+            int cell = (start + i) % cells;
+            if (cell == exclude || !inPlay.test(cell)) {
+                continue;
+            }
+            if (!memory.remembers(cell)) {
+                return cell;
+            }
+            if (fallback == UNKNOWN) {
+                fallback = cell;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * A memory model.
+     */
+    private abstract static class Memory {
+        /**
+         * Called at the start of each of the opponent's turns.
+         * @param random source of randomness
+         */
+        abstract void beginTurn(RandomGenerator random);
+
+        /**
+         * Remembers a card.
+         * @param cell the cell index
+         * @param symbol the card's symbol
+         */
+        abstract void observe(int cell, int symbol);
+
+        /**
+         * Forgets a cell.
+         * @param cell the cell index
+         */
+        abstract void forget(int cell);
+
+        /**
+         * Checks whether a cell's card is remembered.
+         * @param cell the cell index
+         * @return true if remembered
+         */
+        abstract boolean remembers(int cell);
+
+        /**
+         * Finds the other remembered cell holding a symbol.
+         * @param symbol the symbol
+         * @param exclude the cell already known to hold it
+         * @return the other cell, or -1
+         */
+        abstract int recall(int symbol, int exclude);
+
+        /**
+         * Finds one cell of a remembered pair still in play.
+         * @param inPlay tells whether a cell still holds an unmatched card
+         * @return a cell whose partner is also remembered, or -1
+         */
+        abstract int knownPair(IntPredicate inPlay);
+    }
+
+    /**
+     * Remembers every card ever seen, indexed by cell and by symbol.
+     */
+    private static final class PerfectMemory extends Memory {
+        /** Symbol seen on each cell, or UNKNOWN. */
+        private final int[] symbolOf;
+        /** The two cells of each symbol, UNKNOWN until seen. */
+        private final int[] cellsOf;
+        /** Symbols with both cells seen, used as a stack. */
+        private final int[] completed;
+        /** Number of entries on the completed stack. */
+        private int completedCount;
+
+        /**
+         * Creates an empty perfect memory.
+         * @param cells number of cells
+         * @param symbols number of distinct symbols
+         */
+        PerfectMemory(final int cells, final int symbols) {
+            this.symbolOf = new int[cells];
+            this.cellsOf = new int[symbols * 2];
+            this.completed = new int[symbols];
+            Arrays.fill(symbolOf, UNKNOWN);
+            Arrays.fill(cellsOf, UNKNOWN);
+        }
+
+        @Override
+        void beginTurn(final RandomGenerator random) {
+            // Nothing is ever forgotten.
+        }
+
+        @Override
+        void observe(final int cell, final int symbol) {
+            if (symbolOf[cell] != UNKNOWN) {
+                return;
+            }
+            symbolOf[cell] = symbol;
+            if (cellsOf[2 * symbol] == UNKNOWN) {
+                cellsOf[2 * symbol] = cell;
+            } else {
+                cellsOf[2 * symbol + 1] = cell;
+                completed[completedCount++] = symbol;
+            }
+        }
+
+        @Override
+        void forget(final int cell) {
+            symbolOf[cell] = UNKNOWN;
+        }
+
+        @Override
+        boolean remembers(final int cell) {
+            return symbolOf[cell] != UNKNOWN;
+        }
+
+        @Override
+        int recall(final int symbol, final int exclude) {
+            int a = cellsOf[2 * symbol];
+            int b = cellsOf[2 * symbol + 1];
+            return a == exclude ? b : a;
+        }
+
+        @Override
+        int knownPair(final IntPredicate inPlay) {
+            while (completedCount > 0) {
+                int symbol = completed[completedCount - 1];
+                int cell = cellsOf[2 * symbol];
+                if (inPlay.test(cell) && inPlay.test(cellsOf[2 * symbol + 1])) {
+                    return cell;
+                }
+                completedCount--;
+            }
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Remembers a bounded number of recently seen cards and forgets
+     * each at random.
+     */
+    private static final class LimitedMemory extends Memory {
+        /** Remembered cells, least recently seen first. */
+        private final int[] cells;
+        /** Symbol of each remembered cell. */
+        private final int[] symbols;
+        /** Probability of forgetting each card per turn. */
+        private final double forgetChance;
+        /** Number of remembered cards. */
+        private int size;
+
+        /**
+         * Creates an empty limited memory.
+         * @param capacity most cards remembered at once
+         * @param chance probability of forgetting each card per turn
+         */
+        LimitedMemory(final int capacity, final double chance) {
+            this.cells = new int[Math.max(1, capacity)];
+            this.symbols = new int[cells.length];
+            this.forgetChance = chance;
+        }
+
+        @Override
+        void beginTurn(final RandomGenerator random) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (random.nextDouble() >= forgetChance) {
+                    cells[kept] = cells[i];
+                    symbols[kept] = symbols[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        @Override
+        void observe(final int cell, final int symbol) {
+            forget(cell);
+            if (size == cells.length) {
+                System.arraycopy(cells, 1, cells, 0, size - 1);
+                System.arraycopy(symbols, 1, symbols, 0, size - 1);
+                size--;
+            }
+            cells[size] = cell;
+            symbols[size] = symbol;
+            size++;
+        }
+
+        @Override
+        void forget(final int cell) {
+            for (int i = 0; i < size; i++) {
+                if (cells[i] == cell) {
+                    System.arraycopy(cells, i + 1, cells, i, size - i - 1);
+                    System.arraycopy(symbols, i + 1, symbols, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        boolean remembers(final int cell) {
+            for (int i = 0; i < size; i++) {
+                if (cells[i] == cell) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int recall(final int symbol, final int exclude) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (symbols[i] == symbol && cells[i] != exclude) {
+                    return cells[i];
+                }
+            }
+            return UNKNOWN;
+        }
+
+        @Override
+        int knownPair(final IntPredicate inPlay) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (!inPlay.test(cells[i])) {
+                    continue;
+                }
+                int partner = recall(symbols[i], cells[i]);
+                if (partner != UNKNOWN && inPlay.test(partner)) {
+                    return cells[i];
+                }
+            }
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * Tests for MemoryMatchOpponent and DelayedPrinter.
+ * @version 1
+ */
+public class MemoryMatchOpponentTest {
+    /** Every cell of a board is in play. */
+    private static final IntPredicate ALL = cell -> true;
+
+    @Test
+    public void testPerfectMemoryFlipsKnownPair() {
+        MemoryMatchOpponent opponent =
+            MemoryMatchOpponent.perfect(8, 4, new Random(1));
+        opponent.observe(2, 3);
+        opponent.observe(6, 3);
+        assertEquals(2, opponent.chooseFirst(8, ALL));
+        assertEquals(6, opponent.chooseSecond(8, ALL, 2, 3));
+    }
+
+    @Test
+    public void testSecondCardRecallsPartner() {
+        MemoryMatchOpponent opponent =
+            MemoryMatchOpponent.limited(4, 0.0, new Random(1));
+        opponent.observe(5, 1);
+        assertEquals(5, opponent.chooseSecond(8, ALL, 0, 1));
+    }
+
+    @Test
+    public void testLimitedMemoryDropsOldestCard() {
+        MemoryMatchOpponent opponent =
+            MemoryMatchOpponent.limited(2, 0.0, new Random(1));
+        opponent.observe(0, 0);
+        opponent.observe(1, 1);
+        opponent.observe(2, 2);
+        opponent.observe(3, 0);
+        // Cell 0 was pushed out, so symbol 0's partner is unknown.
+        int second = opponent.chooseSecond(8, ALL, 3, 0);
+        assertTrue(second != 0 && second != 3);
+    }
+
+    @Test
+    public void testFirstCardAvoidsRememberedCards() {
+        MemoryMatchOpponent opponent =
+            MemoryMatchOpponent.perfect(4, 2, new Random(1));
+        opponent.observe(0, 0);
+        opponent.observe(1, 1);
+        opponent.observe(2, 0);
+        opponent.matched(0, 2);
+        IntPredicate inPlay = cell -> cell == 1 || cell == 3;
+        assertEquals(3, opponent.chooseFirst(4, inPlay));
+    }
+
+    @Test
+    public void testPlayOutFindsEveryPair() {
+        Random random = new Random(7);
+        int perfectPairs = 0;
+        int forgetfulPairs = 0;
+        for (int game = 0; game < 1000; game++) {
+            int[] deck = shuffledDeck(16, random);
+            int[] pairs = MemoryMatchOpponent.playOut(deck,
+                MemoryMatchOpponent.perfect(16, 8, random),
+                MemoryMatchOpponent.limited(3, 0.5, random));
+            assertEquals(8, pairs[0] + pairs[1]);
+            perfectPairs += pairs[0];
+            forgetfulPairs += pairs[1];
+        }
+        assertTrue(perfectPairs > forgetfulPairs);
+    }
+
+    @Test
+    public void testPrinterWithoutDelayPrintsImmediately() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DelayedPrinter printer =
+            new DelayedPrinter(new PrintStream(buffer, true), 0);
+        printer.print("a");
+        printer.pause();
+        printer.print("b");
+        assertEquals("ab", buffer.toString());
+    }
+
+    @Test
+    public void testFlushReleasesPausedText() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DelayedPrinter printer =
+            new DelayedPrinter(new PrintStream(buffer, true), 60_000);
+        printer.print("a");
+        printer.pause();
+        printer.print("b");
+        assertEquals("a", buffer.toString());
+        printer.flush();
+        assertEquals("ab", buffer.toString());
+    }
+
+    /**
+     * Builds a shuffled deck of pairs.
+     * @param cells number of cells
+     * @param random source of randomness
+     * @return the symbol of each cell
+     */
+    private static int[] shuffledDeck(final int cells, final Random random) {
+        int[] deck = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            deck[i] = i / 2;
+        }
+        MemoryMatchGame.shuffle(deck, random);
+        return deck;
+    }
+}
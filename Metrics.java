@@ -0,0 +1,321 @@
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters, gauges and latency histograms for the launcher and games.
+ * <pre>
+ * Metrics are created on first use by name and live for the process:
+ *   Metrics.counter("history.saves").increment();
+ *   long start = Metrics.start();
+ *   ... work ...
+ *   Metrics.histogram("tictactoe.ai.think").recordSince(start);
+ * Recording never locks: counters are LongAdders and a histogram is
+ * an array of atomic bucket counts, four buckets per power of two of
+ * nanoseconds, so quantiles are exact to within a quarter. Keep the
+ * returned metric in a field where the name is fixed, so the hot path
+ * skips the name lookup.
+ * Setting the system property consolegamehub.metrics to false turns
+ * recording off; start() then skips the clock and recording returns at
+ * once. dump() renders everything as text, shown by the launcher's
+ * "M" menu option.
+ * </pre>
+ * @version 1
+ */
+final class Metrics {
+    /** Property turning metrics off when false. */
+    static final String ENABLED_PROPERTY = "consolegamehub.metrics";
+    /** Whether metrics are recorded. */
+    static final boolean ENABLED =
+        !"false".equals(System.getProperty(ENABLED_PROPERTY));
+    /** Nanoseconds per microsecond. */
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    /** Counters by name. */
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    /** Gauges by name. */
+    private static final Map<String, LongSupplier> GAUGES = new ConcurrentHashMap<>();
+    /** Histograms by name. */
+    private static final Map<String, Histogram> HISTOGRAMS =
+        new ConcurrentHashMap<>();
+
+    static {
+        Runtime runtime = Runtime.getRuntime();
+        gauge("jvm.heap.used.bytes",
+              () -> runtime.totalMemory() - runtime.freeMemory());
+        gauge("jvm.threads", Thread::activeCount);
+    }
+
+    /**
+     * Prevent Instantiation.
+     */
+    private Metrics() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Returns the counter with a name, creating it if needed.
+     * @param name the metric name
+     * @return the counter
+     */
+    static Counter counter(final String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /**
+     * Registers a gauge, replacing any with the same name.
+     * @param name the metric name
+     * @param value reads the current value; called only by dump()
+     */
+    static void gauge(final String name, final LongSupplier value) {
+        GAUGES.put(name, value);
+    }
+
+    /**
+     * Returns the histogram with a name, creating it if needed.
+     * @param name the metric name
+     * @return the histogram
+     */
+    static Histogram histogram(final String name) {
+        return HISTOGRAMS.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /**
+     * Starts timing.
+     * @return the start time for Histogram.recordSince
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Wraps an input stream so that the time spent blocked in each read
+     * is recorded, e.g. time waiting for the player to type.
+     * @param source the stream
+     * @param histogram where the read times go
+     * @return the timed stream
+     */
+    static InputStream timed(final InputStream source, final Histogram histogram) {
+        return new FilterInputStream(source) {
+            @Override
+            public int read() throws IOException {
+                long start = start();
+                int b = in.read();
+                histogram.recordSince(start);
+                return b;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len)
+                throws IOException {
+                long start = start();
+                int n = in.read(b, off, len);
+                histogram.recordSince(start);
+                return n;
+            }
+        };
+    }
+
+    /**
+     * Renders all metrics as text, one per line, sorted by name.
+     * Histogram times are in microseconds.
+     * @return the text
+     */
+    static String dump() {
+        StringBuilder sb = new StringBuilder("=== Metrics ===\n");
+        if (!ENABLED) {
+            sb.append("(recording is off: -D").append(ENABLED_PROPERTY)
+              .append("=false)\n");
+        }
+        for (Map.Entry<String, Counter> e : new TreeMap<>(COUNTERS).entrySet()) {
+            sb.append(String.format("counter    %-36s %,d%n",
+                                    e.getKey(), e.getValue().sum()));
+        }
+        for (Map.Entry<String, LongSupplier> e : new TreeMap<>(GAUGES).entrySet()) {
+            sb.append(String.format("gauge      %-36s %,d%n",
+                                    e.getKey(), e.getValue().getAsLong()));
+        }
+        for (Map.Entry<String, Histogram> e
+                 : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            Histogram h = e.getValue();
+            sb.append(String.format(
+                "histogram  %-36s count %,d  mean %.1f  p50 %.1f  p90 %.1f"
+                + "  p99 %.1f  max %.1f us%n",
+                e.getKey(), h.count(), h.mean() / NANOS_PER_MICRO,
+                h.quantile(0.5) / NANOS_PER_MICRO,
+                h.quantile(0.9) / NANOS_PER_MICRO,
+                h.quantile(0.99) / NANOS_PER_MICRO,
+                h.max() / NANOS_PER_MICRO));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A count that only goes up.
+     */
+    static final class Counter {
+        /** The count. */
+        private final LongAdder adder = new LongAdder();
+
+        /**
+         * Adds one.
+         */
+        void increment() {
+            if (ENABLED) {
+                adder.increment();
+            }
+        }
+
+        /**
+         * Adds a number.
+         * @param n the number
+         */
+        void add(final long n) {
+            if (ENABLED) {
+                adder.add(n);
+            }
+        }
+
+        /**
+         * Returns the count.
+         * @return the sum of everything added
+         */
+        long sum() {
+            return adder.sum();
+        }
+    }
+
+    /**
+     * Distribution of durations in nanoseconds.
+     * <pre>
+     * Values below 4 have a bucket each; above that, each power of two
+     * [2^e, 2^(e+1)) is split into four equal buckets by the two bits
+     * after the leading one. Bucket i &gt;= 4 starts at (4 + i % 4) shifted
+     * left by i / 4 - 1.
+     * </pre>
+     */
+    static final class Histogram {
+        /** Number of buckets, enough for any non-negative long. */
+        private static final int BUCKETS = 248;
+
+        /** Values recorded per bucket. */
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        /** Sum of the values. */
+        private final LongAdder total = new LongAdder();
+        /** Largest value. */
+        private final AtomicLong largest = new AtomicLong();
+
+        /**
+         * Records a duration.
+         * @param nanos the duration; negative values count as 0
+         */
+        void record(final long nanos) {
+            if (!ENABLED) {
+                return;
+            }
+            long v = Math.max(0, nanos);
+            counts.getAndIncrement(bucket(v));
+            total.add(v);
+            long max = largest.get();
+            while (v > max && !largest.compareAndSet(max, v)) {
+                max = largest.get();
+            }
+        }
+
+        /**
+         * Records the time since a start time.
+         * @param start the value returned by Metrics.start()
+         */
+        void recordSince(final long start) {
+            if (ENABLED) {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Returns the number of values recorded.
+         * @return the count
+         */
+        long count() {
+            long n = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                n += counts.get(i);
+            }
+            return n;
+        }
+
+        /**
+         * Returns the mean value.
+         * @return the mean, 0 if empty
+         */
+        double mean() {
+            long n = count();
+            return n == 0 ? 0 : (double) total.sum() / n;
+        }
+
+        /**
+         * Returns the largest value.
+         * @return the maximum, 0 if empty
+         */
+        long max() {
+            return largest.get();
+        }
+
+        /**
+         * Returns an upper bound of a quantile.
+         * @param q the quantile, from 0 to 1
+         * @return the top of the bucket holding it, at most max(); 0 if
+         *         empty
+         */
+        long quantile(final double q) {
+            long n = count();
+            if (n == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(q * n));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return Math.min(lowerBound(i + 1) - 1, max());
+                }
+            }
+            return max();
+        }
+
+        /**
+         * Returns the bucket of a value.
+         * @param v the value, non-negative
+         * @return the bucket index
+         */
+        static int bucket(final long v) {
+            if (v < 4) {
+                return (int) v;
+            }
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            return ((exp - 1) << 2) | (int) ((v >>> (exp - 2)) & 3);
+        }
+
+        /**
+         * Returns the smallest value of a bucket.
+         * @param i the bucket index, up to BUCKETS
+         * @return the value
+         */
+        static long lowerBound(final int i) {
+            if (i < 4) {
+                return i;
+            }
+            if (i >= BUCKETS) {
+                return Long.MAX_VALUE;
+            }
+            return (long) (4 + (i & 3)) << ((i >> 2) - 1);
+        }
+    }
+}
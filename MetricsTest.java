@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for Metrics.
+ * @version 1
+ */
+public class MetricsTest {
+
+    @Test
+    public void testBucketsCoverEveryValueInOrder() {
+        for (int i = 0; i < 247; i++) {
+            long low = Metrics.Histogram.lowerBound(i);
+            assertEquals(i, Metrics.Histogram.bucket(low));
+            assertEquals(i, Metrics.Histogram.bucket(
+                Metrics.Histogram.lowerBound(i + 1) - 1));
+        }
+        assertEquals(247, Metrics.Histogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testQuantilesAreWithinAQuarter() {
+        Metrics.Histogram h = new Metrics.Histogram();
+        for (int v = 1; v <= 1000; v++) {
+            h.record(v * 1000L);
+        }
+        assertEquals(1000, h.count());
+        assertEquals(500_500.0, h.mean(), 1e-9);
+        assertEquals(1_000_000, h.max());
+        long p50 = h.quantile(0.5);
+        assertTrue(p50 >= 500_000 && p50 <= 625_000, "p50 " + p50);
+        assertEquals(1_000_000, h.quantile(1.0));
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws Exception {
+        Metrics.Histogram h = new Metrics.Histogram();
+        Metrics.Counter c = new Metrics.Counter();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    h.record(i);
+                    c.increment();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, h.count());
+        assertEquals(40_000, c.sum());
+        assertEquals(9_999, h.max());
+    }
+
+    @Test
+    public void testTimedInputAndDump() throws IOException {
+        Metrics.Histogram reads = Metrics.histogram("test.reads");
+        InputStream in = Metrics.timed(
+            new ByteArrayInputStream(new byte[] {1, 2, 3}), reads);
+        in.read();
+        in.read(new byte[2], 0, 2);
+        assertEquals(2, reads.count());
+        Metrics.counter("test.counter").add(5);
+        String dump = Metrics.dump();
+        assertTrue(dump.contains("test.reads"));
+        assertTrue(dump.matches("(?s).*counter +test\\.counter +5\\n.*"));
+        assertTrue(dump.contains("jvm.heap.used.bytes"));
+    }
+}
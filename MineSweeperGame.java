@@ -1,5 +1,6 @@
+import java.io.PrintStream;
 import java.util.Optional;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
 
 /**
@@ -29,9 +30,27 @@ class MineSweeperGame implements Game {
     /** Flagged cells. */
     private boolean[][] flagged;
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
     /** Random for mine placement. */
-    private final Random random = new Random();
+    private final RandomGenerator random = GameRandom.generator();
+
+    /**
+     * Creates a game played on the system console.
+     */
+    MineSweeperGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    MineSweeperGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     @Override
     public String getName() {
@@ -40,24 +59,24 @@ class MineSweeperGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println("Welcome to Minesweeper!");
-        System.out.println("Uncover tiles to reveal numbers or mines.");
-        System.out.println("Numbers tell how many of the "
+        out.println("Welcome to Minesweeper!");
+        out.println("Uncover tiles to reveal numbers or mines.");
+        out.println("Numbers tell how many of the "
             + "8 adjacent tiles are mines.");
-        System.out.println("Commands: 'r row col' to reveal, "
+        out.println("Commands: 'r row col' to reveal, "
             + "'f row col' to flag/unflag");
-        System.out.println("Uncover all safe tiles to win!");
+        out.println("Uncover all safe tiles to win!");
 
         initGame();
         printBoard(false);
 
         while (true) {
-            System.out.print("Enter command: ");
+            out.print("Enter command: ");
             String input = scanner.nextLine().trim().toLowerCase();
             String[] parts = input.split("\\s+");
 
             if (parts.length != 3) {
-                System.out.println("Invalid. Use 'r row col' or 'f row col'");
+                out.println("Invalid. Use 'r row col' or 'f row col'");
                 continue;
             }
 
@@ -67,34 +86,34 @@ class MineSweeperGame implements Game {
                 row = Integer.parseInt(parts[1]) - 1;
                 col = Integer.parseInt(parts[2]) - 1;
             } catch (NumberFormatException e) {
-                System.out.println("Invalid coordinates.");
+                out.println("Invalid coordinates.");
                 continue;
             }
 
             if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
-                System.out.println("Coordinates out of range (1-" + SIZE + ")");
+                out.println("Coordinates out of range (1-" + SIZE + ")");
                 continue;
             }
 
             if (cmd == 'f') {
                 if (revealed[row][col]) {
-                    System.out.println("Can't flag a revealed cell.");
+                    out.println("Can't flag a revealed cell.");
                 } else {
                     flagged[row][col] = !flagged[row][col];
                 }
                 printBoard(false);
             } else if (cmd == 'r') {
                 if (flagged[row][col]) {
-                    System.out.println("Unflag first to reveal.");
+                    out.println("Unflag first to reveal.");
                     continue;
                 }
                 if (revealed[row][col]) {
-                    System.out.println("Already revealed.");
+                    out.println("Already revealed.");
                     continue;
                 }
                 if (grid[row][col] == MINE) {
                     printBoard(true);
-                    System.out.println("BOOM! You hit a mine. Game over!");
+                    out.println("BOOM! You hit a mine. Game over!");
                     return Optional.of(0);
                 }
                 reveal(row, col);
@@ -102,12 +121,12 @@ class MineSweeperGame implements Game {
 
                 if (checkWin()) {
                     printBoard(true);
-                    System.out.println("Congratulations! You cleared all "
+                    out.println("Congratulations! You cleared all "
                         + "safe cells!");
                     return Optional.of(1);
                 }
             } else {
-                System.out.println("Unknown command. Use 'r' or 'f'.");
+                out.println("Unknown command. Use 'r' or 'f'.");
             }
         }
     }
@@ -188,28 +207,30 @@ class MineSweeperGame implements Game {
     }
 
     private void printBoard(boolean showMines) {
-        System.out.print("  ");
+        GameEvents.RenderFrame frame = GameEvents.beginRender();
+        out.print("  ");
         for (int c = 1; c <= SIZE; c++) {
-            System.out.print(c + " ");
+            out.print(c + " ");
         }
-        System.out.println();
+        out.println();
 
         for (int r = 0; r < SIZE; r++) {
-            System.out.print((r + 1) + " ");
+            out.print((r + 1) + " ");
             for (int c = 0; c < SIZE; c++) {
                 if (showMines && grid[r][c] == MINE) {
-                    System.out.print("* ");
+                    out.print("* ");
                 } else if (flagged[r][c]) {
-                    System.out.print("F ");
+                    out.print("F ");
                 } else if (!revealed[r][c]) {
-                    System.out.print(". ");
+                    out.print(". ");
                 } else if (grid[r][c] == 0) {
-                    System.out.print("  ");
+                    out.print("  ");
                 } else {
-                    System.out.print(grid[r][c] + " ");
+                    out.print(grid[r][c] + " ");
                 }
             }
-            System.out.println();
+            out.println();
         }
+        GameEvents.endRender(frame, getName());
     }
 }
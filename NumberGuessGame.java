@@ -1,5 +1,6 @@
+import java.io.PrintStream;
 import java.util.Optional;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
 
 /**
@@ -18,9 +19,27 @@ class NumberGuessGame implements Game {
     /** Maximum attempts allowed. */
     private static final int MAX_ATTEMPTS = 10;
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
     /** Random number generator. */
-    private final Random random = new Random();
+    private final RandomGenerator random = GameRandom.generator();
+
+    /**
+     * Creates a game played on the system console.
+     */
+    NumberGuessGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    NumberGuessGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     /**
      * Gets the string name.
@@ -35,20 +54,20 @@ class NumberGuessGame implements Game {
      * @return score based on remaining attempts.
      */
     public Optional<Integer> play() {
-        System.out.println("[Playing Number Guessing Game]");
-        System.out.println("This is a simple game where you"
+        out.println("[Playing Number Guessing Game]");
+        out.println("This is a simple game where you"
             + " try and guess the number I pick.");
-        System.out.println("If you are too high or too low I will let"
+        out.println("If you are too high or too low I will let"
             + " you know. Try to do it in the fewest attempts!");
-        System.out.println("I'm thinking of a number between 1 and "
+        out.println("I'm thinking of a number between 1 and "
             + MAX_NUMBER + ".");
-        System.out.println("You have " + MAX_ATTEMPTS + " attempts.");
+        out.println("You have " + MAX_ATTEMPTS + " attempts.");
 
         int target = random.nextInt(MAX_NUMBER) + 1;
         int attemptsLeft = MAX_ATTEMPTS;
 
         while (attemptsLeft > 0) {
-            System.out.print("Enter your guess (attempts left: "
+            out.print("Enter your guess (attempts left: "
                 + attemptsLeft + "): ");
             String input = scanner.nextLine().trim();
 
@@ -56,28 +75,28 @@ class NumberGuessGame implements Game {
             try {
                 guess = Integer.parseInt(input);
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid number.");
+                out.println("Please enter a valid number.");
                 continue;
             }
 
             if (guess < 1 || guess > MAX_NUMBER) {
-                System.out.println("Please guess between 1 and " + MAX_NUMBER);
+                out.println("Please guess between 1 and " + MAX_NUMBER);
                 continue;
             }
 
             if (guess == target) {
-                System.out.println("Congratulations! You guessed it!");
+                out.println("Congratulations! You guessed it!");
                 return Optional.of(attemptsLeft);
             } else if (guess < target) {
-                System.out.println("Too low!");
+                out.println("Too low!");
             } else {
-                System.out.println("Too high!");
+                out.println("Too high!");
             }
 
             attemptsLeft--;
         }
 
-        System.out.println("Out of attempts! The number was: " + target);
+        out.println("Out of attempts! The number was: " + target);
         return Optional.of(0);
     }
 }
@@ -0,0 +1,709 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every play with its time, kept in a compact file for range queries.
+ * <pre>
+ * Each play is first appended to a delta log next to the file, NAME.log,
+ * and forced to disk before append returns, so a crash loses nothing.
+ * Once the log holds a chunk's worth of plays, from any number of
+ * launchers, they are sorted by time, encoded column by column as one
+ * chunk, appended to the file, and the log is emptied:
+ *   header   'C' 'G' 'H' 'T' VERSION
+ *   chunk    long min time, long max time, varint plays,
+ *            varint payload length, payload
+ *   payload  games     varint count, then varint length and UTF-8 each
+ *            players   the same
+ *            times     zigzag first time, zigzag first delta, then
+ *                      zigzag delta-of-delta per further play
+ *            game      varint index into games, per play
+ *            player    varint index into players, per play
+ *            score     varint per play: 0 for none, else zigzag + 1
+ *            duration  varint milliseconds per play
+ * Times are epoch milliseconds. Plays come at a fairly even pace, so
+ * deltas of deltas are small and most take one or two bytes; names are
+ * stored once per chunk. A play in a full chunk typically costs eight
+ * to ten bytes, so a million plays fit in about ten megabytes. A play
+ * still in the log costs its names in full, some twenty to thirty
+ * bytes, until it is merged.
+ * The log is
+ *   header   'C' 'G' 'H' 'P' LOG_VERSION, padded to 8 bytes,
+ *            long end of the last whole record,
+ *            long file length before a merge, or -1,
+ *            int plays, padded to LOG_HEADER bytes
+ *   record   varint time, varint length and UTF-8 game, the same for
+ *            the player, varint score code, varint duration
+ * Every operation holds an exclusive lock on the log, so launchers
+ * never write the file header twice or interleave records. A record is
+ * written and forced before the header's end moves past it, so a torn
+ * record is overwritten by the next append. A merge first records the
+ * file's length in the log header; if it is cut short, the next
+ * operation truncates the file back to that length and the plays are
+ * merged again, never twice. Once the chunk is on disk, the log header
+ * is reset before the log is truncated, so a crash in between leaves an
+ * empty log whose stale bytes the next append overwrites. The file
+ * header is checked before a chunk is appended, and the plays stay in
+ * the log if it is not valid.
+ * A range query reads only the chunk headers and skips the payload of
+ * every chunk whose time span misses the range, so answering "the last
+ * 30 days" does not decode years of older plays.
+ * </pre>
+ * @version 1
+ */
+final class PlaySeries {
+    /** File signature. */
+    static final byte[] MAGIC = {'C', 'G', 'H', 'T'};
+    /** Format version. */
+    static final int VERSION = 1;
+    /** Delta log signature. */
+    static final byte[] LOG_MAGIC = {'C', 'G', 'H', 'P'};
+    /** Delta log format version. */
+    static final int LOG_VERSION = 1;
+    /** Bytes before the first record of the delta log. */
+    static final int LOG_HEADER = 32;
+    /** Offset of the end of the last record in the log header. */
+    private static final int END_OFFSET = 8;
+    /** Offset of the file length before a merge in the log header. */
+    private static final int PENDING_OFFSET = 16;
+    /** Offset of the play count in the log header. */
+    private static final int COUNT_OFFSET = 24;
+    /** Default plays per chunk. */
+    static final int DEFAULT_CHUNK = 4096;
+    /** Largest payload accepted when reading. */
+    private static final int MAX_PAYLOAD = 1 << 26;
+
+    /** The file. */
+    private final Path file;
+    /** The delta log. */
+    private final Path logFile;
+    /** Plays per chunk. */
+    private final int chunkSize;
+
+    /**
+     * Creates a store on a file, which is created on the first merge.
+     * @param path the file
+     * @param plays plays per chunk, at least 1
+     */
+    PlaySeries(final Path path, final int plays) {
+        this.file = path;
+        this.logFile = path.resolveSibling(path.getFileName() + ".log");
+        this.chunkSize = Math.max(1, plays);
+    }
+
+    /**
+     * Creates a store with the default chunk size.
+     * @param path the file
+     */
+    PlaySeries(final Path path) {
+        this(path, DEFAULT_CHUNK);
+    }
+
+    /**
+     * Adds a play, on disk when this returns. Merges the log into the
+     * file once it holds a chunk's worth of plays.
+     * @param play the play
+     * @throws IOException if the play cannot be written; a failed
+     *         merge keeps the play in the log and is not reported
+     */
+    synchronized void append(final Play play) throws IOException {
+        byte[] record = encodeRecord(play);
+        try (FileChannel log = openLog()) {
+            LogHeader header = readLogHeader(log);
+            writeFully(log, ByteBuffer.wrap(record), header.end);
+            log.force(false);
+            header.end += record.length;
+            header.count++;
+            writeLogHeader(log, header);
+            if (header.count >= chunkSize) {
+                try {
+                    mergeLocked(log, header);
+                } catch (IOException e) {
+                    // The play is safe in the log; the next merge retries.
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the delta log into the file now, whatever its size.
+     * @throws IOException if the file is not valid or cannot be
+     *         written; the plays stay in the log
+     */
+    synchronized void compact() throws IOException {
+        try (FileChannel log = openLog()) {
+            mergeLocked(log, readLogHeader(log));
+        }
+    }
+
+    /**
+     * Returns the plays in a time range, merged plays first.
+     * @param from start of the range, epoch milliseconds, inclusive
+     * @param to end of the range, epoch milliseconds, exclusive
+     * @return the plays, including those still in the log
+     * @throws IOException if the file cannot be read or is not valid
+     */
+    synchronized List<Play> query(final long from, final long to)
+        throws IOException {
+        List<Play> plays = new ArrayList<>();
+        try (FileChannel log = openLog()) {
+            LogHeader header = readLogHeader(log);
+            if (Files.exists(file)) {
+                try (DataInputStream in = new DataInputStream(
+                         new BufferedInputStream(Files.newInputStream(file)))) {
+                    readHeader(in);
+                    readChunks(in, from, to, plays);
+                }
+            }
+            for (Play p : readLog(log, header)) {
+                if (p.time() >= from && p.time() < to) {
+                    plays.add(p);
+                }
+            }
+        }
+        return plays;
+    }
+
+    /**
+     * Reads the chunks after the file header.
+     * @param in the file
+     * @param from start of the range, inclusive
+     * @param to end of the range, exclusive
+     * @param plays receives the plays in the range
+     * @throws IOException if a chunk is not valid
+     */
+    private static void readChunks(final DataInputStream in, final long from,
+                                   final long to, final List<Play> plays)
+        throws IOException {
+        while (true) {
+            long min;
+            try {
+                min = in.readLong();
+            } catch (EOFException e) {
+                return;
+            }
+            long max = in.readLong();
+            int count = (int) Varint.read(in);
+            long length = Varint.read(in);
+            if (length > MAX_PAYLOAD) {
+                throw new IOException("chunk too large: " + length);
+            }
+            if (max < from || min >= to) {
+                in.skipNBytes(length);
+                continue;
+            }
+            byte[] payload = new byte[(int) length];
+            in.readFully(payload);
+            for (Play p : decode(ByteBuffer.wrap(payload), count)) {
+                if (p.time() >= from && p.time() < to) {
+                    plays.add(p);
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens and locks the delta log, writing its header if it is new and
+     * undoing a merge that was cut short. Closing the channel releases
+     * the lock.
+     * @return the locked log
+     * @throws IOException if it cannot be opened or is not valid
+     */
+    private FileChannel openLog() throws IOException {
+        FileChannel log = FileChannel.open(logFile, StandardOpenOption.CREATE,
+                                           StandardOpenOption.READ,
+                                           StandardOpenOption.WRITE);
+        try {
+            log.lock();
+            if (log.size() < LOG_HEADER) {
+                // New, or its header was cut short before any record.
+                LogHeader fresh = new LogHeader();
+                fresh.end = LOG_HEADER;
+                fresh.pending = -1;
+                writeLogHeader(log, fresh);
+            }
+            LogHeader header = readLogHeader(log);
+            if (header.pending >= 0 && Files.exists(file)) {
+                try (FileChannel out = FileChannel.open(file,
+                         StandardOpenOption.WRITE)) {
+                    if (out.size() > header.pending) {
+                        out.truncate(header.pending);
+                        out.force(false);
+                    }
+                }
+            }
+            if (header.pending >= 0) {
+                header.pending = -1;
+                writeLogHeader(log, header);
+            }
+            return log;
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the plays of the log to the file as one chunk and empties
+     * the log; the caller holds the log lock.
+     * @param log the log
+     * @param header its header
+     * @throws IOException if the file is not valid or cannot be written
+     */
+    private void mergeLocked(final FileChannel log, final LogHeader header)
+        throws IOException {
+        List<Play> plays = readLog(log, header);
+        if (plays.isEmpty()) {
+            return;
+        }
+        plays.sort(Comparator.comparingLong(Play::time));
+        byte[] chunk = encode(plays);
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                                                StandardOpenOption.READ,
+                                                StandardOpenOption.WRITE)) {
+            ByteBuffer fileHeader = ByteBuffer.allocate(MAGIC.length + 1);
+            if (out.size() == 0) {
+                fileHeader.put(MAGIC).put((byte) VERSION).flip();
+                writeFully(out, fileHeader, 0);
+                out.force(false);
+            } else {
+                readFully(out, fileHeader, 0);
+                fileHeader.flip();
+                readHeader(new DataInputStream(
+                    new ByteArrayInputStream(fileHeader.array())));
+            }
+            long length = out.size();
+            header.pending = length;
+            writeLogHeader(log, header);
+            writeFully(out, ByteBuffer.wrap(chunk), length);
+            out.force(false);
+        }
+        // Empty the log in its header first: records past the end are
+        // ignored and overwritten, whereas an end past the file's size
+        // would make the log unreadable.
+        header.end = LOG_HEADER;
+        header.pending = -1;
+        header.count = 0;
+        writeLogHeader(log, header);
+        log.truncate(LOG_HEADER);
+        log.force(false);
+    }
+
+    /**
+     * Reads and checks the log header.
+     * @param log the locked log
+     * @return the header
+     * @throws IOException if it is not a play log
+     */
+    private static LogHeader readLogHeader(final FileChannel log)
+        throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(LOG_HEADER);
+        if (log.size() < LOG_HEADER) {
+            throw new IOException("not a play log");
+        }
+        readFully(log, bytes, 0);
+        byte[] magic = new byte[LOG_MAGIC.length];
+        bytes.get(0, magic);
+        LogHeader header = new LogHeader();
+        header.end = bytes.getLong(END_OFFSET);
+        header.pending = bytes.getLong(PENDING_OFFSET);
+        header.count = bytes.getInt(COUNT_OFFSET);
+        if (!Arrays.equals(magic, LOG_MAGIC)
+            || bytes.get(LOG_MAGIC.length) != LOG_VERSION
+            || header.end < LOG_HEADER || header.end > log.size()) {
+            throw new IOException("not a play log");
+        }
+        return header;
+    }
+
+    /**
+     * Writes the log header and forces it to disk.
+     * @param log the locked log
+     * @param header the header
+     * @throws IOException if it cannot be written
+     */
+    private static void writeLogHeader(final FileChannel log,
+                                       final LogHeader header)
+        throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(LOG_HEADER);
+        bytes.put(LOG_MAGIC).put((byte) LOG_VERSION);
+        bytes.putLong(END_OFFSET, header.end);
+        bytes.putLong(PENDING_OFFSET, header.pending);
+        bytes.putInt(COUNT_OFFSET, header.count);
+        writeFully(log, bytes.clear(), 0);
+        log.force(false);
+    }
+
+    /**
+     * Reads the whole records of the log.
+     * @param log the locked log
+     * @param header its header
+     * @return the plays in append order
+     * @throws IOException if a record is not valid
+     */
+    private static List<Play> readLog(final FileChannel log,
+                                      final LogHeader header)
+        throws IOException {
+        ByteBuffer records = ByteBuffer.allocate((int) (header.end - LOG_HEADER));
+        readFully(log, records, LOG_HEADER);
+        records.flip();
+        List<Play> plays = new ArrayList<>();
+        try {
+            while (records.hasRemaining()) {
+                long time = Varint.get(records);
+                String game = getName(records);
+                String player = getName(records);
+                long code = Varint.get(records);
+                Integer score = code == 0 ? null : (int) Varint.unzigzag(code - 1);
+                plays.add(new Play(time, game, player, score,
+                                   Varint.get(records)));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("malformed play log record", e);
+        }
+        return plays;
+    }
+
+    /**
+     * Encodes a play as a log record.
+     * @param play the play
+     * @return the record
+     */
+    private static byte[] encodeRecord(final Play play) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        Varint.write(out, play.time());
+        writeName(out, play.game());
+        writeName(out, play.player());
+        Varint.write(out, play.score() == null
+                          ? 0 : Varint.zigzag(play.score()) + 1);
+        Varint.write(out, Math.max(0, play.durationMillis()));
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes all of a buffer at a position.
+     * @param channel the channel
+     * @param bytes the buffer
+     * @param position where to write
+     * @throws IOException if it cannot be written
+     */
+    private static void writeFully(final FileChannel channel,
+                                   final ByteBuffer bytes, final long position)
+        throws IOException {
+        long at = position;
+        while (bytes.hasRemaining()) {
+            at += channel.write(bytes, at);
+        }
+    }
+
+    /**
+     * Fills a buffer from a position.
+     * @param channel the channel
+     * @param bytes the buffer
+     * @param position where to read
+     * @throws IOException if the channel ends first
+     */
+    private static void readFully(final FileChannel channel,
+                                  final ByteBuffer bytes, final long position)
+        throws IOException {
+        long at = position;
+        while (bytes.hasRemaining()) {
+            int n = channel.read(bytes, at);
+            if (n < 0) {
+                throw new EOFException("truncated play series");
+            }
+            at += n;
+        }
+    }
+
+    /**
+     * Checks the file header.
+     * @param in the file
+     * @throws IOException if it is not a play series file
+     */
+    private static void readHeader(final DataInputStream in) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        int version = in.readUnsignedByte();
+        if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+            throw new IOException("not a play series file");
+        }
+    }
+
+    /**
+     * Encodes plays as one chunk.
+     * @param plays the plays, at least one
+     * @return the chunk with its header
+     */
+    private static byte[] encode(final List<Play> plays) {
+        Map<String, Integer> games = new HashMap<>();
+        Map<String, Integer> players = new HashMap<>();
+        List<String> gameNames = new ArrayList<>();
+        List<String> playerNames = new ArrayList<>();
+        int[] gameIds = new int[plays.size()];
+        int[] playerIds = new int[plays.size()];
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < plays.size(); i++) {
+            Play p = plays.get(i);
+            gameIds[i] = index(p.game(), games, gameNames);
+            playerIds[i] = index(p.player(), players, playerNames);
+            min = Math.min(min, p.time());
+            max = Math.max(max, p.time());
+        }
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        writeNames(payload, gameNames);
+        writeNames(payload, playerNames);
+        long previous = 0;
+        long delta = 0;
+        for (int i = 0; i < plays.size(); i++) {
+            long time = plays.get(i).time();
+            long d = time - previous;
+            Varint.write(payload, Varint.zigzag(i < 2 ? d : d - delta));
+            delta = d;
+            previous = time;
+        }
+        for (int id : gameIds) {
+            Varint.write(payload, id);
+        }
+        for (int id : playerIds) {
+            Varint.write(payload, id);
+        }
+        for (Play p : plays) {
+            Varint.write(payload, p.score() == null
+                                  ? 0 : Varint.zigzag(p.score()) + 1);
+        }
+        for (Play p : plays) {
+            Varint.write(payload, Math.max(0, p.durationMillis()));
+        }
+
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(payload.size() + 32);
+        chunk.writeBytes(ByteBuffer.allocate(2 * Long.BYTES)
+                             .putLong(min).putLong(max).array());
+        Varint.write(chunk, plays.size());
+        Varint.write(chunk, payload.size());
+        chunk.writeBytes(payload.toByteArray());
+        return chunk.toByteArray();
+    }
+
+    /**
+     * Decodes the payload of a chunk.
+     * @param in the payload
+     * @param count plays in the chunk
+     * @return the plays
+     * @throws IOException if the payload is not valid
+     */
+    private static List<Play> decode(final ByteBuffer in, final int count)
+        throws IOException {
+        try {
+            String[] games = readNames(in);
+            String[] players = readNames(in);
+            long[] times = new long[count];
+            long previous = 0;
+            long delta = 0;
+            for (int i = 0; i < count; i++) {
+                long code = Varint.unzigzag(Varint.get(in));
+                delta = i < 2 ? code : delta + code;
+                previous += delta;
+                times[i] = previous;
+            }
+            int[] gameIds = new int[count];
+            for (int i = 0; i < count; i++) {
+                gameIds[i] = (int) Varint.get(in);
+            }
+            int[] playerIds = new int[count];
+            for (int i = 0; i < count; i++) {
+                playerIds[i] = (int) Varint.get(in);
+            }
+            Integer[] scores = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                long code = Varint.get(in);
+                scores[i] = code == 0 ? null : (int) Varint.unzigzag(code - 1);
+            }
+            List<Play> plays = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                plays.add(new Play(times[i], games[gameIds[i]],
+                                   players[playerIds[i]], scores[i],
+                                   Varint.get(in)));
+            }
+            return plays;
+        } catch (RuntimeException e) {
+            throw new IOException("malformed play series chunk", e);
+        }
+    }
+
+    /**
+     * Returns the index of a name, adding it if new.
+     * @param name the name
+     * @param ids indexes by name
+     * @param names names by index
+     * @return the index
+     */
+    private static int index(final String name, final Map<String, Integer> ids,
+                             final List<String> names) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    /**
+     * Writes a list of names.
+     * @param out the stream
+     * @param names the names
+     */
+    private static void writeNames(final ByteArrayOutputStream out,
+                                   final List<String> names) {
+        Varint.write(out, names.size());
+        for (String name : names) {
+            writeName(out, name);
+        }
+    }
+
+    /**
+     * Writes a name as its varint length and UTF-8 bytes.
+     * @param out the stream
+     * @param name the name
+     */
+    private static void writeName(final ByteArrayOutputStream out,
+                                  final String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        Varint.write(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads a list of names written by writeNames.
+     * @param in the buffer
+     * @return the names
+     */
+    private static String[] readNames(final ByteBuffer in) {
+        String[] names = new String[(int) Varint.get(in)];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = getName(in);
+        }
+        return names;
+    }
+
+    /**
+     * Reads a name written by writeName.
+     * @param in the buffer
+     * @return the name
+     */
+    private static String getName(final ByteBuffer in) {
+        byte[] bytes = new byte[(int) Varint.get(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The mutable fields of the delta log header.
+     */
+    private static final class LogHeader {
+        /** End of the last whole record. */
+        private long end;
+        /** File length before a merge in progress, or -1. */
+        private long pending;
+        /** Plays in the log. */
+        private int count;
+    }
+
+    /**
+     * One play of a game.
+     */
+    static final class Play {
+        /** When it ended, in epoch milliseconds. */
+        private final long time;
+        /** Name of the game. */
+        private final String game;
+        /** Who played. */
+        private final String player;
+        /** The score, or null. */
+        private final Integer score;
+        /** How long it took, in milliseconds. */
+        private final long duration;
+
+        /**
+         * Creates a play.
+         * @param millis when it ended, in epoch milliseconds
+         * @param gameName name of the game
+         * @param playerName who played
+         * @param points the score, or null
+         * @param durationMillis how long it took, in milliseconds
+         */
+        Play(final long millis, final String gameName, final String playerName,
+             final Integer points, final long durationMillis) {
+            this.time = millis;
+            this.game = gameName;
+            this.player = playerName;
+            this.score = points;
+            this.duration = durationMillis;
+        }
+
+        /**
+         * Returns when the play ended.
+         * @return epoch milliseconds
+         */
+        long time() {
+            return time;
+        }
+
+        /**
+         * Returns the name of the game.
+         * @return the game name
+         */
+        String game() {
+            return game;
+        }
+
+        /**
+         * Returns who played.
+         * @return the player name
+         */
+        String player() {
+            return player;
+        }
+
+        /**
+         * Returns the score.
+         * @return the score, or null if the game gave none
+         */
+        Integer score() {
+            return score;
+        }
+
+        /**
+         * Returns how long the play took.
+         * @return milliseconds
+         */
+        long durationMillis() {
+            return duration;
+        }
+
+        @Override
+        public String toString() {
+            return time + " " + game + " " + player + " " + score + " "
+                + duration + "ms";
+        }
+    }
+}
@@ -0,0 +1,218 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for PlaySeries.
+ * @version 1
+ */
+public class PlaySeriesTest {
+    /** Milliseconds per day. */
+    private static final long DAY = 86_400_000L;
+    /** A fixed start time. */
+    private static final long START = 1_700_000_000_000L;
+
+    /**
+     * Makes a year of plays, a few minutes apart.
+     * @return the plays in time order
+     */
+    private static List<PlaySeries.Play> year() {
+        List<PlaySeries.Play> plays = new ArrayList<>();
+        String[] games = {"Snake", "Jotto", "Wordle", "Sudoku"};
+        long time = START;
+        for (int i = 0; i < 365 * 20; i++) {
+            time += 180_000 + (i * 7919L) % 60_000;
+            Integer score = i % 5 == 0 ? null : (i * 31) % 200 - 20;
+            plays.add(new PlaySeries.Play(time, games[i % games.length],
+                                          i % 3 == 0 ? "guest" : "alice",
+                                          score, 30_000 + i % 90_000));
+        }
+        return plays;
+    }
+
+    @Test
+    public void testRoundTrip(@TempDir final Path dir) throws IOException {
+        PlaySeries series = new PlaySeries(dir.resolve("plays.dat"), 500);
+        List<PlaySeries.Play> plays = year();
+        for (PlaySeries.Play p : plays) {
+            series.append(p);
+        }
+        List<PlaySeries.Play> all = series.query(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(plays.toString(), all.toString());
+
+        PlaySeries reopened = new PlaySeries(dir.resolve("plays.dat"), 500);
+        assertEquals(plays.toString(),
+                     reopened.query(Long.MIN_VALUE, Long.MAX_VALUE).toString());
+    }
+
+    @Test
+    public void testRangeQuery(@TempDir final Path dir) throws IOException {
+        PlaySeries series = new PlaySeries(dir.resolve("plays.dat"), 256);
+        List<PlaySeries.Play> plays = year();
+        for (PlaySeries.Play p : plays) {
+            series.append(p);
+        }
+        series.compact();
+        long from = START + 10 * DAY;
+        long to = from + 30 * DAY;
+        List<PlaySeries.Play> expected = new ArrayList<>();
+        for (PlaySeries.Play p : plays) {
+            if (p.time() >= from && p.time() < to) {
+                expected.add(p);
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.toString(), series.query(from, to).toString());
+        assertTrue(series.query(START - DAY, START).isEmpty());
+    }
+
+    @Test
+    public void testQuerySkipsOtherChunks(@TempDir final Path dir)
+        throws IOException {
+        Path file = dir.resolve("plays.dat");
+        PlaySeries series = new PlaySeries(file, 100);
+        List<PlaySeries.Play> plays = year();
+        for (PlaySeries.Play p : plays) {
+            series.append(p);
+        }
+        series.compact();
+        // Damage the payload of the first chunk; queries that skip it
+        // must still work.
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(40);
+            raf.write(new byte[20]);
+        }
+        long last = plays.get(plays.size() - 1).time();
+        assertEquals(1, series.query(last, last + 1).size());
+        assertThrows(IOException.class,
+                     () -> series.query(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testCompact(@TempDir final Path dir) throws IOException {
+        Path file = dir.resolve("plays.dat");
+        PlaySeries series = new PlaySeries(file);
+        List<PlaySeries.Play> plays = year();
+        for (PlaySeries.Play p : plays) {
+            series.append(p);
+        }
+        series.compact();
+        double perPlay = Files.size(file) / (double) plays.size();
+        assertTrue(perPlay < 12, "bytes per play: " + perPlay);
+    }
+
+    @Test
+    public void testShortSessionsShareChunks(@TempDir final Path dir)
+        throws IOException {
+        Path file = dir.resolve("plays.dat");
+        List<PlaySeries.Play> plays = year();
+        // Each launcher plays a few games and exits without saving.
+        for (int i = 0; i < plays.size(); i += 3) {
+            PlaySeries session = new PlaySeries(file, 1000);
+            int end = Math.min(i + 3, plays.size());
+            for (PlaySeries.Play p : plays.subList(i, end)) {
+                session.append(p);
+            }
+        }
+        PlaySeries series = new PlaySeries(file, 1000);
+        assertEquals(plays.toString(),
+                     series.query(Long.MIN_VALUE, Long.MAX_VALUE).toString());
+        series.compact();
+        assertEquals(PlaySeries.LOG_HEADER,
+                     Files.size(dir.resolve("plays.dat.log")));
+        double perPlay = Files.size(file) / (double) plays.size();
+        assertTrue(perPlay < 12, "bytes per play: " + perPlay);
+    }
+
+    @Test
+    public void testInterruptedMergeIsRedone(@TempDir final Path dir)
+        throws IOException {
+        Path file = dir.resolve("plays.dat");
+        PlaySeries series = new PlaySeries(file, 100);
+        List<PlaySeries.Play> plays = year().subList(0, 150);
+        for (PlaySeries.Play p : plays) {
+            series.append(p);
+        }
+        long merged = Files.size(file);
+        // A merge that wrote part of its chunk and then crashed.
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(merged + 7);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(
+                 dir.resolve("plays.dat.log").toFile(), "rw")) {
+            raf.seek(16);
+            raf.writeLong(merged);
+        }
+        PlaySeries reopened = new PlaySeries(file, 100);
+        assertEquals(plays.toString(),
+                     reopened.query(Long.MIN_VALUE, Long.MAX_VALUE).toString());
+        assertEquals(merged, Files.size(file));
+        reopened.compact();
+        assertEquals(plays.toString(),
+                     reopened.query(Long.MIN_VALUE, Long.MAX_VALUE).toString());
+    }
+
+    @Test
+    public void testCrashBeforeLogTruncateKeepsPlays(@TempDir final Path dir)
+        throws IOException {
+        Path file = dir.resolve("plays.dat");
+        Path logFile = dir.resolve("plays.dat.log");
+        PlaySeries series = new PlaySeries(file, 100);
+        List<PlaySeries.Play> plays = new ArrayList<>(year().subList(0, 40));
+        for (PlaySeries.Play p : plays) {
+            series.append(p);
+        }
+        byte[] log = Files.readAllBytes(logFile);
+        series.compact();
+        // A merge that reset the log header and then crashed before it
+        // truncated the merged records.
+        try (RandomAccessFile raf =
+                 new RandomAccessFile(logFile.toFile(), "rw")) {
+            raf.seek(PlaySeries.LOG_HEADER);
+            raf.write(log, PlaySeries.LOG_HEADER,
+                      log.length - PlaySeries.LOG_HEADER);
+        }
+        PlaySeries reopened = new PlaySeries(file, 100);
+        assertEquals(plays.toString(),
+                     reopened.query(Long.MIN_VALUE, Long.MAX_VALUE).toString());
+        for (PlaySeries.Play p : year().subList(40, 45)) {
+            reopened.append(p);
+            plays.add(p);
+        }
+        reopened.compact();
+        assertEquals(plays.toString(),
+                     reopened.query(Long.MIN_VALUE, Long.MAX_VALUE).toString());
+        assertEquals(PlaySeries.LOG_HEADER, Files.size(logFile));
+    }
+
+    @Test
+    public void testBadFileIsNotAppendedTo(@TempDir final Path dir)
+        throws IOException {
+        Path file = dir.resolve("plays.dat");
+        byte[] junk = "not plays at all".getBytes(StandardCharsets.UTF_8);
+        Files.write(file, junk);
+        PlaySeries series = new PlaySeries(file, 2);
+        List<PlaySeries.Play> plays = year().subList(0, 5);
+        for (PlaySeries.Play p : plays) {
+            series.append(p);
+        }
+        assertThrows(IOException.class, series::compact);
+        assertArrayEquals(junk, Files.readAllBytes(file));
+
+        Files.delete(file);
+        series.compact();
+        assertEquals(plays.toString(),
+                     series.query(Long.MIN_VALUE, Long.MAX_VALUE).toString());
+    }
+}
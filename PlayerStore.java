@@ -0,0 +1,211 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Game histories of many players, one file per player.
+ * <pre>
+ * Player files are spread over 256 shard directories so that no
+ * directory grows too large:
+ *   DIR/SS/NAME.dat   SS = two hex digits of the hash of the name
+ * Names are 1 to 32 letters, digits, '-' or '_' and are not case
+ * sensitive; the file uses the lower-case name.
+ * Loading a player reads only that player's file. At most capacity
+ * profiles are kept in memory, least recently used first out; a profile
+ * changed through recordPlay is saved before it is dropped, and kept if
+ * it cannot be saved, so memory stays bounded however many players
+ * there are and no play is lost to a failed save.
+ * Defaults can be changed with the system properties
+ *   consolegamehub.players.dir     directory (default players)
+ *   consolegamehub.players.cache   profiles in memory (default 64)
+ * </pre>
+ * @version 1
+ */
+final class PlayerStore {
+    /** Property naming the player directory. */
+    static final String DIR_PROPERTY = "consolegamehub.players.dir";
+    /** Property setting the number of profiles kept in memory. */
+    static final String CACHE_PROPERTY = "consolegamehub.players.cache";
+    /** Default player directory. */
+    static final String DEFAULT_DIR = "players";
+    /** Default number of profiles kept in memory. */
+    static final int DEFAULT_CACHE = 64;
+    /** Valid player names. */
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+    /** Number of shard directories. */
+    private static final int SHARDS = 256;
+
+    /** Root of the shard directories. */
+    private final File dir;
+    /** Most profiles kept in memory. */
+    private final int capacity;
+    /** Loaded profiles by key, least recently used first. */
+    private final LinkedHashMap<String, GameHistoryTracker> profiles;
+    /** Keys of loaded profiles with unsaved plays. */
+    private final Set<String> dirty = new HashSet<>();
+
+    /**
+     * Creates a store.
+     * @param directory root of the shard directories
+     * @param cacheSize most profiles kept in memory, at least 1
+     */
+    PlayerStore(final File directory, final int cacheSize) {
+        this.dir = directory;
+        this.capacity = Math.max(1, cacheSize);
+        this.profiles = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Creates a store configured by the system properties.
+     * @return the store
+     */
+    static PlayerStore fromProperties() {
+        return new PlayerStore(
+            new File(System.getProperty(DIR_PROPERTY, DEFAULT_DIR)),
+            Integer.getInteger(CACHE_PROPERTY, DEFAULT_CACHE));
+    }
+
+    /**
+     * Checks a player name.
+     * @param player the name
+     * @return true if it can be used
+     */
+    static boolean isValidName(final String player) {
+        return player != null && NAME.matcher(player).matches();
+    }
+
+    /**
+     * Returns the name a player is known by everywhere: the store key,
+     * so that "Alice" and "alice" are one player on the leaderboards and
+     * in the play series as they are here.
+     * @param player a valid player name
+     * @return the lower-case name
+     * @throws IllegalArgumentException if the name is not valid
+     */
+    static String canonicalName(final String player) {
+        return key(player);
+    }
+
+    /**
+     * Returns the file holding a player's history.
+     * @param player a valid player name
+     * @return the file, which may not exist yet
+     * @throws IllegalArgumentException if the name is not valid
+     */
+    String fileFor(final String player) {
+        String key = key(player);
+        int shard = (key.hashCode() & Integer.MAX_VALUE) % SHARDS;
+        File shardDir = new File(dir, String.format("%02x", shard));
+        return new File(shardDir, key + ".dat").getPath();
+    }
+
+    /**
+     * Returns a player's history, loading it if it is not in memory.
+     * A new player gets an empty history.
+     * @param player a valid player name
+     * @return the history
+     * @throws IllegalArgumentException if the name is not valid
+     */
+    synchronized GameHistoryTracker profile(final String player) {
+        String key = key(player);
+        GameHistoryTracker history = profiles.get(key);
+        if (history == null) {
+            File file = new File(fileFor(key));
+            file.getParentFile().mkdirs();
+            history = file.exists()
+                ? GameHistoryTracker.loadHistory(file.getPath())
+                : new GameHistoryTracker();
+            profiles.put(key, history);
+            evict();
+        }
+        return history;
+    }
+
+    /**
+     * Records a play in a player's history.
+     * @param player a valid player name
+     * @param gameName the game played
+     * @param score the score, or null
+     */
+    synchronized void recordPlay(final String player, final String gameName,
+                                 final Integer score) {
+        profile(player).recordPlay(gameName, score);
+        dirty.add(key(player));
+    }
+
+    /**
+     * Saves every profile with unsaved plays.
+     * @throws IOException if a profile cannot be saved; the others are
+     *         still saved
+     */
+    synchronized void flush() throws IOException {
+        IOException failure = null;
+        for (Iterator<String> it = dirty.iterator(); it.hasNext();) {
+            String key = it.next();
+            try {
+                profiles.get(key).saveHistory(fileFor(key));
+                it.remove();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns the number of profiles in memory.
+     * @return the count, at most the capacity
+     */
+    synchronized int loaded() {
+        return profiles.size();
+    }
+
+    /**
+     * Drops least recently used profiles beyond the capacity, saving
+     * those with unsaved plays. A profile that cannot be saved stays in
+     * memory with its plays unsaved, so the next eviction or flush
+     * tries again; memory may exceed the capacity until it can be.
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, GameHistoryTracker>> it =
+            profiles.entrySet().iterator();
+        // Never the last, most recently used profile.
+        int candidates = profiles.size() - 1;
+        while (profiles.size() > capacity && candidates-- > 0) {
+            Map.Entry<String, GameHistoryTracker> eldest = it.next();
+            String key = eldest.getKey();
+            if (dirty.contains(key)) {
+                try {
+                    eldest.getValue().saveHistory(fileFor(key));
+                } catch (IOException e) {
+                    System.out.println("Saving " + key + " failed: "
+                                       + e.getMessage());
+                    continue;
+                }
+                dirty.remove(key);
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * Returns the key of a player name.
+     * @param player the name
+     * @return the lower-case name
+     * @throws IllegalArgumentException if the name is not valid
+     */
+    private static String key(final String player) {
+        if (!isValidName(player)) {
+            throw new IllegalArgumentException("invalid player name: " + player);
+        }
+        return player.toLowerCase(Locale.ROOT);
+    }
+}
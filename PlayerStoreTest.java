@@ -0,0 +1,253 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Scanner;
+
+/**
+ * Tests for PlayerStore and player login.
+ * @version 1
+ */
+public class PlayerStoreTest {
+
+    /**
+     * Saves a history and returns the bytes written.
+     * @param history the history
+     * @param dir a scratch directory
+     * @return the saved file contents
+     * @throws IOException if the file cannot be written
+     */
+    private static byte[] bytesOf(final GameHistoryTracker history,
+                                  final Path dir) throws IOException {
+        Path file = Files.createTempFile(dir, "expected", ".dat");
+        history.saveHistory(file.toString());
+        return Files.readAllBytes(file);
+    }
+
+    @Test
+    public void testValidNames() {
+        assertTrue(PlayerStore.isValidName("alice"));
+        assertTrue(PlayerStore.isValidName("Bob_2-x"));
+        assertFalse(PlayerStore.isValidName(""));
+        assertFalse(PlayerStore.isValidName(null));
+        assertFalse(PlayerStore.isValidName("../etc"));
+        assertFalse(PlayerStore.isValidName("a b"));
+        assertFalse(PlayerStore.isValidName("x".repeat(33)));
+    }
+
+    @Test
+    public void testFilesAreShardedAndCaseInsensitive(@TempDir final Path dir) {
+        PlayerStore store = new PlayerStore(dir.toFile(), 4);
+        Path file = Paths.get(store.fileFor("Alice"));
+        assertEquals(store.fileFor("alice"), store.fileFor("ALICE"));
+        assertEquals("alice.dat", file.getFileName().toString());
+        assertTrue(file.getParent().getFileName().toString()
+                       .matches("[0-9a-f]{2}"));
+        assertEquals(dir, file.getParent().getParent());
+        assertThrows(IllegalArgumentException.class,
+                     () -> store.fileFor("no/slashes"));
+    }
+
+    @Test
+    public void testProfilesAreSavedAndLoadedPerPlayer(@TempDir final Path dir)
+        throws IOException {
+        PlayerStore store = new PlayerStore(dir.toFile(), 4);
+        store.recordPlay("alice", "Snake", 12);
+        store.recordPlay("bob", "Jotto", 3);
+        store.flush();
+
+        GameHistoryTracker expected = new GameHistoryTracker();
+        expected.recordPlay("Snake", 12);
+        // A broken file of another player must not matter.
+        Files.write(Paths.get(store.fileFor("bob")), new byte[] {1, 2, 3});
+        PlayerStore reopened = new PlayerStore(dir.toFile(), 4);
+        assertArrayEquals(bytesOf(expected, dir),
+                          bytesOf(reopened.profile("Alice"), dir));
+        assertEquals(1, reopened.loaded());
+        assertSame(reopened.profile("alice"), reopened.profile("ALICE"));
+    }
+
+    @Test
+    public void testEvictionBoundsMemoryAndSavesChanges(@TempDir final Path dir)
+        throws IOException {
+        PlayerStore store = new PlayerStore(dir.toFile(), 2);
+        for (int i = 0; i < 10; i++) {
+            store.recordPlay("player" + i, "Wordle", i);
+            assertTrue(store.loaded() <= 2);
+        }
+        for (int i = 0; i < 8; i++) {
+            assertTrue(Files.exists(Paths.get(store.fileFor("player" + i))),
+                       "evicted player" + i + " should be saved");
+        }
+        assertFalse(Files.exists(Paths.get(store.fileFor("player9"))));
+        store.flush();
+        assertTrue(Files.exists(Paths.get(store.fileFor("player9"))));
+
+        GameHistoryTracker expected = new GameHistoryTracker();
+        expected.recordPlay("Wordle", 0);
+        assertArrayEquals(bytesOf(expected, dir),
+                          bytesOf(store.profile("player0"), dir));
+    }
+
+    @Test
+    public void testLoginUsesPlayerFile(@TempDir final Path dir)
+        throws IOException {
+        PlayerStore store = new PlayerStore(dir.resolve("players").toFile(), 4);
+        Path guest = dir.resolve("history.dat");
+        PrintStream console = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(out));
+            GameLauncher launcher = new GameLauncher(
+                new Scanner("bad name\nCarol\nC\nclear\n0\n"),
+                new GameHistoryTracker(), guest.toString(), new ArrayList<>());
+            launcher.login(store);
+            launcher.run();
+            launcher.saveHistory();
+        } finally {
+            System.setOut(console);
+        }
+        assertTrue(out.toString().contains("Welcome, Carol!"));
+        assertTrue(out.toString().contains("Names are up to 32"));
+        assertTrue(Files.exists(Paths.get(store.fileFor("carol"))));
+        assertFalse(Files.exists(guest));
+    }
+
+    @Test
+    public void testFailedSaveKeepsProfile(@TempDir final Path dir)
+        throws IOException {
+        PlayerStore store = new PlayerStore(dir.toFile(), 1);
+        Path aliceShard = Paths.get(store.fileFor("alice")).getParent();
+        String other = "bob";
+        for (int i = 0; aliceShard.equals(
+                 Paths.get(store.fileFor(other)).getParent()); i++) {
+            other = "bob" + i;
+        }
+        store.recordPlay("alice", "Snake", 12);
+        // Saving into a shard that is a file fails.
+        Files.delete(aliceShard);
+        Files.write(aliceShard, new byte[0]);
+        PrintStream console = System.out;
+        try {
+            System.setOut(new PrintStream(new ByteArrayOutputStream()));
+            store.recordPlay(other, "Jotto", 3);
+        } finally {
+            System.setOut(console);
+        }
+        assertEquals(2, store.loaded());
+        assertThrows(IOException.class, store::flush);
+
+        Files.delete(aliceShard);
+        Files.createDirectory(aliceShard);
+        store.flush();
+        GameHistoryTracker expected = new GameHistoryTracker();
+        expected.recordPlay("Snake", 12);
+        assertArrayEquals(bytesOf(expected, dir),
+                          Files.readAllBytes(Paths.get(store.fileFor("alice"))));
+    }
+
+    @Test
+    public void testLauncherRecordsPlaysInStore(@TempDir final Path dir)
+        throws IOException {
+        PlayerStore store = new PlayerStore(dir.toFile(), 4);
+        Game game = new Game() {
+            @Override
+            public String getName() {
+                return "Fixed";
+            }
+
+            @Override
+            public Optional<Integer> play() {
+                return Optional.of(5);
+            }
+        };
+        PrintStream console = System.out;
+        try {
+            System.setOut(new PrintStream(new ByteArrayOutputStream()));
+            GameLauncher launcher = new GameLauncher(
+                new Scanner("Dave\n1\n0\n"), new GameHistoryTracker(),
+                List.of(game), dir.resolve("history.dat").toString());
+            launcher.login(store);
+            launcher.run();
+        } finally {
+            System.setOut(console);
+        }
+        // The play is unsaved in the store, not only in the profile.
+        store.flush();
+        GameHistoryTracker expected = new GameHistoryTracker();
+        expected.recordPlay("Fixed", 5);
+        assertArrayEquals(bytesOf(expected, dir),
+                          Files.readAllBytes(Paths.get(store.fileFor("dave"))));
+    }
+
+    @Test
+    public void testSaveHistoryFlushesStore(@TempDir final Path dir) {
+        PlayerStore store = new PlayerStore(dir.toFile(), 4);
+        store.recordPlay("erin", "Snake", 7);
+        PrintStream console = System.out;
+        try {
+            System.setOut(new PrintStream(new ByteArrayOutputStream()));
+            GameLauncher launcher = new GameLauncher(
+                new Scanner("Dave\n0\n"), new GameHistoryTracker(),
+                dir.resolve("history.dat").toString(), new ArrayList<>());
+            launcher.login(store);
+            launcher.run();
+            launcher.saveHistory();
+        } finally {
+            System.setOut(console);
+        }
+        // Another player's unsaved plays are written on exit too.
+        assertTrue(Files.exists(Paths.get(store.fileFor("erin"))));
+    }
+
+    @Test
+    public void testLoginNameIsCaseInsensitiveEverywhere(
+        @TempDir final Path dir) throws IOException {
+        PlayerStore store = new PlayerStore(dir.toFile(), 4);
+        PlaySeries series = new PlaySeries(dir.resolve("plays.dat"));
+        Game game = new Game() {
+            @Override
+            public String getName() {
+                return "Fixed";
+            }
+
+            @Override
+            public Optional<Integer> play() {
+                return Optional.of(5);
+            }
+        };
+        PrintStream console = System.out;
+        try {
+            System.setOut(new PrintStream(new ByteArrayOutputStream()));
+            for (String name : new String[] {"Alice", "ALICE"}) {
+                GameLauncher launcher = new GameLauncher(
+                    new Scanner(name + "\n1\n0\n"), new GameHistoryTracker(),
+                    List.of(game), dir.resolve("history.dat").toString());
+                launcher.login(store);
+                launcher.setPlaySeries(series);
+                launcher.run();
+            }
+        } finally {
+            System.setOut(console);
+        }
+        List<PlaySeries.Play> plays = series.query(Long.MIN_VALUE,
+                                                   Long.MAX_VALUE);
+        assertEquals(2, plays.size());
+        for (PlaySeries.Play play : plays) {
+            assertEquals("alice", play.player());
+        }
+    }
+}
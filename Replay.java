@@ -0,0 +1,142 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * One recorded game session, and the replay file format.
+ * <pre>
+ * A replay file is the header followed by one record per session:
+ *   header   'C' 'G' 'H' 'R' VERSION
+ *   record   varint name length, name (UTF-8)
+ *            varint seed (the GameRandom session seed, unsigned)
+ *            varint score: 0 for none, else zigzag(score) + 1
+ *            varint input length, input (the bytes the game read)
+ * Varints and zigzag are as in Varint. Small numbers take one byte, so a
+ * record costs the game name, up to ten bytes of seed, a few bytes of
+ * numbers and the input itself.
+ * Files are appended to; the header is only written to an empty file.
+ * </pre>
+ * @version 1
+ */
+final class Replay {
+    /** File signature. */
+    static final byte[] MAGIC = {'C', 'G', 'H', 'R'};
+    /** Format version. */
+    static final int VERSION = 1;
+    /** Longest name or input accepted when reading. */
+    private static final int MAX_LENGTH = 1 << 26;
+
+    /** Name of the game played. */
+    private final String game;
+    /** Session seed. */
+    private final long seed;
+    /** Recorded score, or null. */
+    private final Integer score;
+    /** The input the game read. */
+    private final byte[] input;
+
+    /**
+     * Creates a session record.
+     * @param gameName name of the game played
+     * @param sessionSeed session seed
+     * @param finalScore recorded score, or null
+     * @param gameInput the input the game read
+     */
+    Replay(final String gameName, final long sessionSeed,
+           final Integer finalScore, final byte[] gameInput) {
+        this.game = gameName;
+        this.seed = sessionSeed;
+        this.score = finalScore;
+        this.input = gameInput;
+    }
+
+    /**
+     * Returns the name of the game played.
+     * @return the game name
+     */
+    String game() {
+        return game;
+    }
+
+    /**
+     * Returns the session seed.
+     * @return the seed
+     */
+    long seed() {
+        return seed;
+    }
+
+    /**
+     * Returns the recorded score.
+     * @return the score, empty if the game gave none
+     */
+    Optional<Integer> score() {
+        return Optional.ofNullable(score);
+    }
+
+    /**
+     * Returns the input the game read. Not copied; do not modify.
+     * @return the input bytes
+     */
+    byte[] input() {
+        return input;
+    }
+
+    /**
+     * Reads and checks the file header.
+     * @param in the replay file
+     * @throws IOException if the header is missing or of another version
+     */
+    static void readHeader(final InputStream in) throws IOException {
+        for (byte b : MAGIC) {
+            if (in.read() != b) {
+                throw new IOException("not a replay file");
+            }
+        }
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IOException("unsupported replay version " + version);
+        }
+    }
+
+    /**
+     * Reads the next record.
+     * @param in the replay file, positioned after the header
+     * @return the record, or null at the end of the file
+     * @throws IOException if the record is truncated or malformed
+     */
+    static Replay read(final InputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        String name = new String(readBytes(in, Varint.read(in, first)),
+                                 StandardCharsets.UTF_8);
+        long seed = Varint.read(in);
+        long code = Varint.read(in);
+        Integer score = code == 0 ? null : (int) Varint.unzigzag(code - 1);
+        byte[] input = readBytes(in, Varint.read(in));
+        return new Replay(name, seed, score, input);
+    }
+
+    /**
+     * Reads a length-prefixed byte string.
+     * @param in the stream
+     * @param length the length read before it
+     * @return the bytes
+     * @throws IOException if the string is truncated or too long
+     */
+    private static byte[] readBytes(final InputStream in, final long length)
+        throws IOException {
+        if (length > MAX_LENGTH) {
+            throw new IOException("replay record too long: " + length);
+        }
+        byte[] bytes = in.readNBytes((int) length);
+        if (bytes.length != length) {
+            throw new EOFException("truncated replay record");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,150 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plays back replay files written by ReplayRecorder.
+ * <pre>
+ * Run with
+ *   java -cp build/classes ReplayPlayer FILE [options]
+ *     --only NAME    only sessions of games whose name contains NAME
+ *     --show N       print the output of session N (counting from 1)
+ *
+ * Each session is played again by a fresh instance of its game, with
+ * the recorded seed and input, headless and with its output thrown
+ * away, so playback runs at full speed. A session whose game now asks
+ * for more input than was recorded, or ends with a different score,
+ * has diverged: the game or its random choices changed since it was
+ * recorded. The listing gives every session's recorded and replayed
+ * score; --show prints what the player saw in one session.
+ * </pre>
+ * @version 1
+ */
+final class ReplayPlayer {
+    /** Nanoseconds per millisecond. */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /** The known games by name. */
+    private final Map<String, GameDescriptor> games = new HashMap<>();
+    /** Where replayed output goes unless shown. */
+    private final PrintStream discard =
+        new PrintStream(OutputStream.nullOutputStream());
+
+    /**
+     * Creates a player.
+     * @param catalog the games that can be replayed
+     */
+    ReplayPlayer(final List<GameDescriptor> catalog) {
+        for (GameDescriptor game : catalog) {
+            games.put(game.name(), game);
+        }
+    }
+
+    /**
+     * Plays back the sessions in a replay file.
+     * @param args the file and options, see the class comment
+     */
+    public static void main(final String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayPlayer FILE [--only NAME] [--show N]");
+            System.exit(2);
+        }
+        String only = "";
+        int show = 0;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--only":
+                    only = args[i + 1];
+                    break;
+                case "--show":
+                    show = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        System.setProperty(MemoryMatchGame.HEADLESS_PROPERTY, "true");
+        ReplayPlayer player = new ReplayPlayer(GameRegistry.discover());
+        PrintStream console = System.out;
+        int played = 0;
+        int diverged = 0;
+        long start = System.nanoTime();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(args[0]))) {
+            Replay.readHeader(in);
+            int number = 0;
+            for (Replay replay = Replay.read(in); replay != null;
+                 replay = Replay.read(in)) {
+                number++;
+                if (!replay.game().contains(only)) {
+                    continue;
+                }
+                String replayed;
+                boolean same;
+                try {
+                    Optional<Integer> score = player.play(
+                        replay, number == show ? console : null);
+                    replayed = formatScore(score);
+                    same = score.equals(replay.score());
+                } catch (RuntimeException e) {
+                    replayed = e.toString();
+                    same = false;
+                }
+                played++;
+                if (!same) {
+                    diverged++;
+                }
+                console.printf("#%-5d %-14s seed %-20d score %s -> %s%s%n",
+                               number, replay.game(), replay.seed(),
+                               formatScore(replay.score()), replayed,
+                               same ? "" : "  DIVERGED");
+            }
+        } catch (IOException e) {
+            console.println("Cannot read replay file: " + e.getMessage());
+            System.exit(1);
+        }
+        console.printf("%d sessions replayed in %.1f ms, %d diverged%n", played,
+                       (System.nanoTime() - start) / NANOS_PER_MILLI, diverged);
+        if (diverged > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays one session again.
+     * @param replay the session
+     * @param out where the game's output goes, or null to discard it
+     * @return the score of the replayed game
+     * @throws IllegalArgumentException if the game is unknown
+     * @throws java.util.NoSuchElementException if the game asks for
+     *         more input than was recorded
+     */
+    Optional<Integer> play(final Replay replay, final PrintStream out) {
+        GameDescriptor game = games.get(replay.game());
+        if (game == null) {
+            throw new IllegalArgumentException("unknown game " + replay.game());
+        }
+        GameRandom.newSession(replay.seed());
+        return game.create(new GameConsole(
+            new ByteArrayInputStream(replay.input()),
+            out == null ? discard : out)).play();
+    }
+
+    /**
+     * Formats a score for the listing.
+     * @param score the score
+     * @return the score, or "none"
+     */
+    private static String formatScore(final Optional<Integer> score) {
+        return score.map(String::valueOf).orElse("none");
+    }
+}
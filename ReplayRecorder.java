@@ -0,0 +1,221 @@
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Records game sessions to a replay file.
+ * <pre>
+ * The recorder sits between the console and the games as a tee on the
+ * input stream. Between begin() and end() every byte a game reads is
+ * appended to one reusable buffer; nothing else happens per keystroke
+ * or per line. end() encodes the session (see Replay) behind the input
+ * in the same buffer and writes it with a single write, so a session
+ * costs one write call and no allocation once the buffer has grown to
+ * the longest session seen.
+ * The launcher records when the system property consolegamehub.replay
+ * names a file:
+ *   java -Dconsolegamehub.replay=replays.dat -cp build/classes GameLauncher
+ * Play the file back with ReplayPlayer. Games played with keystroke
+ * input (TerminalInput) read the terminal, not the tee, and depend on
+ * timing; the launcher skips them rather than record a session that
+ * cannot replay.
+ * </pre>
+ * @version 1
+ */
+final class ReplayRecorder {
+    /** Property naming the replay file. */
+    static final String FILE_PROPERTY = "consolegamehub.replay";
+    /** Initial buffer size. */
+    private static final int INITIAL_CAPACITY = 512;
+
+    /** Where records go. */
+    private final OutputStream sink;
+    /** Input of the current session, then the encoded record. */
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    /** Bytes of input in buffer. */
+    private int length;
+    /** Whether a session is being recorded. */
+    private boolean recording;
+    /** Whether writing has failed, which stops recording. */
+    private boolean failed;
+    /** Name of the game being recorded, UTF-8. */
+    private byte[] game;
+    /** Seed of the session being recorded. */
+    private long seed;
+
+    /**
+     * Creates a recorder writing to a stream. The stream should not
+     * buffer, since each record is written whole.
+     * @param out where records go
+     */
+    ReplayRecorder(final OutputStream out) {
+        this.sink = out;
+    }
+
+    /**
+     * Opens a replay file for appending, writing the header if the file
+     * is new or empty.
+     * @param fileName the replay file
+     * @return the recorder
+     * @throws IOException if the file cannot be opened
+     */
+    static ReplayRecorder open(final String fileName) throws IOException {
+        boolean empty = new File(fileName).length() == 0;
+        OutputStream out = new FileOutputStream(fileName, true);
+        if (empty) {
+            writeHeader(out);
+        }
+        return new ReplayRecorder(out);
+    }
+
+    /**
+     * Writes the replay file header.
+     * @param out the new replay file
+     * @throws IOException if writing fails
+     */
+    static void writeHeader(final OutputStream out) throws IOException {
+        out.write(Replay.MAGIC);
+        out.write(Replay.VERSION);
+    }
+
+    /**
+     * Wraps an input stream so that reads are recorded.
+     * @param source the console input
+     * @return the recording stream, to be read instead of source
+     */
+    InputStream tee(final InputStream source) {
+        return new TeeInput(source);
+    }
+
+    /**
+     * Starts recording a session.
+     * @param gameName the game about to be played
+     * @param sessionSeed the GameRandom seed of the session
+     */
+    void begin(final String gameName, final long sessionSeed) {
+        game = gameName.getBytes(StandardCharsets.UTF_8);
+        seed = sessionSeed;
+        length = 0;
+        recording = !failed;
+    }
+
+    /**
+     * Finishes the session and writes its record. If writing fails,
+     * recording stops for good and the reason is printed.
+     * @param score the game's score
+     */
+    void end(final Optional<Integer> score) {
+        if (!recording) {
+            return;
+        }
+        recording = false;
+        int pos = length;
+        ensureCapacity(pos + game.length + 4 * Varint.MAX_BYTES);
+        pos = Varint.put(buffer, pos, game.length);
+        System.arraycopy(game, 0, buffer, pos, game.length);
+        pos += game.length;
+        pos = Varint.put(buffer, pos, seed);
+        pos = Varint.put(buffer, pos, score.isPresent()
+                         ? Varint.zigzag(score.get()) + 1 : 0);
+        pos = Varint.put(buffer, pos, length);
+        // The input goes last; move it behind the fields just encoded.
+        int fields = pos - length;
+        ensureCapacity(pos + length);
+        System.arraycopy(buffer, 0, buffer, pos, length);
+        try {
+            sink.write(buffer, length, fields + length);
+        } catch (IOException e) {
+            failed = true;
+            System.out.println("replay recording failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the current session without writing it. Sessions whose
+     * input did not come through the tee, such as real-time play with
+     * TerminalInput, could not be replayed and are not recorded.
+     */
+    void skip() {
+        recording = false;
+    }
+
+    /**
+     * Closes the replay file.
+     */
+    void close() {
+        try {
+            sink.close();
+        } catch (IOException e) {
+            System.out.println("replay recording failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grows the buffer to hold at least the given number of bytes.
+     * @param capacity bytes needed
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, 2 * buffer.length));
+        }
+    }
+
+    /**
+     * Appends input to the current session.
+     * @param b the bytes read
+     * @param off start of the bytes
+     * @param len number of bytes
+     */
+    private void append(final byte[] b, final int off, final int len) {
+        if (recording && len > 0) {
+            ensureCapacity(length + len);
+            System.arraycopy(b, off, buffer, length, len);
+            length += len;
+        }
+    }
+
+    /**
+     * Input stream copying what is read into the recorder.
+     */
+    private final class TeeInput extends FilterInputStream {
+        /** Buffer for single-byte reads. */
+        private final byte[] one = new byte[1];
+
+        /**
+         * Creates the tee.
+         * @param source the console input
+         */
+        TeeInput(final InputStream source) {
+            super(source);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                one[0] = (byte) b;
+                append(one, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len)
+            throws IOException {
+            int n = in.read(b, off, len);
+            append(b, off, n);
+            return n;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Tests for Replay, ReplayRecorder and ReplayPlayer.
+ * @version 1
+ */
+public class ReplayTest {
+
+    @Test
+    public void testVarintAndZigzagRoundTrip() throws IOException {
+        long[] values = {0, 1, 127, 128, 300, Long.MAX_VALUE, -1};
+        byte[] buf = new byte[Varint.MAX_BYTES];
+        for (long value : values) {
+            int n = Varint.put(buf, 0, value);
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            record.write(1);
+            record.write('x');
+            record.write(buf, 0, n);
+            record.write(0);
+            record.write(0);
+            Replay replay = Replay.read(
+                new ByteArrayInputStream(record.toByteArray()));
+            assertEquals(value, replay.seed());
+        }
+        assertEquals(1, Varint.put(buf, 0, 127));
+        assertEquals(2, Varint.put(buf, 0, 128));
+        for (int score : new int[] {0, -1, 1, 100, -45, Integer.MIN_VALUE}) {
+            assertEquals(score, Varint.unzigzag(Varint.zigzag(score)));
+        }
+        assertEquals(3, Varint.zigzag(-2));
+    }
+
+    @Test
+    public void testRecorderWritesOnlyBetweenBeginAndEnd() throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        ReplayRecorder.writeHeader(file);
+        ReplayRecorder recorder = new ReplayRecorder(file);
+        InputStream in = recorder.tee(new ByteArrayInputStream(
+            "menu\nabc\nxyz\n".getBytes(StandardCharsets.UTF_8)));
+        in.readNBytes(5);
+        recorder.begin("Game", 99);
+        in.readNBytes(4);
+        in.read();
+        recorder.end(Optional.of(-3));
+        in.readNBytes(3);
+        recorder.begin("Other", 1);
+        recorder.end(Optional.empty());
+
+        InputStream saved = new ByteArrayInputStream(file.toByteArray());
+        Replay.readHeader(saved);
+        Replay first = Replay.read(saved);
+        assertEquals("Game", first.game());
+        assertEquals(99, first.seed());
+        assertEquals(Optional.of(-3), first.score());
+        assertArrayEquals("abc\nx".getBytes(StandardCharsets.UTF_8),
+                          first.input());
+        Replay second = Replay.read(saved);
+        assertEquals("Other", second.game());
+        assertEquals(Optional.empty(), second.score());
+        assertEquals(0, second.input().length);
+        assertNull(Replay.read(saved));
+    }
+
+    @Test
+    public void testSkippedSessionIsNotWritten() throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(file);
+        InputStream in = recorder.tee(new ByteArrayInputStream(
+            "abc\n".getBytes(StandardCharsets.UTF_8)));
+        recorder.begin("Snake", 7);
+        in.read();
+        recorder.skip();
+        in.read();
+        recorder.end(Optional.of(10));
+        assertEquals(0, file.size());
+        recorder.begin("Snake", 8);
+        in.read();
+        recorder.end(Optional.of(20));
+        Replay replay = Replay.read(new ByteArrayInputStream(file.toByteArray()));
+        assertEquals(8, replay.seed());
+        assertArrayEquals("c".getBytes(StandardCharsets.UTF_8), replay.input());
+    }
+
+    @Test
+    public void testTruncatedRecordIsRejected() {
+        byte[] record = {5, 'G', 'a'};
+        assertThrows(IOException.class,
+                     () -> Replay.read(new ByteArrayInputStream(record)));
+        assertThrows(IOException.class, () -> Replay.readHeader(
+            new ByteArrayInputStream("CGHX".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testRecordedSessionReplaysToSameScore() throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        ReplayRecorder recorder = new ReplayRecorder(file);
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        StringBuilder guesses = new StringBuilder();
+        for (int g = 1; g <= 100; g++) {
+            guesses.append(g).append('\n');
+        }
+        ReplayPlayer player =
+            new ReplayPlayer(Arrays.asList(GameDescriptor.withConsole(
+                "Number Guess", NumberGuessGame::new)));
+        GameConsole console = new GameConsole(
+            recorder.tee(new ByteArrayInputStream(
+                guesses.toString().getBytes(StandardCharsets.UTF_8))),
+            discard);
+        long seed = GameRandom.newSession();
+        recorder.begin("Number Guess", seed);
+        Optional<Integer> score = new NumberGuessGame(console).play();
+        recorder.end(score);
+
+        Replay replay = Replay.read(
+            new ByteArrayInputStream(file.toByteArray()));
+        assertEquals(score, replay.score());
+        assertEquals(score, player.play(replay, null));
+
+        Replay cut = new Replay(replay.game(), replay.seed(), null,
+                                new byte[0]);
+        assertThrows(NoSuchElementException.class,
+                     () -> player.play(cut, null));
+    }
+}
@@ -0,0 +1,485 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Game history shared by many launchers on one host.
+ * <pre>
+ * The history lives in a directory:
+ *   history.snap         HistorySnapshot of all merged plays
+ *   delta-PID-N.log      plays of one running launcher
+ *   generation           how many times the history was cleared
+ *   compact.lock         held while logs are merged
+ * A launcher maps the snapshot, so starting costs no decoding however
+ * long the history is, and appends its own plays to a delta log of its
+ * own, which it keeps locked while it runs. Compaction merges every log
+ * whose lock is free, that is, whose launcher has exited, into a new
+ * snapshot and deletes those logs. It runs when a launcher opens the
+ * history and again when it closes, so a log is merged by its own
+ * launcher on a clean exit, or by the next one to start after a crash.
+ * A launcher sees the snapshot it opened plus its own plays; plays of
+ * launchers running at the same time show up once they are merged.
+ * Compaction renames the logs it merges to NAME.merging, writes the new
+ * snapshot as history.snap.new, deletes the renamed logs and only then
+ * moves the new snapshot into place. If it is cut short, the next
+ * compaction finishes the move when history.snap.new exists, since its
+ * plays are then in it, and merges the renamed logs again otherwise,
+ * so no play is counted twice or lost.
+ * Clearing the history counts up the generation. A log holds the
+ * generation it was started in, and compaction drops logs of an older
+ * one; a running launcher that sees the generation change empties its
+ * log before recording its next play. So the plays of launchers that
+ * were running during a clear do not come back.
+ * A log holds a 'C' 'G' 'H' 'D' VERSION header, then long generation
+ * (only from version 2; version 1 logs are generation 0), and then per
+ * play:
+ *   varint name length, name (UTF-8)
+ *   varint score: 0 for none, else zigzag(score) + 1
+ * A torn last record, left by a crash, is ignored.
+ * Only summary stats are kept, so this history cannot be saved as a
+ * history file; saveHistory forces the log to disk instead.
+ * </pre>
+ * @version 1
+ */
+class SharedHistory extends GameHistoryTracker {
+    /** Property naming the shared history directory. */
+    static final String DIR_PROPERTY = "consolegamehub.history.shared";
+    /** Delta log signature. */
+    static final byte[] LOG_MAGIC = {'C', 'G', 'H', 'D'};
+    /** Delta log format version. */
+    static final int LOG_VERSION = 2;
+    /** Delta log header size. */
+    private static final int LOG_HEADER = LOG_MAGIC.length + 1 + Long.BYTES;
+    /** Snapshot file name. */
+    static final String SNAPSHOT = "history.snap";
+    /** Name of a snapshot written by a compaction not yet finished. */
+    static final String NEXT_SNAPSHOT = SNAPSHOT + ".new";
+    /** Generation file name. */
+    static final String GENERATION = "generation";
+    /** Suffix of logs being merged. */
+    static final String MERGING = ".merging";
+    /** Compaction lock file name. */
+    private static final String LOCK = "compact.lock";
+    /** Delta log file name pattern. */
+    private static final String LOGS = "delta-*.log";
+    private static final long serialVersionUID = 1L;
+
+    /** The history directory. */
+    private final transient Path dir;
+    /** This launcher's delta log. */
+    private final transient FileChannel log;
+    /** Lock on the delta log, held while it is open. */
+    private final transient FileLock logLock;
+    /** Reusable record buffer. */
+    private transient byte[] record = new byte[64];
+    /** Generation this launcher's log belongs to. */
+    private transient long generation;
+    /** Merged plays, mapped. */
+    private transient HistorySnapshot snapshot;
+    /** Plays recorded since the snapshot was opened, by game. */
+    private final transient Map<String, HistorySnapshot.Stats> local =
+        new LinkedHashMap<>();
+
+    /**
+     * Creates a history on an open delta log.
+     * @param directory the history directory
+     * @param merged the snapshot
+     * @param deltaLog the delta log
+     * @param lock lock on the delta log
+     * @param logGeneration generation the log belongs to
+     */
+    private SharedHistory(final Path directory, final HistorySnapshot merged,
+                          final FileChannel deltaLog, final FileLock lock,
+                          final long logGeneration) {
+        this.dir = directory;
+        this.snapshot = merged;
+        this.log = deltaLog;
+        this.logLock = lock;
+        this.generation = logGeneration;
+    }
+
+    /**
+     * Opens the shared history, merging the logs of exited launchers.
+     * @param directory the history directory, created if needed
+     * @return the history
+     * @throws IOException if the directory cannot be used
+     */
+    static SharedHistory open(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (FileChannel lockFile = lockFile(directory)) {
+            lockFile.lock();
+            compactLocked(directory);
+            HistorySnapshot merged = HistorySnapshot.open(directory.resolve(SNAPSHOT));
+            // Created under the compaction lock so that no compaction
+            // sees it before it is locked.
+            Path file;
+            int n = 0;
+            do {
+                file = directory.resolve("delta-" + ProcessHandle.current().pid()
+                                         + "-" + n++ + ".log");
+            } while (Files.exists(file));
+            FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            FileLock logLock = channel.lock();
+            long generation = readGeneration(directory);
+            writeLogHeader(channel, generation);
+            return new SharedHistory(directory, merged, channel, logLock,
+                                     generation);
+        }
+    }
+
+    /**
+     * Starts a delta log: empties it and writes its header.
+     * @param channel the locked log
+     * @param generation the generation it belongs to
+     * @throws IOException if it cannot be written
+     */
+    private static void writeLogHeader(final FileChannel channel,
+                                       final long generation)
+        throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER);
+        header.put(LOG_MAGIC).put((byte) LOG_VERSION).putLong(generation).flip();
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Reads how many times the history was cleared.
+     * @param directory the history directory
+     * @return the generation, 0 if never cleared
+     * @throws IOException if the file cannot be read
+     */
+    static long readGeneration(final Path directory) throws IOException {
+        Path file = directory.resolve(GENERATION);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length != Long.BYTES) {
+            throw new IOException("malformed generation file");
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    /**
+     * Merges the logs of exited launchers into the snapshot.
+     * @param directory the history directory
+     * @return the number of logs merged
+     * @throws IOException if the snapshot cannot be written
+     */
+    static int compact(final Path directory) throws IOException {
+        try (FileChannel lockFile = lockFile(directory)) {
+            lockFile.lock();
+            return compactLocked(directory);
+        }
+    }
+
+    /**
+     * Opens the compaction lock file. Closing the channel releases a
+     * lock taken on it.
+     * @param directory the history directory
+     * @return the channel
+     * @throws IOException if it cannot be opened
+     */
+    private static FileChannel lockFile(final Path directory) throws IOException {
+        return FileChannel.open(directory.resolve(LOCK),
+                                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Merges the logs of exited launchers; the caller holds the
+     * compaction lock.
+     * @param directory the history directory
+     * @return the number of logs merged
+     * @throws IOException if the snapshot cannot be written
+     */
+    private static int compactLocked(final Path directory) throws IOException {
+        GameEvents.HistoryIo event = GameEvents.beginHistoryIo();
+        Path snapshotFile = directory.resolve(SNAPSHOT);
+        Path next = directory.resolve(NEXT_SNAPSHOT);
+        if (Files.exists(next)) {
+            // Cut short after writing the snapshot: its plays include
+            // those of the renamed logs.
+            deleteMerging(directory);
+            replace(next, snapshotFile);
+        }
+        long generation = readGeneration(directory);
+        Map<String, HistorySnapshot.Stats> merged = null;
+        int done = 0;
+        // Logs renamed by a compaction cut short before its snapshot.
+        try (DirectoryStream<Path> logs =
+                 Files.newDirectoryStream(directory, LOGS + MERGING)) {
+            for (Path file : logs) {
+                if (merged == null) {
+                    merged = HistorySnapshot.open(snapshotFile).all();
+                }
+                readLog(Files.readAllBytes(file), merged, generation);
+                done++;
+            }
+        }
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory, LOGS)) {
+            for (Path file : logs) {
+                byte[] contents = readIfUnlocked(file);
+                if (contents == null) {
+                    continue;
+                }
+                if (merged == null) {
+                    merged = HistorySnapshot.open(snapshotFile).all();
+                }
+                readLog(contents, merged, generation);
+                Files.move(file, file.resolveSibling(file.getFileName() + MERGING));
+                done++;
+            }
+        }
+        if (merged != null) {
+            HistorySnapshot.write(next, merged);
+            deleteMerging(directory);
+            replace(next, snapshotFile);
+        }
+        GameEvents.endHistoryIo(event, "compact", snapshotFile.toString(), true);
+        return done;
+    }
+
+    /**
+     * Deletes the logs renamed for merging.
+     * @param directory the history directory
+     * @throws IOException if one cannot be deleted
+     */
+    private static void deleteMerging(final Path directory) throws IOException {
+        try (DirectoryStream<Path> logs =
+                 Files.newDirectoryStream(directory, LOGS + MERGING)) {
+            for (Path file : logs) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Moves a file over another, atomically where the platform can.
+     * @param source the new file
+     * @param target the file it replaces
+     * @throws IOException if it cannot be moved
+     */
+    private static void replace(final Path source, final Path target)
+        throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+                       StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a delta log if no launcher holds it.
+     * @param file the log
+     * @return its contents, or null if it is in use
+     * @throws IOException if it cannot be read
+     */
+    private static byte[] readIfUnlocked(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                return null;
+            }
+            if (lock == null) {
+                return null;
+            }
+            try {
+                ByteBuffer contents = ByteBuffer.allocate((int) channel.size());
+                while (contents.hasRemaining() && channel.read(contents) >= 0) {
+                    continue;
+                }
+                return contents.array();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Adds the plays of a delta log to stats, unless the history was
+     * cleared after the log was started.
+     * @param contents the log
+     * @param stats stats by game, updated
+     * @param generation the current generation
+     */
+    static void readLog(final byte[] contents,
+                        final Map<String, HistorySnapshot.Stats> stats,
+                        final long generation) {
+        ByteBuffer in = ByteBuffer.wrap(contents);
+        byte[] magic = new byte[LOG_MAGIC.length];
+        if (in.remaining() < magic.length + 1) {
+            return;
+        }
+        in.get(magic);
+        int version = in.get();
+        if (!Arrays.equals(magic, LOG_MAGIC)
+            || version != 1 && version != LOG_VERSION) {
+            return;
+        }
+        long started = 0;
+        if (version == LOG_VERSION) {
+            if (in.remaining() < Long.BYTES) {
+                return;
+            }
+            started = in.getLong();
+        }
+        if (started != generation) {
+            return;
+        }
+        while (in.hasRemaining()) {
+            try {
+                long length = Varint.get(in);
+                if (length > in.remaining()) {
+                    return;
+                }
+                byte[] name = new byte[(int) length];
+                in.get(name);
+                long code = Varint.get(in);
+                Integer score = code == 0 ? null : (int) Varint.unzigzag(code - 1);
+                stats.merge(new String(name, StandardCharsets.UTF_8),
+                            HistorySnapshot.Stats.NONE.plus(score),
+                            HistorySnapshot.Stats::plus);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records a play in this launcher's delta log.
+     * @param gameName the name of the game played
+     * @param score optional numeric score (nullable)
+     */
+    @Override
+    public synchronized void recordPlay(final String gameName,
+                                        final Integer score) {
+        try {
+            long current = readGeneration(dir);
+            if (current != generation) {
+                // Cleared by another launcher: drop what came before.
+                writeLogHeader(log, current);
+                generation = current;
+                snapshot = HistorySnapshot.open(dir.resolve(SNAPSHOT));
+                local.clear();
+            }
+        } catch (IOException e) {
+            System.out.println("shared history read failed: " + e.getMessage());
+        }
+        local.merge(gameName, HistorySnapshot.Stats.NONE.plus(score),
+                    HistorySnapshot.Stats::plus);
+        byte[] name = gameName.getBytes(StandardCharsets.UTF_8);
+        int size = name.length + 2 * Varint.MAX_BYTES;
+        if (record.length < size) {
+            record = new byte[size];
+        }
+        int p = Varint.put(record, 0, name.length);
+        System.arraycopy(name, 0, record, p, name.length);
+        p += name.length;
+        p = Varint.put(record, p, score == null ? 0 : Varint.zigzag(score) + 1);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(record, 0, p);
+            while (buffer.hasRemaining()) {
+                log.write(buffer);
+            }
+        } catch (IOException e) {
+            System.out.println("shared history write failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the stats of a game: the snapshot plus this launcher's
+     * plays.
+     * @param gameName the game
+     * @return the stats, Stats.NONE if never played
+     */
+    synchronized HistorySnapshot.Stats stats(final String gameName) {
+        HistorySnapshot.Stats merged = snapshot.stats(gameName);
+        HistorySnapshot.Stats mine = local.get(gameName);
+        HistorySnapshot.Stats stats = merged == null ? HistorySnapshot.Stats.NONE : merged;
+        return mine == null ? stats : stats.plus(mine);
+    }
+
+    /**
+     * Returns the stats of every game: the snapshot plus this launcher's
+     * plays.
+     * @return summaries by game name
+     */
+    @Override
+    synchronized List<HistoryQuery.Summary> summaries() {
+        Map<String, HistorySnapshot.Stats> stats = snapshot.all();
+        local.forEach((game, s) -> stats.merge(game, s, HistorySnapshot.Stats::plus));
+        return HistoryQuery.summarize(stats, HistoryQuery.BY_NAME);
+    }
+
+    /**
+     * Forces this launcher's plays to disk.
+     * @param filename not used; the history is in its directory
+     * @throws IOException if the log cannot be forced
+     */
+    @Override
+    public void saveHistory(final String filename) throws IOException {
+        log.force(false);
+    }
+
+    /**
+     * Forgets all merged plays, this launcher's own and those of
+     * launchers still running.
+     */
+    @Override
+    synchronized void clear() {
+        try (FileChannel lockFile = lockFile(dir)) {
+            lockFile.lock();
+            long cleared = readGeneration(dir) + 1;
+            GameHistoryTracker.writeAtomically(dir.resolve(GENERATION),
+                ByteBuffer.allocate(Long.BYTES).putLong(cleared).array());
+            compactLocked(dir);
+            HistorySnapshot.write(dir.resolve(SNAPSHOT), new LinkedHashMap<>());
+            snapshot = HistorySnapshot.open(dir.resolve(SNAPSHOT));
+            writeLogHeader(log, cleared);
+            generation = cleared;
+            local.clear();
+        } catch (IOException e) {
+            System.out.println("shared history clear failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes this launcher's log and merges it into the snapshot.
+     */
+    @Override
+    synchronized void close() {
+        if (!log.isOpen()) {
+            return;
+        }
+        try {
+            log.force(false);
+            logLock.release();
+            log.close();
+            compact(dir);
+        } catch (IOException e) {
+            System.out.println("shared history compaction failed: " + e.getMessage());
+        }
+    }
+}
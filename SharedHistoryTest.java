@@ -0,0 +1,189 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Tests for HistorySnapshot and SharedHistory.
+ * @version 1
+ */
+public class SharedHistoryTest {
+
+    /**
+     * Counts the delta logs in a directory.
+     * @param dir the directory
+     * @return the number of logs
+     * @throws IOException if the directory cannot be listed
+     */
+    private static long logs(final Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith("delta-"))
+                        .count();
+        }
+    }
+
+    @Test
+    public void testSnapshotLookups(@TempDir final Path dir) throws IOException {
+        Map<String, HistorySnapshot.Stats> stats = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            stats.put("Game " + i, HistorySnapshot.Stats.NONE.plus(i).plus((Integer) null));
+        }
+        Path file = dir.resolve("history.snap");
+        HistorySnapshot.write(file, stats);
+
+        HistorySnapshot snapshot = HistorySnapshot.open(file);
+        assertEquals(100, snapshot.size());
+        assertEquals("plays 2, scored 1, total 42, range 42..42",
+                     snapshot.stats("Game 42").toString());
+        assertNull(snapshot.stats("Game 100"));
+        assertEquals(stats.toString(), snapshot.all().toString());
+        assertEquals(0, HistorySnapshot.open(dir.resolve("none")).size());
+
+        Files.write(file, new byte[] {'C', 'G', 'H', 'S', 0, 0, 0, 9});
+        assertThrows(IOException.class, () -> HistorySnapshot.open(file));
+    }
+
+    @Test
+    public void testPlaysAreMergedOnClose(@TempDir final Path dir)
+        throws IOException {
+        SharedHistory first = SharedHistory.open(dir);
+        first.recordPlay("Snake", 10);
+        first.recordPlay("Snake", 20);
+        first.recordPlay("Sudoku", null);
+        assertEquals("plays 2, scored 2, total 30, range 10..20",
+                     first.stats("Snake").toString());
+        assertEquals(1, logs(dir));
+        first.close();
+        assertEquals(0, logs(dir));
+
+        SharedHistory second = SharedHistory.open(dir);
+        second.recordPlay("Snake", -5);
+        assertEquals("plays 3, scored 3, total 25, range -5..20",
+                     second.stats("Snake").toString());
+        assertEquals("plays 1, scored 0, total 0",
+                     second.stats("Sudoku").toString());
+        second.close();
+    }
+
+    @Test
+    public void testRunningLaunchersKeepTheirLogs(@TempDir final Path dir)
+        throws IOException {
+        SharedHistory running = SharedHistory.open(dir);
+        running.recordPlay("Jotto", 3);
+        running.saveHistory("ignored");
+
+        SharedHistory other = SharedHistory.open(dir);
+        assertEquals(0, SharedHistory.compact(dir));
+        assertEquals(2, logs(dir));
+        assertEquals(0, other.stats("Jotto").plays());
+        other.close();
+
+        running.close();
+        assertEquals(0, logs(dir));
+        assertEquals(1, HistorySnapshot.open(dir.resolve(SharedHistory.SNAPSHOT))
+                            .stats("Jotto").plays());
+    }
+
+    @Test
+    public void testLogOfCrashedLauncherIsMerged(@TempDir final Path dir)
+        throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        log.write(SharedHistory.LOG_MAGIC);
+        log.write(SharedHistory.LOG_VERSION);
+        log.write(new byte[Long.BYTES]);
+        log.write(new byte[] {5, 'S', 'n', 'a', 'k', 'e', 0});
+        log.write(new byte[] {5, 'S', 'n', 'a', 'k', 'e', 15});
+        log.write(new byte[] {5, 'S', 'n'});
+        Files.write(dir.resolve("delta-1-0.log"), log.toByteArray());
+
+        SharedHistory history = SharedHistory.open(dir);
+        assertEquals("plays 2, scored 1, total 7, range 7..7",
+                     history.stats("Snake").toString());
+        assertFalse(Files.exists(dir.resolve("delta-1-0.log")));
+        history.close();
+    }
+
+    @Test
+    public void testInterruptedCompactionCountsPlaysOnce(@TempDir final Path dir)
+        throws IOException {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        log.write(SharedHistory.LOG_MAGIC);
+        log.write(SharedHistory.LOG_VERSION);
+        log.write(new byte[Long.BYTES]);
+        log.write(new byte[] {5, 'S', 'n', 'a', 'k', 'e', 0});
+        Map<String, HistorySnapshot.Stats> merged = new LinkedHashMap<>();
+        merged.put("Snake", HistorySnapshot.Stats.NONE.plus((Integer) null));
+
+        // Cut short after writing the new snapshot: the log is in it.
+        Files.write(dir.resolve("delta-1-0.log" + SharedHistory.MERGING),
+                    log.toByteArray());
+        HistorySnapshot.write(dir.resolve(SharedHistory.NEXT_SNAPSHOT), merged);
+        SharedHistory history = SharedHistory.open(dir);
+        assertEquals(1, history.stats("Snake").plays());
+        history.close();
+
+        // Cut short before it: the renamed log is merged again.
+        Files.write(dir.resolve("delta-2-0.log" + SharedHistory.MERGING),
+                    log.toByteArray());
+        history = SharedHistory.open(dir);
+        assertEquals(2, history.stats("Snake").plays());
+        history.close();
+        assertEquals(0, logs(dir));
+        assertFalse(Files.exists(dir.resolve(SharedHistory.NEXT_SNAPSHOT)));
+    }
+
+    @Test
+    public void testClearDropsPlaysOfRunningLaunchers(@TempDir final Path dir)
+        throws IOException {
+        SharedHistory running = SharedHistory.open(dir);
+        running.recordPlay("Snake", 10);
+        SharedHistory stopped = SharedHistory.open(dir);
+        stopped.recordPlay("Snake", 20);
+        stopped.close();
+
+        SharedHistory clearing = SharedHistory.open(dir);
+        clearing.clear();
+        clearing.close();
+        running.recordPlay("Jotto", 3);
+        assertEquals(0, running.stats("Snake").plays());
+        running.close();
+
+        HistorySnapshot merged =
+            HistorySnapshot.open(dir.resolve(SharedHistory.SNAPSHOT));
+        assertNull(merged.stats("Snake"));
+        assertEquals(1, merged.stats("Jotto").plays());
+    }
+
+    @Test
+    public void testClearAndDisplay(@TempDir final Path dir) throws IOException {
+        SharedHistory history = SharedHistory.open(dir);
+        history.recordPlay("Wordle", 4);
+        history.recordPlay("Wordle", 6);
+        PrintStream console = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(out));
+            history.displayHistory();
+            history.clearHistory("ignored");
+            history.displayHistory();
+        } finally {
+            System.setOut(console);
+        }
+        assertTrue(out.toString().contains("Wordle - Played: 2, Avg Score: 5.00"));
+        assertTrue(out.toString().contains("No games played yet."));
+        history.close();
+        assertEquals(0, HistorySnapshot.open(dir.resolve(SharedHistory.SNAPSHOT))
+                            .size());
+    }
+}
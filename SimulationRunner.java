@@ -0,0 +1,416 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays the registered games headless, many at a time, with bots.
+ * <pre>
+ * Run with
+ *   java -cp build/classes SimulationRunner [options]
+ *     --games N      games of each kind (default 1000)
+ *     --threads N    worker threads (default: available processors)
+ *     --steps N      most input lines per game (default 500)
+ *     --only NAME    only games whose name contains NAME
+ *     --min-rate N   exit with status 1 below N games per second
+ *     --seed S       seed for reproducible runs (default: fresh seeds)
+ *
+ * Every simulated game is a fresh instance created from the catalog of
+ * GameRegistry.discover() on the GameConsole of a BotConsole, and
+ * played on a worker thread. System.in and System.out are never
+ * touched, so other code can keep using the console meanwhile; plugin
+ * games that can only play on the system console are left out. Work
+ * is split into batches of BATCH_SIZE games; each batch tallies
+ * locally and merges into the shared results and the
+ * GameHistoryTracker once, under the lock of each.
+ * Each game gets its own GameRandom session. With a seed, game n of
+ * kind k is seeded from (seed, k, n), so a run can be repeated exactly
+ * whatever the number of threads.
+ * The report gives overall games per second and, per game, aborted
+ * games (step limit reached or exception), CPU time per game from
+ * ThreadMXBean, input lines per game and a histogram of the scores.
+ * </pre>
+ * @version 1
+ */
+final class SimulationRunner {
+    /** Default games of each kind. */
+    static final int DEFAULT_GAMES = 1000;
+    /** Default most input lines per game. */
+    static final int DEFAULT_STEP_LIMIT = 500;
+    /** Games per batch of work. */
+    private static final int BATCH_SIZE = 64;
+    /** Most histogram buckets shown per game. */
+    private static final int HISTOGRAM_BUCKETS = 10;
+    /** Nanoseconds per second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+    /** Nanoseconds per microsecond. */
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    /** The games to simulate. */
+    private final List<GameDescriptor> games;
+    /** Most input lines per game. */
+    private final int stepLimit;
+    /** Worker threads. */
+    private final int threads;
+    /** History fed with every result. */
+    private final GameHistoryTracker tracker;
+    /** Seed all game seeds derive from, or null for fresh seeds. */
+    private Long seed;
+
+    /**
+     * Creates a runner.
+     * @param catalog the games to simulate
+     * @param limit most input lines per game
+     * @param threadCount worker threads
+     * @param history tracker to record results in
+     */
+    SimulationRunner(final List<GameDescriptor> catalog, final int limit,
+                     final int threadCount, final GameHistoryTracker history) {
+        this.games = catalog;
+        this.stepLimit = limit;
+        this.threads = threadCount;
+        this.tracker = history;
+    }
+
+    /**
+     * Makes every game's random choices derive from one seed.
+     * @param runSeed the seed
+     */
+    void setSeed(final long runSeed) {
+        this.seed = runSeed;
+    }
+
+    /**
+     * Runs the simulation from the command line.
+     * @param args options, see the class comment
+     */
+    public static void main(final String[] args) {
+        int count = DEFAULT_GAMES;
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        int limit = DEFAULT_STEP_LIMIT;
+        String only = "";
+        double minRate = 0;
+        Long runSeed = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games":
+                    count = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--threads":
+                    threadCount = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--steps":
+                    limit = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--only":
+                    only = args[i + 1];
+                    break;
+                case "--min-rate":
+                    minRate = Double.parseDouble(args[i + 1]);
+                    break;
+                case "--seed":
+                    runSeed = Long.parseLong(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        System.setProperty(MemoryMatchGame.HEADLESS_PROPERTY, "true");
+        List<GameDescriptor> selected = new ArrayList<>();
+        for (GameDescriptor game : GameRegistry.discover()) {
+            if (game.name().contains(only) && game.playsOnAnyConsole()) {
+                selected.add(game);
+            }
+        }
+        GameHistoryTracker history = new GameHistoryTracker();
+        SimulationRunner runner =
+            new SimulationRunner(selected, limit, threadCount, history);
+        if (runSeed != null) {
+            runner.setSeed(runSeed);
+        }
+        Report report = runner.run(count);
+        report.print(threadCount);
+        history.displayHistory();
+        if (report.gamesPerSecond() < minRate) {
+            System.out.printf("FAILED: %.0f games/s is below %.0f%n",
+                              report.gamesPerSecond(), minRate);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays a number of games of each kind.
+     * @param count games of each kind
+     * @return the results
+     */
+    Report run(final int count) {
+        ThreadMXBean cpu = ManagementFactory.getThreadMXBean();
+        List<Tally> tallies = new ArrayList<>();
+        for (GameDescriptor game : games) {
+            tallies.add(new Tally(game.name()));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (int g = 0; g < games.size(); g++) {
+                for (int done = 0; done < count; done += BATCH_SIZE) {
+                    int index = g;
+                    int first = done;
+                    int size = Math.min(BATCH_SIZE, count - done);
+                    batches.add(pool.submit(() -> playBatch(
+                        index, first, size, tallies.get(index), cpu)));
+                }
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Report(tallies, System.nanoTime() - start);
+    }
+
+    /**
+     * Plays a batch of games of one kind and merges the results.
+     * @param index which game
+     * @param first number of the batch's first game of this kind
+     * @param size number of games
+     * @param shared the game's shared tally
+     * @param cpu source of thread CPU times
+     */
+    private void playBatch(final int index, final int first, final int size,
+                           final Tally shared, final ThreadMXBean cpu) {
+        Tally local = new Tally(shared.name);
+        List<Integer> scores = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (seed == null) {
+                GameRandom.newSession();
+            } else {
+                GameRandom.newSession(seed + ((long) index << 32) + first + i);
+            }
+            BotConsole console = new BotConsole(
+                GameBots.forGame(shared.name), stepLimit);
+            long cpuStart = cpu.getCurrentThreadCpuTime();
+            Integer score = null;
+            boolean aborted = false;
+            try {
+                Optional<Integer> result =
+                    games.get(index).create(console.console()).play();
+                score = result.orElse(null);
+            } catch (RuntimeException e) {
+                aborted = true;
+            }
+            local.add(score, aborted, console.steps(),
+                      cpu.getCurrentThreadCpuTime() - cpuStart);
+            if (!aborted) {
+                scores.add(score);
+            }
+        }
+        shared.merge(local);
+        synchronized (tracker) {
+            for (Integer score : scores) {
+                tracker.recordPlay(shared.name, score);
+            }
+        }
+    }
+
+    /**
+     * Results of one kind of game.
+     */
+    static final class Tally {
+        /** The game's name. */
+        private final String name;
+        /** Games played. */
+        private long played;
+        /** Games that hit the step limit or threw. */
+        private long aborted;
+        /** Input lines entered. */
+        private long steps;
+        /** CPU time spent. */
+        private long cpuNanos;
+        /** Number of games with each score. */
+        private final TreeMap<Integer, Long> scores = new TreeMap<>();
+
+        /**
+         * Creates an empty tally.
+         * @param gameName the game's name
+         */
+        Tally(final String gameName) {
+            this.name = gameName;
+        }
+
+        /**
+         * Adds one game.
+         * @param score the score, or null
+         * @param failed whether the game was aborted
+         * @param lines input lines entered
+         * @param nanos CPU time spent
+         */
+        void add(final Integer score, final boolean failed, final int lines,
+                 final long nanos) {
+            played++;
+            steps += lines;
+            cpuNanos += nanos;
+            if (failed) {
+                aborted++;
+            } else if (score != null) {
+                scores.merge(score, 1L, Long::sum);
+            }
+        }
+
+        /**
+         * Adds another tally of the same game.
+         * @param other the other tally
+         */
+        synchronized void merge(final Tally other) {
+            played += other.played;
+            aborted += other.aborted;
+            steps += other.steps;
+            cpuNanos += other.cpuNanos;
+            other.scores.forEach((score, n) -> scores.merge(score, n, Long::sum));
+        }
+
+        /**
+         * Returns the game's name.
+         * @return the name
+         */
+        String name() {
+            return name;
+        }
+
+        /**
+         * Returns the number of games played.
+         * @return games played
+         */
+        synchronized long played() {
+            return played;
+        }
+
+        /**
+         * Returns the number of aborted games.
+         * @return aborted games
+         */
+        synchronized long aborted() {
+            return aborted;
+        }
+
+        /**
+         * Returns the number of games with each score.
+         * @return a copy of the score counts
+         */
+        synchronized Map<Integer, Long> scores() {
+            return new TreeMap<>(scores);
+        }
+
+        /**
+         * Formats the score distribution: one entry per score, or equal
+         * ranges of scores when there are many.
+         * @return e.g. "0:12 1:30" or "0-9:40 10-19:2"
+         */
+        synchronized String histogram() {
+            if (scores.isEmpty()) {
+                return "-";
+            }
+            StringBuilder text = new StringBuilder();
+            if (scores.size() <= HISTOGRAM_BUCKETS) {
+                scores.forEach((score, n) ->
+                    text.append(score).append(':').append(n).append(' '));
+                return text.toString().trim();
+            }
+            int low = scores.firstKey();
+            int high = scores.lastKey();
+            int width = (high - low) / HISTOGRAM_BUCKETS + 1;
+            for (int from = low; from <= high; from += width) {
+                int to = from + width - 1;
+                long n = 0;
+                for (long c : scores.subMap(from, true, to, true).values()) {
+                    n += c;
+                }
+                text.append(from).append('-').append(to).append(':')
+                    .append(n).append(' ');
+            }
+            return text.toString().trim();
+        }
+    }
+
+    /**
+     * Results of a simulation run.
+     */
+    static final class Report {
+        /** Per-game results. */
+        private final List<Tally> tallies;
+        /** Wall-clock time. */
+        private final long elapsedNanos;
+
+        /**
+         * Creates a report.
+         * @param results per-game results
+         * @param nanos wall-clock time
+         */
+        Report(final List<Tally> results, final long nanos) {
+            this.tallies = results;
+            this.elapsedNanos = nanos;
+        }
+
+        /**
+         * Returns the per-game results.
+         * @return one tally per game
+         */
+        List<Tally> tallies() {
+            return tallies;
+        }
+
+        /**
+         * Returns the total number of games played.
+         * @return games played
+         */
+        long totalGames() {
+            long total = 0;
+            for (Tally tally : tallies) {
+                total += tally.played();
+            }
+            return total;
+        }
+
+        /**
+         * Returns the overall throughput.
+         * @return games per second of wall-clock time
+         */
+        double gamesPerSecond() {
+            return totalGames() * NANOS_PER_SECOND / Math.max(1, elapsedNanos);
+        }
+
+        /**
+         * Prints the report to System.out.
+         * @param threadCount worker threads used
+         */
+        void print(final int threadCount) {
+            System.out.printf("%,d games in %.2f s on %d threads: %,.0f games/s%n",
+                              totalGames(), elapsedNanos / NANOS_PER_SECOND,
+                              threadCount, gamesPerSecond());
+            System.out.printf("%-14s %9s %8s %10s %8s  %s%n", "Game", "Played",
+                              "Aborted", "CPU us", "Steps", "Scores");
+            for (Tally t : tallies) {
+                long n = Math.max(1, t.played);
+                System.out.printf("%-14s %,9d %,8d %10.1f %8.1f  %s%n",
+                                  t.name, t.played, t.aborted,
+                                  t.cpuNanos / NANOS_PER_MICRO / n,
+                                  t.steps / (double) n, t.histogram());
+            }
+        }
+    }
+}
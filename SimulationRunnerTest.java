@@ -0,0 +1,98 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Scanner;
+
+/**
+ * Tests for SimulationRunner and BotConsole.
+ * @version 1
+ */
+public class SimulationRunnerTest {
+
+    @Test
+    public void testSimulationLeavesSystemStreamsAlone() {
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        PrintStream captured = new PrintStream(console, true);
+        System.setOut(captured);
+        try {
+            SimulationRunner runner = new SimulationRunner(
+                Arrays.asList(GameDescriptor.withConsole(
+                    "Number Guess", NumberGuessGame::new)),
+                SimulationRunner.DEFAULT_STEP_LIMIT, 4,
+                new GameHistoryTracker());
+            assertEquals(0, runner.run(200).tallies().get(0).aborted());
+            assertSame(captured, System.out);
+            assertSame(originalIn, System.in);
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertEquals("", console.toString());
+    }
+
+    @Test
+    public void testBotSeesPromptAndStepLimitEndsInput() {
+        StringBuilder prompts = new StringBuilder();
+        BotConsole console = new BotConsole(output -> {
+            prompts.append(output);
+            return "go";
+        }, 2);
+        Scanner scanner = new Scanner(console.in());
+        console.out().print("first? ");
+        assertEquals("go", scanner.nextLine());
+        console.out().print("second? ");
+        assertEquals("go", scanner.nextLine());
+        assertEquals("first? second? ", prompts.toString());
+        assertTrue(console.exhausted());
+        assertTrue(!scanner.hasNextLine());
+    }
+
+    @Test
+    public void testSimulationRecordsEveryGame() {
+        GameHistoryTracker history = new GameHistoryTracker();
+        SimulationRunner runner = new SimulationRunner(
+            Arrays.asList(GameDescriptor.withConsole(
+                              "Number Guess", NumberGuessGame::new),
+                          GameDescriptor.withConsole(
+                              "Tic-Tac-Toe", TicTacToeGame::new)),
+            SimulationRunner.DEFAULT_STEP_LIMIT, 2, history);
+        SimulationRunner.Report report = runner.run(100);
+        assertEquals(200, report.totalGames());
+        SimulationRunner.Tally numberGuess = report.tallies().get(0);
+        assertEquals("Number Guess", numberGuess.name());
+        assertEquals(100, numberGuess.played());
+        assertEquals(0, numberGuess.aborted());
+        long played = 0;
+        for (long n : numberGuess.scores().values()) {
+            played += n;
+        }
+        assertEquals(100, played);
+        // Bisection always finds a number from 1 to 100 in 7 guesses.
+        assertTrue(numberGuess.scores().keySet().stream().allMatch(s -> s > 0));
+    }
+
+    @Test
+    public void testPuzzleBotsFinishTheirGames() {
+        SimulationRunner runner = new SimulationRunner(
+            Arrays.asList(GameDescriptor.withConsole("Sudoku", SudokuGame::new),
+                          GameDescriptor.withConsole(
+                              "Lights Out", LightsOutGame::new)),
+            SimulationRunner.DEFAULT_STEP_LIMIT, 2, new GameHistoryTracker());
+        SimulationRunner.Report report = runner.run(50);
+        SimulationRunner.Tally sudoku = report.tallies().get(0);
+        assertEquals(0, sudoku.aborted());
+        assertEquals(Long.valueOf(50), sudoku.scores().get(1));
+        SimulationRunner.Tally lightsOut = report.tallies().get(1);
+        assertEquals(0, lightsOut.aborted());
+        // Boards are made with at most 11 presses, so the fewest that
+        // clear one are no more, scoring at least 100 - 11 * 5.
+        assertTrue(lightsOut.scores().keySet().stream().allMatch(s -> s >= 45),
+                   lightsOut.histogram());
+    }
+}
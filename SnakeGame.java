@@ -1,6 +1,7 @@
+import java.io.PrintStream;
 import java.util.LinkedList;
 import java.util.Optional;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
 
 /**
@@ -12,6 +13,9 @@ import java.util.Scanner;
  * Simulate the game board with a 2D array.
  * Display the game using text-based output.
  * </pre>
+ * On a terminal the snake moves by itself and turns on arrow keys or
+ * W/A/S/D as they are pressed, through TerminalInput; otherwise, as in
+ * tests, simulations and replays, it moves one step per line read.
  * @version 1
  */
 class SnakeGame implements Game {
@@ -19,10 +23,18 @@ class SnakeGame implements Game {
     private static final int WIDTH = 15;
     /** Board height. */
     private static final int HEIGHT = 10;
+    /** Time between moves in real-time play. */
+    private static final long TICK_NANOS = 150_000_000L;
+    /** ANSI: cursor home, clear screen. */
+    private static final String CLEAR_SCREEN = "\033[H\033[2J";
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
+    /** The console, checked before switching to keystroke input. */
+    private final GameConsole console;
     /** Random for food placement. */
-    private final Random random = new Random();
+    private final RandomGenerator random = GameRandom.generator();
     /** Snake body positions. */
     private LinkedList<int[]> snake;
     /** Current direction. */
@@ -36,6 +48,23 @@ class SnakeGame implements Game {
     /** Game score. */
     private int score;
 
+    /**
+     * Creates a game played on the system console.
+     */
+    SnakeGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    SnakeGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+        this.console = console;
+    }
+
     @Override
     public String getName() {
         return "Snake";
@@ -43,60 +72,109 @@ class SnakeGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println("Welcome to Snake!");
-        System.out.println("Objective: Eat food (*) to grow and score points!");
-        System.out.println("Controls: W=Up, S=Down, A=Left, D=Right, Q=Quit");
-        System.out.println("Avoid walls (#) and your own tail (o)!");
+        out.println("Welcome to Snake!");
+        out.println("Objective: Eat food (*) to grow and score points!");
+        out.println("Controls: W=Up, S=Down, A=Left, D=Right, Q=Quit");
+        out.println("Avoid walls (#) and your own tail (o)!");
 
         initGame();
 
+        Optional<TerminalInput> keys = TerminalInput.open(console);
+        if (keys.isPresent()) {
+            try (TerminalInput terminal = keys.get()) {
+                return playRealTime(terminal);
+            }
+        }
+
         while (true) {
             printBoard();
-            System.out.println("Score: " + score);
-            System.out.print("Enter direction (W/A/S/D) or Q to quit: ");
+            out.println("Score: " + score);
+            out.print("Enter direction (W/A/S/D) or Q to quit: ");
             String input = scanner.nextLine().trim().toUpperCase();
 
             if (input.equals("Q")) {
-                System.out.println("Thanks for playing! Final score: " + score);
+                out.println("Thanks for playing! Final score: " + score);
                 return Optional.of(score);
             }
 
             if (!input.isEmpty()) {
-                char dir = input.charAt(0);
-                switch (dir) {
-                    case 'W':
-                        if (dirY != 1) {
-                            dirX = 0; dirY = -1;
-                        }
-                        break;
-                    case 'S':
-                        if (dirY != -1) {
-                            dirX = 0; dirY = 1;
-                        }
-                        break;
-                    case 'A':
-                        if (dirX != 1) {
-                            dirX = -1; dirY = 0;
-                        }
-                        break;
-                    case 'D':
-                        if (dirX != -1) {
-                            dirX = 1; dirY = 0;
-                        }
-                        break;
-                    default:
-                        break;
-                }
+                steer(input.charAt(0));
             }
 
             if (!moveSnake()) {
                 printBoard();
-                System.out.println("Game Over! Final score: " + score);
+                out.println("Game Over! Final score: " + score);
                 return Optional.of(score);
             }
         }
     }
 
+    /**
+     * Plays with the snake moving on its own every TICK_NANOS and
+     * turning as soon as a key is pressed.
+     * @param keys keystroke input
+     * @return the score
+     */
+    private Optional<Integer> playRealTime(final TerminalInput keys) {
+        long tick = System.nanoTime();
+        while (true) {
+            out.print(CLEAR_SCREEN);
+            printBoard();
+            out.println("Score: " + score
+                        + "   Arrows or W/A/S/D steer, Q quits");
+            tick += TICK_NANOS;
+            for (long left = tick - System.nanoTime(); left > 0;
+                 left = tick - System.nanoTime()) {
+                int key = keys.pollKey(left);
+                if (key == 'q' || key == 'Q' || key == TerminalInput.KEY_ESCAPE
+                    || key == TerminalInput.KEY_EOF) {
+                    out.println("Thanks for playing! Final score: " + score);
+                    return Optional.of(score);
+                }
+                steer(key);
+            }
+            if (!moveSnake()) {
+                out.print(CLEAR_SCREEN);
+                printBoard();
+                out.println("Game Over! Final score: " + score);
+                return Optional.of(score);
+            }
+        }
+    }
+
+    /**
+     * Turns the snake, unless that would take it back the way it came.
+     * @param key W, A, S, D in either case, or an arrow key; others are
+     *            ignored
+     */
+    private void steer(final int key) {
+        int x;
+        int y;
+        if (key == 'W' || key == 'w' || key == TerminalInput.KEY_UP) {
+            x = 0;
+            y = -1;
+        } else if (key == 'S' || key == 's' || key == TerminalInput.KEY_DOWN) {
+            x = 0;
+            y = 1;
+        } else if (key == 'A' || key == 'a' || key == TerminalInput.KEY_LEFT) {
+            x = -1;
+            y = 0;
+        } else if (key == 'D' || key == 'd' || key == TerminalInput.KEY_RIGHT) {
+            x = 1;
+            y = 0;
+        } else {
+            return;
+        }
+        // Compare with the last move, not the last key, so two quick
+        // turns between moves cannot reverse into the neck.
+        int[] head = snake.getFirst();
+        int[] neck = snake.get(1);
+        if (head[0] - neck[0] != -x || head[1] - neck[1] != -y) {
+            dirX = x;
+            dirY = y;
+        }
+    }
+
     private void initGame() {
         snake = new LinkedList<>();
         int startX = WIDTH / 2;
@@ -159,14 +237,15 @@ class SnakeGame implements Game {
     }
 
     private void printBoard() {
+        GameEvents.RenderFrame frame = GameEvents.beginRender();
         // Top border
         for (int i = 0; i < WIDTH + 2; i++) {
-            System.out.print("#");
+            out.print("#");
         }
-        System.out.println();
+        out.println();
 
         for (int y = 0; y < HEIGHT; y++) {
-            System.out.print("#");
+            out.print("#");
             for (int x = 0; x < WIDTH; x++) {
                 char c = ' ';
                 if (x == foodX && y == foodY) {
@@ -181,15 +260,16 @@ class SnakeGame implements Game {
                         isHead = false;
                     }
                 }
-                System.out.print(c);
+                out.print(c);
             }
-            System.out.println("#");
+            out.println("#");
         }
 
         // Bottom border
         for (int i = 0; i < WIDTH + 2; i++) {
-            System.out.print("#");
+            out.print("#");
         }
-        System.out.println();
+        out.println();
+        GameEvents.endRender(frame, getName());
     }
 }
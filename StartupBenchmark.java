@@ -0,0 +1,154 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures time-to-menu of the launcher, with and without the
+ * class-data-sharing archive.
+ * <pre>
+ * Run after "ant cds" with
+ *   java -cp build/classes StartupBenchmark [runs]
+ * Each run starts a new JVM on the launcher jar and times how long it
+ * takes until the menu prompt appears on its output, logging in as a
+ * guest on the way, then enters 0 to exit. The JVMs run in a temporary
+ * directory so that no history file is written here. The first runs of
+ * each variant warm the file cache and are not counted.
+ * </pre>
+ * @version 1
+ */
+final class StartupBenchmark {
+    /** Timed runs per variant when no count is given. */
+    private static final int DEFAULT_RUNS = 10;
+    /** Untimed runs per variant. */
+    private static final int WARMUP_RUNS = 2;
+    /** The launcher jar, built by "ant jar". */
+    private static final String JAR = "build/jar/ConsoleGameHub.jar";
+    /** The archive, built by "ant cds". */
+    private static final String ARCHIVE = "build/cds/ConsoleGameHub.jsa";
+    /** What the launcher prints when the menu is ready. */
+    private static final byte[] PROMPT =
+        "Choose a game: ".getBytes(StandardCharsets.UTF_8);
+    /** Nanoseconds per millisecond. */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Prevent Instantiation.
+     */
+    private StartupBenchmark() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args optional number of timed runs per variant
+     * @throws IOException if a JVM cannot be started
+     * @throws InterruptedException if interrupted while waiting for one
+     */
+    public static void main(final String[] args)
+        throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        File jar = new File(JAR).getAbsoluteFile();
+        File archive = new File(ARCHIVE).getAbsoluteFile();
+        if (!jar.isFile()) {
+            System.out.println("Build the jar first: ant jar");
+            System.exit(2);
+        }
+        File dir = File.createTempFile("startup", "");
+        if (!dir.delete() || !dir.mkdir()) {
+            throw new IOException("cannot create " + dir);
+        }
+        try {
+            run("default CDS", jar, dir, runs, null);
+            if (archive.isFile()) {
+                run("AppCDS archive", jar, dir, runs,
+                    "-XX:SharedArchiveFile=" + archive.getPath());
+            } else {
+                System.out.println("No archive at " + ARCHIVE + "; run ant cds");
+            }
+            run("CDS off", jar, dir, runs, "-Xshare:off");
+        } finally {
+            for (File file : dir.listFiles()) {
+                file.delete();
+            }
+            dir.delete();
+        }
+    }
+
+    /**
+     * Times one variant.
+     * @param label the variant name
+     * @param jar the launcher jar
+     * @param dir working directory of the JVMs
+     * @param runs number of timed runs
+     * @param option JVM option selecting the variant, or null
+     * @throws IOException if a JVM cannot be started
+     * @throws InterruptedException if interrupted while waiting for one
+     */
+    private static void run(final String label, final File jar, final File dir,
+                            final int runs, final String option)
+        throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        if (option != null) {
+            command.add(option);
+        }
+        command.add("-jar");
+        command.add(jar.getPath());
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            timeToMenu(command, dir);
+        }
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            nanos[i] = timeToMenu(command, dir);
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-16s median %7.1f ms  min %7.1f ms  max %7.1f ms%n",
+                          label, nanos[runs / 2] / NANOS_PER_MILLI,
+                          nanos[0] / NANOS_PER_MILLI,
+                          nanos[runs - 1] / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Starts a launcher, waits for its menu and makes it exit.
+     * @param command the command line
+     * @param dir working directory
+     * @return nanoseconds from starting the process to the menu prompt
+     * @throws IOException if the process cannot be started or exits
+     *         before showing the menu
+     * @throws InterruptedException if interrupted while waiting for it
+     */
+    private static long timeToMenu(final List<String> command, final File dir)
+        throws IOException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .directory(dir)
+            .redirectErrorStream(true);
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try (InputStream out = process.getInputStream();
+             OutputStream in = process.getOutputStream()) {
+            // Answer the player name prompt: play as guest.
+            in.write("\n".getBytes(StandardCharsets.UTF_8));
+            in.flush();
+            int matched = 0;
+            while (matched < PROMPT.length) {
+                int b = out.read();
+                if (b < 0) {
+                    throw new IOException("launcher exited before the menu");
+                }
+                matched = b == PROMPT[matched] ? matched + 1
+                        : b == PROMPT[0] ? 1 : 0;
+            }
+            long elapsed = System.nanoTime() - start;
+            in.write("0\n".getBytes(StandardCharsets.UTF_8));
+            in.flush();
+            out.transferTo(OutputStream.nullOutputStream());
+            process.waitFor();
+            return elapsed;
+        }
+    }
+}
@@ -1,3 +1,4 @@
+import java.io.PrintStream;
 import java.util.Optional;
 import java.util.Scanner;
 
@@ -19,7 +20,25 @@ class SudokuGame implements Game {
     /** Fixed cells that can't be changed. */
     private boolean[][] fixed;
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
+
+    /**
+     * Creates a game played on the system console.
+     */
+    SudokuGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    SudokuGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     /** Sample puzzle (0 = empty). */
     private static final int[][] PUZZLE = {
@@ -41,21 +60,21 @@ class SudokuGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println("Welcome to Sudoku!");
-        System.out.println("Fill the grid so each row, column, and 3x3 box");
-        System.out.println("contains digits 1-9 without repetition.");
-        System.out.println("Commands: 'row col value' to set, "
+        out.println("Welcome to Sudoku!");
+        out.println("Fill the grid so each row, column, and 3x3 box");
+        out.println("contains digits 1-9 without repetition.");
+        out.println("Commands: 'row col value' to set, "
             + "'c row col' to clear, 'q' to quit");
 
         initGame();
         printBoard();
 
         while (true) {
-            System.out.print("Enter command: ");
+            out.print("Enter command: ");
             String input = scanner.nextLine().trim().toLowerCase();
 
             if (input.equals("q")) {
-                System.out.println("Thanks for playing!");
+                out.println("Thanks for playing!");
                 return Optional.of(0);
             }
 
@@ -66,19 +85,19 @@ class SudokuGame implements Game {
                     int row = Integer.parseInt(parts[1].substring(0, 1)) - 1;
                     int col = Integer.parseInt(parts[1].substring(1, 2)) - 1;
                     if (fixed[row][col]) {
-                        System.out.println("Cannot clear a fixed cell.");
+                        out.println("Cannot clear a fixed cell.");
                     } else {
                         grid[row][col] = 0;
                     }
                     printBoard();
                 } catch (Exception e) {
-                    System.out.println("Invalid. Use 'c row col'");
+                    out.println("Invalid. Use 'c row col'");
                 }
                 continue;
             }
 
             if (parts.length != 3) {
-                System.out.println("Invalid. Use 'row col value' or 'c row col'");
+                out.println("Invalid. Use 'row col value' or 'c row col'");
                 continue;
             }
 
@@ -88,15 +107,15 @@ class SudokuGame implements Game {
                 int val = Integer.parseInt(parts[2]);
 
                 if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
-                    System.out.println("Row/col must be 1-9.");
+                    out.println("Row/col must be 1-9.");
                     continue;
                 }
                 if (val < 1 || val > 9) {
-                    System.out.println("Value must be 1-9.");
+                    out.println("Value must be 1-9.");
                     continue;
                 }
                 if (fixed[row][col]) {
-                    System.out.println("Cannot modify a fixed cell.");
+                    out.println("Cannot modify a fixed cell.");
                     continue;
                 }
 
@@ -104,16 +123,16 @@ class SudokuGame implements Game {
                 printBoard();
 
                 if (!isValidPlacement(row, col, val)) {
-                    System.out.println("Warning: This creates a conflict!");
+                    out.println("Warning: This creates a conflict!");
                 }
 
                 if (isSolved()) {
-                    System.out.println("Congratulations! Puzzle solved!");
+                    out.println("Congratulations! Puzzle solved!");
                     return Optional.of(1);
                 }
 
             } catch (NumberFormatException e) {
-                System.out.println("Invalid numbers. Use 'row col value'");
+                out.println("Invalid numbers. Use 'row col value'");
             }
         }
     }
@@ -131,25 +150,27 @@ class SudokuGame implements Game {
     }
 
     private void printBoard() {
-        System.out.println("    1 2 3   4 5 6   7 8 9");
-        System.out.println("  +-------+-------+-------+");
+        GameEvents.RenderFrame frame = GameEvents.beginRender();
+        out.println("    1 2 3   4 5 6   7 8 9");
+        out.println("  +-------+-------+-------+");
         for (int r = 0; r < SIZE; r++) {
-            System.out.print((r + 1) + " | ");
+            out.print((r + 1) + " | ");
             for (int c = 0; c < SIZE; c++) {
                 if (grid[r][c] == 0) {
-                    System.out.print(". ");
+                    out.print(". ");
                 } else {
-                    System.out.print(grid[r][c] + " ");
+                    out.print(grid[r][c] + " ");
                 }
                 if ((c + 1) % 3 == 0) {
-                    System.out.print("| ");
+                    out.print("| ");
                 }
             }
-            System.out.println();
+            out.println();
             if ((r + 1) % 3 == 0) {
-                System.out.println("  +-------+-------+-------+");
+                out.println("  +-------+-------+-------+");
             }
         }
+        GameEvents.endRender(frame, getName());
     }
 
     private boolean isValidPlacement(int row, int col, int val) {
@@ -0,0 +1,541 @@
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keystroke input for real-time games.
+ * <pre>
+ * open(console) switches the terminal out of line mode with a local stty
+ * (-icanon -echo), so every key reaches the game as it is pressed, and
+ * switches it back on close() or, if the game never closes it, when the
+ * JVM exits. Ctrl-C still interrupts. Keys are read from a channel of
+ * its own on /dev/tty by a reader thread, which blocks in read() into
+ * one reusable direct buffer and hands the bytes to the game thread
+ * through a byte ring; the game thread waits for them parked, with a
+ * timeout, and is unparked when they arrive, so waiting costs no
+ * polling. Closing the channel ends the blocked read, so once close()
+ * returns the next key goes to System.in again. The game thread
+ * decodes the bytes into key codes in a ring of ints:
+ *   printable and control bytes   the byte itself
+ *   Enter (CR or LF)              KEY_ENTER
+ *   Backspace (DEL or BS)         KEY_BACKSPACE
+ *   ESC [ A..D, ESC O A..D        KEY_UP, KEY_DOWN, KEY_RIGHT, KEY_LEFT
+ *   ESC [ H, ESC [ 1~, ESC [ 7~   KEY_HOME (and ESC O H)
+ *   ESC [ F, ESC [ 4~, ESC [ 8~   KEY_END (and ESC O F)
+ *   ESC [ 3~                      KEY_DELETE
+ *   ESC with nothing after it     KEY_ESCAPE
+ * Other escape sequences are dropped. A sequence split across reads is
+ * finished by the next read; a lone ESC is reported once no more bytes
+ * are waiting. Reading, decoding and waiting allocate nothing.
+ * Games use either API, or both:
+ *   pollKey()            the next key, or KEY_NONE at once
+ *   pollKey(timeout)     the next key, or KEY_NONE after the timeout
+ *   nextKey()            the next key, waiting for it
+ *   readLine()           a line, echoed, with Backspace and Ctrl-U
+ * All but readLine return KEY_EOF once the input has ended.
+ * open() returns nothing when there is no terminal, when the game is
+ * not on the process console, or when -Dconsolegamehub.terminal=line;
+ * games then keep reading lines with a Scanner.
+ * Keys read here bypass System.in, so replay recording never sees
+ * them; the launcher checks sessions() and leaves real-time sessions
+ * out of the replay file.
+ * </pre>
+ * @version 1
+ */
+final class TerminalInput implements AutoCloseable {
+    /** Property that, set to "line", keeps the terminal in line mode. */
+    static final String MODE_PROPERTY = "consolegamehub.terminal";
+    /** No key waiting. */
+    static final int KEY_NONE = -1;
+    /** End of input. */
+    static final int KEY_EOF = -2;
+    /** Up arrow. */
+    static final int KEY_UP = -3;
+    /** Down arrow. */
+    static final int KEY_DOWN = -4;
+    /** Right arrow. */
+    static final int KEY_RIGHT = -5;
+    /** Left arrow. */
+    static final int KEY_LEFT = -6;
+    /** Escape on its own. */
+    static final int KEY_ESCAPE = -7;
+    /** Home. */
+    static final int KEY_HOME = -8;
+    /** End. */
+    static final int KEY_END = -9;
+    /** Delete. */
+    static final int KEY_DELETE = -10;
+    /** Enter. */
+    static final int KEY_ENTER = '\n';
+    /** Backspace. */
+    static final int KEY_BACKSPACE = 0x7F;
+    /** Ctrl-U, which erases the line being typed. */
+    static final int KEY_KILL_LINE = 0x15;
+    /** Keys held before the game reads them; a power of two. */
+    private static final int RING_SIZE = 256;
+    /** Bytes held before the game decodes them; a power of two. */
+    private static final int BYTE_RING_SIZE = 4096;
+    /** Longest single wait in nextKey. */
+    private static final long WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /** Decoder state: between keys. */
+    private static final int GROUND = 0;
+    /** Decoder state: after ESC. */
+    private static final int ESCAPE = 1;
+    /** Decoder state: after ESC [, reading the first parameter. */
+    private static final int CSI = 2;
+    /** Decoder state: after ESC [ and a ';', skipping parameters. */
+    private static final int CSI_SKIP = 3;
+    /** Decoder state: after ESC O. */
+    private static final int SS3 = 4;
+    /** Largest parameter kept while decoding. */
+    private static final int MAX_PARAM = 1000;
+    /** Number of times the terminal was switched to keystroke mode. */
+    private static final AtomicInteger SESSIONS = new AtomicInteger();
+
+    /** Where bytes come from; read only by the reader thread. */
+    private final ReadableByteChannel channel;
+    /** Where readLine echoes. */
+    private final PrintStream out;
+    /** Puts the terminal back; null once done. */
+    private Runnable restore;
+    /** Reader's reusable read buffer. */
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(512);
+    /** Bytes read and not yet decoded. */
+    private final byte[] bytes = new byte[BYTE_RING_SIZE];
+    /** Count of bytes put in the byte ring, by the reader. */
+    private volatile int written;
+    /** Count of bytes taken from the byte ring, by the game thread. */
+    private volatile int consumed;
+    /** Whether the channel has ended or been closed. */
+    private volatile boolean ended;
+    /** Game thread parked waiting for bytes, or null. */
+    private volatile Thread waiter;
+    /** Bytes lost because the byte ring was full. */
+    private volatile int droppedBytes;
+    /** Decoded keys. */
+    private final int[] ring = new int[RING_SIZE];
+    /** Count of keys taken from the ring. */
+    private int head;
+    /** Count of keys put in the ring. */
+    private int tail;
+    /** Keys lost because the ring was full. */
+    private int dropped;
+    /** Decoder state. */
+    private int state = GROUND;
+    /** First parameter of the escape sequence being decoded. */
+    private int param;
+    /** The line being typed, UTF-8. */
+    private byte[] line = new byte[128];
+    /** Bytes in line. */
+    private int lineLength;
+
+    /**
+     * Creates input on a channel already in keystroke mode and starts
+     * reading it.
+     * @param source where bytes come from; closed by close()
+     * @param echo where readLine echoes
+     * @param onClose puts the terminal back, or null
+     */
+    TerminalInput(final ReadableByteChannel source, final PrintStream echo,
+                  final Runnable onClose) {
+        this.channel = source;
+        this.out = echo;
+        this.restore = onClose;
+        Thread reader = new Thread(this::readLoop, "terminal-input");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Switches the terminal to keystroke mode.
+     * @param console the game's console; only the process console is
+     *        switched
+     * @return keystroke input from the terminal, or empty if the
+     *         terminal stays in line mode
+     */
+    static Optional<TerminalInput> open(final GameConsole console) {
+        if ("line".equals(System.getProperty(MODE_PROPERTY))
+            || System.console() == null || !console.isSystem()) {
+            return Optional.empty();
+        }
+        String saved = stty("-g");
+        if (saved == null) {
+            return Optional.empty();
+        }
+        FileChannel tty;
+        try {
+            tty = FileChannel.open(Paths.get("/dev/tty"), StandardOpenOption.READ);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        if (stty("-icanon", "-echo", "min", "1", "time", "0") == null) {
+            try {
+                tty.close();
+            } catch (IOException e) {
+                // Never used; nothing to lose.
+            }
+            return Optional.empty();
+        }
+        Thread hook = new Thread(() -> stty(saved), "terminal-restore");
+        Runtime.getRuntime().addShutdownHook(hook);
+        SESSIONS.incrementAndGet();
+        return Optional.of(new TerminalInput(tty, console.out(), () -> {
+            stty(saved);
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // Already exiting; the hook restores the terminal.
+            }
+        }));
+    }
+
+    /**
+     * Returns how many times open() has switched the terminal to
+     * keystroke mode. A change across a game means the game read keys
+     * that System.in never saw.
+     * @return the count
+     */
+    static int sessions() {
+        return SESSIONS.get();
+    }
+
+    /**
+     * Runs stty on the controlling terminal.
+     * @param args the stty arguments
+     * @return what stty printed, trimmed, or null if it failed
+     */
+    private static String stty(final String... args) {
+        List<String> command = new ArrayList<>(args.length + 1);
+        command.add("stty");
+        command.addAll(Arrays.asList(args));
+        try {
+            Process p = new ProcessBuilder(command)
+                .redirectInput(new File("/dev/tty"))
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            ByteArrayOutputStream printed = new ByteArrayOutputStream();
+            try (InputStream stdout = p.getInputStream()) {
+                stdout.transferTo(printed);
+            }
+            return p.waitFor() == 0
+                ? printed.toString(StandardCharsets.UTF_8).trim() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Reads the channel until it ends or is closed, passing the bytes to
+     * the game thread. Runs on the reader thread.
+     */
+    private void readLoop() {
+        try {
+            while (true) {
+                readBuffer.clear();
+                int n = channel.read(readBuffer);
+                if (n < 0) {
+                    break;
+                }
+                int w = written;
+                int keep = Math.min(n, BYTE_RING_SIZE - (w - consumed));
+                for (int i = 0; i < keep; i++) {
+                    bytes[(w + i) & (BYTE_RING_SIZE - 1)] = readBuffer.get(i);
+                }
+                if (keep < n) {
+                    droppedBytes += n - keep;
+                }
+                written = w + keep;
+                LockSupport.unpark(waiter);
+            }
+        } catch (IOException e) {
+            // Closed by close(), or the terminal went away: end of input.
+        }
+        ended = true;
+        LockSupport.unpark(waiter);
+    }
+
+    /**
+     * Returns the next key without waiting.
+     * @return the key, KEY_NONE if none is waiting, or KEY_EOF once the
+     *         input has ended
+     */
+    int pollKey() {
+        if (head == tail) {
+            drain();
+        }
+        if (head != tail) {
+            return take();
+        }
+        // ended is set after the last bytes are written, so reading it
+        // first means no bytes can still be on their way.
+        return ended && consumed == written ? KEY_EOF : KEY_NONE;
+    }
+
+    /**
+     * Returns the next key, waiting for at most a given time. The
+     * thread is parked while it waits and unparked when input arrives.
+     * @param timeoutNanos longest wait, in nanoseconds
+     * @return the key, KEY_NONE if none came in time, or KEY_EOF once
+     *         the input has ended
+     */
+    int pollKey(final long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        int key = pollKey();
+        long left = deadline - System.nanoTime();
+        while (key == KEY_NONE && left > 0) {
+            waiter = Thread.currentThread();
+            // The reader writes, then reads waiter; this thread writes
+            // waiter, then reads written. One of them sees the other.
+            if (consumed == written && !ended) {
+                LockSupport.parkNanos(this, left);
+            }
+            waiter = null;
+            key = pollKey();
+            left = deadline - System.nanoTime();
+        }
+        return key;
+    }
+
+    /**
+     * Returns the next key, waiting for it.
+     * @return the key, or KEY_EOF once the input has ended
+     */
+    int nextKey() {
+        int key = pollKey(WAIT_NANOS);
+        while (key == KEY_NONE) {
+            key = pollKey(WAIT_NANOS);
+        }
+        return key;
+    }
+
+    /**
+     * Reads a line, echoing it. Backspace erases the last character and
+     * Ctrl-U the whole line; other keys that are not text are ignored.
+     * @return the line without its end, or null at end of input
+     */
+    String readLine() {
+        lineLength = 0;
+        while (true) {
+            int key = nextKey();
+            if (key == KEY_EOF) {
+                return lineLength == 0 ? null : line();
+            } else if (key == KEY_ENTER) {
+                out.println();
+                return line();
+            } else if (key == KEY_BACKSPACE) {
+                erase(1);
+            } else if (key == KEY_KILL_LINE) {
+                erase(Integer.MAX_VALUE);
+            } else if (key >= ' ') {
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = (byte) key;
+                out.write(key);
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys, or bytes of keys, lost because the
+     * game did not read them fast enough.
+     * @return the count
+     */
+    int dropped() {
+        return dropped + droppedBytes;
+    }
+
+    /**
+     * Stops reading and puts the terminal back in line mode. Does
+     * nothing the second time.
+     */
+    @Override
+    public void close() {
+        Runnable r = restore;
+        restore = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // The reader stops either way.
+        }
+        if (r != null) {
+            r.run();
+        }
+    }
+
+    /**
+     * Decodes the bytes the reader has passed on. If the last of them
+     * is an ESC and nothing follows it yet, it is the Escape key.
+     */
+    private void drain() {
+        int c = consumed;
+        int w = written;
+        while (c != w) {
+            decode(bytes[c & (BYTE_RING_SIZE - 1)] & 0xFF);
+            c++;
+        }
+        consumed = c;
+        if (state == ESCAPE && (written == c || ended)) {
+            push(KEY_ESCAPE);
+            state = GROUND;
+        }
+    }
+
+    /**
+     * Decodes bytes into keys.
+     * @param input the bytes
+     * @param n how many of them to decode
+     */
+    void decode(final byte[] input, final int n) {
+        for (int i = 0; i < n; i++) {
+            decode(input[i] & 0xFF);
+        }
+    }
+
+    /**
+     * Decodes one byte.
+     * @param b the byte, 0 to 255
+     */
+    private void decode(final int b) {
+        if (state == ESCAPE) {
+            if (b == '[') {
+                state = CSI;
+                param = 0;
+                return;
+            }
+            if (b == 'O') {
+                state = SS3;
+                return;
+            }
+            push(KEY_ESCAPE);
+            state = GROUND;
+        } else if (state == CSI || state == CSI_SKIP) {
+            if (b >= '0' && b <= '9') {
+                if (state == CSI) {
+                    param = Math.min(param * 10 + b - '0', MAX_PARAM);
+                }
+            } else if (b == ';') {
+                state = CSI_SKIP;
+            } else {
+                if (b >= 0x40 && b <= 0x7E) {
+                    push(csi(b, param));
+                }
+                state = GROUND;
+            }
+            return;
+        } else if (state == SS3) {
+            push(csi(b, 0));
+            state = GROUND;
+            return;
+        }
+        if (b == 0x1B) {
+            state = ESCAPE;
+        } else if (b == '\r' || b == '\n') {
+            push(KEY_ENTER);
+        } else if (b == '\b') {
+            push(KEY_BACKSPACE);
+        } else {
+            push(b);
+        }
+    }
+
+    /**
+     * Names the key of an escape sequence.
+     * @param last the final byte of the sequence
+     * @param parameter its first parameter, 0 if none
+     * @return the key, or KEY_NONE if it is not one this class knows
+     */
+    private static int csi(final int last, final int parameter) {
+        switch (last) {
+            case 'A':
+                return KEY_UP;
+            case 'B':
+                return KEY_DOWN;
+            case 'C':
+                return KEY_RIGHT;
+            case 'D':
+                return KEY_LEFT;
+            case 'H':
+                return KEY_HOME;
+            case 'F':
+                return KEY_END;
+            case '~':
+                if (parameter == 1 || parameter == 7) {
+                    return KEY_HOME;
+                } else if (parameter == 4 || parameter == 8) {
+                    return KEY_END;
+                } else if (parameter == 3) {
+                    return KEY_DELETE;
+                }
+                return KEY_NONE;
+            default:
+                return KEY_NONE;
+        }
+    }
+
+    /**
+     * Adds a key to the ring, dropping it if the ring is full.
+     * @param key the key; KEY_NONE is ignored
+     */
+    private void push(final int key) {
+        if (key == KEY_NONE) {
+            return;
+        }
+        if (tail - head == RING_SIZE) {
+            dropped++;
+            return;
+        }
+        ring[tail++ & (RING_SIZE - 1)] = key;
+    }
+
+    /**
+     * Takes the oldest key from the ring.
+     * @return the key, or KEY_NONE if the ring is empty
+     */
+    private int take() {
+        return head == tail ? KEY_NONE : ring[head++ & (RING_SIZE - 1)];
+    }
+
+    /**
+     * Erases characters at the end of the line being typed, on screen
+     * too.
+     * @param chars how many characters
+     */
+    private void erase(final int chars) {
+        for (int c = 0; c < chars && lineLength > 0; c++) {
+            // Drop UTF-8 continuation bytes, then the lead byte.
+            do {
+                lineLength--;
+            } while (lineLength > 0 && (line[lineLength] & 0xC0) == 0x80);
+            out.print("\b \b");
+        }
+        out.flush();
+    }
+
+    /**
+     * Returns the line being typed.
+     * @return the line
+     */
+    private String line() {
+        return new String(line, 0, lineLength, StandardCharsets.UTF_8);
+    }
+}
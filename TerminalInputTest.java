@@ -0,0 +1,169 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for TerminalInput.
+ * @version 1
+ */
+public class TerminalInputTest {
+    /** Longest wait for a key that has been typed. */
+    private static final long KEY_WAIT = TimeUnit.SECONDS.toNanos(5);
+
+    /** Stands in for the terminal. */
+    private final Pipe pipe;
+    /** What readLine echoed. */
+    private final ByteArrayOutputStream echo = new ByteArrayOutputStream();
+    /** The input under test, reading the pipe. */
+    private final TerminalInput keys;
+
+    /**
+     * Creates input reading a pipe.
+     * @throws IOException if the pipe cannot be opened
+     */
+    public TerminalInputTest() throws IOException {
+        pipe = Pipe.open();
+        keys = new TerminalInput(pipe.source(),
+                                 new PrintStream(echo, true, StandardCharsets.UTF_8),
+                                 null);
+    }
+
+    /**
+     * Stops the reader thread.
+     * @throws IOException if the pipe cannot be closed
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        keys.close();
+        pipe.sink().close();
+    }
+
+    /**
+     * Types text into the pipe.
+     * @param text what is typed
+     * @throws IOException if the pipe is closed
+     */
+    private void type(final String text) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            pipe.sink().write(bytes);
+        }
+    }
+
+    @Test
+    public void testDecodesKeys() throws IOException {
+        type("a\033[A\033[B\033OC\033[D\r\177\033[3~\033[1;5H");
+        pipe.sink().close();
+        int[] expected = {'a', TerminalInput.KEY_UP, TerminalInput.KEY_DOWN,
+                          TerminalInput.KEY_RIGHT, TerminalInput.KEY_LEFT,
+                          TerminalInput.KEY_ENTER, TerminalInput.KEY_BACKSPACE,
+                          TerminalInput.KEY_DELETE, TerminalInput.KEY_HOME};
+        for (int key : expected) {
+            assertEquals(key, keys.nextKey());
+        }
+        assertEquals(TerminalInput.KEY_EOF, keys.nextKey());
+        assertEquals(TerminalInput.KEY_EOF, keys.pollKey());
+    }
+
+    @Test
+    public void testSequenceSplitAcrossReads() {
+        keys.decode(new byte[] {0x1B}, 1);
+        keys.decode(new byte[] {'['}, 1);
+        assertEquals(TerminalInput.KEY_NONE, keys.pollKey());
+        keys.decode(new byte[] {'C', 'x'}, 2);
+        assertEquals(TerminalInput.KEY_RIGHT, keys.pollKey());
+        assertEquals('x', keys.pollKey());
+    }
+
+    @Test
+    public void testLoneEscape() throws IOException {
+        type("\033");
+        assertEquals(TerminalInput.KEY_ESCAPE, keys.pollKey(KEY_WAIT));
+        type("\033\033[A");
+        assertEquals(TerminalInput.KEY_ESCAPE, keys.pollKey(KEY_WAIT));
+        assertEquals(TerminalInput.KEY_UP, keys.pollKey(KEY_WAIT));
+    }
+
+    @Test
+    public void testUnknownSequenceIsDropped() throws IOException {
+        type("\033[200~q");
+        assertEquals('q', keys.pollKey(KEY_WAIT));
+        assertEquals(TerminalInput.KEY_NONE, keys.pollKey());
+    }
+
+    @Test
+    public void testFullRingDropsNewKeys() {
+        byte[] many = new byte[300];
+        for (int i = 0; i < many.length; i++) {
+            many[i] = (byte) ('a' + i % 26);
+        }
+        keys.decode(many, many.length);
+        assertEquals(300 - 256, keys.dropped());
+        for (int i = 0; i < 256; i++) {
+            assertEquals('a' + i % 26, keys.pollKey());
+        }
+        assertEquals(TerminalInput.KEY_NONE, keys.pollKey());
+    }
+
+    @Test
+    public void testReadLineEdits() throws IOException {
+        type("helo\177lo\033[D\n" + "junk\025café\177e\n" + "last");
+        pipe.sink().close();
+        assertEquals("hello", keys.readLine());
+        assertEquals("cafe", keys.readLine());
+        assertEquals("last", keys.readLine());
+        assertNull(keys.readLine());
+        assertTrue(echo.toString(StandardCharsets.UTF_8).startsWith("helo\b \blo"));
+    }
+
+    @Test
+    public void testPollTimesOut() {
+        long start = System.nanoTime();
+        assertEquals(TerminalInput.KEY_NONE, keys.pollKey(5_000_000L));
+        assertTrue(System.nanoTime() - start >= 5_000_000L);
+    }
+
+    @Test
+    public void testWaitEndsWhenKeyArrives() throws Exception {
+        Thread typist = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+                type("k");
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        typist.start();
+        long start = System.nanoTime();
+        assertEquals('k', keys.pollKey(TimeUnit.SECONDS.toNanos(30)));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        typist.join();
+    }
+
+    @Test
+    public void testCloseStopsReadingAndRestoresOnce() throws IOException {
+        int[] restored = new int[1];
+        Pipe other = Pipe.open();
+        TerminalInput input = new TerminalInput(other.source(), System.out,
+                                                () -> restored[0]++);
+        input.close();
+        input.close();
+        assertEquals(1, restored[0]);
+        assertEquals(TerminalInput.KEY_EOF, input.nextKey());
+        other.sink().close();
+    }
+
+    @Test
+    public void testNoTerminalInTests() {
+        assertTrue(TerminalInput.open(GameConsole.system()).isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
+import java.io.PrintStream;
 import java.util.Optional;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.Scanner;
 
 /**
@@ -26,9 +27,32 @@ public class TicTacToeGame implements Game {
     /** The game board. */
     private char[][] board;
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
+    /** Time the computer takes to choose a move. */
+    private static final Metrics.Histogram THINK_TIME =
+        Metrics.histogram("tictactoe.ai.think");
+    /** Positions examined by the current computer move. */
+    private int searchNodes;
     /** Random for AI moves. */
-    private final Random random = new Random();
+    private final RandomGenerator random = GameRandom.generator();
+
+    /**
+     * Creates a game played on the system console.
+     */
+    public TicTacToeGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    TicTacToeGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     /**
      * Returns the name of the game.
@@ -43,12 +67,12 @@ public class TicTacToeGame implements Game {
      * @return 1 for win, 0 for loss/draw.
      */
     public Optional<Integer> play() {
-        System.out.println("Welcome to Tic-Tac-Toe!");
-        System.out.println("Objective: Be the first to get 3 of your "
+        out.println("Welcome to Tic-Tac-Toe!");
+        out.println("Objective: Be the first to get 3 of your "
             + "marks in a row.");
-        System.out.println("How to play: Enter row and column (1-3) "
+        out.println("How to play: Enter row and column (1-3) "
             + "to place your X.");
-        System.out.println("You are X, computer is O.");
+        out.println("You are X, computer is O.");
 
         board = new char[SIZE][SIZE];
         for (int i = 0; i < SIZE; i++) {
@@ -63,69 +87,76 @@ public class TicTacToeGame implements Game {
             playerMove();
             printBoard();
             if (checkWin(PLAYER)) {
-                System.out.println("Congratulations! You win!");
+                out.println("Congratulations! You win!");
                 return Optional.of(1);
             }
             if (isBoardFull()) {
-                System.out.println("It's a draw!");
+                out.println("It's a draw!");
                 return Optional.of(0);
             }
 
             computerMove();
             printBoard();
             if (checkWin(COMPUTER)) {
-                System.out.println("Computer wins! Better luck next time.");
+                out.println("Computer wins! Better luck next time.");
                 return Optional.of(0);
             }
             if (isBoardFull()) {
-                System.out.println("It's a draw!");
+                out.println("It's a draw!");
                 return Optional.of(0);
             }
         }
     }
 
     private void printBoard() {
-        System.out.println("  1 2 3");
+        GameEvents.RenderFrame frame = GameEvents.beginRender();
+        out.println("  1 2 3");
         for (int i = 0; i < SIZE; i++) {
-            System.out.print((i + 1) + " ");
+            out.print((i + 1) + " ");
             for (int j = 0; j < SIZE; j++) {
-                System.out.print(board[i][j] + " ");
+                out.print(board[i][j] + " ");
             }
-            System.out.println();
+            out.println();
         }
+        GameEvents.endRender(frame, getName());
     }
 
     private void playerMove() {
         while (true) {
-            System.out.print("Enter row and column (e.g., 1 2): ");
+            out.print("Enter row and column (e.g., 1 2): ");
             String line = scanner.nextLine().trim();
             String[] parts = line.split("\\s+");
             if (parts.length != 2) {
-                System.out.println("Invalid input. Enter two numbers.");
+                out.println("Invalid input. Enter two numbers.");
                 continue;
             }
             try {
                 int row = Integer.parseInt(parts[0]) - 1;
                 int col = Integer.parseInt(parts[1]) - 1;
                 if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
-                    System.out.println("Invalid position. Use 1-3.");
+                    out.println("Invalid position. Use 1-3.");
                     continue;
                 }
                 if (board[row][col] != EMPTY) {
-                    System.out.println("Cell already taken. Try again.");
+                    out.println("Cell already taken. Try again.");
                     continue;
                 }
                 board[row][col] = PLAYER;
                 return;
             } catch (NumberFormatException e) {
-                System.out.println("Invalid input. Enter numbers only.");
+                out.println("Invalid input. Enter numbers only.");
             }
         }
     }
 
     private void computerMove() {
-        System.out.println("Computer is thinking...");
+        out.println("Computer is thinking...");
+        GameEvents.AiMove event = GameEvents.beginAiMove();
+        long start = Metrics.start();
+        searchNodes = 0;
         int[] move = findBestMove();
+        THINK_TIME.recordSince(start);
+        GameEvents.endAiMove(event, getName(), 1, searchNodes);
         if (move != null) {
             board[move[0]][move[1]] = COMPUTER;
         }
@@ -137,6 +168,7 @@ public class TicTacToeGame implements Game {
             for (int j = 0; j < SIZE; j++) {
                 if (board[i][j] == EMPTY) {
                     board[i][j] = COMPUTER;
+                    searchNodes++;
                     if (checkWin(COMPUTER)) {
                         board[i][j] = EMPTY;
                         return new int[]{i, j};
@@ -150,6 +182,7 @@ public class TicTacToeGame implements Game {
             for (int j = 0; j < SIZE; j++) {
                 if (board[i][j] == EMPTY) {
                     board[i][j] = PLAYER;
+                    searchNodes++;
                     if (checkWin(PLAYER)) {
                         board[i][j] = EMPTY;
                         return new int[]{i, j};
@@ -0,0 +1,132 @@
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Varints and zigzag encoding, as used by the replay, history and play
+ * series formats.
+ * <pre>
+ * Varints are little-endian base 128: seven bits per byte, the high bit
+ * set on every byte but the last, so small numbers take one byte and a
+ * long at most MAX_BYTES. Zigzag maps a signed number to an unsigned
+ * one with small magnitudes staying small: 0, -1, 1, -2 become 0, 1, 2,
+ * 3, so a small negative number also fits one varint byte.
+ * </pre>
+ * @version 1
+ */
+final class Varint {
+    /** Longest varint, in bytes. */
+    static final int MAX_BYTES = 10;
+
+    /**
+     * Prevent Instantiation.
+     */
+    private Varint() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Writes a varint into a buffer.
+     * @param buf the buffer, with MAX_BYTES free at pos
+     * @param pos where to write
+     * @param value the value, treated as unsigned
+     * @return the position after the varint
+     */
+    static int put(final byte[] buf, final int pos, final long value) {
+        int p = pos;
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            buf[p++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[p++] = (byte) v;
+        return p;
+    }
+
+    /**
+     * Writes a varint to a stream.
+     * @param out the stream
+     * @param value the value, treated as unsigned
+     */
+    static void write(final ByteArrayOutputStream out, final long value) {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    /**
+     * Reads a varint from a buffer.
+     * @param in the buffer
+     * @return the value
+     * @throws java.nio.BufferUnderflowException if the buffer ends first
+     * @throws IllegalArgumentException if it is longer than MAX_BYTES
+     */
+    static long get(final ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_BYTES; shift += 7) {
+            int b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    /**
+     * Reads a varint from a stream.
+     * @param in the stream
+     * @return the value
+     * @throws IOException if the varint is truncated or too long
+     */
+    static long read(final InputStream in) throws IOException {
+        return read(in, in.read());
+    }
+
+    /**
+     * Reads a varint whose first byte has already been read.
+     * @param in the stream
+     * @param first the first byte, or -1 at the end of the stream
+     * @return the value
+     * @throws IOException if the varint is truncated or too long
+     */
+    static long read(final InputStream in, final int first) throws IOException {
+        long value = 0;
+        int b = first;
+        for (int shift = 0; shift < 7 * MAX_BYTES; shift += 7) {
+            if (b < 0) {
+                throw new EOFException("truncated varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            b = in.read();
+        }
+        throw new IOException("malformed varint");
+    }
+
+    /**
+     * Maps a signed number to an unsigned one with small magnitudes
+     * staying small.
+     * @param value the number
+     * @return the encoded number
+     */
+    static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses zigzag.
+     * @param code the encoded number
+     * @return the number
+     */
+    static long unzigzag(final long code) {
+        return (code >>> 1) ^ -(code & 1);
+    }
+}
@@ -0,0 +1,309 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Word lists shared by the word games.
+ * <pre>
+ * The built-in list is small enough to ship with the source.
+ * A larger lexicon (one word per line) can be used instead by naming
+ * it in the consolegamehub.dictionary system property, for example:
+ *   java -Dconsolegamehub.dictionary=words.txt -jar ConsoleGameHub.jar
+ * Words are normalized to upper case; entries with characters other
+ * than the letters A-Z are ignored.
+ *
+ * Word Guess draws answers from a separate, usually shorter, list of
+ * common words named by the consolegamehub.answers property. Without it
+ * the five-letter dictionary words serve as answers. Guesses may also be
+ * any of the built-in AllowedGuesses, which are never answers.
+ * </pre>
+ * @version 1
+ */
+final class WordBank {
+    /** System property naming an external dictionary file. */
+    static final String DICTIONARY_PROPERTY = "consolegamehub.dictionary";
+    /** System property naming an external Word Guess answer file. */
+    static final String ANSWERS_PROPERTY = "consolegamehub.answers";
+    /** Length of Word Guess words. */
+    private static final int FIVE = 5;
+
+    /** Built-in five-letter words. */
+    private static final String[] FIVE_LETTER_WORDS = {
+        "ABOUT ABOVE ACTOR ACUTE ADMIT ADOPT ADULT AFTER AGAIN AGENT",
+        "AGREE AHEAD ALARM ALBUM ALERT ALIKE ALIVE ALLOW ALONE ALONG",
+        "ALTER AMONG ANGER ANGLE ANGRY APART APPLE APPLY ARENA ARGUE",
+        "ARISE ARRAY ASIDE ASSET AUDIO AUDIT AVOID AWARD AWARE BADLY",
+        "BAKER BASIC BASIS BEACH BEGAN BEGIN BEGUN BEING BELOW BENCH",
+        "BERRY BIRTH BLACK BLADE BLAME BLANK BLAST BLEND BLIND BLOCK",
+        "BLOOD BLOOM BOARD BOOST BOOTH BOUND BRAIN BRAND BRAVE BREAD",
+        "BREAK BREED BRICK BRIEF BRING BROAD BROKE BROWN BRUSH BUILD",
+        "BUILT BUNCH BURST BUYER CABIN CABLE CANDY CARGO CARRY CATCH",
+        "CAUSE CHAIN CHAIR CHALK CHARM CHART CHASE CHEAP CHECK CHEEK",
+        "CHESS CHEST CHIEF CHILD CHINA CHOSE CIVIL CLAIM CLASS CLEAN",
+        "CLEAR CLERK CLICK CLIFF CLIMB CLOCK CLOSE CLOTH CLOUD COACH",
+        "COAST COUNT COURT COVER CRAFT CRANE CRASH CRAZY CREAM CRIME",
+        "CROSS CROWD CROWN CRUDE CURVE CYCLE DAILY DANCE DATED DEALT",
+        "DEATH DEBUT DELAY DEPTH DOING DOUBT DOZEN DRAFT DRAMA DRANK",
+        "DRAWN DREAM DRESS DRIED DRILL DRINK DRIVE DROVE DYING EAGER",
+        "EARLY EARTH EIGHT ELITE EMPTY ENEMY ENJOY ENTER ENTRY EQUAL",
+        "ERROR EVENT EVERY EXACT EXIST EXTRA FAITH FALSE FAULT FEAST",
+        "FIBER FIELD FIFTH FIFTY FIGHT FINAL FIRST FLAME FLASH FLEET",
+        "FLOOR FLUID FOCUS FORCE FORTH FORTY FORUM FOUND FRAME FRANK",
+        "FRAUD FRESH FRONT FROST FRUIT FULLY FUNNY GHOST GIANT GIVEN",
+        "GLASS GLOBE GLORY GLOVE GRACE GRADE GRAIN GRAND GRANT GRAPE",
+        "GRASS GRAVE GREAT GREEN GREET GRILL GROSS GROUP GROWN GUARD",
+        "GUESS GUEST GUIDE HABIT HAPPY HARSH HEART HEAVY HENCE HOBBY",
+        "HONEY HORSE HOTEL HOUSE HUMAN HUMOR IDEAL IMAGE IMPLY INDEX",
+        "INNER INPUT ISSUE JOINT JUDGE JUICE KNIFE KNOCK KNOWN LABEL",
+        "LARGE LASER LATER LAUGH LAYER LEARN LEASE LEAST LEAVE LEGAL",
+        "LEMON LEVEL LIGHT LIMIT LINEN LOCAL LOGIC LOOSE LOVER LOWER",
+        "LUCKY LUNCH LYING MAGIC MAJOR MAKER MANGO MARCH MATCH MAYBE",
+        "MAYOR MEANT MEDAL MEDIA MELON MERCY MERIT METAL MIGHT MINOR",
+        "MINUS MIXED MODEL MONEY MONTH MORAL MOTOR MOUNT MOUSE MOUTH",
+        "MOVIE MUSIC NAVAL NERVE NEVER NEWLY NIGHT NOBLE NOISE NORTH",
+        "NOTED NOVEL NURSE OCEAN OFFER OFTEN OLIVE ONION ORDER OTHER",
+        "OUGHT OUTER OWNER PAINT PANEL PANIC PAPER PARTY PASTA PATCH",
+        "PEACE PEACH PEARL PENNY PHASE PHONE PHOTO PIANO PIECE PILOT",
+        "PITCH PIZZA PLACE PLAIN PLANE PLANT PLATE PLAZA PLUMB POINT",
+        "POLAR POUND POWER PRESS PRICE PRIDE PRIME PRINT PRIOR PRIZE",
+        "PROOF PROUD PROVE PUPIL QUEEN QUICK QUIET QUITE QUOTE RADIO",
+        "RAISE RANGE RAPID RATIO REACH REACT READY REALM REFER RELAX",
+        "REPLY RIDER RIDGE RIGHT RIGID RISKY RIVAL RIVER ROBOT ROCKY",
+        "ROUGH ROUND ROUTE ROYAL RURAL SALAD SAUCE SCALE SCARE SCENE",
+        "SCOPE SCORE SENSE SERVE SEVEN SHADE SHAKE SHALL SHAPE SHARE",
+        "SHARP SHEEP SHEET SHELF SHELL SHIFT SHINE SHIRT SHOCK SHOOT",
+        "SHORT SHOUT SIGHT SILLY SINCE SIXTH SKILL SLATE SLEEP SLICE",
+        "SLIDE SMALL SMART SMILE SMOKE SNAKE SOLID SOLVE SORRY SOUND",
+        "SOUTH SPACE SPARE SPEAK SPEED SPEND SPENT SPICE SPLIT SPOKE",
+        "SPORT STAFF STAGE STAKE STAND START STATE STEAM STEEL STEEP",
+        "STICK STILL STOCK STONE STOOD STORE STORM STORY STOVE STRIP",
+        "STUCK STUDY STUFF STYLE SUGAR SUITE SUNNY SUPER SWEET SWIFT",
+        "SWING SWORD TABLE TAKEN TASTE TEACH TEETH THANK THEFT THEIR",
+        "THEME THERE THESE THICK THING THINK THIRD THOSE THREE THREW",
+        "THROW THUMB TIGER TIGHT TIMER TIRED TITLE TOAST TODAY TOOTH",
+        "TOPIC TOTAL TOUCH TOUGH TOWEL TOWER TOXIC TRACE TRACK TRADE",
+        "TRAIL TRAIN TRAIT TREAT TREND TRIAL TRIBE TRICK TRIED TRUCK",
+        "TRULY TRUST TRUTH TWICE TWIST UNCLE UNDER UNION UNITY UNTIL",
+        "UPPER UPSET URBAN USAGE USUAL VALID VALUE VIDEO VIRUS VISIT",
+        "VITAL VIVID VOCAL VOICE WASTE WATCH WATER WHEAT WHEEL WHERE",
+        "WHICH WHILE WHITE WHOLE WHOSE WOMAN WORLD WORRY WORSE WORST",
+        "WORTH WOULD WOUND WRITE WRONG WROTE YIELD YOUNG YOUTH ZEBRA"
+    };
+
+    /** Built-in words of other lengths. */
+    private static final String[] OTHER_WORDS = {
+        "ACE ACT ADD AGE AIR ANT ARM ART ASK BAG BAT BED BEE BOX BOY",
+        "BUS CAB CAP CAR CAT COW CUP DAY DOG EAR EGG EYE FAN FOX FUN",
+        "GAS HAT ICE INK JAM JAR JOB KEY KID LAB LAP LOG MAP MUD NET",
+        "NUT OAK OWL PAN PEN PET PIG POT RAT RED ROW RUG SEA SKY SUN",
+        "TEA TOY VAN WEB WIN YAK ZIP",
+        "ATOM BAKE BARN BEAR BELL BIKE BIRD BOAT BOLD BONE BOOK BYTE",
+        "CAKE CAMP CARD CAVE CHIP CITY CLAY CODE COIN CORN CRAB DARK",
+        "DATA DEER DESK DISK DOOR DUCK DUST EDGE FARM FILE FIRE FISH",
+        "FLAG FORK FROG GAME GATE GIFT GOAT GOLD HAIL HAND HILL HOOK",
+        "IRON JAVA JAZZ KING KITE LAKE LAMP LEAF LION LOOP MAIL MASK",
+        "MILK MOON NEST NODE OVEN PATH PEAR PINE PLUG POND QUIZ RAIN",
+        "ROAD ROCK ROOF ROPE SAIL SALT SAND SEED SHIP SNOW SOCK SOUP",
+        "STAR TANK TENT TIDE TREE TUNE VASE WAVE WIND WOLF WOOD YARD",
+        "ZERO",
+        "ANCHOR ANIMAL BASKET BEETLE BRIDGE BUCKET BUTTER CACTUS",
+        "CAMERA CANDLE CARROT CASTLE CIRCLE COFFEE COOKIE COTTON",
+        "DINNER DRAGON ENGINE FLOWER FOREST GARDEN GUITAR HAMMER",
+        "HELMET ISLAND JACKET JUNGLE KERNEL KITTEN LADDER LAPTOP",
+        "LIZARD MARKET MEADOW MIRROR MONKEY NEEDLE NUMBER ORANGE",
+        "OYSTER PENCIL PEPPER PICNIC PLANET POCKET PUZZLE PYTHON",
+        "QUARTZ RABBIT ROCKET SADDLE SCREEN SERVER SILVER SPIDER",
+        "SPRING STRING SUMMER SYNTAX TEMPLE TICKET TOMATO TUNNEL",
+        "TURTLE VECTOR VIOLIN WALRUS WINDOW WINTER WIZARD",
+        "ALGEBRA BALLOON BLANKET CABBAGE CAPTAIN CHICKEN COMPASS",
+        "COMPILE CRYSTAL CUSTARD DIAMOND DOLPHIN ELEMENT FEATHER",
+        "FIREFLY GALLERY GIRAFFE HANGMAN HARVEST HISTORY JOURNEY",
+        "KINGDOM KITCHEN LANTERN LIBRARY MACHINE MAMMOTH MONITOR",
+        "MUSTARD NETWORK OCTOPUS PACKAGE PARTNER PEACOCK PENGUIN",
+        "PICTURE PILGRIM PROCESS PROGRAM PYRAMID QUANTUM RAINBOW",
+        "RECURSE SANDBOX SCANNER SHELTER STADIUM TEACHER THUNDER",
+        "TORNADO TRUMPET UNICORN VAMPIRE VOLCANO WEATHER",
+        "ALPHABET ANTELOPE AQUARIUM BACKPACK BASEBALL BLUEBIRD",
+        "BUILDING CALENDAR CARDINAL CHAMPION COMPUTER CREATURE",
+        "DAUGHTER DINOSAUR ELEPHANT ENVELOPE FOOTBALL FUNCTION",
+        "HEADLINE HOSPITAL INTERNET KEYBOARD LANGUAGE MOUNTAIN",
+        "NOTEBOOK OPERATOR PAINTING PLATFORM POSITION QUESTION",
+        "RESPONSE SANDWICH SCORPION SEMESTER SOFTWARE SQUIRREL",
+        "STRATEGY TERMINAL TREASURE UMBRELLA VARIABLE VOLATILE",
+        "ADVENTURE ALGORITHM ASTRONAUT BUTTERFLY CHAMELEON CHOCOLATE",
+        "CROCODILE DEVELOPER DIRECTORY EXCEPTION FIREWORKS HAMBURGER",
+        "INTERFACE LIGHTNING MICROWAVE NIGHTMARE PARAMETER PINEAPPLE",
+        "PROCESSOR TELESCOPE THRESHOLD UNIVERSAL WONDERFUL",
+        "STRAWBERRY",
+        "ENCAPSULATE INHERITANCE PROGRAMMING",
+        "ARCHITECTURE POLYMORPHISM"
+    };
+
+    /**
+     * Prevent Instantiation.
+     */
+    private WordBank() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Returns every word of the active dictionary.
+     * @return unmodifiable list of upper-case words
+     */
+    static List<String> words() {
+        return Holder.WORDS;
+    }
+
+    /**
+     * Returns the words of the active dictionary with the given length.
+     * @param length the number of letters
+     * @return unmodifiable list of upper-case words of that length
+     */
+    static List<String> wordsOfLength(final int length) {
+        List<String> result = new ArrayList<>();
+        for (String word : words()) {
+            if (word.length() == length) {
+                result.add(word);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns the possible Word Guess answers.
+     * @return unmodifiable list of upper-case five-letter words
+     */
+    static List<String> answers() {
+        return AnswerHolder.ANSWERS;
+    }
+
+    /**
+     * Returns the allowed Word Guess guesses: the five-letter dictionary
+     * words, then any answers the dictionary lacks, then the rest of the
+     * built-in allowed guesses.
+     * @return unmodifiable list of upper-case five-letter words
+     */
+    static List<String> guesses() {
+        return AnswerHolder.GUESSES;
+    }
+
+    /**
+     * Checks that a word consists only of the letters A-Z.
+     * @param word the candidate word
+     * @return true if the word is non-empty and upper-case alphabetic
+     */
+    static boolean isUpperAlpha(final CharSequence word) {
+        if (word.length() == 0) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads the Word Guess answers.
+     * @return unmodifiable list of upper-case five-letter words
+     */
+    private static List<String> loadAnswers() {
+        String fileName = System.getProperty(ANSWERS_PROPERTY);
+        if (fileName != null) {
+            try {
+                List<String> words = new ArrayList<>();
+                for (String line : Files.readAllLines(Paths.get(fileName),
+                                                      StandardCharsets.UTF_8)) {
+                    addWord(words, line);
+                }
+                words.removeIf(word -> word.length() != FIVE);
+                return Collections.unmodifiableList(words);
+            } catch (IOException e) {
+                System.err.println("Answer list " + fileName
+                    + " could not be read. Using dictionary words.");
+            }
+        }
+        return wordsOfLength(FIVE);
+    }
+
+    /**
+     * Combines the five-letter dictionary words, the answers and the
+     * allowed guesses.
+     * @return unmodifiable list of distinct upper-case five-letter words
+     */
+    private static List<String> loadGuesses() {
+        Set<String> words = new LinkedHashSet<>(wordsOfLength(FIVE));
+        words.addAll(answers());
+        words.addAll(AllowedGuesses.words());
+        return Collections.unmodifiableList(new ArrayList<>(words));
+    }
+
+    /**
+     * Loads the active dictionary.
+     * @return unmodifiable list of upper-case words
+     */
+    private static List<String> load() {
+        String fileName = System.getProperty(DICTIONARY_PROPERTY);
+        List<String> words = new ArrayList<>();
+        if (fileName != null) {
+            try {
+                for (String line : Files.readAllLines(Paths.get(fileName),
+                                                      StandardCharsets.UTF_8)) {
+                    addWord(words, line);
+                }
+                return Collections.unmodifiableList(words);
+            } catch (IOException e) {
+                System.err.println("Dictionary " + fileName
+                    + " could not be read. Using built-in words.");
+                words.clear();
+            }
+        }
+        for (String[] group : new String[][] {FIVE_LETTER_WORDS, OTHER_WORDS}) {
+            for (String line : group) {
+                for (String word : line.split(" ")) {
+                    addWord(words, word);
+                }
+            }
+        }
+        return Collections.unmodifiableList(words);
+    }
+
+    /**
+     * Normalizes a word and adds it if it is alphabetic.
+     * @param words the list being filled
+     * @param raw the word as read
+     */
+    private static void addWord(final List<String> words, final String raw) {
+        String word = raw.trim().toUpperCase(Locale.ROOT);
+        if (isUpperAlpha(word)) {
+            words.add(word);
+        }
+    }
+
+    /**
+     * Lazily loads the dictionary the first time it is needed.
+     */
+    private static final class Holder {
+        /** The active dictionary. */
+        static final List<String> WORDS = load();
+    }
+
+    /**
+     * Lazily loads the Word Guess lists the first time they are needed.
+     */
+    private static final class AnswerHolder {
+        /** The possible answers. */
+        static final List<String> ANSWERS = loadAnswers();
+        /** The allowed guesses. */
+        static final List<String> GUESSES = loadGuesses();
+    }
+}
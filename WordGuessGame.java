@@ -1,3 +1,6 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 
@@ -5,11 +8,14 @@ import java.util.Scanner;
  * A word guessing game similar to Wordle.
  * The player has a limited number of attempts to guess a secret
  * 5-letter word.
- * After each guess, the game indicates whether the guess is correct.
+ * Guesses must be words from the dictionary.
+ * After each guess, every letter is marked as correct, present elsewhere
+ * in the word, or absent.
+ * Entering ? asks the solver assistant for a suggested next guess.
  * <br />
  * The score is determined by how many attempts the player had remaining
  *   when they guessed the word correctly.
- * @version 1
+ * @version 2
  */
 class WordGuessGame implements Game {
     /** The secret word to guess. */
@@ -18,8 +24,35 @@ class WordGuessGame implements Game {
     private static final int MAX_GUESSES = 6;
     /** Number of letters in a word. */
     private static final int WORD_LENGTH = 5;
+    /** Input that requests a hint. */
+    private static final String HINT = "?";
+    /** Dictionary of acceptable guesses. */
+    private static final Lexicon DICTIONARY = Lexicon.guessLexicon();
+    /** The secret word as letter indices. */
+    private static final byte[] SECRET_LETTERS =
+        WordleFeedback.encode(SECRET_WORD);
     /** Console input. */
-    private final Scanner scanner = new Scanner(System.in);
+    private final Scanner scanner;
+    /** Console output. */
+    private final PrintStream out;
+    /** Solver assistant, created when the first hint is requested. */
+    private WordleSolver assistant;
+
+    /**
+     * Creates a game played on the system console.
+     */
+    WordGuessGame() {
+        this(GameConsole.system());
+    }
+
+    /**
+     * Creates a game played on the given console.
+     * @param console where the game reads input and prints
+     */
+    WordGuessGame(final GameConsole console) {
+        this.scanner = new Scanner(console.in());
+        this.out = console.out();
+    }
 
     @Override
     public String getName() {
@@ -28,44 +61,87 @@ class WordGuessGame implements Game {
 
     @Override
     public Optional<Integer> play() {
-        System.out.println(
+        out.println(
             "[Playing Word Guess - You will have a limited number of attempts"
             + " to guess a secret 5 letter word.]"
         );
-        System.out.println(
-            "After each guess, the game will indicate whether the guess is"
-            + " correct."
+        out.println(
+            "After each guess, each letter is shown as [A] if it is in the"
+            + " right spot, (A) if it is elsewhere in the word, or  A  if it"
+            + " is not in the word."
         );
-        System.out.println(
+        out.println(
             "Your score is determined by the number of attempts remaining"
             + " after you guessed the word correctly!"
         );
+        out.println("Enter " + HINT + " for a suggested guess.");
 
         int attemptsLeft = MAX_GUESSES;
+        List<String> played = new ArrayList<>();
 
         while (attemptsLeft > 0) {
-            System.out.print("Enter guess: ");
+            out.print("Enter guess: ");
             String guess = scanner.nextLine().trim().toUpperCase();
 
-            if (guess.length() != WORD_LENGTH || !guess.matches("[A-Z]+")) {
-                System.out.println("Invalid input. Please enter a "
+            if (guess.equals(HINT)) {
+                printHint(played);
+                continue;
+            }
+
+            if (guess.length() != WORD_LENGTH
+                    || !WordBank.isUpperAlpha(guess)) {
+                out.println("Invalid input. Please enter a "
                     + WORD_LENGTH + "-letter word with alphabetic "
                     + "characters only.");
                 continue;
             }
+            if (!DICTIONARY.contains(guess)) {
+                out.println("Not in the word list. Try another word.");
+                continue;
+            }
 
             if (guess.equals(SECRET_WORD)) {
-                System.out.println("Congratulations! You guessed the word!");
+                out.println("Congratulations! You guessed the word!");
                 return Optional.of(attemptsLeft);
             } else {
+                int pattern = WordleFeedback.score(
+                    WordleFeedback.encode(guess), SECRET_LETTERS);
                 attemptsLeft--;
-                System.out.println("Incorrect! Attempts remaining: "
+                played.add(guess);
+                out.println(WordleFeedback.render(guess, pattern));
+                out.println("Incorrect! Attempts remaining: "
                     + attemptsLeft);
             }
         }
 
-        System.out.println("You ran out of guesses. The word was: "
+        out.println("You ran out of guesses. The word was: "
             + SECRET_WORD);
         return Optional.of(0);
     }
+
+    /**
+     * Prints the solver's suggested next guess.
+     * The solver replays the feedback of every guess made so far.
+     * @param played the incorrect guesses made so far, in order
+     */
+    private void printHint(final List<String> played) {
+        if (assistant == null) {
+            assistant = new WordleSolver(FeedbackMatrix.defaultMatrix());
+        }
+        assistant.reset();
+        for (String word : played) {
+            int index = assistant.indexOfGuess(word);
+            if (index >= 0) {
+                assistant.applyFeedback(index, WordleFeedback.score(
+                    WordleFeedback.encode(word), SECRET_LETTERS));
+            }
+        }
+        int best = assistant.bestGuess();
+        if (best < 0) {
+            out.println("No hint available.");
+        } else {
+            out.println("Try " + assistant.guessWord(best) + " ("
+                + assistant.candidateCount() + " possible words left).");
+        }
+    }
 }
@@ -1,6 +1,8 @@
 import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -56,4 +58,38 @@ public class WordGuessGameTest {
 
         System.setIn(originalIn);
     }
+
+    @Test
+    public void testHintDoesNotCostAnAttempt() {
+        String simulatedInput = "CRANE\n?\nAPPLE\n";
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setIn(new ByteArrayInputStream(simulatedInput.getBytes()));
+        System.setOut(new PrintStream(out));
+
+        WordGuessGame game = new WordGuessGame();
+        Optional<Integer> result = game.play();
+
+        System.setOut(originalOut);
+        System.setIn(originalIn);
+        assertTrue(result.isPresent());
+        assertEquals(5, result.get());
+        assertTrue(out.toString().contains("Try "));
+    }
+
+    @Test
+    public void testUnknownWordIsRejectedWithoutCost() {
+        String simulatedInput = "XQZVW\nAPPLE\n";
+        InputStream originalIn = System.in;
+        System.setIn(new ByteArrayInputStream(simulatedInput.getBytes()));
+
+        WordGuessGame game = new WordGuessGame();
+        Optional<Integer> result = game.play();
+
+        assertTrue(result.isPresent());
+        assertEquals(6, result.get());
+
+        System.setIn(originalIn);
+    }
 }
@@ -0,0 +1,127 @@
+/**
+ * Wordle-style per-letter feedback for five-letter words.
+ * <pre>
+ * Words are handled as byte[5] arrays of letter indices (A = 0).
+ * Each position of a guess is rated
+ *   GREEN  - right letter in the right position
+ *   YELLOW - letter occurs elsewhere in the answer
+ *   GRAY   - letter does not occur (or all its copies are already used)
+ * The five ratings are packed into a single base-3 number
+ *   pattern = sum(rating[i] * 3^i), 0 .. 242
+ * so a pattern can index a table directly; 242 means all green.
+ * Repeated letters follow the usual rules: greens are claimed first,
+ * then yellows left to right while unclaimed copies remain.
+ * Claimed answer positions are kept in an int bitmask rather than a
+ * per-letter count array: with five letters the scan is as fast, and a
+ * mask needs no array to allocate or clear between scores.
+ * </pre>
+ * @version 1
+ */
+final class WordleFeedback {
+    /** Number of letters in a word. */
+    static final int WORD_LENGTH = 5;
+    /** Rating of a letter that is not in the answer. */
+    static final int GRAY = 0;
+    /** Rating of a letter that is in the answer at another position. */
+    static final int YELLOW = 1;
+    /** Rating of a letter in the correct position. */
+    static final int GREEN = 2;
+    /** Number of distinct patterns (3^5). */
+    static final int PATTERN_COUNT = 243;
+    /** Pattern of a fully correct guess. */
+    static final int ALL_GREEN = PATTERN_COUNT - 1;
+    /** Place values 3^i of each position. */
+    private static final int[] PLACE = {1, 3, 9, 27, 81};
+
+    /**
+     * Prevent Instantiation.
+     */
+    private WordleFeedback() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Converts a word to letter indices.
+     * @param word five upper-case letters
+     * @return letter indices, A = 0
+     */
+    static byte[] encode(final CharSequence word) {
+        byte[] letters = new byte[WORD_LENGTH];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            letters[i] = (byte) (word.charAt(i) - 'A');
+        }
+        return letters;
+    }
+
+    /**
+     * Scores a guess against an answer.
+     * Used positions are tracked in int bitmasks, so no memory is
+     * allocated and the scorer is safe to call from any thread.
+     * @param guess the guessed word as letter indices
+     * @param answer the answer as letter indices
+     * @return the base-3 feedback pattern, 0 .. 242
+     */
+    static int score(final byte[] guess, final byte[] answer) {
+        int pattern = 0;
+        int matched = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            if (guess[i] == answer[i]) {
+                pattern += GREEN * PLACE[i];
+                matched |= 1 << i;
+            }
+        }
+        if (matched == (1 << WORD_LENGTH) - 1) {
+            return pattern;
+        }
+        int claimed = matched;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            if ((matched & (1 << i)) != 0) {
+                continue;
+            }
+            for (int j = 0; j < WORD_LENGTH; j++) {
+                if ((claimed & (1 << j)) == 0 && guess[i] == answer[j]) {
+                    pattern += YELLOW * PLACE[i];
+                    claimed |= 1 << j;
+                    break;
+                }
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Extracts the rating of one position from a pattern.
+     * @param pattern the base-3 pattern
+     * @param position the letter position, 0 .. 4
+     * @return GRAY, YELLOW or GREEN
+     */
+    static int ratingAt(final int pattern, final int position) {
+        return (pattern / PLACE[position]) % 3;
+    }
+
+    /**
+     * Renders a guess with its feedback for the console.
+     * Green letters are shown as [A], yellow as (A) and gray as  A .
+     * @param guess the guessed word
+     * @param pattern the feedback pattern
+     * @return the rendered feedback
+     */
+    static String render(final CharSequence guess, final int pattern) {
+        StringBuilder sb = new StringBuilder(WORD_LENGTH * 3);
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            char c = guess.charAt(i);
+            switch (ratingAt(pattern, i)) {
+                case GREEN:
+                    sb.append('[').append(c).append(']');
+                    break;
+                case YELLOW:
+                    sb.append('(').append(c).append(')');
+                    break;
+                default:
+                    sb.append(' ').append(c).append(' ');
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,75 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for WordleFeedback and FeedbackMatrix.
+ * @version 1
+ */
+public class WordleFeedbackTest {
+
+    @Test
+    public void testAllGreen() {
+        assertEquals(WordleFeedback.ALL_GREEN, score("APPLE", "APPLE"));
+    }
+
+    @Test
+    public void testAllGray() {
+        assertEquals(0, score("MOUTH", "BRICK"));
+    }
+
+    @Test
+    public void testMixedFeedback() {
+        // C is elsewhere, R is in place: CRANE against BRICK.
+        int pattern = score("CRANE", "BRICK");
+        assertEquals(WordleFeedback.YELLOW, WordleFeedback.ratingAt(pattern, 0));
+        assertEquals(WordleFeedback.GREEN, WordleFeedback.ratingAt(pattern, 1));
+        assertEquals(WordleFeedback.GRAY, WordleFeedback.ratingAt(pattern, 2));
+        assertEquals(WordleFeedback.GRAY, WordleFeedback.ratingAt(pattern, 3));
+        assertEquals(WordleFeedback.GRAY, WordleFeedback.ratingAt(pattern, 4));
+        assertEquals("(C)[R] A  N  E ", WordleFeedback.render("CRANE", pattern));
+    }
+
+    @Test
+    public void testRepeatedLetterIsNotDoubleCounted() {
+        // APPLE has two Ps; PUPPY has three, one of which is in place.
+        int pattern = score("PUPPY", "APPLE");
+        assertEquals(WordleFeedback.YELLOW, WordleFeedback.ratingAt(pattern, 0));
+        assertEquals(WordleFeedback.GREEN, WordleFeedback.ratingAt(pattern, 2));
+        assertEquals(WordleFeedback.GRAY, WordleFeedback.ratingAt(pattern, 3));
+    }
+
+    @Test
+    public void testGreenTakesPriorityOverEarlierYellow() {
+        // THEME has two Es: the final green claims one, the first E the other.
+        int pattern = score("EERIE", "THEME");
+        assertEquals(WordleFeedback.YELLOW, WordleFeedback.ratingAt(pattern, 0));
+        assertEquals(WordleFeedback.GRAY, WordleFeedback.ratingAt(pattern, 1));
+        assertEquals(WordleFeedback.GREEN, WordleFeedback.ratingAt(pattern, 4));
+    }
+
+    @Test
+    public void testMatrixMatchesScorer() {
+        List<String> words = Arrays.asList("APPLE", "BRICK", "CRANE");
+        FeedbackMatrix matrix = new FeedbackMatrix(words, words);
+        for (int g = 0; g < words.size(); g++) {
+            for (int a = 0; a < words.size(); a++) {
+                assertEquals(score(words.get(g), words.get(a)),
+                             matrix.pattern(g, a));
+            }
+        }
+        assertEquals(WordleFeedback.ALL_GREEN, matrix.pattern(1, 1));
+    }
+
+    /**
+     * Scores two words given as strings.
+     * @param guess the guessed word
+     * @param answer the answer
+     * @return the feedback pattern
+     */
+    private int score(final String guess, final String answer) {
+        return WordleFeedback.score(WordleFeedback.encode(guess),
+                                    WordleFeedback.encode(answer));
+    }
+}
@@ -0,0 +1,281 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Information-theoretic Word Guess solver.
+ * <pre>
+ * The solver keeps the answers still consistent with the feedback seen
+ * so far. Each allowed guess splits those candidates into partitions by
+ * the feedback pattern it would produce; the guess whose partition sizes
+ * have the highest entropy is expected to reveal the most information.
+ * Ties go to guesses that could themselves be the answer.
+ *
+ * Ranking is split into ranges of guesses and run on a ForkJoinPool.
+ * Pruning after feedback compacts the candidate array in place.
+ * The opening guess does not depend on the game, and the second guess
+ * depends only on the opening feedback, so both are ranked once per
+ * solver and reused after reset().
+ * A solver is meant for one game at a time and is not thread-safe.
+ * </pre>
+ * @version 1
+ */
+final class WordleSolver {
+    /** Guesses ranked by one leaf task. */
+    private static final int GUESSES_PER_TASK = 128;
+    /** Returned by lookups when a word is unknown. */
+    private static final int UNKNOWN = -1;
+
+    /** Precomputed feedback for every guess and answer. */
+    private final FeedbackMatrix matrix;
+    /** Pool running the ranking pass. */
+    private final ForkJoinPool pool;
+    /** Guess index of each answer, or UNKNOWN. */
+    private final int[] answerAsGuess;
+    /** Guess index of each word. */
+    private final Map<String, Integer> guessIndex = new HashMap<>();
+    /** Answer indices still possible; the first candidateCount are live. */
+    private final int[] candidates;
+    /** Number of live candidates. */
+    private int candidateCount;
+    /** Cached best opening guess, or UNKNOWN before first use. */
+    private int openingGuess = UNKNOWN;
+    /** Cached best second guess per opening feedback pattern. */
+    private final int[] secondGuess = new int[WordleFeedback.PATTERN_COUNT];
+    /** Feedback to the cached opening if it is the only guess so far. */
+    private int openingPattern = UNKNOWN;
+
+    /**
+     * Creates a solver that ranks guesses on the common pool.
+     * @param feedback the feedback matrix to solve with
+     */
+    WordleSolver(final FeedbackMatrix feedback) {
+        this(feedback, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a solver that ranks guesses on the given pool.
+     * @param feedback the feedback matrix to solve with
+     * @param rankingPool the pool for the parallel ranking pass
+     */
+    WordleSolver(final FeedbackMatrix feedback, final ForkJoinPool rankingPool) {
+        this.matrix = feedback;
+        this.pool = rankingPool;
+        List<String> guesses = feedback.guesses();
+        for (int g = 0; g < guesses.size(); g++) {
+            guessIndex.putIfAbsent(guesses.get(g), g);
+        }
+        List<String> answers = feedback.answers();
+        this.answerAsGuess = new int[answers.size()];
+        for (int a = 0; a < answers.size(); a++) {
+            answerAsGuess[a] = guessIndex.getOrDefault(answers.get(a), UNKNOWN);
+        }
+        this.candidates = new int[answers.size()];
+        Arrays.fill(secondGuess, UNKNOWN);
+        reset();
+    }
+
+    /**
+     * Starts a new game with every answer possible.
+     */
+    void reset() {
+        for (int a = 0; a < candidates.length; a++) {
+            candidates[a] = a;
+        }
+        candidateCount = candidates.length;
+        openingPattern = UNKNOWN;
+    }
+
+    /**
+     * Returns the number of answers still possible.
+     * @return candidate count
+     */
+    int candidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * Looks up the index of a guess word.
+     * @param word the upper-case word
+     * @return its guess index, or -1 if it is not an allowed guess
+     */
+    int indexOfGuess(final String word) {
+        return guessIndex.getOrDefault(word, UNKNOWN);
+    }
+
+    /**
+     * Returns the word for a guess index.
+     * @param guess the guess index
+     * @return the word
+     */
+    String guessWord(final int guess) {
+        return matrix.guesses().get(guess);
+    }
+
+    /**
+     * Removes every candidate inconsistent with the feedback received.
+     * @param guess the guess index that was played
+     * @param pattern the feedback pattern received
+     */
+    void applyFeedback(final int guess, final int pattern) {
+        boolean afterOpening = candidateCount == candidates.length
+            && guess == openingGuess;
+        openingPattern = afterOpening ? pattern : UNKNOWN;
+        int kept = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int answer = candidates[i];
+            if (matrix.pattern(guess, answer) == pattern) {
+                candidates[kept++] = answer;
+            }
+        }
+        candidateCount = kept;
+    }
+
+    /**
+     * Suggests the next guess.
+     * @return the guess index, or -1 if no answer is consistent
+     */
+    int bestGuess() {
+        if (candidateCount == 0 || matrix.guesses().isEmpty()) {
+            return UNKNOWN;
+        }
+        if (candidateCount <= 2 && answerAsGuess[candidates[0]] != UNKNOWN) {
+            return answerAsGuess[candidates[0]];
+        }
+        boolean opening = candidateCount == candidates.length;
+        if (opening && openingGuess != UNKNOWN) {
+            return openingGuess;
+        }
+        if (openingPattern != UNKNOWN && secondGuess[openingPattern] != UNKNOWN) {
+            return secondGuess[openingPattern];
+        }
+        boolean[] isCandidate = new boolean[matrix.guesses().size()];
+        for (int i = 0; i < candidateCount; i++) {
+            int g = answerAsGuess[candidates[i]];
+            if (g != UNKNOWN) {
+                isCandidate[g] = true;
+            }
+        }
+        Ranking best = pool.invoke(
+            new RankTask(0, matrix.guesses().size(), isCandidate));
+        if (opening) {
+            openingGuess = best.guess;
+        } else if (openingPattern != UNKNOWN) {
+            secondGuess[openingPattern] = best.guess;
+        }
+        return best.guess;
+    }
+
+    /**
+     * Computes the entropy of the feedback distribution of one guess.
+     * @param guess the guess index
+     * @param counts scratch histogram of PATTERN_COUNT entries, zeroed
+     *        on entry and left zeroed on return
+     * @return the expected information in bits
+     */
+    private double entropy(final int guess, final int[] counts) {
+        for (int i = 0; i < candidateCount; i++) {
+            counts[matrix.pattern(guess, candidates[i])]++;
+        }
+        double sum = 0;
+        for (int p = 0; p < counts.length; p++) {
+            int c = counts[p];
+            if (c > 0) {
+                sum += c * Math.log(c);
+                counts[p] = 0;
+            }
+        }
+        return (Math.log(candidateCount) - sum / candidateCount) / Math.log(2);
+    }
+
+    /**
+     * Best guess of a range, with its score.
+     */
+    private static final class Ranking {
+        /** Guess index. */
+        private final int guess;
+        /** Expected information in bits. */
+        private final double bits;
+        /** Whether the guess could be the answer. */
+        private final boolean candidate;
+
+        /**
+         * Creates a ranking entry.
+         * @param guessIndex the guess index
+         * @param entropyBits the expected information
+         * @param possible whether the guess is a candidate answer
+         */
+        Ranking(final int guessIndex, final double entropyBits,
+                final boolean possible) {
+            this.guess = guessIndex;
+            this.bits = entropyBits;
+            this.candidate = possible;
+        }
+
+        /**
+         * Compares two rankings; higher entropy wins, then candidates,
+         * then the lower guess index, so results are deterministic.
+         * @param other the ranking to compare with
+         * @return true if this ranking is better
+         */
+        boolean beats(final Ranking other) {
+            if (bits != other.bits) {
+                return bits > other.bits;
+            }
+            if (candidate != other.candidate) {
+                return candidate;
+            }
+            return guess < other.guess;
+        }
+    }
+
+    /**
+     * Ranks a range of guesses, splitting it while it is large.
+     */
+    private final class RankTask extends RecursiveTask<Ranking> {
+        private static final long serialVersionUID = 1L;
+        /** First guess index of the range. */
+        private final int from;
+        /** One past the last guess index of the range. */
+        private final int to;
+        /** Whether each guess is a candidate answer. */
+        private final boolean[] isCandidate;
+
+        /**
+         * Creates a ranking task.
+         * @param start first guess index
+         * @param end one past the last guess index
+         * @param candidateGuesses candidate flag per guess
+         */
+        RankTask(final int start, final int end,
+                 final boolean[] candidateGuesses) {
+            this.from = start;
+            this.to = end;
+            this.isCandidate = candidateGuesses;
+        }
+
+        @Override
+        protected Ranking compute() {
+            if (to - from > GUESSES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                RankTask left = new RankTask(from, mid, isCandidate);
+                left.fork();
+                Ranking right = new RankTask(mid, to, isCandidate).compute();
+                Ranking leftBest = left.join();
+                return right.beats(leftBest) ? right : leftBest;
+            }
+            int[] counts = new int[WordleFeedback.PATTERN_COUNT];
+            Ranking best = null;
+            for (int g = from; g < to; g++) {
+                Ranking r = new Ranking(g, entropy(g, counts), isCandidate[g]);
+                if (best == null || r.beats(best)) {
+                    best = r;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+import java.util.List;
+
+/**
+ * Self-play benchmark for the Word Guess solver.
+ * <pre>
+ * Times the feedback matrix build and a full first-move ranking, then
+ * lets the solver play against every answer and reports the average
+ * number of guesses. Run with
+ *   java -cp build/classes WordleSolverBenchmark
+ * and optionally -Dconsolegamehub.dictionary=... and
+ * -Dconsolegamehub.answers=... to use full word lists.
+ * </pre>
+ * @version 1
+ */
+final class WordleSolverBenchmark {
+    /** Repetitions of the first-move ranking. */
+    private static final int RANKING_RUNS = 5;
+    /** Nanoseconds per millisecond. */
+    private static final double NANOS_PER_MILLI = 1e6;
+    /** Longest game length tracked in the histogram. */
+    private static final int MAX_TRACKED = 12;
+    /** Guesses allowed in a real game. */
+    private static final int GAME_LIMIT = 6;
+
+    /**
+     * Prevent Instantiation.
+     */
+    private WordleSolverBenchmark() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args command-line arguments (not used)
+     */
+    public static void main(final String[] args) {
+        long start = System.nanoTime();
+        FeedbackMatrix matrix = FeedbackMatrix.defaultMatrix();
+        List<String> answers = matrix.answers();
+        System.out.printf("Matrix: %d guesses x %d answers in %.1f ms%n",
+                          matrix.guesses().size(), answers.size(),
+                          (System.nanoTime() - start) / NANOS_PER_MILLI);
+
+        for (int run = 1; run <= RANKING_RUNS; run++) {
+            WordleSolver fresh = new WordleSolver(matrix);
+            start = System.nanoTime();
+            int opening = fresh.bestGuess();
+            System.out.printf("First-move ranking %d: %s in %.1f ms%n", run,
+                              fresh.guessWord(opening),
+                              (System.nanoTime() - start) / NANOS_PER_MILLI);
+        }
+
+        WordleSolver solver = new WordleSolver(matrix);
+        int[] histogram = new int[MAX_TRACKED + 1];
+        long totalGuesses = 0;
+        start = System.nanoTime();
+        for (int answer = 0; answer < answers.size(); answer++) {
+            int guesses = selfPlay(solver, matrix, answer);
+            totalGuesses += guesses;
+            histogram[Math.min(guesses, MAX_TRACKED)]++;
+        }
+        double elapsed = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+        System.out.printf("Self-play: %d games, average %.3f guesses,"
+                          + " %.1f ms total%n", answers.size(),
+                          totalGuesses / (double) answers.size(), elapsed);
+        int failed = 0;
+        for (int g = 1; g <= MAX_TRACKED; g++) {
+            if (histogram[g] > 0) {
+                System.out.printf("  %2d guesses: %d%n", g, histogram[g]);
+            }
+            if (g > GAME_LIMIT) {
+                failed += histogram[g];
+            }
+        }
+        System.out.println("Games needing more than " + GAME_LIMIT
+                           + " guesses: " + failed);
+    }
+
+    /**
+     * Lets the solver play one game.
+     * @param solver the solver to use
+     * @param matrix the feedback matrix
+     * @param answer the answer index
+     * @return the number of guesses taken
+     */
+    private static int selfPlay(final WordleSolver solver,
+                                final FeedbackMatrix matrix,
+                                final int answer) {
+        solver.reset();
+        for (int turn = 1; turn < MAX_TRACKED; turn++) {
+            int guess = solver.bestGuess();
+            int pattern = matrix.pattern(guess, answer);
+            if (pattern == WordleFeedback.ALL_GREEN) {
+                return turn;
+            }
+            solver.applyFeedback(guess, pattern);
+        }
+        return MAX_TRACKED;
+    }
+}
@@ -0,0 +1,102 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Tests for WordleSolver.
+ * @version 1
+ */
+public class WordleSolverTest {
+    /**
+     * Answers that differ only in their first letter. A guess from the
+     * list splits them in two; BLIMP tells five of them apart.
+     */
+    private static final List<String> ANSWERS = Arrays.asList(
+        "BATCH", "CATCH", "HATCH", "LATCH", "MATCH", "PATCH", "WATCH");
+
+    /** Pool ranking the guesses, shut down to detect ranking. */
+    private final ForkJoinPool pool = new ForkJoinPool(1);
+
+    /**
+     * Stops the ranking pool.
+     */
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Creates a solver whose guesses are the answers and BLIMP.
+     * @return the solver
+     */
+    private WordleSolver solver() {
+        List<String> guesses = new ArrayList<>(ANSWERS);
+        guesses.add("BLIMP");
+        return new WordleSolver(new FeedbackMatrix(guesses, ANSWERS), pool);
+    }
+
+    /**
+     * Computes the feedback a guess gets.
+     * @param guess the guess
+     * @param answer the answer
+     * @return the pattern
+     */
+    private static int feedback(final String guess, final String answer) {
+        return WordleFeedback.score(WordleFeedback.encode(guess),
+                                    WordleFeedback.encode(answer));
+    }
+
+    @Test
+    public void testBestOpenerSplitsTheAnswersMost() {
+        WordleSolver solver = solver();
+        assertEquals("BLIMP", solver.guessWord(solver.bestGuess()));
+    }
+
+    @Test
+    public void testFeedbackLeavesConsistentAnswers() {
+        WordleSolver solver = solver();
+        int blimp = solver.indexOfGuess("BLIMP");
+        // HATCH, CATCH and WATCH share none of its letters.
+        solver.applyFeedback(blimp, feedback("BLIMP", "HATCH"));
+        assertEquals(3, solver.candidateCount());
+        solver.applyFeedback(solver.indexOfGuess("CATCH"),
+                             feedback("CATCH", "WATCH"));
+        assertEquals(2, solver.candidateCount());
+        solver.applyFeedback(solver.indexOfGuess("HATCH"),
+                             feedback("HATCH", "WATCH"));
+        assertEquals(1, solver.candidateCount());
+        assertEquals("WATCH", solver.guessWord(solver.bestGuess()));
+
+        solver.reset();
+        solver.applyFeedback(blimp, feedback("BLIMP", "MATCH"));
+        assertEquals(1, solver.candidateCount());
+        assertEquals("MATCH", solver.guessWord(solver.bestGuess()));
+    }
+
+    @Test
+    public void testCachedGuessesAreNotRankedAgain() {
+        WordleSolver solver = solver();
+        int opening = solver.bestGuess();
+        int pattern = feedback("BLIMP", "CATCH");
+        solver.applyFeedback(opening, pattern);
+        int second = solver.bestGuess();
+
+        // Ranking now fails, so only the caches can answer.
+        pool.shutdown();
+        solver.reset();
+        assertEquals(opening, solver.bestGuess());
+        solver.applyFeedback(opening, pattern);
+        assertEquals(second, solver.bestGuess());
+
+        solver.reset();
+        solver.applyFeedback(solver.indexOfGuess("BATCH"),
+                             feedback("BATCH", "CATCH"));
+        assertThrows(RejectedExecutionException.class, solver::bestGuess);
+    }
+}
@@ -0,0 +1,110 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Reflective access to the game classes for the benchmarks.
+ * <pre>
+ * The games live in the unnamed package, which a named package cannot
+ * import, and the hot paths worth measuring are private. This class
+ * turns them into MethodHandles in which the receiver, and any other
+ * game type, is typed Object, so a benchmark stores them in static final
+ * fields (which the JIT treats as constants) and calls them with
+ * invokeExact.
+ * </pre>
+ * @version 1
+ */
+final class GameAccess {
+    /** Lookup used to unreflect members. */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Prevent Instantiation.
+     */
+    private GameAccess() {
+        throw new UnsupportedOperationException("class cannot be instantiated");
+    }
+
+    /**
+     * Loads a game class.
+     * @param className the class name
+     * @return the class
+     */
+    static Class<?> type(final String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Game class not found: " + className
+                + " (is build/classes on the classpath?)", e);
+        }
+    }
+
+    /**
+     * Creates an instance with the no-argument constructor.
+     * @param className the class name
+     * @return the new instance
+     */
+    static Object newInstance(final String className) {
+        try {
+            var constructor = type(className).getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + className, e);
+        }
+    }
+
+    /**
+     * Returns a handle to a method, private or not. The receiver of an
+     * instance method and a return type from the unnamed package are
+     * typed Object.
+     * @param className the declaring class
+     * @param name the method name
+     * @param parameterTypes the parameter types
+     * @return the handle
+     */
+    static MethodHandle method(final String className, final String name,
+                               final Class<?>... parameterTypes) {
+        try {
+            Method method = type(className).getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            MethodHandle handle = LOOKUP.unreflect(method);
+            MethodType erased = handle.type();
+            if (!Modifier.isStatic(method.getModifiers())) {
+                erased = erased.changeParameterType(0, Object.class);
+            }
+            Class<?> returnType = erased.returnType();
+            if (!returnType.isPrimitive() && !returnType.isArray()
+                    && returnType.getPackageName().isEmpty()) {
+                erased = erased.changeReturnType(Object.class);
+            }
+            return handle.asType(erased);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                "Cannot access " + className + "." + name, e);
+        }
+    }
+
+    /**
+     * Returns a handle that sets a field, private or not.
+     * @param className the declaring class
+     * @param name the field name
+     * @return a handle taking (Object instance, value)
+     */
+    static MethodHandle setter(final String className, final String name) {
+        try {
+            Field field = type(className).getDeclaredField(name);
+            field.setAccessible(true);
+            MethodHandle handle = LOOKUP.unreflectSetter(field);
+            return handle.asType(handle.type().changeParameterType(0, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                "Cannot access " + className + "." + name, e);
+        }
+    }
+}
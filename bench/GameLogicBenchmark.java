@@ -0,0 +1,274 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the per-move logic of the board games.
+ * <pre>
+ * Each game is set up once per trial on a fixed position, so runs are
+ * comparable:
+ *   Connect Four   checkWin on a busy board with no four in a row
+ *   Tic-Tac-Toe    findBestMove when the computer must block
+ *   Sudoku         isValidPlacement and isSolved on a solved grid
+ *   MineSweeper    reveal flooding a fixed minefield from a corner
+ *   Snake          a new snake crawling to the wall
+ *   MasterMind     evaluateGuess with mixed exact and colour hits
+ *   Jotto          countMatchingLetters
+ * </pre>
+ * @version 1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogicBenchmark {
+    /** ConnectFourGame.checkWin(char). */
+    private static final MethodHandle CONNECT_FOUR_CHECK_WIN =
+        GameAccess.method("ConnectFourGame", "checkWin", char.class);
+    /** ConnectFourGame.board. */
+    private static final MethodHandle CONNECT_FOUR_BOARD =
+        GameAccess.setter("ConnectFourGame", "board");
+    /** TicTacToeGame.findBestMove(). */
+    private static final MethodHandle TIC_TAC_TOE_BEST_MOVE =
+        GameAccess.method("TicTacToeGame", "findBestMove");
+    /** TicTacToeGame.board. */
+    private static final MethodHandle TIC_TAC_TOE_BOARD =
+        GameAccess.setter("TicTacToeGame", "board");
+    /** SudokuGame.isValidPlacement(int, int, int). */
+    private static final MethodHandle SUDOKU_VALID =
+        GameAccess.method("SudokuGame", "isValidPlacement",
+                          int.class, int.class, int.class);
+    /** SudokuGame.isSolved(). */
+    private static final MethodHandle SUDOKU_SOLVED =
+        GameAccess.method("SudokuGame", "isSolved");
+    /** SudokuGame.grid. */
+    private static final MethodHandle SUDOKU_GRID =
+        GameAccess.setter("SudokuGame", "grid");
+    /** MineSweeperGame.reveal(int, int). */
+    private static final MethodHandle MINE_REVEAL =
+        GameAccess.method("MineSweeperGame", "reveal", int.class, int.class);
+    /** MineSweeperGame.grid. */
+    private static final MethodHandle MINE_GRID =
+        GameAccess.setter("MineSweeperGame", "grid");
+    /** MineSweeperGame.revealed. */
+    private static final MethodHandle MINE_REVEALED =
+        GameAccess.setter("MineSweeperGame", "revealed");
+    /** MineSweeperGame.flagged. */
+    private static final MethodHandle MINE_FLAGGED =
+        GameAccess.setter("MineSweeperGame", "flagged");
+    /** SnakeGame.initGame(). */
+    private static final MethodHandle SNAKE_INIT =
+        GameAccess.method("SnakeGame", "initGame");
+    /** SnakeGame.moveSnake(). */
+    private static final MethodHandle SNAKE_MOVE =
+        GameAccess.method("SnakeGame", "moveSnake");
+    /** MasterMindGame.evaluateGuess(int[], int[]). */
+    private static final MethodHandle MASTER_MIND_EVALUATE =
+        GameAccess.method("MasterMindGame", "evaluateGuess",
+                          int[].class, int[].class);
+    /** JottoGame.countMatchingLetters(String, String). */
+    private static final MethodHandle JOTTO_MATCHES =
+        GameAccess.method("JottoGame", "countMatchingLetters",
+                          String.class, String.class);
+
+    /** A solved Sudoku grid. */
+    private static final int[][] SOLVED_SUDOKU = {
+        {5, 3, 4, 6, 7, 8, 9, 1, 2},
+        {6, 7, 2, 1, 9, 5, 3, 4, 8},
+        {1, 9, 8, 3, 4, 2, 5, 6, 7},
+        {8, 5, 9, 7, 6, 1, 4, 2, 3},
+        {4, 2, 6, 8, 5, 3, 7, 9, 1},
+        {7, 1, 3, 9, 2, 4, 8, 5, 6},
+        {9, 6, 1, 5, 3, 7, 2, 8, 4},
+        {2, 8, 7, 4, 1, 9, 6, 3, 5},
+        {3, 4, 5, 2, 8, 6, 1, 7, 9}
+    };
+    /** Minefield with the mines in the far corner, -1 marking a mine. */
+    private static final int[][] MINEFIELD = {
+        {0, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 0, 1, 2, 2},
+        {0, 0, 0, 0, 1, 3, -1, -1},
+        {0, 0, 0, 1, 3, -1, -1, -1},
+        {0, 0, 0, 1, -1, -1, -1, -1}
+    };
+
+    /** Connect Four game. */
+    private Object connectFour;
+    /** Tic-Tac-Toe game. */
+    private Object ticTacToe;
+    /** Sudoku game. */
+    private Object sudoku;
+    /** MineSweeper game. */
+    private Object mineSweeper;
+    /** MineSweeper revealed cells, cleared before each reveal. */
+    private boolean[][] revealed;
+    /** Snake game. */
+    private Object snake;
+    /** MasterMind game. */
+    private Object masterMind;
+    /** Jotto game. */
+    private Object jotto;
+    /** MasterMind secret. */
+    private final int[] secret = {1, 2, 3, 4};
+    /** MasterMind guess: one exact hit, two colour hits. */
+    private final int[] guess = {1, 3, 2, 6};
+    /** Jotto secret; a field, not a literal, so it is not constant-folded. */
+    private String jottoSecret = "BRICK";
+    /** Jotto guess: two letters in common with the secret. */
+    private String jottoGuess = "CRANE";
+
+    /**
+     * Creates the games and their fixed positions.
+     * @throws Throwable if a game cannot be accessed
+     */
+    @Setup
+    public void setUp() throws Throwable {
+        connectFour = GameAccess.newInstance("ConnectFourGame");
+        char[][] connect = {
+            "..O....".toCharArray(),
+            "..X....".toCharArray(),
+            ".OXO...".toCharArray(),
+            ".XOX.O.".toCharArray(),
+            "XOXO.XO".toCharArray(),
+            "OXXOXOX".toCharArray()
+        };
+        CONNECT_FOUR_BOARD.invokeExact(connectFour, connect);
+
+        ticTacToe = GameAccess.newInstance("TicTacToeGame");
+        char[][] tic = {
+            "XX.".toCharArray(),
+            ".O.".toCharArray(),
+            "...".toCharArray()
+        };
+        TIC_TAC_TOE_BOARD.invokeExact(ticTacToe, tic);
+
+        sudoku = GameAccess.newInstance("SudokuGame");
+        int[][] grid = new int[SOLVED_SUDOKU.length][];
+        for (int r = 0; r < grid.length; r++) {
+            grid[r] = SOLVED_SUDOKU[r].clone();
+        }
+        SUDOKU_GRID.invokeExact(sudoku, grid);
+
+        mineSweeper = GameAccess.newInstance("MineSweeperGame");
+        int[][] field = new int[MINEFIELD.length][];
+        for (int r = 0; r < field.length; r++) {
+            field[r] = MINEFIELD[r].clone();
+        }
+        revealed = new boolean[field.length][field.length];
+        MINE_GRID.invokeExact(mineSweeper, field);
+        MINE_REVEALED.invokeExact(mineSweeper, revealed);
+        MINE_FLAGGED.invokeExact(mineSweeper,
+                                 new boolean[field.length][field.length]);
+
+        snake = GameAccess.newInstance("SnakeGame");
+        masterMind = GameAccess.newInstance("MasterMindGame");
+        jotto = GameAccess.newInstance("JottoGame");
+    }
+
+    /**
+     * Scans a Connect Four board that has no winner.
+     * @return whether X has won
+     * @throws Throwable never
+     */
+    @Benchmark
+    public boolean connectFourCheckWin() throws Throwable {
+        return (boolean) CONNECT_FOUR_CHECK_WIN.invokeExact(connectFour, 'X');
+    }
+
+    /**
+     * Finds the computer's blocking move.
+     * @return the move
+     * @throws Throwable never
+     */
+    @Benchmark
+    public int[] ticTacToeFindBestMove() throws Throwable {
+        return (int[]) TIC_TAC_TOE_BEST_MOVE.invokeExact(ticTacToe);
+    }
+
+    /**
+     * Checks one placement on a solved grid.
+     * @return whether it is valid
+     * @throws Throwable never
+     */
+    @Benchmark
+    public boolean sudokuIsValidPlacement() throws Throwable {
+        return (boolean) SUDOKU_VALID.invokeExact(sudoku, 4, 4, 5);
+    }
+
+    /**
+     * Checks a solved grid, which visits every cell.
+     * @return whether it is solved
+     * @throws Throwable never
+     */
+    @Benchmark
+    public boolean sudokuIsSolved() throws Throwable {
+        return (boolean) SUDOKU_SOLVED.invokeExact(sudoku);
+    }
+
+    /**
+     * Floods the empty part of the minefield from the top-left corner,
+     * including clearing the revealed cells first.
+     * @return the revealed cells
+     * @throws Throwable never
+     */
+    @Benchmark
+    public boolean[][] mineSweeperReveal() throws Throwable {
+        for (boolean[] row : revealed) {
+            Arrays.fill(row, false);
+        }
+        MINE_REVEAL.invokeExact(mineSweeper, 0, 0);
+        return revealed;
+    }
+
+    /**
+     * Starts a new snake and moves it until it hits the wall.
+     * @return the number of moves made
+     * @throws Throwable never
+     */
+    @Benchmark
+    public int snakeMoveToWall() throws Throwable {
+        SNAKE_INIT.invokeExact(snake);
+        int moves = 0;
+        while ((boolean) SNAKE_MOVE.invokeExact(snake)) {
+            moves++;
+        }
+        return moves;
+    }
+
+    /**
+     * Scores a MasterMind guess.
+     * @return exact and colour hits
+     * @throws Throwable never
+     */
+    @Benchmark
+    public int[] masterMindEvaluateGuess() throws Throwable {
+        return (int[]) MASTER_MIND_EVALUATE.invokeExact(masterMind, secret, guess);
+    }
+
+    /**
+     * Counts the letters two Jotto words share.
+     * @return the count
+     * @throws Throwable never
+     */
+    @Benchmark
+    public int jottoCountMatchingLetters() throws Throwable {
+        return (int) JOTTO_MATCHES.invokeExact(jotto, jottoSecret, jottoGuess);
+    }
+}
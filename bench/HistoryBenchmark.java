@@ -0,0 +1,139 @@
+package bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of saving and loading the game history file.
+ * <pre>
+ * The history holds the given number of plays spread over twelve games,
+ * and is written to a temporary file that is deleted after the trial.
+ * format selects the code path:
+ *   binary       GameHistoryTracker.saveHistory and loadHistory, which
+ *                use HistoryFormat
+ *   serialized   ObjectOutputStream and ObjectInputStream, the format
+ *                of earlier versions, written with the same atomic
+ *                replace so that only the encoding differs
+ * Each trial prints the size of the file it wrote, so that the run
+ * shows file size next to the throughput.
+ * </pre>
+ * @version 1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryBenchmark {
+    /** Class under test. */
+    private static final String TRACKER = "GameHistoryTracker";
+    /** GameHistoryTracker.recordPlay(String, Integer). */
+    private static final MethodHandle RECORD_PLAY =
+        GameAccess.method(TRACKER, "recordPlay", String.class, Integer.class);
+    /** GameHistoryTracker.saveHistory(String). */
+    private static final MethodHandle SAVE =
+        GameAccess.method(TRACKER, "saveHistory", String.class);
+    /** GameHistoryTracker.loadHistory(String). */
+    private static final MethodHandle LOAD =
+        GameAccess.method(TRACKER, "loadHistory", String.class);
+    /** GameHistoryTracker.writeAtomically(Path, byte[]). */
+    private static final MethodHandle WRITE_ATOMICALLY =
+        GameAccess.method(TRACKER, "writeAtomically", Path.class, byte[].class);
+    /** Games the plays are spread over. */
+    private static final int GAMES = 12;
+
+    /** File format: binary or serialized. */
+    @Param({"binary", "serialized"})
+    private String format;
+
+    /** Number of plays recorded. */
+    @Param({"100", "10000"})
+    private int plays;
+
+    /** The populated history. */
+    private Object tracker;
+    /** The history file. */
+    private File file;
+
+    /**
+     * Builds the history and writes it once so that loading has a file.
+     * @throws Throwable if the history cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        tracker = GameAccess.newInstance(TRACKER);
+        for (int i = 0; i < plays; i++) {
+            RECORD_PLAY.invokeExact(tracker, "Game " + (i % GAMES),
+                                    Integer.valueOf(i % 100));
+        }
+        file = File.createTempFile("history", ".dat");
+        save();
+        System.out.printf("%n%s history of %d plays: %,d bytes%n",
+                          format, plays, file.length());
+    }
+
+    /**
+     * Deletes the history file.
+     * @throws IOException never
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Writes the history.
+     * @throws Throwable if the history cannot be written
+     */
+    @Benchmark
+    public void save() throws Throwable {
+        if ("serialized".equals(format)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(tracker);
+            }
+            WRITE_ATOMICALLY.invokeExact(file.toPath(), bytes.toByteArray());
+        } else {
+            SAVE.invokeExact(tracker, file.getPath());
+        }
+    }
+
+    /**
+     * Reads the history.
+     * @return the loaded history
+     * @throws Throwable if the serialized history cannot be read
+     */
+    @Benchmark
+    public Object load() throws Throwable {
+        if ("serialized".equals(format)) {
+            try (ObjectInputStream in =
+                     new ObjectInputStream(new FileInputStream(file))) {
+                return in.readObject();
+            }
+        }
+        return (Object) LOAD.invokeExact(file.getPath());
+    }
+}
@@ -0,0 +1,4 @@
+package bench.jmh_generated;
+public class GameLogicBenchmark_jmhType extends GameLogicBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package bench.jmh_generated;
+public class HistoryBenchmark_jmhType extends HistoryBenchmark_jmhType_B3 {
+}
+
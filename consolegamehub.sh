@@ -0,0 +1,13 @@
+#!/bin/sh
+# Runs the Console Game Hub.
+# Uses the class-data-sharing archive built by "ant cds" when there is
+# one; the JVM falls back to normal class loading if it does not match
+# the jar. Build the jar first with "ant jar" (or "ant cds").
+dir=$(cd "$(dirname "$0")" && pwd)
+jar="$dir/build/jar/ConsoleGameHub.jar"
+archive="$dir/build/cds/ConsoleGameHub.jsa"
+if [ -f "$archive" ]; then
+    exec java -XX:SharedArchiveFile="$archive" -Xlog:cds=off -Xlog:cds+dynamic=off \
+        -jar "$jar" "$@"
+fi
+exec java -jar "$jar" "$@"